@@ -0,0 +1,79 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.Restriction;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Builds pathfinder state from the bundled resources without a game client.
+ * <p>
+ * The client always reports the login screen, so {@link PathfinderConfig#refresh()} only reads the settings.
+ * The transports are then filled in as if every requirement is met, which makes the routes independent of any
+ * account and keeps the benchmarks comparable between runs.
+ * <p>
+ * The benchmarks live in the pathfinder package so they can reach its package-private parts.
+ */
+public final class BenchmarkFixture {
+    public enum Storage {
+        /** Regions inflated on the heap, the fallback when the collision map file cannot be mapped */
+        HEAP,
+        /** Regions read from the memory-mapped collision map file */
+        MAPPED
+    }
+
+    private BenchmarkFixture() {
+    }
+
+    static SplitFlagMap loadMap(Storage storage) {
+        if (storage == Storage.MAPPED) {
+            SplitFlagMap map = CollisionMapFile.load();
+            if (map == null) {
+                throw new IllegalStateException("Unable to map the collision map");
+            }
+            return map;
+        }
+        return new SplitFlagMap(SplitFlagMap.readCompressedRegions());
+    }
+
+    static PathfinderConfig createConfig(SplitFlagMap map, PathfinderAlgorithm algorithm) {
+        List<Restriction> restrictions = Restriction.loadAllFromResources();
+        PathfinderConfig config = new PathfinderConfig(map, Transport.loadAllFromResources(), restrictions,
+                createClient(), createSettings(algorithm));
+        config.refresh();
+        config.refreshTransports(transport -> true);
+        return config;
+    }
+
+    private static ShortestPathConfig createSettings(PathfinderAlgorithm algorithm) {
+        return new ShortestPathConfig() {
+            @Override
+            public PathfinderAlgorithm pathfinderAlgorithm() {
+                return algorithm;
+            }
+        };
+    }
+
+    private static Client createClient() {
+        return (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getGameState":
+                            return GameState.LOGIN_SCREEN;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "BenchmarkClient";
+                        default:
+                            throw new UnsupportedOperationException("Not available offline: " + method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision flag lookups, neighbour expansion and visited tile bookkeeping over a fixed set of tiles on the
+ * mainland, for both collision map storages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CollisionMapBenchmark {
+    private static final int TILE_COUNT = 4096;
+    // Fixed seed, so every run looks up the same tiles
+    private static final long SEED = 0x5EED;
+
+    @Param
+    public BenchmarkFixture.Storage storage;
+
+    private PathfinderConfig config;
+    private CollisionMap map;
+    private VisitedTiles visited;
+    private final int[] tiles = new int[TILE_COUNT];
+    private final CollisionMap.NeighborVisitor sink = (packedPosition, travelTime, transport) -> { };
+
+    @Setup
+    public void setUp() {
+        SplitFlagMap mapData = BenchmarkFixture.loadMap(storage);
+        config = BenchmarkFixture.createConfig(mapData, PathfinderAlgorithm.BREADTH_FIRST);
+        map = config.getMap();
+        visited = new VisitedTiles(map);
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < TILE_COUNT; i++) {
+            // Misthalin, Asgarnia and Kandarin, where most walking happens
+            tiles[i] = WorldPointUtil.packWorldPoint(2500 + random.nextInt(900), 3100 + random.nextInt(500), 0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_COUNT)
+    public void isBlocked(Blackhole blackhole) {
+        for (int tile : tiles) {
+            blackhole.consume(map.isBlocked(WorldPointUtil.unpackWorldX(tile), WorldPointUtil.unpackWorldY(tile), 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_COUNT)
+    public void directions(Blackhole blackhole) {
+        for (int tile : tiles) {
+            final int x = WorldPointUtil.unpackWorldX(tile);
+            final int y = WorldPointUtil.unpackWorldY(tile);
+            blackhole.consume(map.n(x, y, 0) | map.e(x, y, 0) | map.s(x, y, 0) | map.w(x, y, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_COUNT)
+    public void forEachNeighbor() {
+        for (int tile : tiles) {
+            map.forEachNeighbor(tile, visited, config, Collections.emptySet(), sink);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_COUNT)
+    public void visitTiles(Blackhole blackhole) {
+        for (int tile : tiles) {
+            blackhole.consume(visited.set(tile));
+        }
+        visited.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full searches over the route corpus with every algorithm. Besides the time per search, the search effort is
+ * reported through the nodes expanded, nodes checked and transports checked counters, so a change that only
+ * shifts work between the search and the neighbour expansion still shows up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class PathfinderBenchmark {
+    @Param
+    public Route route;
+
+    @Param
+    public PathfinderAlgorithm algorithm;
+
+    @Param("HEAP")
+    public BenchmarkFixture.Storage storage;
+
+    private PathfinderConfig config;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SearchCounters {
+        public long nodesExpanded;
+        public long nodesChecked;
+        public long transportsChecked;
+        public long pathLength;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodesExpanded = 0;
+            nodesChecked = 0;
+            transportsChecked = 0;
+            pathLength = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = BenchmarkFixture.createConfig(BenchmarkFixture.loadMap(storage), algorithm);
+    }
+
+    @Benchmark
+    public List<WorldPoint> findPath(SearchCounters counters) {
+        // Every search has to run in full, a cached path would only measure the cache lookup
+        config.getPathCache().clear();
+        Pathfinder pathfinder = new Pathfinder(config, route.getStart(), route.getTarget());
+        pathfinder.run();
+
+        Pathfinder.PathfinderStats stats = pathfinder.getStats();
+        counters.nodesExpanded += stats.getNodesExpanded();
+        counters.nodesChecked += stats.getNodesChecked();
+        counters.transportsChecked += stats.getTransportsChecked();
+        List<WorldPoint> path = pathfinder.getPath();
+        counters.pathLength += path.size();
+        return path;
+    }
+
+    @Benchmark
+    public List<WorldPoint> findCachedPath() {
+        Pathfinder pathfinder = new Pathfinder(config, route.getStart(), route.getTarget());
+        pathfinder.run();
+        return pathfinder.getPath();
+    }
+}
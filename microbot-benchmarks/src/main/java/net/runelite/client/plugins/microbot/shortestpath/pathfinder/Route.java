@@ -0,0 +1,24 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Fixed corpus of routes, chosen to cover the different shapes of search the walker runs into
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Route {
+    /** Lumbridge castle courtyard to the general store, a few dozen tiles without transports */
+    SHORT_LOCAL(new WorldPoint(3222, 3218, 0), new WorldPoint(3211, 3247, 0)),
+    /** Lumbridge to the Ardougne market, most of the mainland by foot, doors and shortcuts */
+    CROSS_CONTINENT(new WorldPoint(3222, 3218, 0), new WorldPoint(2662, 3305, 0)),
+    /** Edgeville to the deep wilderness, where teleports are cut off by the wilderness level */
+    WILDERNESS(new WorldPoint(3094, 3491, 0), new WorldPoint(3128, 3832, 0)),
+    /** Varrock to Kourend castle, only reachable through boats, spells and teleport items */
+    TELEPORT_HEAVY(new WorldPoint(3213, 3424, 0), new WorldPoint(1640, 3673, 0));
+
+    private final WorldPoint start;
+    private final WorldPoint target;
+}
@@ -0,0 +1,79 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the transport TSVs and rebuilding the usable transport tables, which happens on every refresh,
+ * and the packed transport lookups done for every expanded tile.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class TransportBenchmark {
+    private PathfinderConfig config;
+    private int[] origins;
+    private int teleportOrigin;
+
+    @Setup
+    public void setUp() {
+        config = BenchmarkFixture.createConfig(BenchmarkFixture.loadMap(BenchmarkFixture.Storage.HEAP), PathfinderAlgorithm.BREADTH_FIRST);
+        origins = config.getTransports().keySet().stream()
+                .mapToInt(WorldPointUtil::packWorldPoint)
+                .toArray();
+        // A tile without transports of its own, like most tiles a search starts from
+        teleportOrigin = WorldPointUtil.packWorldPoint(Route.SHORT_LOCAL.getStart());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<WorldPoint, Set<Transport>> loadTransports() {
+        return Transport.loadAllFromResources();
+    }
+
+    @Benchmark
+    public PrimitiveIntHashMap<Set<Transport>> refreshTransports() {
+        config.refreshTransports(transport -> true);
+        return config.getTransportsPacked();
+    }
+
+    @Benchmark
+    public PrimitiveIntHashMap<Set<Transport>> refreshTeleports() {
+        config.refreshTeleports(teleportOrigin, 0);
+        return config.getTransportsPacked();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(1024)
+    public void lookupTransports(Blackhole blackhole) {
+        final PrimitiveIntHashMap<Set<Transport>> transportsPacked = config.getTransportsPacked();
+        for (int i = 0; i < 1024; i++) {
+            // Every other lookup misses, as most tiles have no transports
+            final int origin = origins[i % origins.length];
+            blackhole.consume(transportsPacked.get((i & 1) == 0 ? origin : origin + 1));
+        }
+    }
+}
@@ -25,13 +25,17 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
 
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
@@ -46,6 +50,9 @@ public class ClientThread
 	protected ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
 	public Future<?> scheduledFuture;
 
+	@Getter
+	private final ClientThreadMetrics metrics = new ClientThreadMetrics();
+
 	@Inject
 	private Client client;
 
@@ -70,8 +77,7 @@ public class ClientThread
 		if (client.isClientThread()) {
 			return method.call();
 		}
-		final FutureTask<T> task = new FutureTask<>(method);
-		invoke(task);
+		final FutureTask<T> task = submit(method);
 		try {
 			return task.get(10000, TimeUnit.MILLISECONDS);
 		} catch (InterruptedException | TimeoutException | ExecutionException e) {
@@ -105,8 +111,7 @@ public class ClientThread
 				return Optional.empty();
 			}
 		}
-		final FutureTask<T> task = new FutureTask<>(method);
-		invoke(task);
+		final FutureTask<T> task = submit(method);
 		try {
 			return Optional.ofNullable(task.get(10000, TimeUnit.MILLISECONDS));
 		} catch (InterruptedException | TimeoutException | ExecutionException e) {
@@ -122,6 +127,62 @@ public class ClientThread
 		}
 	}
 
+	/**
+	 * Run several methods on the client thread as a single task, returning all of their results.
+	 * Costs one wait for the client thread instead of one per method. A method that throws does not
+	 * stop the others, its result is empty.
+	 * @param methods
+	 * @return the results in the order of the methods
+	 * @param <T>
+	 */
+	public <T> List<Optional<T>> runOnClientThreadBatch(List<? extends Callable<? extends T>> methods) {
+		if (methods.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final Callable<List<Optional<T>>> batch = () -> {
+			final List<Optional<T>> results = new ArrayList<>(methods.size());
+			for (Callable<? extends T> method : methods) {
+				try {
+					results.add(Optional.ofNullable(method.call()));
+				} catch (Exception e) {
+					if (!Microbot.isDebug()) {
+						log.error("Exception in client thread batch execution: {}\n{}", e.getMessage(), e);
+					}
+					results.add(Optional.empty());
+				}
+			}
+			return results;
+		};
+		return runOnClientThreadOptional(batch)
+			.orElseGet(() -> Collections.nCopies(methods.size(), Optional.empty()));
+	}
+
+	// Queues the method, timing how long it waits for the client thread and how long it runs on it
+	private <T> FutureTask<T> submit(Callable<T> method) {
+		final ClientThreadMetrics.Sample sample = metrics.queued();
+		if (sample == null) {
+			final FutureTask<T> task = new FutureTask<>(method);
+			invoke(task);
+			return task;
+		}
+		final FutureTask<T> task = new FutureTask<T>(method) {
+			@Override
+			protected void done() {
+				// Also runs when the caller cancels the task after timing out, which leaves the queue without running it
+				sample.dequeued();
+			}
+		};
+		invoke(() -> {
+			sample.started();
+			try {
+				task.run();
+			} finally {
+				sample.finished();
+			}
+		});
+		return task;
+	}
+
 	/**
 	 * Run a method on the client thread, returning the result.
 	 * @param method
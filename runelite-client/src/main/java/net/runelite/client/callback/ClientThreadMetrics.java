@@ -0,0 +1,208 @@
+package net.runelite.client.callback;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the tasks other threads queue on the client thread through {@link ClientThread}, grouped by the
+ * class that asked for them. Shows which scripts wait on the client thread the most, and which ones keep it
+ * busy and stall rendering.
+ * <p>
+ * Finding the caller walks the stack of every queued task, so recording is off unless the
+ * {@value #ENABLED_PROPERTY} system property is set or it is turned on with {@link #setEnabled(boolean)}.
+ */
+public class ClientThreadMetrics
+{
+	static final String ENABLED_PROPERTY = "runelite.clientthread.metrics";
+
+	// Frames of these packages are helpers, the caller is the first frame outside of them
+	private static final String[] HELPER_PREFIXES = {
+		"net.runelite.client.callback.",
+		"net.runelite.client.plugins.microbot.Microbot",
+		"net.runelite.client.plugins.microbot.util.",
+		"java.",
+		"jdk.",
+	};
+
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+	private final Map<String, CallerStats> callers = new ConcurrentHashMap<>();
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Records that a task was queued by the calling thread, or returns null if recording is off
+	 */
+	@Nullable
+	Sample queued()
+	{
+		if (!enabled)
+		{
+			return null;
+		}
+		final String caller = findCaller();
+		final CallerStats stats = callers.computeIfAbsent(caller, c -> new CallerStats());
+		final int depth = queueDepth.incrementAndGet();
+		stats.maxQueueDepth.accumulate(depth);
+		stats.tasks.increment();
+		return new Sample(stats);
+	}
+
+	/**
+	 * Number of recorded tasks the client thread has not run or dropped yet
+	 */
+	public int getQueueDepth()
+	{
+		return queueDepth.get();
+	}
+
+	/**
+	 * Returns the metrics of every caller, the caller that kept the client thread busy the longest first
+	 */
+	public List<CallerMetrics> getCallers()
+	{
+		final List<CallerMetrics> result = new ArrayList<>(callers.size());
+		for (Map.Entry<String, CallerStats> entry : callers.entrySet())
+		{
+			result.add(entry.getValue().toMetrics(entry.getKey()));
+		}
+		result.sort(Comparator.comparingDouble(CallerMetrics::getTotalExecutionMillis).reversed());
+		return result;
+	}
+
+	public void reset()
+	{
+		callers.clear();
+	}
+
+	private static String findCaller()
+	{
+		return STACK_WALKER.walk(frames -> frames
+			.map(StackWalker.StackFrame::getClassName)
+			.filter(ClientThreadMetrics::isCaller)
+			.findFirst())
+			.map(name ->
+			{
+				// Lambdas and inner classes count towards their outer class
+				int inner = name.indexOf('$');
+				return inner >= 0 ? name.substring(0, inner) : name;
+			})
+			.orElse(Thread.currentThread().getName());
+	}
+
+	private static boolean isCaller(String className)
+	{
+		for (String prefix : HELPER_PREFIXES)
+		{
+			if (className.startsWith(prefix))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Times a single queued task, from queueing to running it and from running it to completing it
+	 */
+	class Sample
+	{
+		private final CallerStats stats;
+		private final long queuedNanos = System.nanoTime();
+		private final AtomicBoolean dequeued = new AtomicBoolean();
+		private long startedNanos;
+
+		private Sample(CallerStats stats)
+		{
+			this.stats = stats;
+		}
+
+		void started()
+		{
+			startedNanos = System.nanoTime();
+			dequeued();
+			final long wait = startedNanos - queuedNanos;
+			stats.totalWaitNanos.add(wait);
+			stats.maxWaitNanos.accumulate(wait);
+		}
+
+		void finished()
+		{
+			final long execution = System.nanoTime() - startedNanos;
+			stats.totalExecutionNanos.add(execution);
+			stats.maxExecutionNanos.accumulate(execution);
+		}
+
+		/**
+		 * Takes the task off the queue depth, once, whether it ran or was cancelled before running
+		 */
+		void dequeued()
+		{
+			if (dequeued.compareAndSet(false, true))
+			{
+				queueDepth.decrementAndGet();
+			}
+		}
+	}
+
+	private static class CallerStats
+	{
+		private final LongAdder tasks = new LongAdder();
+		private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+		private final LongAdder totalWaitNanos = new LongAdder();
+		private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+		private final LongAdder totalExecutionNanos = new LongAdder();
+		private final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+
+		private CallerMetrics toMetrics(String caller)
+		{
+			final long count = tasks.sum();
+			return new CallerMetrics(
+				caller,
+				count,
+				(int) maxQueueDepth.get(),
+				count > 0 ? toMillis(totalWaitNanos.sum()) / count : 0,
+				toMillis(maxWaitNanos.get()),
+				toMillis(totalExecutionNanos.sum()),
+				toMillis(maxExecutionNanos.get()));
+		}
+
+		private static double toMillis(long nanos)
+		{
+			return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+		}
+	}
+
+	@Value
+	public static class CallerMetrics
+	{
+		String caller;
+		long tasks;
+		int maxQueueDepth;
+		double averageWaitMillis;
+		double maxWaitMillis;
+		double totalExecutionMillis;
+		double maxExecutionMillis;
+	}
+}
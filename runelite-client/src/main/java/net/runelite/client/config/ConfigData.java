@@ -24,6 +24,11 @@
  */
 package net.runelite.client.config;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -31,6 +36,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
@@ -43,12 +49,30 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * A config profile on disk, kept as a properties snapshot and a journal of the patches saved since.
+ * <p>
+ * Saving appends the patch to the journal instead of rewriting the snapshot, so it costs as much as the
+ * change. Once the journal grows past half of the snapshot, it is compacted into a new snapshot. Loading
+ * replays the journal over the snapshot. Both files are only read and written while holding the lock file,
+ * so clients sharing a profile append their patches in turn and each sees the patches of the others.
+ * <p>
+ * Journal records are the number of entries, each entry as a key and a value or null for an unset, the
+ * CRC32 of the entries and the length of the record. A record torn by a crash fails its checksum, it and
+ * anything after it are dropped and the journal is compacted on the next save.
+ */
 @Slf4j
 class ConfigData
 {
+	private static final long MIN_COMPACT_BYTES = 64 * 1024;
+	private static final Object FILE_LOCK = new Object();
+
 	private final File configPath;
+	private final File journalPath;
 
 	private final ConcurrentHashMap<String, String> properties;
 	private Map<String, String> patchChanges = new HashMap<>();
@@ -56,23 +80,27 @@ class ConfigData
 	ConfigData(File configPath)
 	{
 		this.configPath = configPath;
+		this.journalPath = journalFile(configPath);
 
-		Properties props = new Properties();
-		try (FileInputStream in = new FileInputStream(configPath);
-			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		// the snapshot and the journal are read under the lock, another client compacting in between would move
+		// the journal into a snapshot this one has already read and delete it
+		Map<String, String> props = new HashMap<>();
+		if (configPath.getParentFile().isDirectory())
 		{
-			props.load(reader);
-		}
-		catch (FileNotFoundException ignored)
-		{
-		}
-		catch (Exception ex)
-		{
-			throw new RuntimeException(ex);
+			try
+			{
+				withLock(configPath, () ->
+				{
+					loadSnapshot(configPath).forEach((k, v) -> props.put((String) k, (String) v));
+					replayJournal(journalPath, props);
+				});
+			}
+			catch (IOException ex)
+			{
+				throw new RuntimeException(ex);
+			}
 		}
-
-		properties = new ConcurrentHashMap<>(props.size());
-		props.forEach((k, v) -> properties.put((String) k, (String) v));
+		properties = new ConcurrentHashMap<>(props);
 	}
 
 	String getProperty(String key)
@@ -130,75 +158,328 @@ class ConfigData
 
 	void patch(Map<String, String> patch)
 	{
-		// load + patch + store instead of just flushing the in-memory properties to disk so that
-		// multiple clients editing one config data (such as rs profile config) get their data merged
-		// correctly
+		// append the patch to the journal shared with other clients instead of just flushing the in-memory
+		// properties to disk, so that multiple clients editing one config data (such as rs profile config)
+		// get their data merged correctly
 
-		File lckFile = new File(configPath.getParentFile(), configPath.getName() + ".lck");
-		try (FileOutputStream lockOut = new FileOutputStream(lckFile);
-			FileChannel lckChannel = lockOut.getChannel())
+		try
+		{
+			withLock(configPath, () ->
+			{
+				if (!configPath.exists() && !journalPath.exists())
+				{
+					// this probably doesn't happen outside of the very first save (when no file exists)
+					// but to be safe in the event the prop is deleted off disk, flush the entire properties
+					// from memory
+					compact(configPath, patch, properties);
+				}
+				else if (!isJournalIntact(journalPath))
+				{
+					log.warn("config journal {} is damaged, compacting", journalPath);
+					compact(configPath, patch, properties);
+				}
+				else
+				{
+					appendJournal(journalPath, patch);
+					if (journalPath.length() > Math.max(MIN_COMPACT_BYTES, configPath.length() / 2))
+					{
+						compact(configPath, Collections.emptyMap(), properties);
+					}
+				}
+			});
+		}
+		catch (IOException ex)
 		{
-			lckChannel.lock();
+			log.error("unable to save configuration file", ex);
+		}
+	}
 
-			Properties tempProps = new Properties();
-			try (FileInputStream in = new FileInputStream(configPath);
-				InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+	/**
+	 * Writes the journal of the config file into its snapshot, so the snapshot alone holds the full config
+	 */
+	static void compact(File configPath)
+	{
+		try
+		{
+			withLock(configPath, () ->
 			{
-				tempProps.load(reader);
+				if (journalFile(configPath).exists())
+				{
+					compact(configPath, Collections.emptyMap(), Collections.emptyMap());
+				}
+			});
+		}
+		catch (IOException ex)
+		{
+			log.error("unable to compact configuration file", ex);
+		}
+	}
+
+	/**
+	 * Deletes the snapshot and the journal of the config file
+	 */
+	static void delete(File configPath)
+	{
+		configPath.delete();
+		journalFile(configPath).delete();
+	}
+
+	static File journalFile(File configPath)
+	{
+		return new File(configPath.getParentFile(), configPath.getName() + ".journal");
+	}
+
+	private static File lockFile(File configPath)
+	{
+		return new File(configPath.getParentFile(), configPath.getName() + ".lck");
+	}
+
+	/**
+	 * Runs the action holding the lock file of the config file. The lock file is held by the whole process,
+	 * so the threads of this client take turns on the monitor first.
+	 */
+	private static void withLock(File configPath, LockedAction action) throws IOException
+	{
+		File lckFile = lockFile(configPath);
+		synchronized (FILE_LOCK)
+		{
+			try (FileOutputStream lockOut = new FileOutputStream(lckFile);
+				FileChannel lckChannel = lockOut.getChannel())
+			{
+				lckChannel.lock();
+				action.run();
 			}
-			catch (FileNotFoundException e)
+			finally
 			{
-				log.debug("config file {} does not exist", configPath);
+				lckFile.delete();
 			}
+		}
+	}
+
+	private static Properties loadSnapshot(File configPath) throws IOException
+	{
+		Properties props = new Properties();
+		try (FileInputStream in = new FileInputStream(configPath);
+			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		{
+			props.load(reader);
+		}
+		catch (FileNotFoundException e)
+		{
+			log.debug("config file {} does not exist", configPath);
+		}
+		return props;
+	}
+
+	/**
+	 * Rewrites the snapshot from the snapshot, the journal and the patch, and removes the journal.
+	 * Must hold the lock file.
+	 *
+	 * @param memory the properties to write if there is nothing on disk
+	 */
+	private static void compact(File configPath, Map<String, String> patch, Map<String, String> memory) throws IOException
+	{
+		Map<String, String> props = new HashMap<>();
+		loadSnapshot(configPath).forEach((k, v) -> props.put((String) k, (String) v));
+		replayJournal(journalFile(configPath), props);
+
+		if (props.isEmpty())
+		{
+			props.putAll(memory);
+		}
+		else
+		{
+			applyPatch(props, patch);
+		}
 
-			if (tempProps.isEmpty())
+		Properties tempProps = new Properties();
+		tempProps.putAll(props);
+
+		File tempFile = File.createTempFile("runelite_config", null, configPath.getParentFile());
+		try (FileOutputStream out = new FileOutputStream(tempFile);
+			FileChannel channel = out.getChannel();
+			OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+		{
+			channel.lock();
+			tempProps.store(writer, "RuneLite configuration");
+			writer.flush();
+			channel.force(true);
+		}
+
+		try
+		{
+			Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex)
+		{
+			log.debug("atomic move not supported", ex);
+			Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		// the snapshot holds the journal now. Replaying it again if this fails would not change anything
+		Files.deleteIfExists(journalFile(configPath).toPath());
+	}
+
+	private static void applyPatch(Map<String, String> props, Map<String, String> patch)
+	{
+		for (Map.Entry<String, String> entry : patch.entrySet())
+		{
+			if (entry.getValue() == null)
 			{
-				// this probably doesn't happen outside of the very first save (when no file exists)
-				// but to be safe in the event the prop is deleted off disk, flush the entire properties
-				// from memory
-				tempProps.putAll(properties);
+				props.remove(entry.getKey());
 			}
 			else
 			{
-				// apply patches
-				for (Map.Entry<String, String> entry : patch.entrySet())
+				props.put(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	private static void appendJournal(File journalPath, Map<String, String> patch) throws IOException
+	{
+		ByteArrayOutputStream record = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(record);
+		out.writeInt(patch.size());
+		for (Map.Entry<String, String> entry : patch.entrySet())
+		{
+			writeString(out, entry.getKey());
+			writeString(out, entry.getValue());
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(record.toByteArray());
+		out.writeInt((int) crc.getValue());
+		// the length of the entries and checksum, to find the start of the last record
+		out.writeInt(record.size());
+
+		try (FileOutputStream journal = new FileOutputStream(journalPath, true))
+		{
+			journal.write(record.toByteArray());
+			journal.getChannel().force(true);
+		}
+	}
+
+	/**
+	 * Applies the records of the journal to the properties, null values remove the key
+	 */
+	private static void replayJournal(File journalPath, Map<String, String> properties)
+	{
+		// no string in the journal is longer than the journal, a larger length is a torn record
+		long limit = journalPath.length();
+		CRC32 crc = new CRC32();
+		try (DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(new FileInputStream(journalPath)), crc)))
+		{
+			Map<String, String> record = new HashMap<>();
+			while (true)
+			{
+				crc.reset();
+				int count;
+				try
 				{
-					if (entry.getValue() == null)
-					{
-						tempProps.remove(entry.getKey());
-					}
-					else
-					{
-						tempProps.put(entry.getKey(), entry.getValue());
-					}
+					count = in.readInt();
+				}
+				catch (EOFException e)
+				{
+					return;
+				}
+
+				record.clear();
+				for (int i = 0; i < count; i++)
+				{
+					record.put(readString(in, limit), readString(in, limit));
 				}
+
+				int expected = (int) crc.getValue();
+				if (in.readInt() != expected)
+				{
+					log.warn("config journal {} has a damaged record, ignoring the rest", journalPath);
+					return;
+				}
+				in.readInt();
+
+				applyPatch(properties, record);
 			}
+		}
+		catch (FileNotFoundException ignored)
+		{
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			log.warn("config journal {} ends in a torn record, ignoring it", journalPath, ex);
+		}
+	}
+
+	/**
+	 * Checks the last record of the journal, which is only damaged when a client died while appending it
+	 */
+	private static boolean isJournalIntact(File journalPath) throws IOException
+	{
+		if (!journalPath.exists())
+		{
+			return true;
+		}
 
-			File tempFile = File.createTempFile("runelite_config", null, configPath.getParentFile());
-			try (FileOutputStream out = new FileOutputStream(tempFile);
-				FileChannel channel = out.getChannel();
-				OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+		try (RandomAccessFile journal = new RandomAccessFile(journalPath, "r"))
+		{
+			long length = journal.length();
+			if (length == 0)
 			{
-				channel.lock();
-				tempProps.store(writer, "RuneLite configuration");
-				writer.flush();
-				channel.force(true);
+				return true;
 			}
-
-			try
+			if (length < Integer.BYTES * 3)
 			{
-				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				return false;
 			}
-			catch (AtomicMoveNotSupportedException ex)
+
+			journal.seek(length - Integer.BYTES);
+			int recordLength = journal.readInt();
+			// a record is at least its entry count and checksum
+			if (recordLength < Integer.BYTES * 2 || recordLength > length - Integer.BYTES)
 			{
-				log.debug("atomic move not supported", ex);
-				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				return false;
 			}
+
+			byte[] entries = new byte[recordLength - Integer.BYTES];
+			journal.seek(length - Integer.BYTES - recordLength);
+			journal.readFully(entries);
+			CRC32 crc = new CRC32();
+			crc.update(entries);
+			return journal.readInt() == (int) crc.getValue();
 		}
-		catch (IOException ex)
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException
+	{
+		if (value == null)
 		{
-			log.error("unable to save configuration file", ex);
+			out.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in, long limit) throws IOException
+	{
+		int length = in.readInt();
+		if (length < 0)
+		{
+			return null;
+		}
+		if (length > limit)
+		{
+			throw new EOFException("string length " + length + " past the end of the journal");
 		}
-		lckFile.delete();
+
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private interface LockedAction
+	{
+		void run() throws IOException;
 	}
 }
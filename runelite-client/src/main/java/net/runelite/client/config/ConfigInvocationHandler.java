@@ -24,12 +24,16 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.util.ReflectUtil;
 
 @Slf4j
@@ -38,10 +42,12 @@ class ConfigInvocationHandler implements InvocationHandler
 	// Special object to represent null values in the cache
 	private static final Object NULL = new Object();
 
+	// Getters of unloaded plugins are dropped when the cache is cleared once it grows past this
+	private static final int MAX_GETTERS = 1024;
+
 	private final ConfigManager manager;
-	private final Cache<Method, Object> cache = CacheBuilder.newBuilder()
-		.maximumSize(256)
-		.build();
+	private final Map<Method, Getter> getters = new ConcurrentHashMap<>();
+	private final Map<String, List<Getter>> gettersByGroup = new ConcurrentHashMap<>();
 
 	ConfigInvocationHandler(ConfigManager manager)
 	{
@@ -54,10 +60,14 @@ class ConfigInvocationHandler implements InvocationHandler
 		// Use cached configuration value if available
 		if (args == null)
 		{
-			Object cachedValue = cache.getIfPresent(method);
-			if (cachedValue != null)
+			Getter getter = getters.get(method);
+			if (getter != null)
 			{
-				return cachedValue == NULL ? null : cachedValue;
+				Object cachedValue = getter.value;
+				if (cachedValue != null)
+				{
+					return cachedValue == NULL ? null : cachedValue;
+				}
 			}
 		}
 
@@ -95,7 +105,11 @@ class ConfigInvocationHandler implements InvocationHandler
 
 		if (args == null)
 		{
-			log.trace("cache miss (size: {}, group: {}, key: {})", cache.size(), group.value(), item.keyName());
+			Getter getter = getter(method, group.value(), item.keyName());
+			log.trace("cache miss (size: {}, group: {}, key: {})", getters.size(), group.value(), item.keyName());
+
+			// Read the version first, so a change made while the value is loaded is not overwritten by the stale value
+			int version = getter.version;
 
 			// Getting configuration item
 			String value = manager.getConfiguration(group.value(), item.keyName());
@@ -105,19 +119,19 @@ class ConfigInvocationHandler implements InvocationHandler
 				if (method.isDefault())
 				{
 					Object defaultValue = callDefaultMethod(proxy, method, null);
-					cache.put(method, defaultValue == null ? NULL : defaultValue);
+					getter.store(version, defaultValue);
 					return defaultValue;
 				}
 
-				cache.put(method, NULL);
+				getter.store(version, null);
 				return null;
 			}
 
 			// Convert value to return type
 			try
 			{
-				Object objectValue = manager.stringToObject(value, method.getGenericReturnType());
-				cache.put(method, objectValue == null ? NULL : objectValue);
+				Object objectValue = getter.deserializer.apply(value);
+				getter.store(version, objectValue);
 				return objectValue;
 			}
 			catch (Exception e)
@@ -184,9 +198,92 @@ class ConfigInvocationHandler implements InvocationHandler
 			.invokeWithArguments(args);
 	}
 
+	private Getter getter(Method method, String group, String key)
+	{
+		Getter getter = getters.get(method);
+		if (getter != null)
+		{
+			return getter;
+		}
+
+		if (getters.size() >= MAX_GETTERS)
+		{
+			log.debug("getter cache full, clearing");
+			invalidate();
+		}
+
+		getter = new Getter(key, manager.deserializer(method.getGenericReturnType()));
+		Getter existing = getters.putIfAbsent(method, getter);
+		if (existing != null)
+		{
+			return existing;
+		}
+		gettersByGroup.computeIfAbsent(group, k -> new CopyOnWriteArrayList<>()).add(getter);
+		return getter;
+	}
+
+	/**
+	 * Drops the cached values of the key that changed. Proxies only read the main profile, so changes to
+	 * RuneScape profile keys leave the cache alone.
+	 */
+	void invalidate(ConfigChanged configChanged)
+	{
+		if (configChanged.getProfile() != null)
+		{
+			return;
+		}
+
+		List<Getter> groupGetters = gettersByGroup.get(configChanged.getGroup());
+		if (groupGetters == null)
+		{
+			return;
+		}
+
+		log.trace("cache invalidate (group: {}, key: {})", configChanged.getGroup(), configChanged.getKey());
+		for (Getter getter : groupGetters)
+		{
+			if (getter.key.equals(configChanged.getKey()))
+			{
+				getter.invalidate();
+			}
+		}
+	}
+
 	void invalidate()
 	{
 		log.trace("cache invalidate");
-		cache.invalidateAll();
+		// Invalidate the getters too, a load in progress may still hold one
+		getters.values().forEach(Getter::invalidate);
+		getters.clear();
+		gettersByGroup.clear();
+	}
+
+	private static final class Getter
+	{
+		private final String key;
+		private final Function<String, Object> deserializer;
+		// The cached value, NULL for null and null when not loaded
+		private volatile Object value;
+		private volatile int version;
+
+		private Getter(String key, Function<String, Object> deserializer)
+		{
+			this.key = key;
+			this.deserializer = deserializer;
+		}
+
+		private synchronized void store(int readVersion, Object value)
+		{
+			if (version == readVersion)
+			{
+				this.value = value == null ? NULL : value;
+			}
+		}
+
+		private synchronized void invalidate()
+		{
+			version++;
+			value = null;
+		}
 	}
 }
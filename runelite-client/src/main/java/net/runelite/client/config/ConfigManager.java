@@ -57,6 +57,7 @@ import java.util.WeakHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -816,7 +817,7 @@ public class ConfigManager
 
 				File configFile = ProfileManager.profileConfigFile(profile);
 				// remote configuration replaces local
-				configFile.delete();
+				ConfigData.delete(configFile);
 
 				ConfigData configData = new ConfigData(configFile);
 				configData.putAll(remoteConfiguration.getConfig());
@@ -969,8 +970,6 @@ public class ConfigManager
 		}
 
 		log.debug("Setting configuration value for {} to {}", wholeKey, value);
-		handler.invalidate();
-
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
 		configChanged.setProfile(profile);
@@ -978,6 +977,7 @@ public class ConfigManager
 		configChanged.setOldValue(oldValue);
 		configChanged.setNewValue(value);
 
+		handler.invalidate(configChanged);
 		eventBus.post(configChanged);
 	}
 
@@ -1061,14 +1061,13 @@ public class ConfigManager
 		}
 
 		log.debug("Unsetting configuration value for {}", wholeKey);
-		handler.invalidate();
-
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
 		configChanged.setProfile(profile);
 		configChanged.setKey(key);
 		configChanged.setOldValue(oldValue);
 
+		handler.invalidate(configChanged);
 		eventBus.post(configChanged);
 	}
 
@@ -1240,96 +1239,120 @@ public class ConfigManager
 	}
 
 	Object stringToObject(String str, Type type)
+	{
+		return deserializer(type).apply(str);
+	}
+
+	/**
+	 * Returns the function converting a config value to the type, so callers reading the same type
+	 * repeatedly resolve the conversion once
+	 */
+	Function<String, Object> deserializer(Type type)
 	{
 		if (type == boolean.class || type == Boolean.class)
 		{
-			return Boolean.parseBoolean(str);
+			return Boolean::parseBoolean;
 		}
 		if (type == int.class || type == Integer.class)
 		{
-			return Integer.parseInt(str);
+			return Integer::parseInt;
 		}
 		if (type == long.class || type == Long.class)
 		{
-			return Long.parseLong(str);
+			return Long::parseLong;
 		}
 		if (type == double.class || type == Double.class)
 		{
-			return Double.parseDouble(str);
+			return Double::parseDouble;
 		}
 		if (type == Color.class)
 		{
-			return ColorUtil.fromString(str);
+			return ColorUtil::fromString;
 		}
 		if (type == Dimension.class)
 		{
-			String[] splitStr = str.split("x");
-			int width = Integer.parseInt(splitStr[0]);
-			int height = Integer.parseInt(splitStr[1]);
-			return new Dimension(width, height);
+			return str ->
+			{
+				String[] splitStr = str.split("x");
+				int width = Integer.parseInt(splitStr[0]);
+				int height = Integer.parseInt(splitStr[1]);
+				return new Dimension(width, height);
+			};
 		}
 		if (type == Point.class)
 		{
-			String[] splitStr = str.split(":");
-			int width = Integer.parseInt(splitStr[0]);
-			int height = Integer.parseInt(splitStr[1]);
-			return new Point(width, height);
+			return str ->
+			{
+				String[] splitStr = str.split(":");
+				int width = Integer.parseInt(splitStr[0]);
+				int height = Integer.parseInt(splitStr[1]);
+				return new Point(width, height);
+			};
 		}
 		if (type == Rectangle.class)
 		{
-			String[] splitStr = str.split(":");
-			int x = Integer.parseInt(splitStr[0]);
-			int y = Integer.parseInt(splitStr[1]);
-			int width = Integer.parseInt(splitStr[2]);
-			int height = Integer.parseInt(splitStr[3]);
-			return new Rectangle(x, y, width, height);
+			return str ->
+			{
+				String[] splitStr = str.split(":");
+				int x = Integer.parseInt(splitStr[0]);
+				int y = Integer.parseInt(splitStr[1]);
+				int width = Integer.parseInt(splitStr[2]);
+				int height = Integer.parseInt(splitStr[3]);
+				return new Rectangle(x, y, width, height);
+			};
 		}
 		if (type instanceof Class && ((Class<?>) type).isEnum())
 		{
-			return Enum.valueOf((Class<? extends Enum>) type, str);
+			return str -> Enum.valueOf((Class<? extends Enum>) type, str);
 		}
 		if (type == Instant.class)
 		{
-			return Instant.parse(str);
+			return Instant::parse;
 		}
 		if (type == Keybind.class || type == ModifierlessKeybind.class)
 		{
-			String[] splitStr = str.split(":");
-			int code = Integer.parseInt(splitStr[0]);
-			int mods = Integer.parseInt(splitStr[1]);
-			if (type == ModifierlessKeybind.class)
+			return str ->
 			{
-				return new ModifierlessKeybind(code, mods);
-			}
-			return new Keybind(code, mods);
+				String[] splitStr = str.split(":");
+				int code = Integer.parseInt(splitStr[0]);
+				int mods = Integer.parseInt(splitStr[1]);
+				if (type == ModifierlessKeybind.class)
+				{
+					return new ModifierlessKeybind(code, mods);
+				}
+				return new Keybind(code, mods);
+			};
 		}
 		if (type == WorldPoint.class)
 		{
-			String[] splitStr = str.split(":");
-			int x = Integer.parseInt(splitStr[0]);
-			int y = Integer.parseInt(splitStr[1]);
-			int plane = Integer.parseInt(splitStr[2]);
-			return new WorldPoint(x, y, plane);
+			return str ->
+			{
+				String[] splitStr = str.split(":");
+				int x = Integer.parseInt(splitStr[0]);
+				int y = Integer.parseInt(splitStr[1]);
+				int plane = Integer.parseInt(splitStr[2]);
+				return new WorldPoint(x, y, plane);
+			};
 		}
 		if (type == Duration.class)
 		{
-			return Duration.ofMillis(Long.parseLong(str));
+			return str -> Duration.ofMillis(Long.parseLong(str));
 		}
 		if (type == byte[].class)
 		{
-			return Base64.getUrlDecoder().decode(str);
+			return str -> Base64.getUrlDecoder().decode(str);
 		}
 		if (type instanceof ParameterizedType)
 		{
 			ParameterizedType parameterizedType = (ParameterizedType) type;
 			if (parameterizedType.getRawType() == Set.class)
 			{
-				return gson.fromJson(str, parameterizedType);
+				return str -> gson.fromJson(str, parameterizedType);
 			}
 		}
 		if(type == InventorySetup.class)
 		{
-			return gson.fromJson(str, type);
+			return str -> gson.fromJson(str, type);
 		}
 		if (type instanceof Class)
 		{
@@ -1338,21 +1361,24 @@ public class ConfigManager
 			if (configSerializer != null)
 			{
 				Class<? extends Serializer<?>> serializerClass = configSerializer.value();
-				Serializer<?> serializer = serializers.get(type);
-				if (serializer == null)
+				return str ->
 				{
-					// Guice holds references to all jitted types.
-					// To allow class unloading, use a temporary child injector
-					// and use it to get the instance, and cache it a weak map.
-					serializer = Microbot.getInjector()
-						.createChildInjector()
-						.getInstance(serializerClass);
-					serializers.put(type, serializer);
-				}
-				return serializer.deserialize(str);
+					Serializer<?> serializer = serializers.get(type);
+					if (serializer == null)
+					{
+						// Guice holds references to all jitted types.
+						// To allow class unloading, use a temporary child injector
+						// and use it to get the instance, and cache it a weak map.
+						serializer = Microbot.getInjector()
+							.createChildInjector()
+							.getInstance(serializerClass);
+						serializers.put(type, serializer);
+					}
+					return serializer.deserialize(str);
+				};
 			}
 		}
-		return str;
+		return str -> str;
 	}
 
 	@Nullable
@@ -203,6 +203,16 @@ public class ProfileManager {
 					StandardCopyOption.REPLACE_EXISTING
 				);
 				log.info("Renamed profile file {} to {}", oldFile.getName(), newFile.getName());
+
+				File oldJournal = ConfigData.journalFile(oldFile);
+				if (oldJournal.exists())
+				{
+					Files.move(
+						oldJournal.toPath(),
+						ConfigData.journalFile(newFile).toPath(),
+						StandardCopyOption.REPLACE_EXISTING
+					);
+				}
 			}
 			catch (IOException e)
 			{
@@ -222,4 +232,11 @@ public class ProfileManager {
     public static File profileConfigFile(ConfigProfile profile) {
         return new File(PROFILES_DIR, profile.getName() + "-" + profile.getId() + ".properties");
     }
+
+    /**
+     * Writes the journal of a profile into its properties file, so the file alone holds the full config
+     */
+    public static void compactProfileConfig(ConfigProfile profile) {
+        ConfigData.compact(profileConfigFile(profile));
+    }
 }
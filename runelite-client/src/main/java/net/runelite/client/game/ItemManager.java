@@ -32,7 +32,6 @@ import com.google.inject.Inject;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -95,6 +94,7 @@ public class ItemManager
 	private int lowPriceThreshold = 1000;
 
 	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	private volatile ItemNameIndex itemNames = ItemNameIndex.EMPTY;
 	private Map<Integer, ItemStats> itemStats = Collections.emptyMap();
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<OutlineKey, BufferedImage> itemOutlines;
@@ -245,6 +245,7 @@ public class ItemManager
 					map.put(price.getId(), price);
 				}
 				itemPrices = map.build();
+				itemNames = new ItemNameIndex(itemPrices.values());
 			}
 
 			log.debug("Loaded {} prices", itemPrices.size());
@@ -401,18 +402,29 @@ public class ItemManager
 	 */
 	public List<ItemPrice> search(String itemName)
 	{
-		itemName = itemName.toLowerCase();
+		return itemNames.contains(itemName);
+	}
 
-		List<ItemPrice> result = new ArrayList<>();
-		for (ItemPrice itemPrice : itemPrices.values())
-		{
-			final String name = itemPrice.getName();
-			if (name.toLowerCase().contains(itemName))
-			{
-				result.add(itemPrice);
-			}
-		}
-		return result;
+	/**
+	 * Search for tradeable items whose name equals the given name, ignoring case
+	 *
+	 * @param itemName item name
+	 * @return
+	 */
+	public List<ItemPrice> searchExact(String itemName)
+	{
+		return itemNames.exact(itemName);
+	}
+
+	/**
+	 * Search for tradeable items whose name starts with the given prefix, ignoring case
+	 *
+	 * @param prefix start of the item name
+	 * @return matching items in name order
+	 */
+	public List<ItemPrice> searchPrefix(String prefix)
+	{
+		return itemNames.prefix(prefix);
 	}
 
 	/**
@@ -0,0 +1,181 @@
+package net.runelite.client.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.runelite.http.api.item.ItemPrice;
+
+/**
+ * Immutable index over the names of the items with a price, built once every time the prices are loaded.
+ * <p>
+ * Exact names are looked up in a hash map, prefixes by a binary search over the names in sorted order, and
+ * substrings through the lists of items containing each three character sequence of the query, so a search
+ * only checks the items that share the rarest sequence of the query instead of every item.
+ */
+final class ItemNameIndex
+{
+	static final ItemNameIndex EMPTY = new ItemNameIndex(Collections.emptyList());
+
+	private static final int GRAM_LENGTH = 3;
+	private static final int[] NONE = new int[0];
+
+	// In the order the prices were loaded, which search keeps
+	private final ItemPrice[] items;
+	private final String[] names;
+	// Positions into items, by name
+	private final Integer[] sorted;
+	private final Map<String, int[]> exact;
+	private final Map<String, int[]> grams;
+
+	ItemNameIndex(Collection<ItemPrice> prices)
+	{
+		items = prices.toArray(new ItemPrice[0]);
+		names = new String[items.length];
+		sorted = new Integer[items.length];
+
+		final Map<String, List<Integer>> exactLists = new HashMap<>();
+		final Map<String, List<Integer>> gramLists = new HashMap<>();
+		for (int i = 0; i < items.length; i++)
+		{
+			final String name = items[i].getName() == null ? "" : items[i].getName().toLowerCase();
+			names[i] = name;
+			sorted[i] = i;
+			exactLists.computeIfAbsent(name, k -> new ArrayList<>()).add(i);
+			for (String gram : grams(name))
+			{
+				gramLists.computeIfAbsent(gram, k -> new ArrayList<>()).add(i);
+			}
+		}
+
+		Arrays.sort(sorted, (a, b) -> names[a].compareTo(names[b]));
+		exact = toArrays(exactLists);
+		grams = toArrays(gramLists);
+	}
+
+	int size()
+	{
+		return items.length;
+	}
+
+	/**
+	 * Items whose name equals the name, ignoring case
+	 */
+	List<ItemPrice> exact(String name)
+	{
+		return collect(exact.getOrDefault(name.toLowerCase(), NONE));
+	}
+
+	/**
+	 * Items whose name starts with the prefix, ignoring case, in name order
+	 */
+	List<ItemPrice> prefix(String prefix)
+	{
+		final String query = prefix.toLowerCase();
+		final List<ItemPrice> result = new ArrayList<>();
+		for (int i = lowerBound(query); i < sorted.length && names[sorted[i]].startsWith(query); i++)
+		{
+			result.add(items[sorted[i]]);
+		}
+		return result;
+	}
+
+	/**
+	 * Items whose name contains the query, ignoring case, in the order the prices were loaded
+	 */
+	List<ItemPrice> contains(String query)
+	{
+		final String needle = query.toLowerCase();
+		final List<ItemPrice> result = new ArrayList<>();
+		if (needle.length() < GRAM_LENGTH)
+		{
+			// Too short to have a sequence of its own, but short queries are rare
+			for (int i = 0; i < items.length; i++)
+			{
+				if (names[i].contains(needle))
+				{
+					result.add(items[i]);
+				}
+			}
+			return result;
+		}
+
+		// Every match is in the list of each sequence of the query, so the shortest list is enough to check
+		int[] candidates = null;
+		for (String gram : grams(needle))
+		{
+			final int[] posting = grams.get(gram);
+			if (posting == null)
+			{
+				return result;
+			}
+			if (candidates == null || posting.length < candidates.length)
+			{
+				candidates = posting;
+			}
+		}
+
+		for (int i : candidates)
+		{
+			if (names[i].contains(needle))
+			{
+				result.add(items[i]);
+			}
+		}
+		return result;
+	}
+
+	private int lowerBound(String key)
+	{
+		int low = 0;
+		int high = sorted.length;
+		while (low < high)
+		{
+			final int mid = (low + high) >>> 1;
+			if (names[sorted[mid]].compareTo(key) < 0)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private List<ItemPrice> collect(int[] positions)
+	{
+		final List<ItemPrice> result = new ArrayList<>(positions.length);
+		for (int i : positions)
+		{
+			result.add(items[i]);
+		}
+		return result;
+	}
+
+	private static Set<String> grams(String name)
+	{
+		final Set<String> result = new HashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= name.length(); i++)
+		{
+			result.add(name.substring(i, i + GRAM_LENGTH));
+		}
+		return result;
+	}
+
+	private static Map<String, int[]> toArrays(Map<String, List<Integer>> lists)
+	{
+		final Map<String, int[]> result = new HashMap<>(lists.size() * 4 / 3 + 1);
+		for (Map.Entry<String, List<Integer>> entry : lists.entrySet())
+		{
+			result.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		return result;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index of the core plugins, written at build time by the build-plugin-index goal of runelite-maven-plugin.
+ * <p>
+ * Lists the plugins with their descriptors and dependencies, ordered so every plugin comes after the plugins
+ * it depends on. The format version must be kept in sync with the mojo that writes it.
+ * <p>
+ * The index also records which top level classes the plugin package had when it was written. When the client
+ * runs from a classes directory, classes compiled since then, such as a newly added plugin, make the index stale.
+ */
+@Slf4j
+final class PluginIndex
+{
+	static final String RESOURCE = "plugins.index";
+	private static final int VERSION = 2;
+
+	@Value
+	static class Entry
+	{
+		String className;
+		String name;
+		String configName;
+		String description;
+		List<String> tags;
+		List<String> conflicts;
+		boolean enabledByDefault;
+		boolean alwaysOn;
+		boolean hidden;
+		boolean developerPlugin;
+		boolean loadInSafeMode;
+		boolean priority;
+		List<String> dependencies;
+
+		String getSimpleName()
+		{
+			return className.substring(className.lastIndexOf('.') + 1);
+		}
+	}
+
+	private PluginIndex()
+	{
+	}
+
+	/**
+	 * Reads the index bundled next to this class
+	 *
+	 * @return the plugins in dependency order, or null if the client was built without an index or the plugin
+	 * classes have changed since it was built
+	 */
+	@Nullable
+	static List<Entry> load() throws IOException
+	{
+		URL url = PluginIndex.class.getResource(RESOURCE);
+		if (url == null)
+		{
+			return null;
+		}
+
+		List<String> classNames = compiledClasses(url);
+		try (InputStream in = url.openStream())
+		{
+			return read(in, classNames);
+		}
+	}
+
+	/**
+	 * Lists the top level classes next to the index, in name order
+	 *
+	 * @return the class names, or null if the index is not in a directory, such as in a jar built with it
+	 */
+	@Nullable
+	private static List<String> compiledClasses(URL url) throws IOException
+	{
+		if (!"file".equals(url.getProtocol()))
+		{
+			return null;
+		}
+
+		Path directory;
+		try
+		{
+			directory = Paths.get(url.toURI()).getParent();
+		}
+		catch (URISyntaxException ex)
+		{
+			throw new IOException(ex);
+		}
+
+		String packagePrefix = PluginIndex.class.getPackage().getName() + '.';
+		try (Stream<Path> files = Files.walk(directory))
+		{
+			return files
+				.map(path -> directory.relativize(path).toString())
+				.filter(name -> name.endsWith(".class") && name.indexOf('$') == -1)
+				.map(name -> packagePrefix + name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.'))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Reads an index
+	 *
+	 * @param classNames the top level classes of the plugin package in name order, or null to skip the check
+	 * @return the plugins in dependency order, or null if the index was written for other classes
+	 */
+	@Nullable
+	static List<Entry> read(InputStream in, @Nullable List<String> classNames) throws IOException
+	{
+		DataInputStream din = new DataInputStream(in);
+		int version = din.readInt();
+		if (version != VERSION)
+		{
+			throw new IOException("unsupported plugin index version " + version);
+		}
+
+		int classCount = din.readInt();
+		int classHash = din.readInt();
+		if (classNames != null && (classNames.size() != classCount || classNames.hashCode() != classHash))
+		{
+			log.debug("Plugin index was built for {} classes, found {}", classCount, classNames.size());
+			return null;
+		}
+
+		int count = din.readInt();
+		List<Entry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+		{
+			String className = din.readUTF();
+			String name = din.readUTF();
+			String configName = din.readUTF();
+			String description = din.readUTF();
+			List<String> tags = readStrings(din);
+			List<String> conflicts = readStrings(din);
+			boolean enabledByDefault = din.readBoolean();
+			boolean alwaysOn = din.readBoolean();
+			boolean hidden = din.readBoolean();
+			boolean developerPlugin = din.readBoolean();
+			boolean loadInSafeMode = din.readBoolean();
+			boolean priority = din.readBoolean();
+
+			int dependencyCount = din.readUnsignedShort();
+			List<String> dependencies = new ArrayList<>(dependencyCount);
+			for (int j = 0; j < dependencyCount; j++)
+			{
+				int dependency = din.readUnsignedShort();
+				if (dependency >= i)
+				{
+					throw new IOException("plugin " + className + " depends on a plugin that is not before it");
+				}
+				dependencies.add(entries.get(dependency).getClassName());
+			}
+
+			entries.add(new Entry(className, name, configName, description, tags, conflicts, enabledByDefault,
+				alwaysOn, hidden, developerPlugin, loadInSafeMode, priority, Collections.unmodifiableList(dependencies)));
+		}
+		return entries;
+	}
+
+	private static List<String> readStrings(DataInputStream din) throws IOException
+	{
+		int count = din.readUnsignedShort();
+		List<String> values = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+		{
+			values.add(din.readUTF());
+		}
+		return Collections.unmodifiableList(values);
+	}
+}
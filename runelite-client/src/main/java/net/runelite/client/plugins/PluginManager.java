@@ -32,6 +32,7 @@ import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Module;
 import com.google.inject.*;
 import lombok.Getter;
@@ -52,6 +53,7 @@ import net.runelite.client.ui.SplashScreen;
 import net.runelite.client.util.GameEventManager;
 import net.runelite.client.util.ReflectUtil;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -63,7 +65,14 @@ import java.lang.invoke.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -76,6 +85,7 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 	private static final File SIDELOADED_PLUGINS = new File(RuneLite.RUNELITE_DIR, "sideloaded-plugins");
+	private static final int STARTUP_TIMINGS_LOGGED = 10;
 
 	private final boolean developerMode;
 	private final boolean safeMode;
@@ -86,6 +96,8 @@ public class PluginManager
 	private final List<Plugin> plugins = new CopyOnWriteArrayList<>();
 	@Getter
 	private final List<Plugin> activePlugins = new CopyOnWriteArrayList<>();
+	private final Map<Plugin, StartupTiming> startupTimings = new ConcurrentHashMap<>();
+	private volatile boolean pluginsStarted;
 
     public void addPlugin(Plugin plugin) {
         plugins.add(plugin);
@@ -218,6 +230,8 @@ public class PluginManager
 
 	public void startPlugins()
 	{
+		long start = System.nanoTime();
+
 		List<Plugin> scannedPlugins = new ArrayList<>(plugins);
 		scannedPlugins.sort(Comparator.comparingInt(p ->
 		{
@@ -228,50 +242,254 @@ public class PluginManager
 			}
 			return pluginDescriptor.priority() ? 0 : 1;
 		}));
-		int loaded = 0;
-		for (Plugin plugin : scannedPlugins)
+
+		List<Plugin> serialPlugins = scannedPlugins;
+		List<List<Plugin>> components = Collections.emptyList();
+		if (!pluginsStarted)
+		{
+			// The client frame is only shown after the first start, so until then plugins which neither depend on
+			// nor conflict with each other start up in parallel. Priority plugins still start first, in the EDT.
+			serialPlugins = scannedPlugins.stream()
+				.filter(p -> p.getClass().getAnnotation(PluginDescriptor.class).priority())
+				.collect(Collectors.toList());
+			components = independentComponents(scannedPlugins.stream()
+				.filter(p -> !p.getClass().getAnnotation(PluginDescriptor.class).priority() && isPluginEnabled(p))
+				.collect(Collectors.toList()));
+		}
+
+		AtomicInteger loaded = new AtomicInteger();
+		int total = serialPlugins.size() + components.stream().mapToInt(List::size).sum();
+		for (Plugin plugin : serialPlugins)
 		{
 			try
 			{
-				SwingUtilities.invokeAndWait(() ->
-				{
-					try
-					{
-						startPlugin(plugin);
-					}
-					catch (PluginInstantiationException ex)
-					{
-						log.error("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
-						plugins.remove(plugin);
-					}
-				});
+				SwingUtilities.invokeAndWait(() -> tryStartPlugin(plugin));
 			}
 			catch (InterruptedException | InvocationTargetException e)
 			{
 				throw new RuntimeException(e);
 			}
 
-			loaded++;
-			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded, scannedPlugins.size(), false);
+			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded.incrementAndGet(), total, false);
 		}
 
+		startInParallel(components, loaded, total);
+		pluginsStarted = true;
+
 		for (Plugin plugin : plugins)
 		{
 			ReflectUtil.queueInjectorAnnotationCacheInvalidation(plugin.injector);
 		}
+
+		logStartupTimings(System.nanoTime() - start);
+	}
+
+	/**
+	 * Groups the plugins into the connected components of their dependency and conflict graph, each in load order.
+	 * Plugins of different components do not touch each other while they start.
+	 */
+	private List<List<Plugin>> independentComponents(List<Plugin> plugins)
+	{
+		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
+			.undirected()
+			.build();
+		plugins.forEach(p -> graph.addNode(p.getClass()));
+		addDependencyEdges(graph);
+
+		for (Plugin plugin : plugins)
+		{
+			for (Plugin conflict : conflictsForPlugin(plugin))
+			{
+				if (graph.nodes().contains(conflict.getClass()))
+				{
+					graph.putEdge(plugin.getClass(), conflict.getClass());
+				}
+			}
+		}
+
+		Map<Class<? extends Plugin>, Class<? extends Plugin>> roots = new HashMap<>();
+		Map<Class<? extends Plugin>, List<Plugin>> components = new LinkedHashMap<>();
+		for (Plugin plugin : plugins)
+		{
+			Class<? extends Plugin> root = roots.get(plugin.getClass());
+			if (root == null)
+			{
+				root = plugin.getClass();
+				for (Class<? extends Plugin> node : Graphs.reachableNodes(graph, root))
+				{
+					roots.put(node, root);
+				}
+			}
+			components.computeIfAbsent(root, k -> new ArrayList<>()).add(plugin);
+		}
+		return new ArrayList<>(components.values());
+	}
+
+	/**
+	 * Starts the components on a thread each, the plugins of a component one after another
+	 */
+	private void startInParallel(List<List<Plugin>> components, AtomicInteger loaded, int total)
+	{
+		if (components.isEmpty())
+		{
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(components.size(), Runtime.getRuntime().availableProcessors()),
+			new ThreadFactoryBuilder().setNameFormat("plugin-startup-%d").build());
+		try
+		{
+			List<Future<?>> futures = new ArrayList<>(components.size());
+			for (List<Plugin> component : components)
+			{
+				futures.add(executor.submit(() ->
+				{
+					for (Plugin plugin : component)
+					{
+						tryStartPlugin(plugin);
+						SplashScreen.stage(.80, 1, null, "Starting plugins", loaded.incrementAndGet(), total, false);
+					}
+				}));
+			}
+
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException | ExecutionException e)
+		{
+			throw new RuntimeException(e);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	private void tryStartPlugin(Plugin plugin)
+	{
+		try
+		{
+			start(plugin);
+		}
+		catch (PluginInstantiationException ex)
+		{
+			log.error("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
+			plugins.remove(plugin);
+		}
+	}
+
+	private StartupTiming timing(Plugin plugin)
+	{
+		return startupTimings.computeIfAbsent(plugin, p -> new StartupTiming(p.getClass().getSimpleName()));
+	}
+
+	/**
+	 * Returns how long creating the injector and starting up took for each plugin, slowest first
+	 */
+	public List<StartupTiming> getStartupTimings()
+	{
+		return startupTimings.values().stream()
+			.sorted(Comparator.comparingLong(StartupTiming::getTotalNanos).reversed())
+			.collect(Collectors.toList());
+	}
+
+	private void logStartupTimings(long totalNanos)
+	{
+		List<StartupTiming> timings = getStartupTimings();
+		log.info("Started {} plugins in {}ms, slowest: {}", activePlugins.size(), TimeUnit.NANOSECONDS.toMillis(totalNanos),
+			timings.subList(0, Math.min(timings.size(), STARTUP_TIMINGS_LOGGED)));
+		if (log.isDebugEnabled())
+		{
+			for (StartupTiming timing : timings)
+			{
+				log.debug("Plugin startup: {}", timing);
+			}
+		}
 	}
 
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading plugins");
+		BiConsumer<Integer, Integer> onPluginLoaded = (loaded, total) ->
+			SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false);
+
+		// Classes compiled since the last build are not in the index, so developers always scan
+		List<Class<? extends Plugin>> indexedPlugins = developerMode ? null : loadIndexedPlugins();
+		if (indexedPlugins != null)
+		{
+			instantiatePlugins(indexedPlugins, onPluginLoaded);
+			return;
+		}
+
 		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
 
 		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
 			.map(ClassInfo::load)
 			.collect(Collectors.toList());
 
-		loadPlugins(plugins, (loaded, total) ->
-			SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
+		loadPlugins(plugins, onPluginLoaded);
+	}
+
+	/**
+	 * Loads the plugin classes listed in the plugin index, already in dependency order
+	 *
+	 * @return the plugin classes to instantiate, or null if there is no usable index and the class path must be scanned
+	 */
+	@Nullable
+	private List<Class<? extends Plugin>> loadIndexedPlugins()
+	{
+		List<PluginIndex.Entry> entries;
+		try
+		{
+			entries = PluginIndex.load();
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to read the plugin index, scanning for plugins", ex);
+			return null;
+		}
+
+		if (entries == null)
+		{
+			log.debug("No up to date plugin index, scanning for plugins");
+			return null;
+		}
+
+		ClassLoader classLoader = getClass().getClassLoader();
+		List<Class<? extends Plugin>> plugins = new ArrayList<>(entries.size());
+		for (PluginIndex.Entry entry : entries)
+		{
+			if (safeMode && !entry.isLoadInSafeMode())
+			{
+				log.debug("Disabling {} due to safe mode", entry.getClassName());
+				disableInSafeMode(entry.getSimpleName(), entry.getConfigName());
+				continue;
+			}
+
+			Class<?> clazz;
+			try
+			{
+				clazz = classLoader.loadClass(entry.getClassName());
+			}
+			catch (ClassNotFoundException ex)
+			{
+				log.warn("Plugin index is out of date, scanning for plugins", ex);
+				return null;
+			}
+
+			if (clazz.getSuperclass() != Plugin.class || clazz.getAnnotation(PluginDescriptor.class) == null)
+			{
+				log.warn("Plugin index is out of date, {} is no plugin, scanning for plugins", clazz);
+				return null;
+			}
+
+			plugins.add(clazz.asSubclass(Plugin.class));
+		}
+
+		log.debug("Loaded {} plugins from the plugin index", plugins.size());
+		return plugins;
 	}
 
 	public void loadSideLoadPlugins()
@@ -341,16 +559,29 @@ public class PluginManager
 			if (safeMode && !pluginDescriptor.loadInSafeMode())
 			{
 				log.debug("Disabling {} due to safe mode", clazz);
-				// also disable the plugin from autostarting later
-				configManager.unsetConfiguration(RuneLiteConfig.GROUP_NAME,
-					(Strings.isNullOrEmpty(pluginDescriptor.configName()) ? clazz.getSimpleName() : pluginDescriptor.configName()).toLowerCase());
+				disableInSafeMode(clazz.getSimpleName(), pluginDescriptor.configName());
 				continue;
 			}
 
 			graph.addNode((Class<Plugin>) clazz);
 		}
 
-		// Build plugin graph
+		addDependencyEdges(graph);
+
+		if (Graphs.hasCycle(graph))
+		{
+			throw new PluginInstantiationException("Plugin dependency graph contains a cycle!");
+		}
+
+		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
+		return instantiatePlugins(sortedPlugins, onPluginLoaded);
+	}
+
+	/**
+	 * Adds an edge from every plugin of the graph to the plugins of the graph which depend on it
+	 */
+	private static void addDependencyEdges(MutableGraph<Class<? extends Plugin>> graph)
+	{
 		for (Class<? extends Plugin> pluginClazz : graph.nodes())
 		{
 			PluginDependency[] pluginDependencies = pluginClazz.getAnnotationsByType(PluginDependency.class);
@@ -363,14 +594,17 @@ public class PluginManager
 				}
 			}
 		}
+	}
 
-		if (Graphs.hasCycle(graph))
-		{
-			throw new PluginInstantiationException("Plugin dependency graph contains a cycle!");
-		}
-
-		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
+	private void disableInSafeMode(String simpleName, String configName)
+	{
+		// also disable the plugin from autostarting later
+		configManager.unsetConfiguration(RuneLiteConfig.GROUP_NAME,
+			(Strings.isNullOrEmpty(configName) ? simpleName : configName).toLowerCase());
+	}
 
+	private List<Plugin> instantiatePlugins(List<Class<? extends Plugin>> sortedPlugins, BiConsumer<Integer, Integer> onPluginLoaded)
+	{
 		int loaded = 0;
 		List<Plugin> newPlugins = new ArrayList<>();
 		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
@@ -402,6 +636,11 @@ public class PluginManager
 		// plugins always start in the EDT
 		assert SwingUtilities.isEventDispatchThread();
 
+		return start(plugin);
+	}
+
+	private boolean start(Plugin plugin) throws PluginInstantiationException
+	{
 		if (activePlugins.contains(plugin) || !isPluginEnabled(plugin))
 		{
 			return false;
@@ -424,7 +663,9 @@ public class PluginManager
 
 		try
 		{
+			long start = System.nanoTime();
 			plugin.startUp();
+			timing(plugin).startUpNanos = System.nanoTime() - start;
 
 			log.debug("Plugin {} is now running", plugin.getClass().getSimpleName());
 			if (sceneTileManager != null)
@@ -551,40 +792,7 @@ public class PluginManager
 
 		try
 		{
-			Injector parent = Microbot.getInjector();
-
-			if (deps.size() > 1)
-			{
-				List<Module> modules = new ArrayList<>(deps.size());
-				for (Plugin p : deps)
-				{
-					// Create a module for each dependency
-					Module module = (Binder binder) ->
-					{
-						binder.bind((Class<Plugin>) p.getClass()).toInstance(p);
-						binder.install(p);
-					};
-					modules.add(module);
-				}
-
-				// Create a parent injector containing all of the dependencies
-				parent = parent.createChildInjector(modules);
-			}
-			else if (!deps.isEmpty())
-			{
-				// With only one dependency we can simply use its injector
-				parent = deps.get(0).injector;
-			}
-
-			// Create injector for the module
-			Module pluginModule = (Binder binder) ->
-			{
-				// Since the plugin itself is a module, it won't bind itself, so we'll bind it here
-				binder.bind(clazz).toInstance(plugin);
-				binder.install(plugin);
-			};
-			Injector pluginInjector = parent.createChildInjector(pluginModule);
-			plugin.injector = pluginInjector;
+			plugin.injector = createInjector(plugin, clazz, deps);
 		}
 		catch (CreationException ex)
 		{
@@ -595,6 +803,44 @@ public class PluginManager
 		return plugin;
 	}
 
+	private Injector createInjector(Plugin plugin, Class<Plugin> clazz, List<Plugin> deps)
+	{
+		// With only one dependency we can simply use its injector
+		Injector parent = deps.size() == 1 ? deps.get(0).injector : Microbot.getInjector();
+		long start = System.nanoTime();
+
+		if (deps.size() > 1)
+		{
+			List<Module> modules = new ArrayList<>(deps.size());
+			for (Plugin p : deps)
+			{
+				// Create a module for each dependency
+				Module module = (Binder binder) ->
+				{
+					binder.bind((Class<Plugin>) p.getClass()).toInstance(p);
+					binder.install(p);
+				};
+				modules.add(module);
+			}
+
+			// Create a parent injector containing all of the dependencies
+			parent = parent.createChildInjector(modules);
+		}
+
+		// Create injector for the module
+		Module pluginModule = (Binder binder) ->
+		{
+			// Since the plugin itself is a module, it won't bind itself, so we'll bind it here
+			binder.bind(clazz).toInstance(plugin);
+			binder.install(plugin);
+		};
+		Injector pluginInjector = parent.createChildInjector(pluginModule);
+
+		timing(plugin).injectorNanos = System.nanoTime() - start;
+		log.debug("Created injector for plugin {}", clazz.getSimpleName());
+		return pluginInjector;
+	}
+
 	public void add(Plugin plugin)
 	{
 		plugins.add(plugin);
@@ -603,6 +849,7 @@ public class PluginManager
 	public void remove(Plugin plugin)
 	{
 		plugins.remove(plugin);
+		startupTimings.remove(plugin);
 	}
 
 	public Collection<Plugin> getPlugins()
@@ -743,4 +990,32 @@ public class PluginManager
 			})
 			.collect(Collectors.toList());
 	}
+
+	/**
+	 * Time spent creating the injector of a plugin and in its startUp, zero for what did not happen yet
+	 */
+	@Getter
+	public static class StartupTiming
+	{
+		private final String plugin;
+		private volatile long injectorNanos;
+		private volatile long startUpNanos;
+
+		private StartupTiming(String plugin)
+		{
+			this.plugin = plugin;
+		}
+
+		public long getTotalNanos()
+		{
+			return injectorNanos + startUpNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			return plugin + " " + TimeUnit.NANOSECONDS.toMillis(getTotalNanos()) + "ms (injector "
+				+ TimeUnit.NANOSECONDS.toMillis(injectorNanos) + "ms, startUp " + TimeUnit.NANOSECONDS.toMillis(startUpNanos) + "ms)";
+		}
+	}
 }
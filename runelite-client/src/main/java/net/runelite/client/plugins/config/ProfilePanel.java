@@ -452,6 +452,7 @@ class ProfilePanel extends PluginPanel {
         {
             // save config to disk so the export copies the full config
             configManager.sendConfig();
+            ProfileManager.compactProfileConfig(profile);
 
             File source = ProfileManager.profileConfigFile(profile);
             if (!source.exists()) {
@@ -990,6 +991,7 @@ class ProfilePanel extends PluginPanel {
         {
             // save config to disk so the clone copies the full config
             configManager.sendConfig();
+            ProfileManager.compactProfileConfig(profile);
 
             try (ProfileManager.Lock lock = profileManager.lock()) {
                 int num = 1;
@@ -1,5 +1,8 @@
 package net.runelite.client.plugins.microbot;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * Represents an event that can block the execution of a script if a specific issue is encountered.
  * Blocking events are used to handle situations that would prevent a script from running properly.
@@ -31,6 +34,20 @@ public interface BlockingEvent {
      */
     BlockingEventPriority priority();
 
+    /**
+     * Retrieves the game events after which this blocking event may need to be executed,
+     * such as {@code WidgetLoaded} or {@code GameStateChanged}.
+     * The {@link BlockingEventManager} validates the event right after one of them is posted,
+     * and otherwise only on a slow safety sweep. An event without triggers is validated
+     * every 300 ms instead, so its {@link #validate()} should be cheap.
+     * See {@link BlockingEventManager#onGameEvent(Object)} for the game events that are passed on.
+     *
+     * @return the classes of the game events that trigger this event
+     */
+    default Set<Class<?>> triggers() {
+        return Collections.emptySet();
+    }
+
     /**
      * Retrieves the name of this blocking event.
      * By default, it returns the simple name of the implementing class.
@@ -15,6 +15,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class BlockingEventManager
 {
     private static final int MAX_QUEUE_SIZE = 10;
+    // Events with triggers are validated at least this often, in case a trigger was missed
+    private static final long SAFETY_SWEEP_MILLIS = 5000;
     private final List<BlockingEvent> blockingEvents = new CopyOnWriteArrayList<>();
     // Track which events are already in the queue
     private final Set<BlockingEvent> pendingEvents = ConcurrentHashMap.newKeySet();
@@ -24,21 +26,18 @@ public class BlockingEventManager
     private final ScheduledExecutorService scheduler;
     private final ExecutorService blockingExecutor;
     private final AtomicBoolean isRunning = new AtomicBoolean(false);
-
-    @Getter
-    private final ThreadFactory threadFactory = runnable -> {
-        Thread t = new Thread(runnable, "Microbot-BlockingEvent");
-        t.setDaemon(true);
-        return t;
-    };
+    // Events whose triggers fired since they were last validated
+    private final Set<BlockingEvent> triggeredEvents = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean validationScheduled = new AtomicBoolean(false);
+    private volatile long nextSafetySweep;
 
     public BlockingEventManager()
     {
-        // single-threaded executor for running event.execute()
-        this.blockingExecutor = Executors.newSingleThreadExecutor(threadFactory);
+        // runs event.execute(), isRunning keeps it to one event at a time
+        this.blockingExecutor = ScriptRuntime.newExecutor("Microbot-BlockingEvent");
 
-        // scheduler for periodic validate() calls
-        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        // scheduler for the validate() calls of events without triggers, and the safety sweep
+        this.scheduler = ScriptRuntime.newExecutor("Microbot-BlockingEvent");
         this.scheduler.scheduleWithFixedDelay(
                 this::validateAndEnqueue,
                 0,
@@ -72,6 +71,7 @@ public class BlockingEventManager
     public void remove(BlockingEvent event)
     {
         blockingEvents.remove(event);
+        triggeredEvents.remove(event);
     }
 
     public List<BlockingEvent> getEvents()
@@ -88,8 +88,72 @@ public class BlockingEventManager
     }
 
     /**
-     * Runs every 300ms on the scheduler thread: tries each event.validate()
-     * and, if true, offers it into the queue (drops if full).
+     * Called by the MicrobotPlugin on the client thread for the game events blocking events can declare as
+     * triggers: GameStateChanged, WidgetLoaded, VarbitChanged, ItemContainerChanged, ChatMessage, NpcSpawned,
+     * and ActorDeath and InteractingChanged of the local player.
+     * The events triggered by it are validated right after on the scheduler thread, off the client thread.
+     */
+    public void onGameEvent(Object gameEvent)
+    {
+        boolean triggered = false;
+        for (BlockingEvent event : blockingEvents)
+        {
+            if (pendingEvents.contains(event))
+            {
+                continue;
+            }
+            for (Class<?> trigger : event.triggers())
+            {
+                if (trigger.isInstance(gameEvent))
+                {
+                    triggeredEvents.add(event);
+                    triggered = true;
+                    break;
+                }
+            }
+        }
+        if (triggered)
+        {
+            scheduleValidation();
+        }
+    }
+
+    private void scheduleValidation()
+    {
+        // Triggers fired before the validation runs are handled by it
+        if (validationScheduled.compareAndSet(false, true))
+        {
+            try
+            {
+                scheduler.execute(this::validateTriggered);
+            }
+            catch (RejectedExecutionException ignored)
+            {
+                // shut down with the client
+            }
+        }
+    }
+
+    private void validateTriggered()
+    {
+        validationScheduled.set(false);
+        if (SplashScreen.isOpen())
+        {
+            triggeredEvents.clear();
+            return;
+        }
+        for (BlockingEvent event : blockingEvents)
+        {
+            if (triggeredEvents.remove(event))
+            {
+                validateAndEnqueue(event);
+            }
+        }
+    }
+
+    /**
+     * Runs every 300ms on the scheduler thread: validates the events without triggers,
+     * and every event on the safety sweep.
      */
     private void validateAndEnqueue()
     {
@@ -97,30 +161,47 @@ public class BlockingEventManager
         {
             return;
         }
+        final long now = System.currentTimeMillis();
+        final boolean safetySweep = now >= nextSafetySweep;
+        if (safetySweep)
+        {
+            nextSafetySweep = now + SAFETY_SWEEP_MILLIS;
+        }
         for (BlockingEvent event : blockingEvents)
         {
-            try
+            if (safetySweep || event.triggers().isEmpty())
+            {
+                validateAndEnqueue(event);
+            }
+        }
+    }
+
+    /**
+     * Tries event.validate() and, if true, offers it into the queue (drops if full).
+     */
+    private void validateAndEnqueue(BlockingEvent event)
+    {
+        try
+        {
+            if (event.validate())
             {
-                if (event.validate())
+                // only enqueue if it wasn't already pending
+                if (pendingEvents.add(event))
                 {
-                    // only enqueue if it wasn't already pending
-                    if (pendingEvents.add(event))
+                    // offer; if the queue is full, drop and remove from pending
+                    if (!eventQueue.offer(event))
                     {
-                        // offer; if the queue is full, drop and remove from pending
-                        if (!eventQueue.offer(event))
-                        {
-                            pendingEvents.remove(event);
-                        }
+                        pendingEvents.remove(event);
                     }
                 }
             }
-            catch (Exception ex)
-            {
-                Microbot.log(Level.ERROR,
-                        "Error validating BlockingEvent (%s): %s",
-                        event.getName(),
-                        ex);
-            }
+        }
+        catch (Exception ex)
+        {
+            Microbot.log(Level.ERROR,
+                    "Error validating BlockingEvent (%s): %s",
+                    event.getName(),
+                    ex);
         }
     }
 
@@ -164,6 +245,12 @@ public class BlockingEventManager
             {
                 pendingEvents.remove(event);
                 isRunning.set(false);
+                // events may take several executions to resolve, validate again without waiting for a trigger
+                if (!event.triggers().isEmpty() && blockingEvents.contains(event))
+                {
+                    triggeredEvents.add(event);
+                    scheduleValidation();
+                }
             }
         });
 
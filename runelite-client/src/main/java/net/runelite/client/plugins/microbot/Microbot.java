@@ -19,7 +19,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -68,6 +67,8 @@ import static net.runelite.client.plugins.microbot.util.Global.sleepUntil;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntilNotNull;
 import static net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject.get;
 
+import net.runelite.client.plugins.microbot.util.gamestate.GameStateSnapshot;
+import net.runelite.client.plugins.microbot.util.gamestate.Rs2GameState;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.item.Rs2ItemManager;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
@@ -90,7 +91,7 @@ public class Microbot {
 	//If the version is the same as the current version we do not download the latest .jar
 	//Resulting in a faster startup
 	private static final String VERSION_FILE_PATH = "debug_temp_version.txt";
-	private static final ScheduledExecutorService xpSchedulor = Executors.newSingleThreadScheduledExecutor();
+	private static final ScheduledExecutorService xpSchedulor = ScriptRuntime.newExecutor("Microbot-Xp");
 	@Getter
 	private static final SpecialAttackConfigs specialAttackConfigs = new SpecialAttackConfigs();
 	public static MenuEntry targetMenu;
@@ -222,14 +223,99 @@ public class Microbot {
 
 	public static int getVarbitValue(int varbit)
 	{
+		final Integer value = Rs2GameState.getVarbitValue(varbit);
+		if (value != null)
+		{
+			return value;
+		}
 		return getClientThread().runOnClientThreadOptional(() -> getClient().getVarbitValue(varbit)).orElse(0);
 	}
 
 	public static int getVarbitPlayerValue(int varpId)
 	{
+		final Integer value = Rs2GameState.getVarpValue(varpId);
+		if (value != null)
+		{
+			return value;
+		}
 		return getClientThread().runOnClientThreadOptional(() -> getClient().getVarpValue(varpId)).orElse(0);
 	}
 
+	/**
+	 * Reads several varbits at once, costing at most one client thread round trip for all of them
+	 */
+	public static int[] getVarbitValues(int... varbits)
+	{
+		final int[] values = new int[varbits.length];
+		for (int i = 0; i < varbits.length; i++)
+		{
+			final Integer value = Rs2GameState.getVarbitValue(varbits[i]);
+			if (value == null)
+			{
+				return getClientThread().runOnClientThreadOptional(() ->
+				{
+					for (int j = 0; j < varbits.length; j++)
+					{
+						values[j] = getClient().getVarbitValue(varbits[j]);
+					}
+					return values;
+				}).orElseGet(() -> new int[varbits.length]);
+			}
+			values[i] = value;
+		}
+		return values;
+	}
+
+	/**
+	 * Reads several varps at once, costing at most one client thread round trip for all of them
+	 */
+	public static int[] getVarbitPlayerValues(int... varpIds)
+	{
+		final GameStateSnapshot snapshot = Rs2GameState.getSnapshot();
+		final int[] values = new int[varpIds.length];
+		if (snapshot != null)
+		{
+			for (int i = 0; i < varpIds.length; i++)
+			{
+				values[i] = snapshot.getVarp(varpIds[i]);
+			}
+			return values;
+		}
+		return getClientThread().runOnClientThreadOptional(() ->
+		{
+			for (int i = 0; i < varpIds.length; i++)
+			{
+				values[i] = getClient().getVarpValue(varpIds[i]);
+			}
+			return values;
+		}).orElseGet(() -> new int[varpIds.length]);
+	}
+
+	/**
+	 * Reads the boosted levels of several skills at once, all from the same tick
+	 */
+	public static int[] getBoostedSkillLevels(Skill... skills)
+	{
+		final GameStateSnapshot snapshot = Rs2GameState.getSnapshot();
+		final int[] levels = new int[skills.length];
+		if (snapshot != null)
+		{
+			for (int i = 0; i < skills.length; i++)
+			{
+				levels[i] = snapshot.getBoostedSkillLevel(skills[i]);
+			}
+			return levels;
+		}
+		return getClientThread().runOnClientThreadOptional(() ->
+		{
+			for (int i = 0; i < skills.length; i++)
+			{
+				levels[i] = getClient().getBoostedSkillLevel(skills[i]);
+			}
+			return levels;
+		}).orElseGet(() -> new int[skills.length]);
+	}
+
 	public static EnumComposition getEnum(int id)
 	{
 		return getClientThread().runOnClientThreadOptional(() -> getClient().getEnum(id)).orElse(null);
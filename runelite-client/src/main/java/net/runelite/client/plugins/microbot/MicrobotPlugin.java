@@ -27,6 +27,11 @@ import net.runelite.client.plugins.microbot.ui.MicrobotPluginListPanel;
 import net.runelite.client.plugins.microbot.ui.MicrobotTopLevelConfigPanel;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
+import net.runelite.client.plugins.microbot.util.gameobject.SceneObjectIndex;
+import net.runelite.client.plugins.microbot.util.gamestate.GameStateSignal;
+import net.runelite.client.plugins.microbot.util.gamestate.Rs2GameState;
+import net.runelite.client.plugins.microbot.util.grounditem.GroundItemIndex;
+import net.runelite.client.plugins.microbot.util.npc.Rs2NpcRegistry;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Gembag;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2RunePouch;
@@ -138,6 +143,17 @@ public class MicrobotPlugin extends Plugin
 
 		Microbot.getPouchScript().startUp();
 
+		// Objects, items and NPCs of a scene that loaded before the plugin started have no spawn events to index them from
+		Microbot.getClientThread().invokeLater(() ->
+		{
+			if (Microbot.getClient().getGameState() == GameState.LOGGED_IN)
+			{
+				SceneObjectIndex.rebuild();
+				GroundItemIndex.rebuild();
+				Rs2NpcRegistry.rebuild();
+			}
+		});
+
 		if (overlayManager != null)
 		{
 			overlayManager.add(microbotOverlay);
@@ -160,6 +176,7 @@ public class MicrobotPlugin extends Plugin
 	public void onStatChanged(StatChanged statChanged)
 	{
 		Microbot.setIsGainingExp(true);
+		GameStateSignal.signal();
 	}
 
 	@Subscribe
@@ -189,6 +206,8 @@ public class MicrobotPlugin extends Plugin
 		else if (Arrays.stream(getShopContainerIds()).anyMatch(sid -> Objects.equals(event.getContainerId(), sid))) {
 			Rs2Shop.storeShopItemsInMemory(event, event.getContainerId());
 		}
+		Microbot.getBlockingEventManager().onGameEvent(event);
+		GameStateSignal.signal();
 	}
 
 	/**
@@ -238,6 +257,10 @@ public class MicrobotPlugin extends Plugin
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged gameStateChanged)
 	{
+		SceneObjectIndex.onGameStateChanged(gameStateChanged);
+		GroundItemIndex.onGameStateChanged(gameStateChanged);
+		Rs2NpcRegistry.onGameStateChanged(gameStateChanged);
+		Microbot.getBlockingEventManager().onGameEvent(gameStateChanged);
 		if (gameStateChanged.getGameState() == GameState.LOGGED_IN)
 		{
 			Microbot.setLoginTime(Instant.now());
@@ -246,12 +269,103 @@ public class MicrobotPlugin extends Plugin
 			// Load bank state from config when logging in
 			Rs2Bank.loadInitialBankStateFromConfig();
 		}
+		else
+		{
+			// The snapshot of the previous scene is stale until the next tick
+			Rs2GameState.invalidate();
+		}
 		if (gameStateChanged.getGameState() == GameState.HOPPING || gameStateChanged.getGameState() == GameState.LOGIN_SCREEN || gameStateChanged.getGameState() == GameState.CONNECTION_LOST)
 		{
 			// Clear bank state when logging out
 			Rs2Bank.emptyBankState();
 			Microbot.loggedIn = false;
 		}
+		GameStateSignal.signal();
+	}
+
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		SceneObjectIndex.onGameObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		SceneObjectIndex.onGameObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		SceneObjectIndex.onWallObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		SceneObjectIndex.onWallObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		SceneObjectIndex.onDecorativeObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		SceneObjectIndex.onDecorativeObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		SceneObjectIndex.onGroundObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		SceneObjectIndex.onGroundObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onItemSpawned(ItemSpawned event)
+	{
+		GroundItemIndex.onItemSpawned(event);
+	}
+
+	@Subscribe
+	public void onItemDespawned(ItemDespawned event)
+	{
+		GroundItemIndex.onItemDespawned(event);
+	}
+
+	@Subscribe
+	public void onItemQuantityChanged(ItemQuantityChanged event)
+	{
+		GroundItemIndex.onItemQuantityChanged(event);
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		Rs2NpcRegistry.onNpcSpawned(event);
+		Microbot.getBlockingEventManager().onGameEvent(event);
+	}
+
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		Rs2NpcRegistry.onNpcDespawned(event);
+	}
+
+	@Subscribe
+	public void onNpcChanged(NpcChanged event)
+	{
+		Rs2NpcRegistry.onNpcChanged(event);
 	}
 
 	@Subscribe
@@ -260,12 +374,19 @@ public class MicrobotPlugin extends Plugin
 		Rs2Player.handlePotionTimers(event);
 		Rs2Player.handleTeleblockTimer(event);
 		Rs2RunePouch.onVarbitChanged(event);
+		Microbot.getBlockingEventManager().onGameEvent(event);
+		GameStateSignal.signal();
 	}
 
 	@Subscribe
 	public void onAnimationChanged(AnimationChanged event)
 	{
 		Rs2Player.handleAnimationChanged(event);
+		// Every actor in the scene animates, only the local player's animation is waited on
+		if (event.getActor() == Microbot.getClient().getLocalPlayer())
+		{
+			GameStateSignal.signal();
+		}
 	}
 
 	@Subscribe(priority = 999)
@@ -325,6 +446,8 @@ public class MicrobotPlugin extends Plugin
 		}
 		Microbot.getPouchScript().onChatMessage(event);
 		Rs2Gembag.onChatMessage(event);
+		Microbot.getBlockingEventManager().onGameEvent(event);
+		GameStateSignal.signal();
 	}
 
 	@Subscribe
@@ -358,6 +481,33 @@ public class MicrobotPlugin extends Plugin
 	public void onWidgetLoaded(WidgetLoaded event)
 	{
 		Rs2RunePouch.onWidgetLoaded(event);
+		Microbot.getBlockingEventManager().onGameEvent(event);
+		GameStateSignal.signal();
+	}
+
+	@Subscribe
+	public void onWidgetClosed(WidgetClosed event)
+	{
+		GameStateSignal.signal();
+	}
+
+	@Subscribe
+	public void onInteractingChanged(InteractingChanged event)
+	{
+		if (event.getSource() == Microbot.getClient().getLocalPlayer() || event.getTarget() == Microbot.getClient().getLocalPlayer())
+		{
+			Microbot.getBlockingEventManager().onGameEvent(event);
+			GameStateSignal.signal();
+		}
+	}
+
+	@Subscribe
+	public void onActorDeath(ActorDeath event)
+	{
+		if (event.getActor() == Microbot.getClient().getLocalPlayer())
+		{
+			Microbot.getBlockingEventManager().onGameEvent(event);
+		}
 	}
 
 	@Subscribe
@@ -413,10 +563,14 @@ public class MicrobotPlugin extends Plugin
 		}
 	}
 
-	@Subscribe
+	// Runs after the other tick handlers, so the snapshot includes what they changed
+	@Subscribe(priority = -100)
 	public void onGameTick(GameTick event)
 	{
 		Rs2Bank.loadInitialBankStateFromConfig();
+		Rs2NpcRegistry.onGameTick();
+		Rs2GameState.update(Microbot.getClient());
+		GameStateSignal.signal();
 	}
 
 	@Subscribe(priority = 100)
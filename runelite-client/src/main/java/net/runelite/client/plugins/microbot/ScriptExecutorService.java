@@ -0,0 +1,257 @@
+package net.runelite.client.plugins.microbot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The executor of a single script, running its tasks on the threads of {@link ScriptRuntime}.
+ * <p>
+ * It behaves like a {@link java.util.concurrent.ScheduledThreadPoolExecutor} of its own: periodic tasks never
+ * overlap themselves and stop at their first exception, cancelling a future interrupts the thread running it,
+ * {@link #shutdown()} cancels the periodic tasks and {@link #shutdownNow()} interrupts every task, all without
+ * touching the tasks of other scripts.
+ */
+public class ScriptExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+    private final String name;
+    private final Set<ScriptTask<?>> tasks = ConcurrentHashMap.newKeySet();
+    private final Object terminationLock = new Object();
+    private volatile boolean shutdown;
+
+    ScriptExecutorService(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return start(new ScriptTask<>(Executors.callable(command, null), unit.toNanos(delay), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return start(new ScriptTask<>(callable, unit.toNanos(delay), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return start(new ScriptTask<>(Executors.callable(command, null), unit.toNanos(initialDelay), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return start(new ScriptTask<>(Executors.callable(command, null), unit.toNanos(initialDelay), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // Tasks from submit and invokeAll are already wrapped by newTaskFor
+        if (command instanceof ScriptTask) {
+            start((ScriptTask<?>) command);
+        } else {
+            schedule(command, 0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new ScriptTask<>(Executors.callable(runnable, value), 0, 0);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new ScriptTask<>(callable, 0, 0);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (ScriptTask<?> task : tasks) {
+            if (task.isPeriodic()) {
+                task.cancel(false);
+            }
+        }
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        final List<Runnable> pending = new ArrayList<>();
+        for (ScriptTask<?> task : tasks) {
+            if (!task.started) {
+                pending.add(task);
+            }
+            task.cancel(true);
+        }
+        tryTerminate();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ScriptExecutorService[" + name + ", tasks=" + tasks.size() + (shutdown ? ", shutdown]" : "]");
+    }
+
+    private <V> ScriptTask<V> start(ScriptTask<V> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException(this + " is shut down");
+        }
+        tasks.add(task);
+        task.arm();
+        return task;
+    }
+
+    private void finished(ScriptTask<?> task) {
+        tasks.remove(task);
+        tryTerminate();
+    }
+
+    private void tryTerminate() {
+        if (isTerminated()) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    private class ScriptTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        // Positive for a fixed rate, negative for a fixed delay and zero for a task that runs once
+        private final long period;
+        private volatile long time;
+        private volatile Future<?> timer;
+        private volatile boolean started;
+        private volatile boolean running;
+
+        private ScriptTask(Callable<V> callable, long delayNanos, long period) {
+            super(callable);
+            this.time = System.nanoTime() + Math.max(delayNanos, 0);
+            this.period = period;
+        }
+
+        private boolean isPeriodic() {
+            return period != 0;
+        }
+
+        // Waits on the timer thread until the task is due, then hands it to a worker
+        private void arm() {
+            final long delay = time - System.nanoTime();
+            if (delay <= 0) {
+                dispatch();
+            } else {
+                timer = ScriptRuntime.timer().schedule(this::dispatch, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void dispatch() {
+            if (isDone()) {
+                return;
+            }
+            try {
+                ScriptRuntime.workers().execute(this);
+            } catch (RejectedExecutionException e) {
+                setException(e);
+                finished(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            running = true;
+            final Thread thread = Thread.currentThread();
+            final String threadName = thread.getName();
+            thread.setName(name);
+            boolean again = false;
+            try {
+                if (!isPeriodic()) {
+                    super.run();
+                } else if (runAndReset() && !shutdown) {
+                    time = period > 0 ? time + period : System.nanoTime() - period;
+                    again = true;
+                } else {
+                    // Stopped by an exception or by cancelling, runAndReset already recorded which
+                    cancel(false);
+                }
+            } finally {
+                running = false;
+                thread.setName(threadName);
+            }
+            // Also catches a cancel that came in while running, which left finishing the task to this thread
+            if (isDone()) {
+                finished(this);
+            } else if (again) {
+                arm();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            final Future<?> pending = timer;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            // A running task is still on its thread, it is finished by run once it returns
+            if (!running) {
+                finished(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
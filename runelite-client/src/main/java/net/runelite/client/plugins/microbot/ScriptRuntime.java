@@ -0,0 +1,72 @@
+package net.runelite.client.plugins.microbot;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads shared by every script.
+ * <p>
+ * A single timer thread keeps the schedule of every script loop, and hands each run to a pool of worker
+ * threads that grows with the number of loops running at the same moment and shrinks again when they idle.
+ * Scripts get their own {@link ScriptExecutorService} on top of these, so cancelling or shutting down one
+ * script leaves the others alone, but no script owns threads of its own.
+ */
+public final class ScriptRuntime {
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+    private static final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, daemonThreads("Microbot-ScriptTimer"));
+    private static final ThreadPoolExecutor workers = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), daemonThreads("Microbot-Script"));
+
+    static {
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    private ScriptRuntime() {
+    }
+
+    /**
+     * Creates an executor for a script, or any other owner of periodic work, on the shared threads.
+     *
+     * @param name the name the worker threads take while they run the tasks of the executor
+     */
+    public static ScheduledExecutorService newExecutor(String name) {
+        return new ScriptExecutorService(name);
+    }
+
+    /**
+     * Number of worker threads alive right now, running or idle
+     */
+    public static int getWorkerCount() {
+        return workers.getPoolSize();
+    }
+
+    /**
+     * Number of worker threads running a task right now
+     */
+    public static int getActiveWorkerCount() {
+        return workers.getActiveCount();
+    }
+
+    static ScheduledThreadPoolExecutor timer() {
+        return timer;
+    }
+
+    static ThreadPoolExecutor workers() {
+        return workers;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -9,6 +9,7 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.pluginscheduler.api.SchedulablePlugin;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
@@ -21,7 +22,6 @@ import net.runelite.client.ui.overlay.OverlayManager;
 import javax.inject.Inject;
 import java.awt.*;
 import java.time.Instant;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -82,7 +82,7 @@ public class EnsouledHeadSlayerPlugin extends Plugin implements SchedulablePlugi
             startingXp = Microbot.getClient().getSkillExperience(Skill.PRAYER);
             startingLevel = Microbot.getClient().getRealSkillLevel(Skill.PRAYER);
         }
-        scheduledExecutorService = Executors.newScheduledThreadPool(10);
+        scheduledExecutorService = ScriptRuntime.newExecutor("EnsouledHeadSlayerPlugin");
     }
 
     @Override
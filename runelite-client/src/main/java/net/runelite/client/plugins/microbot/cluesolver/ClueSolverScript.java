@@ -8,6 +8,7 @@ import net.runelite.client.plugins.cluescrolls.ClueScrollPlugin;
 import net.runelite.client.plugins.cluescrolls.clues.*;
 import net.runelite.client.plugins.cluescrolls.clues.item.ItemRequirement;
 import net.runelite.client.plugins.microbot.Script;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.cluesolver.cluetask.*;
 import net.runelite.client.plugins.microbot.cluesolver.util.ReflectionHelper;
 
@@ -24,7 +25,7 @@ public class ClueSolverScript extends Script {
     private Future<?> currentTask;
     private Future<?> itemRequirementsTask;
     private ClueScroll currentClue;
-    private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(3);
+    private final ScheduledExecutorService executorService = ScriptRuntime.newExecutor("ClueSolverScript");
 
     @Inject
     Client client;
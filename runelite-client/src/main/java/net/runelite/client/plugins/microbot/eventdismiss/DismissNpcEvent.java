@@ -1,6 +1,8 @@
 package net.runelite.client.plugins.microbot.eventdismiss;
 
 import net.runelite.api.NPC;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.NpcSpawned;
 import net.runelite.client.plugins.microbot.BlockingEvent;
 import net.runelite.client.plugins.microbot.BlockingEventPriority;
 import net.runelite.client.plugins.microbot.util.Global;
@@ -9,6 +11,8 @@ import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.npc.Rs2Npc;
 import net.runelite.client.plugins.microbot.util.npc.Rs2NpcModel;
 
+import java.util.Set;
+
 public class DismissNpcEvent implements BlockingEvent {
 
     private final EventDismissConfig config;
@@ -40,6 +44,12 @@ public class DismissNpcEvent implements BlockingEvent {
         return false;
     }
 
+    @Override
+    public Set<Class<?>> triggers() {
+        // random event npcs turn to the player to get their attention
+        return Set.of(NpcSpawned.class, InteractingChanged.class);
+    }
+
     @Override
     public BlockingEventPriority priority() {
         return BlockingEventPriority.LOWEST;
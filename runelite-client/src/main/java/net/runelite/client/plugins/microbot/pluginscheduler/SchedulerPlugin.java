@@ -20,9 +20,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -76,6 +82,7 @@ import net.runelite.client.plugins.microbot.util.security.Login;
 import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.util.ExecutorServiceExceptionLogger;
 import net.runelite.client.util.ImageUtil;
 
 @Slf4j
@@ -104,9 +111,10 @@ public class SchedulerPlugin extends Plugin {
     @Inject
     private ClientToolbar clientToolbar;
     @Inject
-    private ScheduledExecutorService executorService;
-    @Inject
     private OverlayManager overlayManager;
+    // Owns the scheduler state, see runOnSchedulerThread. Its own thread, since the loop sleeps and waits on plugins
+    private ScheduledExecutorService schedulerExecutor;
+    private volatile Thread schedulerThread;
 
     private NavigationButton navButton;
     private SchedulerPanel panel;
@@ -115,9 +123,9 @@ public class SchedulerPlugin extends Plugin {
     @Inject
     private SchedulerInfoOverlay overlay;
     @Getter
-    private PluginScheduleEntry currentPlugin;
+    private volatile PluginScheduleEntry currentPlugin;
     @Getter
-    private PluginScheduleEntry lastPlugin;
+    private volatile PluginScheduleEntry lastPlugin;
     private void setCurrentPlugin(PluginScheduleEntry plugin) {
         // Update last plugin when setting new one
         if (this.currentPlugin != null && plugin != this.currentPlugin) {
@@ -131,7 +139,7 @@ public class SchedulerPlugin extends Plugin {
      * @return List of PluginScheduleEntry objects
      */
     @Getter
-    private List<PluginScheduleEntry> scheduledPlugins = new ArrayList<>();
+    private volatile List<PluginScheduleEntry> scheduledPlugins = new CopyOnWriteArrayList<>();
 
     // private final Map<String, PluginScheduleEntry> nextPluginCache = new
     // HashMap<>();
@@ -140,8 +148,8 @@ public class SchedulerPlugin extends Plugin {
     private static final int MAX_INIT_CHECKS = 10;
 
     @Getter
-    private SchedulerState currentState = SchedulerState.UNINITIALIZED;
-    private SchedulerState prvState = SchedulerState.UNINITIALIZED;
+    private volatile SchedulerState currentState = SchedulerState.UNINITIALIZED;
+    private volatile SchedulerState prvState = SchedulerState.UNINITIALIZED;
     private GameState lastGameState = GameState.UNKNOWN;
 
     // Activity and state tracking
@@ -166,6 +174,8 @@ public class SchedulerPlugin extends Plugin {
     // UI update throttling
     private long lastPanelUpdateTime = 0;
     private static final long PANEL_UPDATE_THROTTLE_MS = 500; // Minimum 500ms between panel updates
+    private static final long RETRY_DELAY_MS = 50; // Delay before checking again whether a plugin started or stopped
+    private final AtomicBoolean stopCheckQueued = new AtomicBoolean(false);
     @Override
     protected void startUp() {
         hasDisabledQoLPlugin=false;
@@ -191,9 +201,16 @@ public class SchedulerPlugin extends Plugin {
         // Check initialization status before fully enabling scheduler
         //checkInitialization();
 
-        // Run the main loop
-        updateTask = executorService.scheduleWithFixedDelay(() -> {
-            SwingUtilities.invokeLater(() -> {
+        schedulerExecutor = new ExecutorServiceExceptionLogger(Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Microbot-Scheduler");
+            thread.setDaemon(true);
+            schedulerThread = thread;
+            return thread;
+        }));
+
+        // Run the main loop on the scheduler thread, only the panels are updated on the EDT
+        updateTask = schedulerExecutor.scheduleWithFixedDelay(() -> {
+            try {
                 // Only run scheduling logic if fully initialized
                 if (currentState.isSchedulerActive()) {
                     checkSchedule();
@@ -202,11 +219,70 @@ public class SchedulerPlugin extends Plugin {
                     // Retry initialization check if not already checking
                     checkInitialization();
                 }
-                updatePanels();
-            });
+            } catch (Exception e) {
+                log.error("Error in scheduler loop", e);
+            }
+            SwingUtilities.invokeLater(this::updatePanels);
         }, 0, 1, TimeUnit.SECONDS);
     }
 
+    /**
+     * Checks the stop conditions of the running plugin between two runs of the main loop,
+     * so a stop is decided within a game tick of its conditions being met.
+     * Runs on the scheduler thread like the main loop, never on the client thread.
+     */
+    private void queueStopConditionCheck() {
+        if (!stopCheckQueued.compareAndSet(false, true)) {
+            return;
+        }
+        queueOnSchedulerThread(() -> {
+            stopCheckQueued.set(false);
+            try {
+                if (currentState == SchedulerState.RUNNING_PLUGIN && isScheduledPluginRunning()) {
+                    checkCurrentPlugin();
+                }
+            } catch (Exception e) {
+                log.error("Error checking stop conditions", e);
+            }
+        }, 0);
+    }
+
+    /**
+     * Runs the action on the scheduler thread, right away when called on it.
+     * The scheduler state is only changed on that thread: the main loop runs there, and the panels,
+     * event handlers and login monitor hand their changes to it through this method.
+     */
+    public void runOnSchedulerThread(Runnable action) {
+        if (Thread.currentThread() == schedulerThread) {
+            action.run();
+        } else {
+            queueOnSchedulerThread(action, 0);
+        }
+    }
+
+    /**
+     * Runs the call on the scheduler thread, then hands its result to the callback on the EDT
+     */
+    public <T> void callOnSchedulerThread(Supplier<T> call, Consumer<T> callback) {
+        runOnSchedulerThread(() -> {
+            final T result = call.get();
+            SwingUtilities.invokeLater(() -> callback.accept(result));
+        });
+    }
+
+    // Queues the action behind whatever the scheduler thread is doing, it is dropped once the scheduler is shut down
+    private void queueOnSchedulerThread(Runnable action, long delayMillis) {
+        final ScheduledExecutorService executor = schedulerExecutor;
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.schedule(action, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Scheduler is shut down, dropping its task");
+        }
+    }
+
     /**
      * Checks if all required plugins are loaded and initialized.
      * This runs until initialization is complete or max check count is reached.
@@ -221,7 +297,7 @@ public class SchedulerPlugin extends Plugin {
         setState(SchedulerState.INITIALIZING);       
         // Schedule repeated checks until initialized or max checks reached
         
-        Microbot.getClientThread().invokeLater(() -> {
+        runOnSchedulerThread(() -> {
             // Check if client is at login screen
             List<Plugin> conditionProviders = new ArrayList<>();
             if (Microbot.getPluginManager() == null || Microbot.getClient() == null) {
@@ -275,8 +351,8 @@ public class SchedulerPlugin extends Plugin {
                         conditionProviders.size(),
                         initCheckCount,
                         MAX_INIT_CHECKS);
+                // The main loop checks again in a second while the state is INITIALIZING
                 setState(SchedulerState.INITIALIZING);
-                checkInitialization();
             }
         });
 
@@ -300,25 +376,38 @@ public class SchedulerPlugin extends Plugin {
         saveScheduledPlugins();
         clientToolbar.removeNavigation(navButton);
         overlayManager.remove(overlay);
-        forceStopCurrentPluginScheduleEntry(true);
-        interruptBreak();
-        for (PluginScheduleEntry entry : scheduledPlugins) {
-            entry.close();
+        if (updateTask != null) {
+            updateTask.cancel(false);
+            updateTask = null;
         }
         if (this.loginMonitor != null && this.loginMonitor.isAlive()) {
             this.loginMonitor.interrupt();
             this.loginMonitor = null;
         }
-        if (updateTask != null) {
-            updateTask.cancel(false);
-            updateTask = null;
+        // Clean up on the scheduler thread after whatever it is doing, then let it go
+        runOnSchedulerThread(() -> {
+            forceStopCurrentPluginScheduleEntry(true);
+            interruptBreak();
+            for (PluginScheduleEntry entry : scheduledPlugins) {
+                entry.close();
+            }
+            setState(SchedulerState.UNINITIALIZED);
+        });
+        schedulerExecutor.shutdown();
+        try {
+            if (!schedulerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Scheduler thread did not finish its clean up in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        schedulerExecutor = null;
+        schedulerThread = null;
 
         if (schedulerWindow != null) {
             schedulerWindow.dispose(); // This will stop the timer
             schedulerWindow = null;
         }
-        setState(SchedulerState.UNINITIALIZED);
         this.lastGameState = GameState.UNKNOWN;
     }
 
@@ -327,11 +416,11 @@ public class SchedulerPlugin extends Plugin {
      */
     public void startScheduler() {
         Microbot.log("Starting scheduler request...", Level.INFO);
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+        runOnSchedulerThread(() -> {
             // If already active, nothing to do
             if (currentState.isSchedulerActive()) {
                 log.info("Scheduler already active");
-                return true;
+                return;
             }
             // If initialized, start immediately
             if (SchedulerState.READY == currentState || currentState == SchedulerState.HOLD) {
@@ -339,14 +428,9 @@ public class SchedulerPlugin extends Plugin {
                 log.info("Plugin Scheduler started");
                 
                 // Check schedule immediately when started
-                SwingUtilities.invokeLater(() -> {
-                    checkSchedule();
-                });
-                return true;
+                checkSchedule();
             }
-            return true;
         });
-        return;
     }
 
     /**
@@ -356,9 +440,9 @@ public class SchedulerPlugin extends Plugin {
         if (loginMonitor != null && loginMonitor.isAlive()) {
             loginMonitor.interrupt();
         }
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+        runOnSchedulerThread(() -> {
             if (!currentState.isSchedulerActive()) {
-                return false; // Already stopped
+                return; // Already stopped
             }
             setState(SchedulerState.HOLD);
             log.info("Stopping scheduler...");
@@ -398,7 +482,6 @@ public class SchedulerPlugin extends Plugin {
             }
 
             log.info("Scheduler stopped - status: {}", currentState);
-            return false;
         });
     }
     private boolean checkBreakAndLoginStatus() {     
@@ -580,11 +663,13 @@ public class SchedulerPlugin extends Plugin {
 
     }
     public void resumeBreak() {
-        if (currentState == SchedulerState.PLAYSCHEDULE_BREAK){
-            // If we are in a play schedule break, we need to reset the state, because otherwise we would break agin, because we are still outside the play schedule
-            Microbot.getConfigManager().setConfiguration(SchedulerPlugin.configGroup, "usePlaySchedule", false);
-        }
-        interruptBreak();
+        runOnSchedulerThread(() -> {
+            if (currentState == SchedulerState.PLAYSCHEDULE_BREAK){
+                // If we are in a play schedule break, we need to reset the state, because otherwise we would break agin, because we are still outside the play schedule
+                Microbot.getConfigManager().setConfiguration(SchedulerPlugin.configGroup, "usePlaySchedule", false);
+            }
+            interruptBreak();
+        });
     }
     /**
      * Interrupts an active break to allow a plugin to start
@@ -636,10 +721,10 @@ public class SchedulerPlugin extends Plugin {
             Thread.currentThread().interrupt();
         }
         if (BreakHandlerScript.isBreakActive()) {
-            SwingUtilities.invokeLater(() -> {
+            queueOnSchedulerThread(() -> {
                 log.info("\n\t--Break was not interrupted successfully");
                 interruptBreak();
-            });
+            }, 0);
             return;
         }
         log.info("\n\t--Break interrupted successfully");
@@ -906,10 +991,10 @@ public class SchedulerPlugin extends Plugin {
   
     public void startPluginScheduleEntry(PluginScheduleEntry scheduledPlugin) {
         
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+        runOnSchedulerThread(() -> {
 
             if (scheduledPlugin == null)
-                return false;
+                return;
             // Ensure BreakHandler is enabled when we start a plugin
             if (!SchedulerPluginUtil.isBreakHandlerEnabled() && config.enableBreakHandlerForSchedule()) {
                 log.info("Start enabling BreakHandler plugin");
@@ -963,14 +1048,12 @@ public class SchedulerPlugin extends Plugin {
                 setState(SchedulerState.WAITING_FOR_STOP_CONDITION);
                 startAddStopConditionDialog(scheduledPlugin, stateBeforeScheduling);
                 log.info("No stop conditions set for plugin: " + scheduledPlugin.getCleanName());
-                return false;
             } else {
                 if (currentState != SchedulerState.STARTING_PLUGIN){
                     setState(SchedulerState.STARTING_PLUGIN);
                     // Stop conditions exist or enforcement disabled - proceed normally
                     continueStartingPluginScheduleEntry(scheduledPlugin);
                 }
-                return true;
             }
         });
     }
@@ -1045,7 +1128,7 @@ public class SchedulerPlugin extends Plugin {
                         conditionTimeoutSeconds = 60; // Default if config value is invalid
                     }
 
-                    final Timer conditionTimer = new Timer(conditionTimeoutSeconds * 1000, evt -> {
+                    final Timer conditionTimer = new Timer(conditionTimeoutSeconds * 1000, evt -> runOnSchedulerThread(() -> {
                         // Check if any time conditions have been added
                         if (scheduledPlugin.getStopConditionManager().getConditions().isEmpty()) {
                             log.info("No conditions added within timeout period. Returning to previous state.");                            
@@ -1067,22 +1150,26 @@ public class SchedulerPlugin extends Plugin {
                             setState(SchedulerState.STARTING_PLUGIN);
                             continueStartingPluginScheduleEntry(scheduledPlugin);
                         }
-                    });
+                    }));
                     conditionTimer.setRepeats(false);
                     conditionTimer.start();
                 }
             } else if (result == JOptionPane.NO_OPTION) {
-                setState(SchedulerState.STARTING_PLUGIN);
-                // User confirms to run without stop conditions
-                continueStartingPluginScheduleEntry(scheduledPlugin);
-                scheduledPlugin.setNeedsStopCondition(false);
-                log.info("User confirmed to run plugin without stop conditions: {}", scheduledPlugin.getCleanName());
+                runOnSchedulerThread(() -> {
+                    setState(SchedulerState.STARTING_PLUGIN);
+                    // User confirms to run without stop conditions
+                    continueStartingPluginScheduleEntry(scheduledPlugin);
+                    scheduledPlugin.setNeedsStopCondition(false);
+                    log.info("User confirmed to run plugin without stop conditions: {}", scheduledPlugin.getCleanName());
+                });
             } else {
                 // User canceled or dialog timed out - abort starting
                 log.info("Plugin start canceled by user or timed out: {}", scheduledPlugin.getCleanName());
                 scheduledPlugin.setNeedsStopCondition(false);
-                setCurrentPlugin(null);                
-                setState(stateBeforeScheduling);
+                runOnSchedulerThread(() -> {
+                    setCurrentPlugin(null);                
+                    setState(stateBeforeScheduling);
+                });
             }
             return null;
         });
@@ -1092,21 +1179,25 @@ public class SchedulerPlugin extends Plugin {
      * Resets any pending plugin start operation
      */
     public void resetPendingStart() {
-        if (currentState == SchedulerState.STARTING_PLUGIN || currentState == SchedulerState.WAITING_FOR_LOGIN || 
-                currentState == SchedulerState.WAITING_FOR_STOP_CONDITION) {
-            setCurrentPlugin(null);
-            
-            setState(SchedulerState.SCHEDULING);
-        }
+        runOnSchedulerThread(() -> {
+            if (currentState == SchedulerState.STARTING_PLUGIN || currentState == SchedulerState.WAITING_FOR_LOGIN || 
+                    currentState == SchedulerState.WAITING_FOR_STOP_CONDITION) {
+                setCurrentPlugin(null);
+                
+                setState(SchedulerState.SCHEDULING);
+            }
+        });
     }
     public void continuePendingStart(PluginScheduleEntry scheduledPlugin) {
-        if (currentState == SchedulerState.WAITING_FOR_STOP_CONDITION ) {            
-            if (currentPlugin != null && !currentPlugin.isRunning()  && currentPlugin.equals(scheduledPlugin)) {
-                setState(SchedulerState.STARTING_PLUGIN);   
-                log.info("Continuing pending start for plugin: " + scheduledPlugin.getCleanName());
-                this.continueStartingPluginScheduleEntry(scheduledPlugin);                
+        runOnSchedulerThread(() -> {
+            if (currentState == SchedulerState.WAITING_FOR_STOP_CONDITION ) {            
+                if (currentPlugin != null && !currentPlugin.isRunning()  && currentPlugin.equals(scheduledPlugin)) {
+                    setState(SchedulerState.STARTING_PLUGIN);   
+                    log.info("Continuing pending start for plugin: " + scheduledPlugin.getCleanName());
+                    this.continueStartingPluginScheduleEntry(scheduledPlugin);                
+                }
             }
-        }
+        });
     }
     /**
      * Continues the plugin starting process after stop condition checks
@@ -1117,55 +1208,53 @@ public class SchedulerPlugin extends Plugin {
             setState(SchedulerState.SCHEDULING);                
             return;
         }
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+        runOnSchedulerThread(() -> {
             if (scheduledPlugin.isRunning()) {
                 log.info("\n\tPlugin started successfully: " + scheduledPlugin.getCleanName());    
                 setState(SchedulerState.RUNNING_PLUGIN);
-                return true;
+                return;
             }
             if (!Microbot.isLoggedIn()) {
                 log.info("Login required before running plugin: " + scheduledPlugin.getCleanName()+"current state: " + currentState + "previous state: " + prvState);
                 startLoginMonitoringThread();
-                return false;
+                return;
             }
             if (!scheduledPlugin.start(false)) {
                 log.error("Failed to start plugin: " + scheduledPlugin.getCleanName());
                 setCurrentPlugin(null);                
                 setState(SchedulerState.SCHEDULING);
-                return false;
+                return;
             }
           
-            Microbot.getClientThread().invokeLater( ()->{
-               continueStartingPluginScheduleEntry(scheduledPlugin);
-            });
-            return false;
-            
-            
+            // Check again shortly whether the plugin is running, without holding up the scheduler thread
+            queueOnSchedulerThread(() -> continueStartingPluginScheduleEntry(scheduledPlugin), RETRY_DELAY_MS);
         });
     }
 
     public void forceStopCurrentPluginScheduleEntry(boolean successful) {
-        if (currentPlugin != null && currentPlugin.isRunning()) {
-            log.info("Force Stopping current plugin: " + currentPlugin.getCleanName());
-            if (currentState == SchedulerState.RUNNING_PLUGIN) {
-                setState(SchedulerState.HARD_STOPPING_PLUGIN);
-            }
-            currentPlugin.stop(successful, StopReason.HARD_STOP, "Plugin was forcibly stopped by user request");
-            // Wait a short time to see if the plugin stops immediately
-            if (currentPlugin != null) {
+        runOnSchedulerThread(() -> {
+            if (currentPlugin != null && currentPlugin.isRunning()) {
+                log.info("Force Stopping current plugin: " + currentPlugin.getCleanName());
+                if (currentState == SchedulerState.RUNNING_PLUGIN) {
+                    setState(SchedulerState.HARD_STOPPING_PLUGIN);
+                }
+                currentPlugin.stop(successful, StopReason.HARD_STOP, "Plugin was forcibly stopped by user request");
+                // Wait a short time to see if the plugin stops immediately
+                if (currentPlugin != null) {
 
-                if (!currentPlugin.isRunning()) {
-                    log.info("Plugin stopped successfully: " + currentPlugin.getCleanName());
+                    if (!currentPlugin.isRunning()) {
+                        log.info("Plugin stopped successfully: " + currentPlugin.getCleanName());
 
-                } else {
-                    SwingUtilities.invokeLater(() -> {
-                        forceStopCurrentPluginScheduleEntry(successful);
-                    });
-                    log.info("Failed to hard stop plugin: " + currentPlugin.getCleanName());
+                    } else {
+                        queueOnSchedulerThread(() -> {
+                            forceStopCurrentPluginScheduleEntry(successful);
+                        }, RETRY_DELAY_MS);
+                        log.info("Failed to hard stop plugin: " + currentPlugin.getCleanName());
+                    }
                 }
             }
-        }
-        updatePanels();
+            SwingUtilities.invokeLater(this::updatePanels);
+        });
     }
 
     /**
@@ -1342,7 +1431,7 @@ public class SchedulerPlugin extends Plugin {
             }
             
             // Replace current plugins
-            scheduledPlugins = loadedPlugins;
+            scheduledPlugins = new CopyOnWriteArrayList<>(loadedPlugins);
             
             // Update UI
             SwingUtilities.invokeLater(this::updatePanels);
@@ -1446,7 +1535,7 @@ public class SchedulerPlugin extends Plugin {
             log.debug("Loading scheduled plugins from config: {}\n\n", json);
 
             if (json != null && !json.isEmpty()) {
-                scheduledPlugins = PluginScheduleEntry.fromJson(json,  this.VERSION);
+                scheduledPlugins = new CopyOnWriteArrayList<>(PluginScheduleEntry.fromJson(json,  this.VERSION));
 
                 // Apply stop settings from config to all loaded plugins
                 for (PluginScheduleEntry plugin : scheduledPlugins) {
@@ -1498,7 +1587,7 @@ public class SchedulerPlugin extends Plugin {
             }
         } catch (Exception e) {
             log.error("Error loading scheduled plugins", e);
-            scheduledPlugins = new ArrayList<>();
+            scheduledPlugins = new CopyOnWriteArrayList<>();
         }
     }
 
@@ -2041,31 +2130,24 @@ public class SchedulerPlugin extends Plugin {
                     }
                     if (Microbot.isLoggedIn()) {
                         // Successfully logged in, now increment the run count                        
-                        if (currentPlugin != null) {
-                            log.info("Login successful, finalizing plugin start: {}", currentPlugin.getName());
-                            if (currentPlugin.isRunning()) {
-                                // If we were running the plugin, continue with that
-                                log.info("Continuing to run plugin after login: {}", currentPlugin.getName());
-                                setState(SchedulerState.RUNNING_PLUGIN);
-                               
-                               
-
-                            }else if(!currentPlugin.isRunning()){
-                                // If we were starting the plugin, continue with that
-                                setState(SchedulerState.STARTING_PLUGIN);
-                                log.info("Continuing to start plugin after login: {}", currentPlugin.getName());
-                                Microbot.getClientThread().invokeLater(() -> {
+                        runOnSchedulerThread(() -> {
+                            if (currentPlugin != null) {
+                                log.info("Login successful, finalizing plugin start: {}", currentPlugin.getName());
+                                if (currentPlugin.isRunning()) {
+                                    // If we were running the plugin, continue with that
+                                    log.info("Continuing to run plugin after login: {}", currentPlugin.getName());
+                                    setState(SchedulerState.RUNNING_PLUGIN);
+                                }else if(!currentPlugin.isRunning()){
+                                    // If we were starting the plugin, continue with that
+                                    setState(SchedulerState.STARTING_PLUGIN);
+                                    log.info("Continuing to start plugin after login: {}", currentPlugin.getName());
                                     continueStartingPluginScheduleEntry(currentPlugin);
-                                // setState(SchedulerState.RUNNING_PLUGIN);
-                            });    
-                            
+                                }
+                            }else{
+                                log.info("Login successful, but no plugin to start back to scheduling");
+                                setState(SchedulerState.SCHEDULING);
                             }
-                           
-                            return;
-                        }else{
-                            log.info("Login successful, but no plugin to start back to scheduling");
-                            setState(SchedulerState.SCHEDULING);
-                        }                       
+                        });
                         return;
                     }
                     if (Microbot.getClient().getGameState() != GameState.LOGGED_IN &&
@@ -2078,7 +2160,7 @@ public class SchedulerPlugin extends Plugin {
                 // If we get here, login failed too many times
                 log.error("Failed to login after {} attempts",
                         MAX_LOGIN_ATTEMPTS);
-                SwingUtilities.invokeLater(() -> {
+                runOnSchedulerThread(() -> {
                     // Clean up and set proper state
                     if (currentPlugin != null && currentPlugin.isRunning()) {
                         currentPlugin.stop(false, StopReason.SCHEDULED_STOP, "Plugin stopped due to scheduled time conditions");
@@ -2149,12 +2231,14 @@ public class SchedulerPlugin extends Plugin {
                     SchedulerUIUtils.showNonMemberWorldDialog(currentPlugin, config, (switchToFreeWorlds) -> {
                         if (!switchToFreeWorlds) {
                             // User chose not to switch to free worlds or dialog timed out
-                            if (currentPlugin != null) {
-                                currentPlugin.setEnabled(false);
-                                currentPlugin = null;
-                                setState(SchedulerState.SCHEDULING);
-                                log.info("Login to member world canceled, stopping current plugin");
-                            }
+                            runOnSchedulerThread(() -> {
+                                if (currentPlugin != null) {
+                                    currentPlugin.setEnabled(false);
+                                    currentPlugin = null;
+                                    setState(SchedulerState.SCHEDULING);
+                                    log.info("Login to member world canceled, stopping current plugin");
+                                }
+                            });
                         }
                     });
                 }
@@ -2190,10 +2274,14 @@ public class SchedulerPlugin extends Plugin {
             return true;
         }).orElse(false);        
         if (!successfulLogin) {
-            currentPlugin.setEnabled(false);
-            currentPlugin = null;
-            setState(SchedulerState.SCHEDULING);
-            log.error("Failed to login, stopping plugin: {}", currentPlugin.getName());
+            runOnSchedulerThread(() -> {
+                if (currentPlugin != null) {
+                    log.error("Failed to login, stopping plugin: {}", currentPlugin.getName());
+                    currentPlugin.setEnabled(false);
+                    currentPlugin = null;
+                }
+                setState(SchedulerState.SCHEDULING);
+            });
             //stopScheduler();
         }
     }
@@ -2399,12 +2487,14 @@ public class SchedulerPlugin extends Plugin {
 
     @Subscribe(priority = 100)
     private void onClientShutdown(ClientShutdown e) {
-        if (currentPlugin != null && currentPlugin.isRunning()) {
-            log.info("Client shutdown detected, stopping current plugin: {}", currentPlugin.getCleanName());
-            // Stop the current plugin gracefully
-            currentPlugin.stop(false, StopReason.CLIENT_SHUTDOWN, "Client is shutting down");
-            setState(SchedulerState.SCHEDULING);
-        }
+        runOnSchedulerThread(() -> {
+            if (currentPlugin != null && currentPlugin.isRunning()) {
+                log.info("Client shutdown detected, stopping current plugin: {}", currentPlugin.getCleanName());
+                // Stop the current plugin gracefully
+                currentPlugin.stop(false, StopReason.CLIENT_SHUTDOWN, "Client is shutting down");
+                setState(SchedulerState.SCHEDULING);
+            }
+        });
     }
     @Subscribe
     public void onGameTick(GameTick event) {
@@ -2415,41 +2505,46 @@ public class SchedulerPlugin extends Plugin {
         } else {
             idleTime = 0;
         }
+        if (this.currentState == SchedulerState.RUNNING_PLUGIN) {
+            queueStopConditionCheck();
+        }
     }
 
     @Subscribe
     public void onPluginScheduleEntryFinishedEvent(PluginScheduleEntryFinishedEvent event) {
-        if (currentPlugin != null && event.getPlugin() == currentPlugin.getPlugin()) {
-            log.info("Plugin '{}' self-reported as finished: {} (Success: {})",
-                    currentPlugin.getCleanName(),
-                    event.getReason(),
-                    event.isSuccess());
-            if (config.notificationsOn()){                
-                String notificationMessage = "Plugin '" + currentPlugin.getCleanName() + "' finished: " + event.getReason();
-                if (event.isSuccess()) {
-                    notificationMessage += " (Success)";
-                } else {
-                    notificationMessage += " (Failed)";
-                }
-                notifier.notify(Notification.ON, notificationMessage);
+        runOnSchedulerThread(() -> {
+            if (currentPlugin != null && event.getPlugin() == currentPlugin.getPlugin()) {
+                log.info("Plugin '{}' self-reported as finished: {} (Success: {})",
+                        currentPlugin.getCleanName(),
+                        event.getReason(),
+                        event.isSuccess());
+                if (config.notificationsOn()){                
+                    String notificationMessage = "Plugin '" + currentPlugin.getCleanName() + "' finished: " + event.getReason();
+                    if (event.isSuccess()) {
+                        notificationMessage += " (Success)";
+                    } else {
+                        notificationMessage += " (Failed)";
+                    }
+                    notifier.notify(Notification.ON, notificationMessage);
                 
-            }
+                }
             
-            // Stop the plugin with the success state from the event
-            if (currentState == SchedulerState.RUNNING_PLUGIN) {
-                setState(SchedulerState.SOFT_STOPPING_PLUGIN);
-            }
+                // Stop the plugin with the success state from the event
+                if (currentState == SchedulerState.RUNNING_PLUGIN) {
+                    setState(SchedulerState.SOFT_STOPPING_PLUGIN);
+                }
             
-            // Format the reason message for better readability
-            String eventReason = event.getReason();
-            String formattedReason = SchedulerPluginUtil.formatReasonMessage(eventReason);
+                // Format the reason message for better readability
+                String eventReason = event.getReason();
+                String formattedReason = SchedulerPluginUtil.formatReasonMessage(eventReason);
             
-            String reasonMessage = event.isSuccess() ? 
-                "Plugin completed its task successfully:\n\t\t\"" + formattedReason+"\"":
-                "Plugin reported completion but indicated an unsuccessful run:\n" + formattedReason;
+                String reasonMessage = event.isSuccess() ? 
+                    "Plugin completed its task successfully:\n\t\t\"" + formattedReason+"\"":
+                    "Plugin reported completion but indicated an unsuccessful run:\n" + formattedReason;
                 
-            currentPlugin.stop(event.isSuccess(), StopReason.PLUGIN_FINISHED, reasonMessage);
-        }
+                currentPlugin.stop(event.isSuccess(), StopReason.PLUGIN_FINISHED, reasonMessage);
+            }
+        });
     }
 
     @Subscribe
@@ -2550,80 +2645,82 @@ public class SchedulerPlugin extends Plugin {
 
     @Subscribe
     public void onPluginChanged(PluginChanged event) {
-        if (currentPlugin != null && event.getPlugin() == currentPlugin.getPlugin()) {
-            // The plugin changed state - check if it's no longer running
-            boolean isRunningNow = currentPlugin.isRunning();
-            boolean wasStartedByScheduler = currentPlugin.isHasStarted();
-
-            // If plugin was running but is now stopped
-            if (!isRunningNow) {
-                log.info("\n\tPlugin '{}' state change detected: \n\t -from running to stopped", currentPlugin.getCleanName());
-
-                // Check if this was an expected stop based on our current state
-                boolean wasExpectedStop = (currentState == SchedulerState.SOFT_STOPPING_PLUGIN ||
-                        currentState == SchedulerState.HARD_STOPPING_PLUGIN);
-
-                // If the stop wasn't initiated by us, it was unexpected (error or manual stop)
-                if (!wasExpectedStop && currentState == SchedulerState.RUNNING_PLUGIN) {
-                    log.warn("Plugin '{}' stopped unexpectedly while in {} state",
-                            currentPlugin.getCleanName(), currentState.name());
-
-                    // Set error information
-                    currentPlugin.setLastStopReason("Plugin stopped unexpectedly");
-                    currentPlugin.setLastRunSuccessful(false);
-                    currentPlugin.setLastStopReasonType(PluginScheduleEntry.StopReason.ERROR);
-                    // Disable the plugin to prevent it from running again until issue is fixed
-                    currentPlugin.setEnabled(false);
+        runOnSchedulerThread(() -> {
+            if (currentPlugin != null && event.getPlugin() == currentPlugin.getPlugin()) {
+                // The plugin changed state - check if it's no longer running
+                boolean isRunningNow = currentPlugin.isRunning();
+                boolean wasStartedByScheduler = currentPlugin.isHasStarted();
+
+                // If plugin was running but is now stopped
+                if (!isRunningNow) {
+                    log.info("\n\tPlugin '{}' state change detected: \n\t -from running to stopped", currentPlugin.getCleanName());
+
+                    // Check if this was an expected stop based on our current state
+                    boolean wasExpectedStop = (currentState == SchedulerState.SOFT_STOPPING_PLUGIN ||
+                            currentState == SchedulerState.HARD_STOPPING_PLUGIN);
+
+                    // If the stop wasn't initiated by us, it was unexpected (error or manual stop)
+                    if (!wasExpectedStop && currentState == SchedulerState.RUNNING_PLUGIN) {
+                        log.warn("Plugin '{}' stopped unexpectedly while in {} state",
+                                currentPlugin.getCleanName(), currentState.name());
+
+                        // Set error information
+                        currentPlugin.setLastStopReason("Plugin stopped unexpectedly");
+                        currentPlugin.setLastRunSuccessful(false);
+                        currentPlugin.setLastStopReasonType(PluginScheduleEntry.StopReason.ERROR);
+                        // Disable the plugin to prevent it from running again until issue is fixed
+                        currentPlugin.setEnabled(false);
 
-                    // Set state to error
+                        // Set state to error
                     
-                } else if (currentState == SchedulerState.SOFT_STOPPING_PLUGIN) {                    
-                    // If we were soft stopping and it completed, make sure stop reason is set
-                    if (currentPlugin.getLastStopReasonType() == PluginScheduleEntry.StopReason.NONE) {
-                        // Set stop reason if it wasn't already set
-                        if (currentPlugin.getLastStopReasonType() == PluginScheduleEntry.StopReason.NONE) {                        
-                            currentPlugin.setLastStopReasonType(PluginScheduleEntry.StopReason.SCHEDULED_STOP);
-                            currentPlugin.setLastStopReason("Scheduled stop completed successfully");
-                            currentPlugin.setLastRunSuccessful(true);
+                    } else if (currentState == SchedulerState.SOFT_STOPPING_PLUGIN) {                    
+                        // If we were soft stopping and it completed, make sure stop reason is set
+                        if (currentPlugin.getLastStopReasonType() == PluginScheduleEntry.StopReason.NONE) {
+                            // Set stop reason if it wasn't already set
+                            if (currentPlugin.getLastStopReasonType() == PluginScheduleEntry.StopReason.NONE) {                        
+                                currentPlugin.setLastStopReasonType(PluginScheduleEntry.StopReason.SCHEDULED_STOP);
+                                currentPlugin.setLastStopReason("Scheduled stop completed successfully");
+                                currentPlugin.setLastRunSuccessful(true);
+                            }
+                        }
+                    } else if (currentState == SchedulerState.HARD_STOPPING_PLUGIN) {                    
+                        // Hard stop completed
+                        if (currentPlugin.getLastStopReasonType() == PluginScheduleEntry.StopReason.NONE) {
+                            currentPlugin.setLastStopReasonType(PluginScheduleEntry.StopReason.HARD_STOP);
+                            currentPlugin.setLastStopReason("Plugin was forcibly stopped after timeout");
+                            currentPlugin.setLastRunSuccessful(false);
                         }
                     }
-                } else if (currentState == SchedulerState.HARD_STOPPING_PLUGIN) {                    
-                    // Hard stop completed
-                    if (currentPlugin.getLastStopReasonType() == PluginScheduleEntry.StopReason.NONE) {
-                        currentPlugin.setLastStopReasonType(PluginScheduleEntry.StopReason.HARD_STOP);
-                        currentPlugin.setLastStopReason("Plugin was forcibly stopped after timeout");
-                        currentPlugin.setLastRunSuccessful(false);
-                    }
-                }
                   
-                // Return to scheduling state regardless of stop reason
-                if (currentState != SchedulerState.HOLD) {
-                    log.info("Plugin '{}' stopped \n\t- returning to scheduling state with reason: \n\t\t\"{}\"",
-                            currentPlugin.getCleanName(),
-                            currentPlugin.getLastStopReason());
+                    // Return to scheduling state regardless of stop reason
+                    if (currentState != SchedulerState.HOLD) {
+                        log.info("Plugin '{}' stopped \n\t- returning to scheduling state with reason: \n\t\t\"{}\"",
+                                currentPlugin.getCleanName(),
+                                currentPlugin.getLastStopReason());
                    
-                    setState(SchedulerState.SCHEDULING);
-                }
-                currentPlugin.cancelStop();
-                setCurrentPlugin(null);
-               // Microbot.getClientThread().invokeLater(() -> {
-                    // Check if the plugin is still stopping
-                 //   checkIfStopFinished();
-                //});
+                        setState(SchedulerState.SCHEDULING);
+                    }
+                    currentPlugin.cancelStop();
+                    setCurrentPlugin(null);
+                   // Microbot.getClientThread().invokeLater(() -> {
+                        // Check if the plugin is still stopping
+                     //   checkIfStopFinished();
+                    //});
                
 
-            } else if (isRunningNow && wasStartedByScheduler && currentState == SchedulerState.SCHEDULING) {
-                // Plugin was started by scheduler and is now running - this is expected
-                log.info("Plugin '{}' started by scheduler and is now running", event.getPlugin().getName());
+                } else if (isRunningNow && wasStartedByScheduler && currentState == SchedulerState.SCHEDULING) {
+                    // Plugin was started by scheduler and is now running - this is expected
+                    log.info("Plugin '{}' started by scheduler and is now running", event.getPlugin().getName());
                
-            } else if (isRunningNow && wasStartedByScheduler && currentState != SchedulerState.STARTING_PLUGIN) {
-                // Plugin was started outside our control or restarted - this is unexpected but
-                // we'll monitor it
-                log.info("Plugin '{}' started or restarted outside scheduler control", event.getPlugin().getName());
-            }
+                } else if (isRunningNow && wasStartedByScheduler && currentState != SchedulerState.STARTING_PLUGIN) {
+                    // Plugin was started outside our control or restarted - this is unexpected but
+                    // we'll monitor it
+                    log.info("Plugin '{}' started or restarted outside scheduler control", event.getPlugin().getName());
+                }
 
-            SwingUtilities.invokeLater(this::updatePanels);
-        }
+                SwingUtilities.invokeLater(this::updatePanels);
+            }
+        });
     }
     void checkIfStopFinished(){
         
@@ -2632,10 +2729,10 @@ public class SchedulerPlugin extends Plugin {
         // Check if the plugin is still stopping
         if (currentPlugin.isStopping()) {
             log.info("Plugin '{}' is still stopping, waiting for it to finish", currentPlugin.getCleanName());
-            SwingUtilities.invokeLater(() -> {
+            queueOnSchedulerThread(() -> {
                 // Check if the plugin is still stopping
                 checkIfStopFinished();
-            });
+            }, RETRY_DELAY_MS);
         } else {
             log.info("Plugin '{}' is not stopping, continuing", currentPlugin.getCleanName());
         }
@@ -2716,6 +2813,8 @@ public class SchedulerPlugin extends Plugin {
      * 2. The requested plugin is in the scheduledPlugins list
      * 3. There's enough time until the next scheduled plugin
      *
+     * Must run on the scheduler thread, see {@link #callOnSchedulerThread(Supplier, Consumer)}.
+     *
      * @param pluginEntry The plugin to start
      * @return true if the plugin was started successfully, false otherwise with a reason message
      */
@@ -2838,6 +2937,9 @@ public class SchedulerPlugin extends Plugin {
     private void resumeAllScheduledPlugins() {        
         scheduledPlugins.stream().map( PluginScheduleEntry::resume);
     }
+    /**
+     * Pauses the running plugin, must run on the scheduler thread
+     */
     public boolean pauseRunningPlugin(){
         if (currentState != SchedulerState.RUNNING_PLUGIN ||  getCurrentPlugin() == null) {            
             return false; // Not running a plugin
@@ -2860,6 +2962,9 @@ public class SchedulerPlugin extends Plugin {
         return true;
     }
 
+    /**
+     * Resumes the paused plugin, must run on the scheduler thread
+     */
     public boolean resumeRunningPlugin(){
         if(isOnBreak() ){
             log.info("Interrupting break to resume running plugin: {}", getCurrentPlugin().getName());
@@ -2901,6 +3006,7 @@ public class SchedulerPlugin extends Plugin {
      * Pauses the scheduler or the currently running plugin.
      * If a plugin is currently running, it will be paused using the PluginPauseEvent.
      * Otherwise, the entire scheduler will be paused.
+     * Must run on the scheduler thread.
      * 
      * @return true if successfully paused, false otherwise
      */
@@ -2927,6 +3033,7 @@ public class SchedulerPlugin extends Plugin {
     
     /**
      * resumes the scheduler or the currently running plugin.
+     * Must run on the scheduler thread.
      * 
      * @return true if successfully resumed, false otherwise
      */ 
@@ -0,0 +1,341 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.NotCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.SingleTriggerTimeCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
+
+import java.lang.reflect.Method;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental evaluation of a condition tree.
+ * <p>
+ * The tree is compiled into nodes that cache the last result of their condition. A leaf is only evaluated
+ * again when it is stale, and a logical node only combines its children again when one of them is stale:
+ * <ul>
+ *   <li>event driven leaves go stale when an event they handle is posted, see {@link #onEvent(Class)}</li>
+ *   <li>time leaves go stale when their next trigger time comes, kept in a {@link TimerWheel}</li>
+ *   <li>leaves without event handlers, like lock and predicate conditions, are stale on every evaluation</li>
+ *   <li>every leaf goes stale after {@link #MAX_AGE_MILLIS} at the latest, in case its state changed without an event</li>
+ * </ul>
+ * Events only set flags, so the client thread never waits on an evaluation running elsewhere.
+ * The tree is compiled again whenever its structure changed since the last evaluation.
+ */
+@Slf4j
+class ConditionEvaluator {
+    // Longest time an event driven leaf keeps its result without an event
+    private static final long MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    // Longest time a time leaf keeps its result when its trigger time is further away
+    private static final long MAX_TIME_AGE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    // A satisfied time leaf does not know when it stops being satisfied
+    private static final long SATISFIED_TIME_RECHECK_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    // The events ConditionManager passes on to its conditions
+    private static final Set<Class<?>> EVENT_TYPES = Set.of(
+            net.runelite.api.events.GameStateChanged.class,
+            net.runelite.api.events.StatChanged.class,
+            net.runelite.api.events.ItemContainerChanged.class,
+            net.runelite.api.events.GameTick.class,
+            net.runelite.api.events.GroundObjectSpawned.class,
+            net.runelite.api.events.GroundObjectDespawned.class,
+            net.runelite.api.events.MenuOptionClicked.class,
+            net.runelite.api.events.ChatMessage.class,
+            net.runelite.api.events.HitsplatApplied.class,
+            net.runelite.api.events.VarbitChanged.class,
+            net.runelite.api.events.NpcChanged.class,
+            net.runelite.api.events.NpcSpawned.class,
+            net.runelite.api.events.NpcDespawned.class,
+            net.runelite.api.events.InteractingChanged.class,
+            net.runelite.api.events.ItemSpawned.class,
+            net.runelite.api.events.ItemDespawned.class,
+            net.runelite.api.events.AnimationChanged.class);
+
+    // The events each condition class handles, found once by looking for overridden handlers
+    private static final ClassValue<Set<Class<?>>> HANDLED_EVENTS = new ClassValue<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> type) {
+            final Set<Class<?>> handled = new HashSet<>();
+            for (Class<?> event : EVENT_TYPES) {
+                try {
+                    final Method handler = type.getMethod("on" + event.getSimpleName(), event);
+                    if (handler.getDeclaringClass() != Condition.class) {
+                        handled.add(event);
+                    }
+                } catch (NoSuchMethodException ignored) {
+                    // not a handler of the condition interface
+                }
+            }
+            return Collections.unmodifiableSet(handled);
+        }
+    };
+
+    private final TimerWheel<Timer> wheel = new TimerWheel<>(100, 1024);
+    private volatile Compiled compiled;
+
+    /**
+     * Marks the leaves that handle the event as stale. Called on the client thread after the event
+     * reached the conditions, never blocks.
+     */
+    void onEvent(Class<?> eventType) {
+        final Compiled current = compiled;
+        if (current == null) {
+            return;
+        }
+        final List<Node> leaves = current.byEvent.get(eventType);
+        if (leaves != null) {
+            for (Node leaf : leaves) {
+                leaf.markStale();
+            }
+        }
+    }
+
+    /**
+     * Forgets every cached result, for when conditions were reset, paused or resumed
+     */
+    void invalidate() {
+        compiled = null;
+    }
+
+    /**
+     * Returns whether the tree is satisfied, evaluating only the stale part of it.
+     *
+     * @param root the root of the tree, compiled again when it is not the tree of the last evaluation
+     * @param eventsLive whether events reach the conditions, without them event driven leaves are always stale
+     */
+    synchronized boolean isSatisfied(LogicalCondition root, boolean eventsLive) {
+        Compiled current = compiled;
+        if (current == null || current.root.condition != root || !current.root.matchesStructure()) {
+            wheel.clear();
+            current = new Compiled(root);
+            compiled = current;
+        }
+
+        final long now = System.currentTimeMillis();
+        wheel.advance(now, timer -> {
+            if (timer.generation == timer.node.timerGeneration) {
+                timer.node.markStale();
+            }
+        });
+        for (Node leaf : current.volatileLeaves) {
+            leaf.markStale();
+        }
+        if (!eventsLive) {
+            for (Node leaf : current.eventLeaves) {
+                leaf.markStale();
+            }
+        }
+        return evaluate(current.root, now);
+    }
+
+    private boolean evaluate(Node node, long now) {
+        if (!node.stale) {
+            return node.value;
+        }
+        // Cleared before evaluating, so an event arriving meanwhile marks the node stale again
+        node.stale = false;
+        boolean value;
+        try {
+            value = node.compute(now);
+        } catch (Exception e) {
+            log.error("Error evaluating condition {}: {}", node.condition.getDescription(), e.getMessage(), e);
+            node.stale = true;
+            value = false;
+        }
+        node.value = value;
+        return value;
+    }
+
+    private void scheduleRecheck(Node leaf, long now) {
+        long deadline;
+        if (leaf.kind == Kind.TIME) {
+            deadline = now + MAX_TIME_AGE_MILLIS;
+            if (leaf.value) {
+                deadline = now + SATISFIED_TIME_RECHECK_MILLIS;
+            } else {
+                final Optional<ZonedDateTime> trigger = leaf.condition.getCurrentTriggerTime();
+                if (trigger.isPresent()) {
+                    deadline = Math.min(deadline, Math.max(trigger.get().toInstant().toEpochMilli(), now));
+                }
+            }
+        } else {
+            deadline = now + MAX_AGE_MILLIS;
+        }
+        wheel.schedule(new Timer(leaf, ++leaf.timerGeneration), deadline);
+    }
+
+    private enum Kind {
+        AND,
+        OR,
+        NOT,
+        // Evaluated again when an event it handles is posted
+        EVENT,
+        // Evaluated again at its next trigger time
+        TIME,
+        // Evaluated every time
+        VOLATILE
+    }
+
+    private final class Compiled {
+        private final Node root;
+        private final Map<Class<?>, List<Node>> byEvent = new HashMap<>();
+        private final List<Node> eventLeaves = new ArrayList<>();
+        private final List<Node> volatileLeaves = new ArrayList<>();
+
+        private Compiled(LogicalCondition root) {
+            this.root = compile(root, null);
+        }
+
+        private Node compile(Condition condition, Node parent) {
+            final Node node = new Node(condition, parent, kindOf(condition));
+            switch (node.kind) {
+                case AND:
+                case OR:
+                    for (Condition child : ((LogicalCondition) condition).getConditions()) {
+                        node.children.add(compile(child, node));
+                    }
+                    break;
+                case NOT:
+                    node.children.add(compile(((NotCondition) condition).getCondition(), node));
+                    break;
+                case EVENT:
+                    eventLeaves.add(node);
+                    for (Class<?> event : HANDLED_EVENTS.get(condition.getClass())) {
+                        byEvent.computeIfAbsent(event, e -> new ArrayList<>()).add(node);
+                    }
+                    break;
+                case VOLATILE:
+                    volatileLeaves.add(node);
+                    break;
+                default:
+                    break;
+            }
+            return node;
+        }
+
+        private Kind kindOf(Condition condition) {
+            if (condition instanceof AndCondition) {
+                return Kind.AND;
+            }
+            if (condition instanceof OrCondition) {
+                return Kind.OR;
+            }
+            if (condition instanceof NotCondition) {
+                return Kind.NOT;
+            }
+            if (condition instanceof TimeCondition) {
+                return Kind.TIME;
+            }
+            // Other logical conditions and leaves without handlers read their state when asked
+            if (condition instanceof LogicalCondition || HANDLED_EVENTS.get(condition.getClass()).isEmpty()) {
+                return Kind.VOLATILE;
+            }
+            return Kind.EVENT;
+        }
+    }
+
+    private final class Node {
+        private final Condition condition;
+        private final Node parent;
+        private final Kind kind;
+        private final List<Node> children = new ArrayList<>();
+        // A copy of the children of logical conditions, to notice when they change
+        private final List<Condition> compiledChildren;
+        private volatile boolean stale = true;
+        private volatile boolean value;
+        private long timerGeneration;
+
+        private Node(Condition condition, Node parent, Kind kind) {
+            this.condition = condition;
+            this.parent = parent;
+            this.kind = kind;
+            this.compiledChildren = condition instanceof LogicalCondition
+                    ? new ArrayList<>(((LogicalCondition) condition).getConditions())
+                    : Collections.emptyList();
+        }
+
+        private void markStale() {
+            for (Node node = this; node != null; node = node.parent) {
+                node.stale = true;
+            }
+        }
+
+        private boolean matchesStructure() {
+            if (condition instanceof LogicalCondition) {
+                final List<Condition> current = ((LogicalCondition) condition).getConditions();
+                if (current.size() != compiledChildren.size()) {
+                    return false;
+                }
+                for (int i = 0; i < current.size(); i++) {
+                    if (current.get(i) != compiledChildren.get(i)) {
+                        return false;
+                    }
+                }
+            }
+            for (Node child : children) {
+                if (!child.matchesStructure()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean compute(long now) {
+            switch (kind) {
+                case AND:
+                    for (Node child : children) {
+                        if (!evaluate(child, now)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case OR:
+                    if (children.isEmpty()) {
+                        return true;
+                    }
+                    for (Node child : children) {
+                        if (evaluate(child, now)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case NOT:
+                    final Node child = children.get(0);
+                    final boolean childValue = evaluate(child, now);
+                    if (child.condition instanceof SingleTriggerTimeCondition
+                            && !((SingleTriggerTimeCondition) child.condition).canTriggerAgain()) {
+                        return false;
+                    }
+                    return !childValue;
+                default:
+                    value = condition.isSatisfied();
+                    if (kind != Kind.VOLATILE) {
+                        scheduleRecheck(this, now);
+                    }
+                    return value;
+            }
+        }
+    }
+
+    private static final class Timer {
+        private final Node node;
+        private final long generation;
+
+        private Timer(Node node, long generation) {
+            this.node = node;
+            this.generation = generation;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +34,7 @@ import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.NotCondition;
@@ -79,15 +79,11 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeC
 public class ConditionManager implements AutoCloseable {
     
     /**
-     * Shared thread pool for condition watchdog tasks across all ConditionManager instances.
-     * Uses daemon threads to prevent blocking application shutdown.
+     * Shared executor for condition watchdog tasks across all ConditionManager instances.
+     * Runs on the daemon threads shared by scripts, so it does not block application shutdown.
      */
     private transient static final ScheduledExecutorService SHARED_WATCHDOG_EXECUTOR = 
-        Executors.newScheduledThreadPool(2, r -> {
-            Thread t = new Thread(r, "ConditionWatchdog");
-            t.setDaemon(true);
-            return t;
-        });
+        ScriptRuntime.newExecutor("ConditionWatchdog");
     
     /**
      * Keeps track of all scheduled futures created by this manager's watchdog system.
@@ -140,6 +136,13 @@ public class ConditionManager implements AutoCloseable {
      */
     private Supplier<LogicalCondition> currentWatchdogSupplier = null;
 
+    /**
+     * Incremental evaluation of the plugin and user condition structures, only the conditions
+     * touched by an event or due by their trigger time are evaluated again.
+     */
+    private transient final ConditionEvaluator pluginEvaluator = new ConditionEvaluator();
+    private transient final ConditionEvaluator userEvaluator = new ConditionEvaluator();
+
     /**
      * Creates a new condition manager with default settings.
      * Initializes the user logical condition as an AND condition (all conditions must be met).
@@ -332,14 +335,14 @@ public class ConditionManager implements AutoCloseable {
     }
     public boolean arePluginConditionsMet() {
         if (pluginCondition != null && !pluginCondition.getConditions().isEmpty()) {          
-            return pluginCondition.isSatisfied();            
+            return pluginEvaluator.isSatisfied(pluginCondition, eventsRegistered);
         }
         return true;
     }
    
     public boolean areUserConditionsMet() {
         if (userLogicalCondition != null && !userLogicalCondition.getConditions().isEmpty()) {          
-            return userLogicalCondition.isSatisfied();            
+            return userEvaluator.isSatisfied(userLogicalCondition, eventsRegistered);
         }
         return true;
     }
@@ -376,6 +379,23 @@ public class ConditionManager implements AutoCloseable {
         }           
         eventBus.register(this);
         eventsRegistered = true;
+        // Events were missed while unregistered
+        invalidateEvaluation();
+    }
+
+    /**
+     * Drops the cached results of the incremental evaluation, so the next check evaluates every condition.
+     * Called after conditions were reset, paused or resumed.
+     */
+    public void invalidateEvaluation() {
+        pluginEvaluator.invalidate();
+        userEvaluator.invalidate();
+    }
+
+    // Called after an event reached the conditions
+    private void markStale(Class<?> eventType) {
+        pluginEvaluator.onEvent(eventType);
+        userEvaluator.onEvent(eventType);
     }
     
     /**
@@ -509,6 +529,7 @@ public class ConditionManager implements AutoCloseable {
         if (userLogicalCondition != null) {
             userLogicalCondition.reset();
         }
+        invalidateEvaluation();
     }
     
     /**
@@ -520,12 +541,14 @@ public class ConditionManager implements AutoCloseable {
         if (userLogicalCondition != null) {
             userLogicalCondition.reset(randomize);
         }
+        invalidateEvaluation();
     
     }
     public void hardResetUserConditions() {
         if (userLogicalCondition != null) {
             userLogicalCondition.hardReset();
         }
+        invalidateEvaluation();
     }
     
     /**
@@ -535,6 +558,7 @@ public class ConditionManager implements AutoCloseable {
         if (pluginCondition != null) {
             pluginCondition.reset();
         }
+        invalidateEvaluation();
     }
     
     /**
@@ -546,6 +570,7 @@ public class ConditionManager implements AutoCloseable {
         if (pluginCondition != null) {
             pluginCondition.reset(randomize);
         }
+        invalidateEvaluation();
     }
 
     /**
@@ -1339,6 +1364,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }        
+        markStale(GameStateChanged.class);
     }
 
     @Subscribe(priority = -1)
@@ -1352,6 +1378,7 @@ public class ConditionManager implements AutoCloseable {
                 e.printStackTrace();
             }
         }        
+        markStale(StatChanged.class);
     }
    
     
@@ -1366,6 +1393,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }       
+        markStale(ItemContainerChanged.class);
     }
     @Subscribe(priority = -1)
     public void onGameTick(GameTick gameTick) {
@@ -1378,6 +1406,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }      
+        markStale(GameTick.class);
     }
 
     @Subscribe(priority = -1)
@@ -1399,6 +1428,7 @@ public class ConditionManager implements AutoCloseable {
                     e.getMessage(), e);
             }
         }
+        markStale(GroundObjectSpawned.class);
     }
 
     @Subscribe(priority = -1)
@@ -1411,6 +1441,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }       
+        markStale(GroundObjectDespawned.class);
     }
 
     @Subscribe(priority = -1)
@@ -1423,6 +1454,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }        
+        markStale(MenuOptionClicked.class);
     }
 
     @Subscribe(priority = -1)
@@ -1435,6 +1467,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }        
+        markStale(ChatMessage.class);
     }
 
     @Subscribe(priority = -1)
@@ -1448,6 +1481,7 @@ public class ConditionManager implements AutoCloseable {
             }
         }
        
+        markStale(HitsplatApplied.class);
     }
     @Subscribe(priority = -1)
 	public void onVarbitChanged(VarbitChanged event)
@@ -1460,6 +1494,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }        
+        markStale(VarbitChanged.class);
 	}
     @Subscribe(priority = -1)
     void onNpcChanged(NpcChanged event){
@@ -1471,6 +1506,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }        
+        markStale(NpcChanged.class);
     }
     @Subscribe(priority = -1)
     void onNpcSpawned(NpcSpawned npcSpawned){
@@ -1483,6 +1519,7 @@ public class ConditionManager implements AutoCloseable {
             }
         }        
         
+        markStale(NpcSpawned.class);
     }
     @Subscribe(priority = -1)
     void onNpcDespawned(NpcDespawned npcDespawned){
@@ -1494,6 +1531,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }        
+        markStale(NpcDespawned.class);
     }
     @Subscribe(priority = -1)
     void onInteractingChanged(InteractingChanged event){
@@ -1505,6 +1543,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }       
+        markStale(InteractingChanged.class);
     }
     @Subscribe(priority = -1)
     void onItemSpawned(ItemSpawned event){        
@@ -1518,6 +1557,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }       
+        markStale(ItemSpawned.class);
     }
     @Subscribe(priority = -1)
     void onItemDespawned(ItemDespawned event){
@@ -1529,6 +1569,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }       
+        markStale(ItemDespawned.class);
     }
     @Subscribe(priority = -1)
     void onAnimationChanged(AnimationChanged event) {
@@ -1540,6 +1581,7 @@ public class ConditionManager implements AutoCloseable {
                     condition.getDescription(), e.getMessage(), e);
             }
         }       
+        markStale(AnimationChanged.class);
     }
 
     /**
@@ -1884,6 +1926,9 @@ public class ConditionManager implements AutoCloseable {
         } else {
             log.debug("No changes needed to plugin condition structure");
         }
+        if (conditionsUpdated) {
+            invalidateEvaluation();
+        }
         
         return conditionsUpdated;
     }
@@ -2505,6 +2550,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.pause();
         }
+        invalidateEvaluation();
         
     }
     public void pausePluginConditions() {
@@ -2513,6 +2559,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.pause();
         }
+        invalidateEvaluation();
         
     }
     public void pauseAllConditions() {
@@ -2521,6 +2568,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.pause();
         }
+        invalidateEvaluation();
         
     }
       
@@ -2544,6 +2592,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.resume();
         }
+        invalidateEvaluation();
      
     }
     public void resumeUserConditions() {
@@ -2552,6 +2601,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.resume();
         }
+        invalidateEvaluation();
         
     }
     public void resumePluginTimeConditions() {
@@ -2560,6 +2610,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.resume();
         }
+        invalidateEvaluation();
         
     }
     
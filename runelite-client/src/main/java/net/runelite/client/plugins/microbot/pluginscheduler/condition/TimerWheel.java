@@ -0,0 +1,98 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel that buckets items by the tick of their deadline.
+ * <p>
+ * Scheduling is constant time, and advancing only visits the buckets of the ticks that passed since the
+ * last advance, so waiting on many far away deadlines costs nothing until they come due. Deadlines beyond
+ * one rotation of the wheel stay in their bucket and are checked again on every rotation.
+ * <p>
+ * Not thread safe, the owner serializes access.
+ *
+ * @param <T> the type of the scheduled items
+ */
+class TimerWheel<T> {
+    private final long tickMillis;
+    private final List<Timeout<T>>[] buckets;
+    private final int mask;
+    private long currentTick = -1;
+    private int size;
+
+    /**
+     * @param tickMillis resolution of the wheel in milliseconds
+     * @param bucketCount number of buckets, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int bucketCount) {
+        int count = Integer.highestOneBit(Math.max(bucketCount, 1) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.buckets = new List[Math.max(count, 1)];
+        this.mask = buckets.length - 1;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Schedules the item to expire at the deadline, or on the next advance if the deadline has passed
+     */
+    void schedule(T item, long deadlineMillis) {
+        // Rounded up, so an item never expires before its deadline
+        long tick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        if (currentTick >= 0 && tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+        buckets[(int) (tick & mask)].add(new Timeout<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Expires every item whose deadline is at or before now
+     */
+    void advance(long nowMillis, Consumer<T> expired) {
+        final long nowTick = nowMillis / tickMillis;
+        if (currentTick < 0) {
+            currentTick = nowTick - 1;
+        }
+        // After a long pause every bucket is visited once, which covers every tick that passed
+        final long steps = Math.min(nowTick - currentTick, buckets.length);
+        for (long step = 1; step <= steps; step++) {
+            final List<Timeout<T>> bucket = buckets[(int) ((currentTick + step) & mask)];
+            for (Iterator<Timeout<T>> it = bucket.iterator(); it.hasNext(); ) {
+                final Timeout<T> timeout = it.next();
+                if (timeout.tick <= nowTick) {
+                    it.remove();
+                    size--;
+                    expired.accept(timeout.item);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+    }
+
+    void clear() {
+        for (List<Timeout<T>> bucket : buckets) {
+            bucket.clear();
+        }
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Timeout<T> {
+        private final T item;
+        private final long tick;
+
+        private Timeout(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -1103,16 +1103,20 @@ public class ScheduleFormPanel extends JPanel {
             }
         } else {
             // Start the plugin using the new manualStartPlugin method
-            String result = plugin.manualStartPlugin(selectedPlugin);
-            if (!result.isEmpty()) {
-                // Show error message if starting failed
-                JOptionPane.showMessageDialog(
-                    SwingUtilities.getWindowAncestor(this),
-                    result,
-                    "Cannot Start Plugin immediately, update only main time start condition",
-                    JOptionPane.WARNING_MESSAGE
-                );
-            }
+            final PluginScheduleEntry pluginToStart = selectedPlugin;
+            plugin.callOnSchedulerThread(() -> plugin.manualStartPlugin(pluginToStart), result -> {
+                if (!result.isEmpty()) {
+                    // Show error message if starting failed
+                    JOptionPane.showMessageDialog(
+                        SwingUtilities.getWindowAncestor(this),
+                        result,
+                        "Cannot Start Plugin immediately, update only main time start condition",
+                        JOptionPane.WARNING_MESSAGE
+                    );
+                }
+                updateControlButton();
+                updateStatistics();
+            });
         }
         
         // Update control button and statistics
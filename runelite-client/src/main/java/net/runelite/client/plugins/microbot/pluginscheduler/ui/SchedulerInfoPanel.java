@@ -148,14 +148,17 @@ public class SchedulerInfoPanel extends JPanel {
             
             // Update button text and color based on state
             if (!plugin.isCurrentPluginPaused()) {
-                boolean pauseSuccess = plugin.pauseRunningPlugin();
-                if (pauseSuccess){
-                    pauseResumePluginButton.setText("Resume Plugin");
-                    pauseResumePluginButton.setBackground(new Color(76, 175, 80)); // Green color
-                }
+                plugin.callOnSchedulerThread(plugin::pauseRunningPlugin, pauseSuccess -> {
+                    if (pauseSuccess){
+                        pauseResumePluginButton.setText("Resume Plugin");
+                        pauseResumePluginButton.setBackground(new Color(76, 175, 80)); // Green color
+                    }
+                    updateCurrentPluginInfo();
+                    updateButtonStates();
+                });
             } else {
                 if(plugin.isCurrentPluginPaused()){
-                    plugin.resumeRunningPlugin();
+                    plugin.runOnSchedulerThread(plugin::resumeRunningPlugin);
                     pauseResumePluginButton.setText("Pause Plugin");
                     pauseResumePluginButton.setBackground(new Color(0, 188, 212)); // Cyan color
                 }
@@ -171,7 +174,7 @@ public class SchedulerInfoPanel extends JPanel {
             // Toggle the pause state using our new methods
             if (plugin.isPaused() ) {
                 // Currently paused, so resume
-                plugin.resumeScheduler();
+                plugin.runOnSchedulerThread(plugin::resumeScheduler);
                 pauseResumeSchedulerButton.setText("Pause Scheduler");
                 pauseResumeSchedulerButton.setBackground(new Color(255, 152, 0)); // Orange color
             }else if(plugin.isOnBreak() && (plugin.getCurrentState() == SchedulerState.BREAK) || 
@@ -180,7 +183,7 @@ public class SchedulerInfoPanel extends JPanel {
                 plugin.resumeBreak();                                           
             }else {
                 // Currently running, so pause
-                plugin.pauseScheduler();
+                plugin.runOnSchedulerThread(plugin::pauseScheduler);
                 pauseResumeSchedulerButton.setText("Resume Scheduler");
                 pauseResumeSchedulerButton.setBackground(new Color(76, 175, 80)); // Green color
             }
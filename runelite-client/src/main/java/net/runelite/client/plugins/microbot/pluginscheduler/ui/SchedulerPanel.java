@@ -195,11 +195,11 @@ public class SchedulerPanel extends PluginPanel {
         JButton pauseSchedulerButton = createButton("Pause Scheduler", orangeColor);
         pauseSchedulerButton.addActionListener(e -> {
             if (plugin.isPaused()) {
-                plugin.resumeScheduler();
+                plugin.runOnSchedulerThread(plugin::resumeScheduler);
                 pauseSchedulerButton.setText("Pause Scheduler");
                 pauseSchedulerButton.setBackground(orangeColor);
             } else {
-                plugin.pauseScheduler();
+                plugin.runOnSchedulerThread(plugin::pauseScheduler);
                 pauseSchedulerButton.setText("Resume Scheduler");
                 pauseSchedulerButton.setBackground(greenColor);
             }
@@ -218,11 +218,11 @@ public class SchedulerPanel extends PluginPanel {
             
             // Update button text and color based on state
             if (newPauseState) {
-                plugin.pauseRunningPlugin();
+                plugin.runOnSchedulerThread(plugin::pauseRunningPlugin);
                 pauseResumePluginButton.setText("Resume Plugin");
                 pauseResumePluginButton.setBackground(greenColor); // Change to green for resume
             } else {
-                plugin.resumeRunningPlugin();
+                plugin.runOnSchedulerThread(plugin::resumeRunningPlugin);
                 pauseResumePluginButton.setText("Pause Plugin");
                 pauseResumePluginButton.setBackground(cyanColor); // Change back to cyan for pause
             }
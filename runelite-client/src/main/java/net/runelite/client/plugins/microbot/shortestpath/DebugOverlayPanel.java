@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.shortestpath;
 
 import lombok.Getter;
 import lombok.Setter;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathCache;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -55,6 +56,8 @@ public class DebugOverlayPanel extends OverlayPanel {
 
         components.add(separator);
 
+        components.add(makeLine("Algorithm:", String.valueOf(stats.getAlgorithm())));
+
         String pathLength = Integer.toString(pathfinder.getPath().size());
         components.add(makeLine("Path Length:", pathLength));
 
@@ -69,12 +72,22 @@ public class DebugOverlayPanel extends OverlayPanel {
         String totalNodes = Integer.toString(stats.getTotalNodesChecked());
         components.add(makeLine("Total:", totalNodes));
 
+        String expanded = Integer.toString(stats.getNodesExpanded());
+        components.add(makeLine("Expanded:", expanded));
+
         components.add(separator);
 
         double milliTime = stats.getElapsedTimeNanos() / 1000000.0;
         String time = String.format("%.2fms", milliTime);
         components.add(makeLine("Time:", time));
 
+        components.add(separator);
+
+        PathCache cache = ShortestPathPlugin.getPathfinderConfig().getPathCache();
+        components.add(makeLine("Cached:", stats.isCacheHit() ? "Yes" : "No"));
+        components.add(makeLine("Repaired:", stats.isRepaired() ? "Yes" : "No"));
+        components.add(makeLine("Cache hits:", cache.getHits() + " / " + (cache.getHits() + cache.getMisses())));
+
         return super.render(graphics);
     }
 
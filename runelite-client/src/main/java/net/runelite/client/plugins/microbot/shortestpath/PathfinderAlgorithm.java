@@ -0,0 +1,19 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PathfinderAlgorithm {
+    BREADTH_FIRST("Breadth-first"),
+    A_STAR("A*"),
+    BIDIRECTIONAL("Bidirectional");
+
+    private final String type;
+
+    @Override
+    public String toString() {
+        return type;
+    }
+}
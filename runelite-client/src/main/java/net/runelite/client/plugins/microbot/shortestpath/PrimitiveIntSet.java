@@ -0,0 +1,109 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import java.util.Arrays;
+
+// Open addressing set of packed WorldPoint's for hotpath lookups without boxing.
+// Like PrimitiveIntHashMap it is not a general purpose collection and has no way to remove elements.
+public class PrimitiveIntSet {
+    private static final int MINIMUM_SIZE = 8;
+    // WorldPointUtil.UNDEFINED is never stored, so it marks empty slots
+    private static final int EMPTY = WorldPointUtil.UNDEFINED;
+
+    private int[] slots;
+    private int size;
+    private int mask;
+
+    public PrimitiveIntSet(int initialSize) {
+        int capacity = MINIMUM_SIZE;
+        // Keep the table at most half full
+        while (capacity < initialSize * 2) {
+            capacity <<= 1;
+        }
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return false;
+        }
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Adds the value to the set and returns true if it was not already present
+     */
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            return false;
+        }
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) {
+                return false;
+            }
+            if (slot == EMPTY) {
+                slots[i] = value;
+                if (++size * 2 > slots.length) {
+                    rehash();
+                }
+                return true;
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        for (int slot : slots) {
+            if (slot != EMPTY) {
+                values[i++] = slot;
+            }
+        }
+        return values;
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(slots, EMPTY);
+    }
+
+    // Same hash as PrimitiveIntHashMap, which works well for packed WorldPoint's
+    private static int hash(int value) {
+        return (value ^ (value >>> 5) ^ (value >>> 25)) & 0x7FFFFFFF;
+    }
+
+    private void rehash() {
+        int[] oldSlots = slots;
+        slots = new int[oldSlots.length * 2];
+        Arrays.fill(slots, EMPTY);
+        mask = slots.length - 1;
+        for (int slot : oldSlots) {
+            if (slot == EMPTY) {
+                continue;
+            }
+            int i = hash(slot) & mask;
+            while (slots[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = slot;
+        }
+    }
+}
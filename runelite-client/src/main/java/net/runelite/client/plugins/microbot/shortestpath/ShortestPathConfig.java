@@ -353,6 +353,20 @@ public interface ShortestPathConfig extends Config {
         return 5;
     }
 
+    @ConfigItem(
+            keyName = "pathfinderAlgorithm",
+            name = "Search algorithm",
+            description = "The search strategy used to calculate the path.<br>" +
+                    "Breadth-first explores evenly in every direction, A* is goal-directed<br>" +
+                    "and bidirectional searches from both the start and the target at once",
+            position = 28,
+            section = sectionSettings
+    )
+    default PathfinderAlgorithm pathfinderAlgorithm()
+    {
+        return PathfinderAlgorithm.BREADTH_FIRST;
+    }
+
     @ConfigSection(
             name = "Display",
             description = "Options for displaying the path on the world map, minimap and scene tiles",
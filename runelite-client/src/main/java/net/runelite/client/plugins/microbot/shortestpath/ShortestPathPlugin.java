@@ -298,6 +298,8 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
             return;
         }
 
+        pathfinderConfig.markStale();
+
         if ("drawDebugPanel".equals(event.getKey())) {
             if (config.drawDebugPanel()) {
                 overlayManager.add(debugOverlayPanel);
@@ -2,18 +2,19 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import net.runelite.api.TileObject;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntSet;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
-import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.*;
 
 public class CollisionMap {
     // Enum.values() makes copies every time which hurts performance in the hotpath
     private static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
+    static final int TOA_PUZZLE_REGION = 14162;
 
     private final SplitFlagMap collisionData;
 
@@ -25,6 +26,10 @@ public class CollisionMap {
         this.collisionData = collisionData;
     }
 
+    public boolean isBundled() {
+        return collisionData.isBundled();
+    }
+
     private boolean get(int x, int y, int z, int flag) {
         return collisionData.get(x, y, z, flag);
     }
@@ -65,16 +70,19 @@ public class CollisionMap {
         return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
     }
 
-    private static int packedPointFromOrdinal(int startPacked, OrdinalDirection direction) {
-        final int x = WorldPointUtil.unpackWorldX(startPacked);
-        final int y = WorldPointUtil.unpackWorldY(startPacked);
-        final int plane = WorldPointUtil.unpackWorldPlane(startPacked);
-        return WorldPointUtil.packWorldPoint(x + direction.x, y + direction.y, plane);
+    // True when every one of the 8 neighbours can be walked to, i.e. the tile is in open terrain
+    public boolean isOpen(int x, int y, int z) {
+        return n(x, y, z) && s(x, y, z) && e(x, y, z) && w(x, y, z)
+                && ne(x, y, z) && nw(x, y, z) && se(x, y, z) && sw(x, y, z);
     }
 
     // This is only safe if pathfinding is single-threaded
     private final List<Node> neighbors = new ArrayList<>(16);
     private final boolean[] traversable = new boolean[8];
+    // Reused by getNeighbors to collect the neighbours reported to the visitor
+    private Node current;
+    private final NeighborVisitor collector = (packedPosition, travelTime, transport) ->
+            neighbors.add(transport ? new TransportNode(packedPosition, current, travelTime) : new Node(packedPosition, current));
 
     public static final List<WorldPoint> ignoreCollision = Arrays.asList(
             new WorldPoint(3142, 3457, 0),
@@ -96,29 +104,60 @@ public class CollisionMap {
             new WorldPoint(3670, 3836, 0),
             new WorldPoint(3672, 3862, 0)
     );
+    private static final PrimitiveIntSet ignoreCollisionPacked = new PrimitiveIntSet(ignoreCollision.size());
 
-    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets) {
-        final int x = WorldPointUtil.unpackWorldX(node.packedPosition);
-        final int y = WorldPointUtil.unpackWorldY(node.packedPosition);
-        final int z = WorldPointUtil.unpackWorldPlane(node.packedPosition);
+    static {
+        for (WorldPoint point : ignoreCollision) {
+            ignoreCollisionPacked.add(WorldPointUtil.packWorldPoint(point));
+        }
+    }
 
+    /**
+     * Receives the neighbours of a tile without allocating a node for each of them, see {@link #forEachNeighbor}
+     */
+    @FunctionalInterface
+    public interface NeighborVisitor {
+        /**
+         * @param packedPosition the neighbouring tile
+         * @param travelTime cost of moving to the tile, or 0 when walking where the cost is the distance moved
+         * @param transport whether the tile is reached through a transport rather than by walking
+         */
+        void visit(int packedPosition, int travelTime, boolean transport);
+    }
+
+    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets) {
         neighbors.clear();
+        current = node;
+        forEachNeighbor(node.packedPosition, visited, config, targets, collector);
+        current = null;
+        return neighbors;
+    }
+
+    /**
+     * Reports every unvisited tile that can be reached from the tile to the visitor, transports first
+     */
+    public void forEachNeighbor(int packedPosition, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets, NeighborVisitor visitor) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
 
-        @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
-        Set<Transport> transports = config.getTransportsPacked().getOrDefault(node.packedPosition, (Set<Transport>)Collections.EMPTY_SET);
+        Set<Transport> transports = config.getTransportsPacked().get(packedPosition);
 
         // Transports are pre-filtered by PathfinderConfig.refreshTransports
         // Thus any transports in the list are guaranteed to be valid per the user's settings
-        for (Transport transport : transports) {
-            //START microbot variables
-            if (visited.get(transport.getDestination())) continue;
-            if (config.isIgnoreTeleportAndItems() && TransportType.isTeleport(transport.getType())) continue;
-            if (TransportType.isTeleport(transport.getType())) {
-                neighbors.add(new TransportNode(transport.getDestination(), node, config.getDistanceBeforeUsingTeleport() + transport.getDuration()));
-            } else {
-                neighbors.add(new TransportNode(transport.getDestination(), node, transport.getDuration()));
+        if (transports != null) {
+            for (Transport transport : transports) {
+                //START microbot variables
+                final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+                if (visited.get(destination)) continue;
+                if (config.isIgnoreTeleportAndItems() && TransportType.isTeleport(transport.getType())) continue;
+                if (TransportType.isTeleport(transport.getType())) {
+                    visitor.visit(destination, config.getDistanceBeforeUsingTeleport() + transport.getDuration(), true);
+                } else {
+                    visitor.visit(destination, transport.getDuration(), true);
+                }
+                //END microbot variables
             }
-            //END microbot variables
         }
 
         if (isBlocked(x, y, z)) {
@@ -149,15 +188,17 @@ public class CollisionMap {
             traversable[7] = ne(x, y, z);
         }
 
+        final boolean ignoresCollision = ignoreCollisionPacked.contains(packedPosition);
+        final boolean inToaPuzzleRoom = config.isInToaPuzzleRoom();
+
         for (int i = 0; i < traversable.length; i++) {
             OrdinalDirection d = ORDINAL_VALUES[i];
-            int neighborPacked = packedPointFromOrdinal(node.packedPosition, d);
+            int neighborPacked = WorldPointUtil.packWorldPoint(x + d.x, y + d.y, z);
             if (visited.get(neighborPacked)) continue;
             if (config.getRestrictedPointsPacked().contains(neighborPacked)) continue;
-            if (config.getCustomRestrictions().contains(neighborPacked)) continue;
 
-            if (ignoreCollision.contains(new WorldPoint(x, y, z))) {
-                neighbors.add(new Node(neighborPacked, node));
+            if (ignoresCollision) {
+                visitor.visit(neighborPacked, 0, false);
                 continue;
             }
 
@@ -165,12 +206,10 @@ public class CollisionMap {
              * This piece of code is designed to allow web walker to be used in toa puzzle room
              * it will dodge specific tiles in the sequence room
              */
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
-                final int lx = WorldPointUtil.unpackWorldX(neighborPacked);
-                final int ly = WorldPointUtil.unpackWorldY(neighborPacked);
-                final int lz = WorldPointUtil.unpackWorldPlane(neighborPacked);
-                if (targets.stream().noneMatch(tgts -> Objects.equals(tgts, new WorldPoint(lx, ly, lz)))) {
-                    WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(new WorldPoint(lx, ly, lz));
+            if (inToaPuzzleRoom) { //toa puzzle room
+                final WorldPoint neighbor = WorldPointUtil.unpackWorldPoint(neighborPacked);
+                if (!targets.contains(neighbor)) {
+                    WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(neighbor);
                     if (globalWorldPoint != null) {
                         TileObject go = Rs2GameObject.getGroundObject(globalWorldPoint);
                         if (go != null && go.getId() == 45340) {
@@ -181,21 +220,25 @@ public class CollisionMap {
             }
 
             if (traversable[i]) {
-                neighbors.add(new Node(neighborPacked, node));
+                visitor.visit(neighborPacked, 0, false);
             } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
                 // The transport starts from a blocked adjacent tile, e.g. fairy ring
                 // Only checks non-teleport transports (includes portals and levers, but not items and spells)
-                @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
-                Set<Transport> neighborTransports = config.getTransportsPacked().getOrDefault(neighborPacked, (Set<Transport>)Collections.EMPTY_SET);
+                Set<Transport> neighborTransports = config.getTransportsPacked().get(neighborPacked);
+                if (neighborTransports == null) {
+                    continue;
+                }
                 for (Transport transport : neighborTransports) {
-                    if (transport.getOrigin() == null || visited.get(transport.getOrigin())) {
+                    if (transport.getOrigin() == null) {
                         continue;
                     }
-                    neighbors.add(new Node(transport.getOrigin(), node));
+                    final int origin = WorldPointUtil.packWorldPoint(transport.getOrigin());
+                    if (visited.get(origin)) {
+                        continue;
+                    }
+                    visitor.visit(origin, 0, false);
                 }
             }
         }
-
-        return neighbors;
     }
 }
@@ -0,0 +1,206 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Uncompressed copy of the bundled collision map that is memory-mapped instead of inflated into the heap.
+ * <p>
+ * The file starts with a header holding the region extents, followed by the offset and plane count of every
+ * region in the extents. The flags of each region are stored in the {@link java.util.BitSet} byte layout at a
+ * page-aligned offset, so a region never straddles more pages than it needs to and every client on a host
+ * shares the same page cache. The file is created in the cache directory the first time a new collision map
+ * is bundled. Its name holds the stamp of the bundled map, so a file is never replaced by one with other contents
+ * while a running client has it mapped, which Windows does not allow.
+ */
+@Slf4j
+class CollisionMapFile {
+    static final String RESOURCE_NAME = "collision-map.zip";
+    private static final String FILE_PREFIX = "shortestpath-collision-map-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x434D4231; // "CMB1"
+    private static final int PAGE_SIZE = 4096;
+
+    // Header layout
+    private static final int SLOT_COUNT = 4;
+    private static final int STAMP = 8;
+    private static final int MIN_X = 16;
+    private static final int MIN_Y = 20;
+    private static final int MAX_X = 24;
+    private static final int MAX_Y = 28;
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Maps the collision map file, creating it from the bundled zip if it is missing or out of date.
+     * If the file cannot be created or mapped after the zip was read to create it, the map is inflated from what
+     * was read. Returns null if the file cannot be mapped and the zip has not been read.
+     */
+    static SplitFlagMap load() {
+        URL url = ShortestPathPlugin.class.getResource(RESOURCE_NAME);
+        if (url == null) {
+            return null;
+        }
+
+        Map<Integer, byte[]> compressedRegions = null;
+        try {
+            final long stamp = stamp(url);
+            final Path path = new File(RuneLite.CACHE_DIR, FILE_PREFIX + Long.toHexString(stamp) + FILE_SUFFIX).toPath();
+            if (!isCurrent(path, stamp)) {
+                compressedRegions = SplitFlagMap.readCompressedRegions();
+                write(path, stamp, compressedRegions);
+                deleteStaleCopies(path, FILE_PREFIX + "*" + FILE_SUFFIX);
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                SplitFlagMap map = new SplitFlagMap(buffer);
+                log.debug("Mapped collision map from {}", path);
+                return map;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to map the collision map, inflating it instead", e);
+            return compressedRegions != null ? new SplitFlagMap(compressedRegions) : null;
+        }
+    }
+
+    static SplitFlagMap.RegionExtent readExtents(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a collision map file");
+        }
+        return new SplitFlagMap.RegionExtent(buffer.getInt(MIN_X), buffer.getInt(MIN_Y), buffer.getInt(MAX_X), buffer.getInt(MAX_Y));
+    }
+
+    /**
+     * Returns the offset of the flags of the region at the index of the extents, or 0 if there is no such region
+     */
+    static int readRegionOffset(ByteBuffer buffer, int index) {
+        return buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+    }
+
+    static byte readPlaneCount(ByteBuffer buffer, int slotCount, int index) {
+        return buffer.get(HEADER_SIZE + slotCount * Integer.BYTES + index);
+    }
+
+    // The zip is hashed rather than inflated, which is cheap enough to do on every start
+    static long stamp(URL url) throws IOException {
+        CRC32 crc = new CRC32();
+        long length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = url.openStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+        }
+        return (length << 32) | crc.getValue();
+    }
+
+    private static boolean isCurrent(Path path, long stamp) {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC && in.readInt() > 0 && in.readLong() == stamp;
+        } catch (IOException e) {
+            log.debug("Replacing unreadable collision map file", e);
+            return false;
+        }
+    }
+
+    private static void write(Path path, long stamp, Map<Integer, byte[]> compressedRegions) throws IOException {
+        final SplitFlagMap.RegionExtent extents = SplitFlagMap.getRegionExtents();
+        final int widthInclusive = extents.getWidth() + 1;
+        final int slotCount = widthInclusive * (extents.getHeight() + 1);
+
+        final int[] offsets = new int[slotCount];
+        final byte[] planeCounts = new byte[slotCount];
+        final byte[][] regions = new byte[slotCount][];
+        int size = align(HEADER_SIZE + slotCount * (Integer.BYTES + 1));
+        for (Map.Entry<Integer, byte[]> entry : compressedRegions.entrySet()) {
+            final int x = SplitFlagMap.unpackX(entry.getKey());
+            final int y = SplitFlagMap.unpackY(entry.getKey());
+            final int index = (x - extents.getMinX()) + (y - extents.getMinY()) * widthInclusive;
+            // Round trip through a flag map so the plane count and trimmed bytes match the inflated map
+            FlagMap flagMap = new FlagMap(0, 0, entry.getValue());
+            offsets[index] = size;
+            planeCounts[index] = flagMap.getPlaneCount();
+            regions[index] = flagMap.toBytes();
+            size += align(flagMap.getPlaneCount() * FlagMap.PLANE_BYTES);
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(0, MAGIC);
+        out.putInt(SLOT_COUNT, slotCount);
+        out.putLong(STAMP, stamp);
+        out.putInt(MIN_X, extents.getMinX());
+        out.putInt(MIN_Y, extents.getMinY());
+        out.putInt(MAX_X, extents.getMaxX());
+        out.putInt(MAX_Y, extents.getMaxY());
+        for (int index = 0; index < slotCount; index++) {
+            out.putInt(HEADER_SIZE + index * Integer.BYTES, offsets[index]);
+            out.put(HEADER_SIZE + slotCount * Integer.BYTES + index, planeCounts[index]);
+            if (regions[index] != null) {
+                out.position(offsets[index]);
+                out.put(regions[index]);
+            }
+        }
+
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), "shortestpath-", ".tmp");
+        try {
+            Files.write(temp, out.array());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} regions of the collision map to {}", compressedRegions.size(), path);
+        } catch (IOException e) {
+            // Windows refuses to replace a file that is mapped, which happens when another client starting at the same
+            // time moved its copy in first and mapped it. That copy holds the same map and can be used instead.
+            if (!isCurrent(path, stamp)) {
+                throw e;
+            }
+            log.debug("Using the collision map file written by another client", e);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Files of previously bundled maps or tables that are still mapped by a running client cannot be deleted on
+    // Windows, they are removed by a later start instead
+    static void deleteStaleCopies(Path current, String glob) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(current.getParent(), glob)) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.debug("Unable to delete old file {}", file, e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Unable to list old files matching {}", glob, e);
+        }
+    }
+
+    private static int align(int offset) {
+        return (offset + PAGE_SIZE - 1) & -PAGE_SIZE;
+    }
+}
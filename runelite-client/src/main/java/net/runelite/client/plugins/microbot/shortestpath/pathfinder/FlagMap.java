@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 import java.util.Locale;
 
@@ -9,7 +10,13 @@ import static net.runelite.api.Constants.REGION_SIZE;
 
 public class FlagMap {
     private static final byte FLAG_COUNT = 2;
+    /** Size of the flags of a single plane in bytes */
+    static final int PLANE_BYTES = REGION_SIZE * REGION_SIZE * FLAG_COUNT / Byte.SIZE;
+
     private final BitSet flags;
+    // Read-only flags in the BitSet byte layout, used instead of the BitSet when the map is memory-mapped
+    private final ByteBuffer buffer;
+    private final int offset;
     @Getter
     private final byte planeCount;
     private final int minX;
@@ -20,6 +27,8 @@ public class FlagMap {
         this.minY = minY;
         this.planeCount = planeCount;
         flags = new BitSet(REGION_SIZE * REGION_SIZE * planeCount * FLAG_COUNT);
+        buffer = null;
+        offset = 0;
     }
 
     public FlagMap(int minX, int minY, byte[] bytes) {
@@ -28,9 +37,30 @@ public class FlagMap {
         flags = BitSet.valueOf(bytes);
         int scale = REGION_SIZE * REGION_SIZE * FLAG_COUNT;
         this.planeCount = (byte) ((flags.size() + scale - 1) / scale);
+        buffer = null;
+        offset = 0;
+    }
+
+    /**
+     * Creates a read-only flag map over {@code planeCount * PLANE_BYTES} bytes of the buffer starting at the offset
+     */
+    public FlagMap(int minX, int minY, byte planeCount, ByteBuffer buffer, int offset) {
+        this.minX = minX;
+        this.minY = minY;
+        this.planeCount = planeCount;
+        this.buffer = buffer;
+        this.offset = offset;
+        flags = null;
     }
 
     public byte[] toBytes() {
+        if (flags == null) {
+            byte[] bytes = new byte[planeCount * PLANE_BYTES];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return BitSet.valueOf(bytes).toByteArray();
+        }
         return flags.toByteArray();
     }
 
@@ -39,10 +69,18 @@ public class FlagMap {
             return false;
         }
 
-        return flags.get(index(x, y, z, flag));
+        final int index = index(x, y, z, flag);
+        if (flags == null) {
+            // Same bit order as BitSet.valueOf, so mapped and inflated maps read the same data
+            return (buffer.get(offset + (index >>> 3)) & (1 << (index & 7))) != 0;
+        }
+        return flags.get(index);
     }
 
     public void set(int x, int y, int z, int flag, boolean value) {
+        if (flags == null) {
+            throw new UnsupportedOperationException("Memory-mapped flag maps are read-only");
+        }
         flags.set(index(x, y, z, flag), value);
     }
 
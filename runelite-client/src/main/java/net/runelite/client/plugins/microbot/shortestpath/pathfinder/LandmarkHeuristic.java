@@ -0,0 +1,109 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Arrays;
+
+/**
+ * Lower bound of the cost from a tile to the nearest target, from the triangle inequality over the distances of
+ * the {@link LandmarkTable}. For a landmark L, a tile n and a target t:
+ * <pre>
+ *     d(n, t) &gt;= d(L, t) - d(L, n) &gt;= minForward(chunk of t) - maxForward(chunk of n)
+ *     d(n, t) &gt;= d(n, L) - d(t, L) &gt;= minBackward(chunk of n) - maxBackward(chunk of t)
+ * </pre>
+ * A maximum only bounds the distance of a tile that has one, so it is not used for blocked tiles, which the table
+ * may not reach, or for chunks where some walkable tile has no distance. The bound is the same for every walkable
+ * tile of a chunk and drops to zero on blocked tiles, so it is admissible but not consistent.
+ * <p>
+ * The bound leaves out teleports from the player's position, which the caller has to bound on its own.
+ */
+class LandmarkHeuristic {
+    private static final int CACHE_SIZE = 1024;
+
+    private final LandmarkTable table;
+    private final CollisionMap map;
+    private final int landmarkCount;
+    private final int targetCount;
+    // Per target and landmark, the maximum is -1 when it does not bound the distance of the target
+    private final int[] targetMinForward;
+    private final int[] targetMaxBackward;
+    // Bounds by chunk offset, since every walkable tile of a chunk has the same bound
+    private final int[] cachedChunks = new int[CACHE_SIZE];
+    private final int[] cachedBounds = new int[CACHE_SIZE];
+
+    private LandmarkHeuristic(LandmarkTable table, CollisionMap map, int targetCount) {
+        this.table = table;
+        this.map = map;
+        this.landmarkCount = table.getLandmarkCount();
+        this.targetCount = targetCount;
+        targetMinForward = new int[targetCount * landmarkCount];
+        targetMaxBackward = new int[targetCount * landmarkCount];
+        Arrays.fill(cachedChunks, -1);
+    }
+
+    /**
+     * Returns the bound for the targets, or null if there is no usable table or a target is outside of it
+     */
+    static LandmarkHeuristic create(PathfinderConfig config, CollisionMap map, int[] targets) {
+        final LandmarkTable table = LandmarkTable.getInstance();
+        if (table == null || targets.length == 0 || !table.isUsable(config, map)) {
+            return null;
+        }
+
+        final LandmarkHeuristic heuristic = new LandmarkHeuristic(table, map, targets.length);
+        for (int t = 0; t < targets.length; t++) {
+            final int offset = table.chunkOffset(targets[t]);
+            if (offset < 0) {
+                return null;
+            }
+            final boolean blocked = heuristic.isBlocked(targets[t]);
+            for (int l = 0; l < heuristic.landmarkCount; l++) {
+                final int i = t * heuristic.landmarkCount + l;
+                final char maxBackward = table.get(offset, l, LandmarkTable.MAX_BACKWARD);
+                heuristic.targetMinForward[i] = table.get(offset, l, LandmarkTable.MIN_FORWARD);
+                heuristic.targetMaxBackward[i] = blocked || (maxBackward & LandmarkTable.PARTIAL) != 0 ? -1 : maxBackward;
+            }
+        }
+        return heuristic;
+    }
+
+    int lowerBound(int packedPosition) {
+        if (isBlocked(packedPosition)) {
+            return 0;
+        }
+        final int offset = table.chunkOffset(packedPosition);
+        if (offset < 0) {
+            return 0;
+        }
+
+        final int slot = (offset * 0x9E3779B9) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(CACHE_SIZE));
+        if (cachedChunks[slot] == offset) {
+            return cachedBounds[slot];
+        }
+
+        int bound = Integer.MAX_VALUE;
+        for (int t = 0; t < targetCount; t++) {
+            int best = 0;
+            for (int l = 0; l < landmarkCount; l++) {
+                final int i = t * landmarkCount + l;
+                final char maxForward = table.get(offset, l, LandmarkTable.MAX_FORWARD);
+                if ((maxForward & LandmarkTable.PARTIAL) == 0) {
+                    best = Math.max(best, targetMinForward[i] - maxForward);
+                }
+                if (targetMaxBackward[i] >= 0) {
+                    best = Math.max(best, table.get(offset, l, LandmarkTable.MIN_BACKWARD) - targetMaxBackward[i]);
+                }
+            }
+            bound = Math.min(bound, best);
+        }
+
+        cachedChunks[slot] = offset;
+        cachedBounds[slot] = bound;
+        return bound;
+    }
+
+    private boolean isBlocked(int packedPosition) {
+        return map.isBlocked(WorldPointUtil.unpackWorldX(packedPosition), WorldPointUtil.unpackWorldY(packedPosition),
+                WorldPointUtil.unpackWorldPlane(packedPosition));
+    }
+}
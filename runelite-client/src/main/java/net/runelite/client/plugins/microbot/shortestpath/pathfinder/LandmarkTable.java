@@ -0,0 +1,287 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.RuneLite;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Read-only view of the landmark distance table, which is built by the {@code build-landmark-table} goal of the
+ * RuneLite Maven plugin and bundled with the collision map.
+ * <p>
+ * For every chunk of the collision map and every landmark the table holds the minimum and maximum distance from
+ * the landmark to the tiles in the chunk, and from the tiles in the chunk to the landmark. The distances are measured
+ * over walking and every transport with a fixed origin, so they never exceed the cost of a path the pathfinder can
+ * find without a teleport from the player's position. The table lists the transport edges and collision exceptions
+ * it was built with, and is only used when they cover those of the client, see {@link #isUsable}.
+ * <p>
+ * The table is memory-mapped so that every client on a host shares the same pages.
+ */
+@Slf4j
+public class LandmarkTable {
+    static final String RESOURCE_NAME = "landmarks.bin";
+    private static final String FILE_PREFIX = "shortestpath-landmarks-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x414C5432; // "ALT2"
+
+    // Header layout
+    private static final int LANDMARK_COUNT = 4;
+    private static final int CHUNK_SHIFT = 8;
+    private static final int CONTENT_CRC = 12;
+    private static final int COLLISION_STAMP = 16;
+    private static final int MIN_X = 24;
+    private static final int MIN_Y = 28;
+    private static final int WIDTH = 32;
+    private static final int HEIGHT = 36;
+    private static final int EDGE_COUNT = 40;
+    private static final int IGNORE_COLLISION_COUNT = 44;
+    private static final int HEADER_SIZE = 48;
+    private static final int EDGE_SIZE = 3 * Integer.BYTES;
+
+    // Value layout per chunk and landmark
+    static final int MIN_FORWARD = 0;
+    static final int MAX_FORWARD = 1;
+    static final int MIN_BACKWARD = 2;
+    static final int MAX_BACKWARD = 3;
+    static final int VALUE_COUNT = 4;
+
+    /** No tile in the chunk has a known distance */
+    static final char UNREACHABLE = 0x7FFF;
+    /** Set on a maximum when some walkable tile of the chunk has no known distance */
+    static final char PARTIAL = 0x8000;
+
+    private static final Object LOCK = new Object();
+    private static volatile boolean loaded = false;
+    private static LandmarkTable instance;
+
+    private final ByteBuffer buffer;
+    @Getter
+    private final int landmarkCount;
+    private final int chunkShift;
+    private final int regionMinX;
+    private final int regionMinY;
+    private final int regionWidth;
+    private final int regionHeight;
+    private final int edgeCount;
+    private final int edgesOffset;
+    // Whether the table was built from the bundled collision map and collision exceptions
+    private final boolean collisionCovered;
+
+    // Transports checked by the last call of coversTransports, and its result
+    private Map<WorldPoint, Set<Transport>> checkedTransports;
+    private boolean transportsCovered;
+
+    LandmarkTable(ByteBuffer buffer, long collisionStamp) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a landmark table");
+        }
+        this.buffer = buffer;
+        landmarkCount = buffer.getInt(LANDMARK_COUNT);
+        chunkShift = buffer.getInt(CHUNK_SHIFT);
+        regionMinX = buffer.getInt(MIN_X);
+        regionMinY = buffer.getInt(MIN_Y);
+        regionWidth = buffer.getInt(WIDTH);
+        regionHeight = buffer.getInt(HEIGHT);
+        edgeCount = buffer.getInt(EDGE_COUNT);
+        edgesOffset = HEADER_SIZE + regionWidth * regionHeight * Integer.BYTES;
+        collisionCovered = buffer.getLong(COLLISION_STAMP) == collisionStamp && coversIgnoredCollision();
+        if (!collisionCovered) {
+            log.warn("The landmark table was built from another collision map and will not be used, it has to be rebuilt");
+        }
+    }
+
+    /**
+     * Returns the shared landmark table, mapping it on first use, or null if it is not bundled
+     */
+    public static LandmarkTable getInstance() {
+        if (!loaded) {
+            synchronized (LOCK) {
+                if (!loaded) {
+                    instance = load();
+                    loaded = true;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static LandmarkTable load() {
+        URL url = ShortestPathPlugin.class.getResource(RESOURCE_NAME);
+        URL collisionMap = ShortestPathPlugin.class.getResource(CollisionMapFile.RESOURCE_NAME);
+        if (url == null || collisionMap == null) {
+            log.debug("No landmark table bundled, the pathfinder will run without it");
+            return null;
+        }
+
+        try {
+            Path path = "file".equals(url.getProtocol()) ? Path.of(url.toURI()) : extract(url);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                LandmarkTable table = new LandmarkTable(buffer, CollisionMapFile.stamp(collisionMap));
+                log.debug("Mapped landmark table with {} landmarks from {}", table.landmarkCount, path);
+                return table;
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            log.warn("Unable to load the landmark table", e);
+            return null;
+        }
+    }
+
+    /**
+     * Resources inside a jar cannot be mapped, so they are copied to the cache directory. The name of the copy holds
+     * the checksum of the table, so a copy is never replaced while a running client has it mapped.
+     */
+    private static Path extract(URL url) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (InputStream in = url.openStream()) {
+            header.put(in.readNBytes(HEADER_SIZE));
+        }
+        final Path path = new File(RuneLite.CACHE_DIR, FILE_PREFIX
+                + Integer.toHexString(header.getInt(CONTENT_CRC)) + FILE_SUFFIX).toPath();
+        if (Files.exists(path)) {
+            return path;
+        }
+
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), "shortestpath-", ".tmp");
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Copied the landmark table to {}", path);
+        } catch (IOException e) {
+            // Another client starting at the same time moved its copy in first
+            if (!Files.exists(path)) {
+                throw e;
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        CollisionMapFile.deleteStaleCopies(path, FILE_PREFIX + "*" + FILE_SUFFIX);
+        return path;
+    }
+
+    /**
+     * Whether the distances in the table are lower bounds of the path costs of the pathfinder. This is the case when
+     * the table was built from the same collision map and collision exceptions, has an edge at most as costly as
+     * every transport with a fixed origin, and teleports never cost less than their duration.
+     */
+    public boolean isUsable(PathfinderConfig config, CollisionMap map) {
+        return collisionCovered && map.isBundled() && config.getDistanceBeforeUsingTeleport() >= 0
+                && coversTransports(config.getAllTransports());
+    }
+
+    // The transports are loaded once, so they are only checked again if another map is passed in
+    private synchronized boolean coversTransports(Map<WorldPoint, Set<Transport>> transports) {
+        if (transports != checkedTransports) {
+            transportsCovered = true;
+            for (Map.Entry<WorldPoint, Set<Transport>> entry : transports.entrySet()) {
+                for (Transport transport : entry.getValue()) {
+                    if (transport.getOrigin() == null || transport.getDestination() == null) {
+                        continue;
+                    }
+                    final int cost = edgeCost(WorldPointUtil.packWorldPoint(transport.getOrigin()),
+                            WorldPointUtil.packWorldPoint(transport.getDestination()));
+                    if (cost < 0 || cost > transport.getDuration()) {
+                        log.warn("The landmark table has no edge for {} and will not be used, it has to be rebuilt", transport);
+                        transportsCovered = false;
+                        break;
+                    }
+                }
+                if (!transportsCovered) {
+                    break;
+                }
+            }
+            checkedTransports = transports;
+        }
+        return transportsCovered;
+    }
+
+    // Cost of the transport edge, or -1 if the table has none. Edges are sorted by origin and then destination.
+    private int edgeCost(int origin, int destination) {
+        final long key = edgeKey(origin, destination);
+        int low = 0;
+        int high = edgeCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int offset = edgesOffset + middle * EDGE_SIZE;
+            final long middleKey = edgeKey(buffer.getInt(offset), buffer.getInt(offset + Integer.BYTES));
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                return buffer.getInt(offset + 2 * Integer.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    private static long edgeKey(int origin, int destination) {
+        return ((long) origin << 32) | (destination & 0xFFFFFFFFL);
+    }
+
+    private boolean coversIgnoredCollision() {
+        final int offset = edgesOffset + edgeCount * EDGE_SIZE;
+        final int count = buffer.getInt(IGNORE_COLLISION_COUNT);
+        for (WorldPoint point : CollisionMap.ignoreCollision) {
+            final int packed = WorldPointUtil.packWorldPoint(point);
+            boolean found = false;
+            for (int i = 0; i < count && !found; i++) {
+                found = buffer.getInt(offset + i * Integer.BYTES) == packed;
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the byte offset of the values for the chunk containing the point, or -1 if it is not covered
+     */
+    int chunkOffset(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+        final int regionX = x / REGION_SIZE - regionMinX;
+        final int regionY = y / REGION_SIZE - regionMinY;
+        if (regionX < 0 || regionY < 0 || regionX >= regionWidth || regionY >= regionHeight) {
+            return -1;
+        }
+
+        final int regionOffset = buffer.getInt(HEADER_SIZE + (regionX + regionY * regionWidth) * Integer.BYTES);
+        if (regionOffset < 0 || z >= buffer.getInt(regionOffset)) {
+            return -1;
+        }
+
+        final int chunksPerSide = REGION_SIZE >> chunkShift;
+        final int chunk = (z * chunksPerSide + (y % REGION_SIZE >> chunkShift)) * chunksPerSide
+                + (x % REGION_SIZE >> chunkShift);
+        return regionOffset + Integer.BYTES + chunk * landmarkCount * VALUE_COUNT * Character.BYTES;
+    }
+
+    char get(int chunkOffset, int landmark, int value) {
+        return buffer.getChar(chunkOffset + (landmark * VALUE_COUNT + value) * Character.BYTES);
+    }
+}
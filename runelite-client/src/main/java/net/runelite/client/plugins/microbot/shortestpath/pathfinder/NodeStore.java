@@ -0,0 +1,323 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage of search nodes. Nodes are addressed by index and link to their parent by index,
+ * so a search creates no objects per expanded tile. A {@link Node} chain is only materialized for the path
+ * that is handed out.
+ * <p>
+ * Stores are reused by every search on a thread, see {@link PathfinderConfig#getNodeStore()}.
+ */
+class NodeStore {
+    static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1 << 14;
+    // Stores that grew beyond this during a long search are shrunk again when cleared
+    private static final int RETAINED_CAPACITY = 1 << 18;
+
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private int[] costs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /** First-in first-out queue of node indices */
+    final IndexQueue queue = new IndexQueue();
+    /** Node indices ordered by a long key */
+    final IndexHeap heap = new IndexHeap();
+    /** Second ordered queue, for searches that need one next to the FIFO queue */
+    final IndexHeap pending = new IndexHeap();
+    /** Cheapest node per tile of the forward and backward halves of the bidirectional search */
+    final IndexMap forwardBest = new IndexMap();
+    final IndexMap backwardBest = new IndexMap();
+    /** Transports by destination tile for searching backwards, as the first edge of a list per tile */
+    final IndexMap reverseTransports = new IndexMap();
+    final EdgeList edges = new EdgeList();
+
+    int add(int packedPosition, int parent, int cost) {
+        if (size == positions.length) {
+            int capacity = size * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+        positions[size] = packedPosition;
+        parents[size] = parent;
+        costs[size] = cost;
+        return size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int position(int index) {
+        return positions[index];
+    }
+
+    int parent(int index) {
+        return parents[index];
+    }
+
+    int cost(int index) {
+        return costs[index];
+    }
+
+    /**
+     * Creates the node chain from the root to the node at the index
+     */
+    Node toNode(int index) {
+        int depth = 0;
+        for (int i = index; i != NONE; i = parents[i]) {
+            depth++;
+        }
+        final int[] chain = new int[depth];
+        for (int i = index; i != NONE; i = parents[i]) {
+            chain[--depth] = i;
+        }
+
+        Node node = null;
+        for (int i : chain) {
+            node = new Node(positions[i], node, costs[i]);
+        }
+        return node;
+    }
+
+    void clear() {
+        size = 0;
+        if (positions.length > RETAINED_CAPACITY) {
+            positions = new int[INITIAL_CAPACITY];
+            parents = new int[INITIAL_CAPACITY];
+            costs = new int[INITIAL_CAPACITY];
+        }
+        queue.clear();
+        heap.clear();
+        pending.clear();
+        forwardBest.clear();
+        backwardBest.clear();
+        reverseTransports.clear();
+        edges.clear();
+    }
+
+    static class IndexQueue {
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int head, tail;
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        void add(int index) {
+            if (tail == values.length) {
+                if (head > 0) {
+                    // Reclaim the space of polled indices before growing
+                    System.arraycopy(values, head, values, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                }
+                if (tail == values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+            }
+            values[tail++] = index;
+        }
+
+        int peek() {
+            return values[head];
+        }
+
+        int poll() {
+            return values[head++];
+        }
+
+        void clear() {
+            head = 0;
+            tail = 0;
+            if (values.length > RETAINED_CAPACITY) {
+                values = new int[INITIAL_CAPACITY];
+            }
+        }
+    }
+
+    // Binary min-heap of indices with the keys kept next to them, so ordering never reads back into the store
+    static class IndexHeap {
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(long key, int index) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = index;
+        }
+
+        int peek() {
+            return values[0];
+        }
+
+        int poll() {
+            final int result = values[0];
+            final long lastKey = keys[--size];
+            final int lastValue = values[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= lastKey) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = lastKey;
+            values[i] = lastValue;
+            return result;
+        }
+
+        void clear() {
+            size = 0;
+            if (keys.length > RETAINED_CAPACITY) {
+                keys = new long[INITIAL_CAPACITY];
+                values = new int[INITIAL_CAPACITY];
+            }
+        }
+    }
+
+    // Open addressing map from packed positions to indices, slots are empty when their value is NONE
+    static class IndexMap {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private int[] values = emptyValues(INITIAL_CAPACITY);
+        private int size;
+
+        int get(int key) {
+            final int mask = keys.length - 1;
+            for (int slot = slot(key, mask); values[slot] != NONE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return NONE;
+        }
+
+        void put(int key, int value) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            final int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (values[slot] != NONE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == NONE) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void grow() {
+            final int[] oldKeys = keys;
+            final int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = emptyValues(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != NONE) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        void clear() {
+            if (keys.length > RETAINED_CAPACITY) {
+                keys = new int[INITIAL_CAPACITY];
+                values = emptyValues(INITIAL_CAPACITY);
+            } else if (size > 0) {
+                Arrays.fill(values, NONE);
+            }
+            size = 0;
+        }
+
+        // Packed positions of neighbouring tiles differ in their low bits, which are spread over the table
+        private static int slot(int key, int mask) {
+            final int hash = key * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private static int[] emptyValues(int capacity) {
+            final int[] values = new int[capacity];
+            Arrays.fill(values, NONE);
+            return values;
+        }
+    }
+
+    // Singly linked lists of weighted edges, addressed by the index of their first edge
+    static class EdgeList {
+        private int[] targets = new int[INITIAL_CAPACITY];
+        private int[] costs = new int[INITIAL_CAPACITY];
+        private int[] next = new int[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * @return the index of the edge, which becomes the head of the list continuing with {@code nextEdge}
+         */
+        int add(int target, int cost, int nextEdge) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                costs = Arrays.copyOf(costs, size * 2);
+                next = Arrays.copyOf(next, size * 2);
+            }
+            targets[size] = target;
+            costs[size] = cost;
+            next[size] = nextEdge;
+            return size++;
+        }
+
+        int target(int edge) {
+            return targets[edge];
+        }
+
+        int cost(int edge) {
+            return costs[edge];
+        }
+
+        int next(int edge) {
+            return next[edge];
+        }
+
+        void clear() {
+            size = 0;
+            if (targets.length > RETAINED_CAPACITY) {
+                targets = new int[INITIAL_CAPACITY];
+                costs = new int[INITIAL_CAPACITY];
+                next = new int[INITIAL_CAPACITY];
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Value;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of completed paths. Entries are keyed by the start, the targets and the
+ * {@link PathfinderConfig#getRoutingFingerprint() routing fingerprint}, so a change to anything that
+ * affects routing (usable transports, restrictions, quest and varbit state, ...) simply stops matching
+ * the old entries, which then age out.
+ */
+public class PathCache {
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<Key, List<WorldPoint>> entries = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, List<WorldPoint>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value
+    public static class Key {
+        int start;
+        int[] targets;
+        long fingerprint;
+    }
+
+    public static Key key(WorldPoint start, int[] targets, long fingerprint) {
+        int[] sortedTargets = targets.clone();
+        Arrays.sort(sortedTargets);
+        return new Key(WorldPointUtil.packWorldPoint(start), sortedTargets, fingerprint);
+    }
+
+    public synchronized List<WorldPoint> get(Key key) {
+        List<WorldPoint> path = entries.get(key);
+        if (path == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return path;
+    }
+
+    public synchronized void put(Key key, List<WorldPoint> path) {
+        entries.put(key, List.copyOf(path));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
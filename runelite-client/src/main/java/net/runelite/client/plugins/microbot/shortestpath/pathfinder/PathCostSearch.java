@@ -0,0 +1,171 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-source uniform-cost search that measures the cost of the cheapest path to each of a set of targets.
+ * One search is shared by all targets and continues until every target is settled, instead of stopping at
+ * the first target like {@link Pathfinder}. It also ends once every reachable tile is settled, so targets that
+ * cannot be reached only cost the search of the area they are not in.
+ * <p>
+ * Player-held teleports are queued by the search itself rather than attached to the shared transports through
+ * {@link PathfinderConfig#refreshTeleports}, so any number of searches can run in parallel over the same
+ * refreshed config.
+ */
+public class PathCostSearch {
+    private final PathfinderConfig config;
+    private final WorldPoint start;
+    private final Set<WorldPoint> targets;
+    private final PrimitiveIntHashMap<WorldPoint> targetsPacked;
+    private final boolean targetInWilderness;
+    private volatile boolean cancelled = false;
+
+    private NodeStore store;
+    private int expanding;
+    private int wildernessLevel;
+    private final CollisionMap.NeighborVisitor visitor = this::visit;
+
+    public PathCostSearch(PathfinderConfig config, WorldPoint start, Collection<WorldPoint> targets) {
+        this.config = config;
+        this.start = start;
+        this.targets = new HashSet<>(targets);
+        this.targetsPacked = new PrimitiveIntHashMap<>(this.targets.size());
+        for (WorldPoint target : this.targets) {
+            targetsPacked.put(WorldPointUtil.packWorldPoint(target), target);
+        }
+        this.targetInWilderness = PathfinderConfig.isInWilderness(this.targets);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Runs the search on the calling thread.
+     *
+     * @return the path cost of every target that can be reached, in the same unit as the pathfinder's node costs
+     */
+    public Map<WorldPoint, Integer> run() {
+        return run(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs the search on the calling thread until the given number of targets is settled. Targets are settled in
+     * order of their path cost, so a limit of one finds the nearest target.
+     *
+     * @return the path cost of the cheapest targets up to the limit, in the same unit as the pathfinder's node costs
+     */
+    public Map<WorldPoint, Integer> run(int limit) {
+        final Map<WorldPoint, Integer> costs = new HashMap<>();
+        if (start == null || targets.isEmpty() || limit <= 0) {
+            return costs;
+        }
+
+        final CollisionMap map = config.getMap();
+        final VisitedTiles visited = new VisitedTiles(map);
+        store = config.getNodeStore();
+        store.clear();
+        wildernessLevel = 31;
+
+        // Targets outside the collision map read as visited and can never be settled, so they are not waited for
+        int reachable = 0;
+        for (WorldPoint target : targets) {
+            if (!visited.get(target)) {
+                reachable++;
+            }
+        }
+
+        final NodeStore.IndexHeap open = store.heap;
+        final long cutoffDurationMillis = config.getCalculationCutoffMillis();
+        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+        int remaining = Math.min(limit, reachable);
+        open.add(0, store.add(WorldPointUtil.packWorldPoint(start), NodeStore.NONE, 0));
+
+        try {
+            // An empty frontier means every reachable tile is settled and the remaining targets cannot be reached
+            while (!cancelled && !open.isEmpty() && remaining > 0) {
+                final int index = open.poll();
+                final int position = store.position(index);
+                if (!visited.set(position)) {
+                    continue;
+                }
+
+                WorldPoint target = targetsPacked.get(position);
+                if (target != null) {
+                    costs.put(target, store.cost(index));
+                    remaining--;
+                    // Like the pathfinder, the cutoff only applies to searches that stop making progress
+                    cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+                }
+
+                if (System.currentTimeMillis() > cutoffTimeMillis) {
+                    break;
+                }
+
+                expanding = index;
+                updateWildernessLevel(position, visited);
+                map.forEachNeighbor(position, visited, config, targets, visitor);
+            }
+        } finally {
+            store.clear();
+            visited.clear();
+        }
+
+        return costs;
+    }
+
+    private void visit(int packedPosition, int travelTime, boolean transport) {
+        final int from = store.position(expanding);
+        if (config.avoidWilderness(from, packedPosition, targetInWilderness)) {
+            return;
+        }
+
+        final int cost = store.cost(expanding) + (transport ? travelTime : WorldPointUtil.distanceBetween(from, packedPosition));
+        store.heap.add(cost, store.add(packedPosition, expanding, cost));
+    }
+
+    // Queues the player-held teleports from the start tile, and again from the first tile below each wilderness
+    // level that blocks some of them, matching Pathfinder.updateWildernessLevel
+    private void updateWildernessLevel(int packedPosition, VisitedTiles visited) {
+        if (wildernessLevel == 0) {
+            return;
+        }
+
+        int level = wildernessLevel;
+        if (level > 29 && !config.isInLevel29Wilderness(packedPosition)) {
+            level = 29;
+        }
+        if (level > 19 && !config.isInLevel19Wilderness(packedPosition)) {
+            level = 19;
+        }
+        if (level > 0 && !PathfinderConfig.isInWilderness(packedPosition)) {
+            level = 0;
+        }
+        if (level == wildernessLevel) {
+            return;
+        }
+
+        wildernessLevel = level;
+        if (config.isIgnoreTeleportAndItems()) {
+            return;
+        }
+        for (Transport teleport : config.getUsableTeleports()) {
+            if (level > teleport.getMaxWildernessLevel() || teleport.getDestination() == null) {
+                continue;
+            }
+            final int destination = WorldPointUtil.packWorldPoint(teleport.getDestination());
+            if (!visited.get(destination)) {
+                visit(destination, config.getDistanceBeforeUsingTeleport() + teleport.getDuration(), true);
+            }
+        }
+    }
+}
@@ -2,11 +2,21 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntSet;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
 import java.util.*;
 
 public class Pathfinder implements Runnable {
+    // Tiles a path repair may expand before it gives up and a full search is run instead
+    private static final int REPAIR_EXPANSION_LIMIT = 4096;
+    // How often the partial path of a running search is materialized for getPath
+    private static final long PUBLISH_INTERVAL_MILLIS = 100;
+
     private PathfinderStats stats;
     private volatile boolean done = false;
     private volatile boolean cancelled = false;
@@ -19,17 +29,32 @@ public class Pathfinder implements Runnable {
     private final PathfinderConfig config;
     private final CollisionMap map;
     private final boolean targetInWilderness;
+    private final PathfinderAlgorithm algorithm;
+    private final int[] targetsPacked;
+    private final PrimitiveIntSet targetSet;
+    // Path of a completed search for the same targets, repaired instead of searching from scratch when set
+    private final int[] previousPath;
 
-    // Capacities should be enough to store all nodes without requiring the queue to grow
-    // They were found by checking the max queue size
-    private final Deque<Node> boundary = new ArrayDeque<>(4096);
-    private final Queue<Node> pending = new PriorityQueue<>(256);
     private final VisitedTiles visited;
+    // Nodes of the breadth-first and A* searches, owned by the thread running the search
+    private NodeStore store;
+    // Node whose neighbours are being reported to the visitors, and whether they are pruned
+    private int expanding;
+    private boolean pruning;
+    private final CollisionMap.NeighborVisitor breadthFirstVisitor = this::visitBreadthFirst;
+    private final CollisionMap.NeighborVisitor aStarVisitor = this::visitAStar;
+    private final CollisionMap.NeighborVisitor forwardVisitor = this::visitForward;
+    private final CollisionMap.NeighborVisitor backwardVisitor = this::visitBackward;
+    // Tiles expanded by the backward half of the bidirectional search, created on its first use
+    private VisitedTiles backwardVisited;
 
     @SuppressWarnings("unchecked") // Casting EMPTY_LIST is safe here
     private List<WorldPoint> path = (List<WorldPoint>)Collections.EMPTY_LIST;
     private boolean pathNeedsUpdate = false;
     private Node bestLastNode;
+    // Store index of the best node, materialized into bestLastNode by publishBestNode
+    private int bestIndex = NodeStore.NONE;
+    private long publishTimeMillis;
     /**
      * Teleportation transports are updated when this changes.
      * Can be either:
@@ -39,18 +64,43 @@ public class Pathfinder implements Runnable {
      */
     private int wildernessLevel;
 
+    // Progress tracking shared by all search strategies, used to pick the closest node when the targets are unreachable
+    private int bestDistance;
+    private long bestHeuristic;
+    private long cutoffDurationMillis;
+    private long cutoffTimeMillis;
+    // Whether the path ends on a target, rather than on the closest tile found before the search stopped
+    private boolean targetReached;
+
+    /**
+     * Lower bound of the cost of any path that reaches a target through a transport, used to keep
+     * the A* heuristic admissible when the straight-line distance overestimates the remaining cost.
+     */
+    private int transportBound = Integer.MAX_VALUE;
+    /**
+     * Lower bound of the cost of any path that uses a teleport from the player's position, which the landmark
+     * bound leaves out, see {@link #computeTeleportBound}.
+     */
+    private int teleportBound = Integer.MAX_VALUE;
+    // Landmark lower bound of the A* search, or null if the bundled table cannot be used
+    private LandmarkHeuristic landmarks;
+
+    // Store indices of the best meeting point found by the bidirectional search
+    private int meetingForward, meetingBackward;
+    private int meetingCost;
+
     public Pathfinder(PathfinderConfig config, WorldPoint start, WorldPoint target) {
-        stats = new PathfinderStats();
-        this.config = config;
-        this.map = config.getMap();
-        this.start = start;
-        this.targets = Set.of(target);
-        visited = new VisitedTiles(map);
-        targetInWilderness = PathfinderConfig.isInWilderness(target);
-        wildernessLevel = 31;
+        this(config, start, Set.of(target));
     }
 
     public Pathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets) {
+        this(config, start, targets, null);
+    }
+
+    /**
+     * @param previous completed pathfinder whose path is repaired from the new start when it has the same targets, or null
+     */
+    public Pathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets, Pathfinder previous) {
         stats = new PathfinderStats();
         this.config = config;
         this.map = config.getMap();
@@ -59,6 +109,16 @@ public class Pathfinder implements Runnable {
         visited = new VisitedTiles(map);
         targetInWilderness = PathfinderConfig.isInWilderness(targets);
         wildernessLevel = 31;
+        algorithm = config.getPathfinderAlgorithm();
+        targetsPacked = new int[targets.size()];
+        targetSet = new PrimitiveIntSet(targets.size());
+        int i = 0;
+        for (WorldPoint target : targets) {
+            targetsPacked[i] = WorldPointUtil.packWorldPoint(target);
+            targetSet.add(targetsPacked[i++]);
+        }
+        previousPath = previous != null && previous.isDone() && previous.getTargets().equals(targets)
+                ? packPath(previous.getPath()) : null;
     }
 
     public boolean isDone() {
@@ -92,109 +152,772 @@ public class Pathfinder implements Runnable {
         return path;
     }
 
-    private void addNeighbors(Node node) {
-        List<Node> nodes = map.getNeighbors(node, visited, config, targets);
-        for (Node neighbor : nodes) {
-            if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
-                continue;
+    @Override
+    public void run() {
+        stats.start(algorithm);
+
+        final PathCache cache = config.getPathCache();
+        final PathCache.Key cacheKey = isCacheable() ? PathCache.key(start, targetsPacked, config.getRoutingFingerprint()) : null;
+        final List<WorldPoint> cachedPath = cacheKey != null ? cache.get(cacheKey) : null;
+        if (cachedPath != null) {
+            path = new ArrayList<>(cachedPath);
+            stats.cacheHit = true;
+            done = true;
+            stats.end();
+            return;
+        }
+
+        store = config.getNodeStore();
+        bestIndex = NodeStore.NONE;
+        targetReached = false;
+        bestDistance = Integer.MAX_VALUE;
+        bestHeuristic = Integer.MAX_VALUE;
+        cutoffDurationMillis = config.getCalculationCutoffMillis();
+        cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+
+        if (previousPath != null && runRepair()) {
+            stats.repaired = true;
+        } else {
+            // A failed repair may have left the wilderness, the full search refreshes the teleports along its own paths
+            wildernessLevel = 31;
+            switch (algorithm) {
+                case A_STAR:
+                    runAStar();
+                    break;
+                case BIDIRECTIONAL:
+                    runBidirectional();
+                    break;
+                default:
+                    runBreadthFirst();
+                    break;
             }
+        }
+
+        done = !cancelled;
+        // Repaired paths are only as good as the path they were repaired from, and partial paths of a search that
+        // stopped at the cutoff or ran out of tiles are only a best effort, so neither is shared
+        if (done && targetReached && cacheKey != null && !stats.repaired) {
+            cache.put(cacheKey, getPath());
+        }
+
+        store.clear();
+        visited.clear();
+
+        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    }
 
-            visited.set(neighbor.packedPosition);
-            if (neighbor instanceof TransportNode) {
-                pending.add(neighbor);
-                ++stats.transportsChecked;
+    private void runBreadthFirst() {
+        final NodeStore.IndexQueue boundary = store.queue;
+        final NodeStore.IndexHeap pending = store.pending;
+        boundary.add(store.add(WorldPointUtil.packWorldPoint(start), NodeStore.NONE, 0));
+
+        while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
+            final int index;
+            if (!pending.isEmpty() && (boundary.isEmpty() || store.cost(pending.peek()) < store.cost(boundary.peek()))) {
+                index = pending.poll();
             } else {
-                boundary.addLast(neighbor);
-                ++stats.nodesChecked;
+                index = boundary.poll();
+            }
+            ++stats.nodesExpanded;
+            final int position = store.position(index);
+
+            updateWildernessLevel(position);
+
+            if (isTarget(position)) {
+                bestIndex = index;
+                targetReached = true;
+                break;
+            }
+
+            updateBestIndex(index);
+
+            if (System.currentTimeMillis() > cutoffTimeMillis) {
+                break;
+            }
+
+            // Neighbours are marked as visited once all of them are known, so a tile that can be reached both
+            // by walking and through a transport is queued for both
+            final int firstNeighbor = store.size();
+            expanding = index;
+            map.forEachNeighbor(position, visited, config, targets, breadthFirstVisitor);
+            for (int i = firstNeighbor; i < store.size(); i++) {
+                visited.set(store.position(i));
             }
         }
+
+        publishBestNode();
     }
 
-    @Override
-    public void run() {
-        stats.start();
-        boundary.addFirst(new Node(start, null));
+    private void visitBreadthFirst(int packedPosition, int travelTime, boolean transport) {
+        final int from = store.position(expanding);
+        if (config.avoidWilderness(from, packedPosition, targetInWilderness)) {
+            return;
+        }
 
-        int bestDistance = Integer.MAX_VALUE;
-        long bestHeuristic = Integer.MAX_VALUE;
-        long cutoffDurationMillis = config.getCalculationCutoffMillis();
-        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+        final int cost = store.cost(expanding) + (transport ? travelTime : WorldPointUtil.distanceBetween(from, packedPosition));
+        final int index = store.add(packedPosition, expanding, cost);
+        if (transport) {
+            store.pending.add(cost, index);
+            ++stats.transportsChecked;
+        } else {
+            store.queue.add(index);
+            ++stats.nodesChecked;
+        }
+    }
 
-        while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
-            Node node = boundary.peekFirst();
-            Node p = pending.peek();
-            
-            if (p != null && (node == null || p.cost < node.cost)) {
-                node = pending.poll();
-            } else {
-                node = boundary.removeFirst();
+    /**
+     * Goal-directed search ordered by cost plus an admissible heuristic. The landmark bound is the same across a
+     * chunk and is left out on blocked tiles, so the heuristic is not consistent: the cheapest known path to every
+     * tile is kept, and a tile is expanded again when a cheaper path to it is found after it was expanded. In open
+     * terrain the neighbours that are reachable at no extra cost through the parent are pruned, following the jump
+     * point search pruning rules.
+     */
+    private void runAStar() {
+        store.clear();
+        bestIndex = NodeStore.NONE;
+        landmarks = LandmarkHeuristic.create(config, map, targetsPacked);
+        final NodeStore.IndexHeap open = store.heap;
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        final int startIndex = store.add(startPacked, NodeStore.NONE, 0);
+        store.forwardBest.put(startPacked, startIndex);
+        open.add(0, startIndex);
+
+        while (!cancelled && !open.isEmpty()) {
+            final int index = open.poll();
+            final int position = store.position(index);
+            if (store.forwardBest.get(position) != index) {
+                continue; // A cheaper path to the tile was found after this one was queued
             }
+            ++stats.nodesExpanded;
 
-            if (wildernessLevel > 0) {
-                // We don't need to remove teleports when going from 20 to 21 or higher,
-                // because the teleport is either used at the very start of the
-                // path or when going from 31 or higher to 30, or from 21 or higher to 20.
+            updateWildernessLevel(position);
+            if (index == startIndex) {
+                // Teleports are attached to the start tile above, so the bounds can only be computed now
+                transportBound = computeTransportBound();
+                teleportBound = computeTeleportBound();
+            }
 
-                boolean update = false;
+            if (isTarget(position)) {
+                bestIndex = index;
+                targetReached = true;
+                break;
+            }
 
-                // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
-                // likewise, if the node isn't in level 20, it's in 0-19
-                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node.packedPosition)) {
-                    wildernessLevel = 29;
-                    update = true;
-                }
-                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node.packedPosition)) {
-                    wildernessLevel = 19;
-                    update = true;
+            updateBestIndex(index);
+
+            if (System.currentTimeMillis() > cutoffTimeMillis) {
+                break;
+            }
+
+            // Tiles are never marked as visited, so expanded tiles are reported again and reopened if now cheaper
+            expanding = index;
+            pruning = canPrune(index);
+            map.forEachNeighbor(position, visited, config, targets, aStarVisitor);
+        }
+
+        landmarks = null;
+        publishBestNode();
+    }
+
+    private void visitAStar(int packedPosition, int travelTime, boolean transport) {
+        final int from = store.position(expanding);
+        if (config.avoidWilderness(from, packedPosition, targetInWilderness)) {
+            return;
+        }
+        if (pruning && !isNaturalNeighbor(expanding, packedPosition)) {
+            return;
+        }
+
+        final int cost = store.cost(expanding) + (transport ? travelTime : WorldPointUtil.distanceBetween(from, packedPosition));
+        final int known = store.forwardBest.get(packedPosition);
+        if (known != NodeStore.NONE && store.cost(known) <= cost) {
+            return;
+        }
+
+        final int h = heuristic(packedPosition);
+        final int index = store.add(packedPosition, expanding, cost);
+        store.forwardBest.put(packedPosition, index);
+        store.heap.add(scoreKey(cost, h), index);
+        if (transport) {
+            ++stats.transportsChecked;
+        } else {
+            ++stats.nodesChecked;
+        }
+    }
+
+    // Orders by cost plus heuristic, then prefers nodes closer to the target which finishes straight paths without widening
+    private static long scoreKey(int cost, int h) {
+        final long f = Math.min((long) cost + h, Integer.MAX_VALUE);
+        return (f << 32) | h;
+    }
+
+    /**
+     * Bidirectional uniform-cost search. The forward search expands from the start and the backward search
+     * expands from every target over the reversed graph, where transports are followed from destination to
+     * origin. The search ends once the cheapest frontiers can no longer improve on the best meeting point.
+     * Both halves keep their nodes in the same store, each linked towards its own roots.
+     */
+    private void runBidirectional() {
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        updateWildernessLevel(startPacked);
+        if (wildernessLevel > 0) {
+            // Teleports become usable part way through paths leaving the wilderness, which the backward
+            // search cannot know about; the forward-only search handles this correctly
+            stats.algorithm = PathfinderAlgorithm.A_STAR;
+            runAStar();
+            return;
+        }
+
+        final NodeStore.IndexHeap forwardQueue = store.heap;
+        final NodeStore.IndexHeap backwardQueue = store.pending;
+        if (backwardVisited == null) {
+            backwardVisited = new VisitedTiles(map);
+        }
+        buildReverseTransports();
+
+        meetingForward = NodeStore.NONE;
+        meetingBackward = NodeStore.NONE;
+        meetingCost = Integer.MAX_VALUE;
+
+        relax(startPacked, NodeStore.NONE, 0, true, false);
+        for (int target : targetsPacked) {
+            relax(target, NodeStore.NONE, 0, false, false);
+        }
+
+        boolean timedOut = false;
+        while (!cancelled && !forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if ((long) store.cost(forwardQueue.peek()) + store.cost(backwardQueue.peek()) >= meetingCost) {
+                break;
+            }
+
+            if (System.currentTimeMillis() > cutoffTimeMillis) {
+                timedOut = true;
+                break;
+            }
+
+            // Expand whichever side has the smaller frontier to keep both searches balanced
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                final int index = forwardQueue.poll();
+                final int position = store.position(index);
+                if (!visited.set(position)) {
+                    continue;
                 }
-                if (wildernessLevel > 0 && !config.isInWilderness(node.packedPosition)) {
-                    wildernessLevel = 0;
-                    update = true;
+                ++stats.nodesExpanded;
+                updateBestIndex(index);
+
+                expanding = index;
+                map.forEachNeighbor(position, visited, config, targets, forwardVisitor);
+            } else {
+                final int index = backwardQueue.poll();
+                final int position = store.position(index);
+                if (!backwardVisited.set(position)) {
+                    continue;
                 }
-                if (update) {
-                    config.refreshTeleports(node.packedPosition, wildernessLevel);
+                ++stats.nodesExpanded;
+
+                expanding = index;
+                map.forEachNeighbor(position, backwardVisited, config, targets, backwardVisitor);
+
+                for (int edge = store.reverseTransports.get(position); edge != NodeStore.NONE; edge = store.edges.next(edge)) {
+                    final int origin = store.edges.target(edge);
+                    if (backwardVisited.get(origin)
+                            || config.avoidWilderness(origin, position, targetInWilderness)) {
+                        continue;
+                    }
+                    relax(origin, index, store.cost(index) + store.edges.cost(edge), false, true);
                 }
             }
+        }
 
-            if (targets.contains(WorldPointUtil.unpackWorldPoint(node.packedPosition))) {
-                bestLastNode = node;
-                pathNeedsUpdate = true;
+        final boolean exhausted = backwardQueue.isEmpty();
+        backwardVisited.clear();
+
+        if (meetingForward != NodeStore.NONE) {
+            bestLastNode = joinPaths(meetingForward, meetingBackward);
+            pathNeedsUpdate = true;
+            // A meeting point found before the cutoff may not be the best one yet
+            targetReached = !timedOut;
+        } else if (!cancelled && exhausted) {
+            // The targets are enclosed and cannot be reached; let a forward search find the closest tile instead
+            visited.clear();
+            stats.algorithm = PathfinderAlgorithm.A_STAR;
+            runAStar();
+        } else {
+            publishBestNode();
+        }
+    }
+
+    private void visitForward(int packedPosition, int travelTime, boolean transport) {
+        final int from = store.position(expanding);
+        if (config.avoidWilderness(from, packedPosition, targetInWilderness)) {
+            return;
+        }
+        final int cost = store.cost(expanding) + (transport ? travelTime : WorldPointUtil.distanceBetween(from, packedPosition));
+        relax(packedPosition, expanding, cost, true, transport);
+    }
+
+    private void visitBackward(int packedPosition, int travelTime, boolean transport) {
+        // Transports leaving this tile are forward edges; arriving transports are followed from the reverse index
+        if (transport) {
+            return;
+        }
+        final int from = store.position(expanding);
+        if (config.avoidWilderness(packedPosition, from, targetInWilderness)) {
+            return;
+        }
+        relax(packedPosition, expanding, store.cost(expanding) + WorldPointUtil.distanceBetween(from, packedPosition), false, false);
+    }
+
+    /**
+     * Repairs the previous path after the player moved off it. The previous path is checked edge by edge
+     * against the refreshed transports and restrictions, and a local search from the new start looks for the
+     * cheapest way back onto the part of it that is still intact. Returns false when the intact part cannot be
+     * reached within {@link #REPAIR_EXPANSION_LIMIT} expansions, in which case a full search is needed.
+     */
+    private boolean runRepair() {
+        // Attach the usable teleports to the new start, as the full search does when it expands its first tile
+        updateWildernessLevel(WorldPointUtil.packWorldPoint(start));
+
+        final int length = previousPath.length;
+        final int[] costToGo = new int[length];
+        int intact = length - 1;
+        // Walk back from the end until the first move that is no longer possible, e.g. a newly restricted tile
+        while (intact > 0) {
+            int cost = edgeCost(previousPath[intact - 1], previousPath[intact]);
+            if (cost < 0) {
                 break;
             }
+            costToGo[intact - 1] = costToGo[intact] + cost;
+            intact--;
+        }
+
+        final PrimitiveIntHashMap<Integer> rejoin = new PrimitiveIntHashMap<>(length - intact);
+        for (int i = intact; i < length; i++) {
+            rejoin.put(previousPath[i], i);
+        }
 
-            for (WorldPoint target : targets) {
-                int distance = WorldPointUtil.distanceBetween(node.packedPosition, WorldPointUtil.packWorldPoint(target));
-                long heuristic = distance + (long) WorldPointUtil.distanceBetween(node.packedPosition, WorldPointUtil.packWorldPoint(target), 2);
+        // Along a run of the path where every step costs at least the distance it moves, the distance to a tile plus
+        // its cost to go never decreases on the plane of the run and only decreases off it. The lower bound is thus
+        // found at the first or last tile of a run, and only those are checked per node.
+        final int[] runEnds = new int[2 * (length - intact)];
+        int runEndCount = 0;
+        runEnds[runEndCount++] = intact;
+        for (int i = intact + 1; i < length; i++) {
+            if (costToGo[i - 1] - costToGo[i] < WorldPointUtil.distanceBetween(previousPath[i - 1], previousPath[i])) {
+                runEnds[runEndCount++] = i - 1;
+                runEnds[runEndCount++] = i;
+            }
+        }
+        runEnds[runEndCount++] = length - 1;
 
-                if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
+        final Queue<ScoredNode> open = new PriorityQueue<>(256);
+        open.add(new ScoredNode(new Node(start, null), 0, 0));
+        int expansions = 0;
 
-                    bestLastNode = node;
-                    pathNeedsUpdate = true;
-                    bestDistance = distance;
-                    bestHeuristic = heuristic;
-                    cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
-                }
+        while (!cancelled && !open.isEmpty() && expansions < REPAIR_EXPANSION_LIMIT) {
+            Node node = open.poll().node;
+            if (!visited.set(node.packedPosition)) {
+                continue;
+            }
+            ++expansions;
+            ++stats.nodesExpanded;
+
+            updateWildernessLevel(node.packedPosition);
+
+            Integer index = rejoin.get(node.packedPosition);
+            if (index != null) {
+                bestLastNode = followPreviousPath(node, index, costToGo);
+                pathNeedsUpdate = true;
+                visited.clear();
+                return true;
             }
 
             if (System.currentTimeMillis() > cutoffTimeMillis) {
                 break;
             }
-            
-            addNeighbors(node);
-        }
 
-        done = !cancelled;
+            for (Node neighbor : map.getNeighbors(node, visited, config, targets)) {
+                if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+                    continue;
+                }
+
+                int h = rejoinHeuristic(neighbor.packedPosition, runEnds, runEndCount, costToGo);
+                int f = (int) Math.min((long) neighbor.cost + h, Integer.MAX_VALUE);
+                open.add(new ScoredNode(neighbor, f, h));
+                if (neighbor instanceof TransportNode) {
+                    ++stats.transportsChecked;
+                } else {
+                    ++stats.nodesChecked;
+                }
+            }
+        }
 
-        boundary.clear();
         visited.clear();
-        pending.clear();
+        return false;
+    }
 
-        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    // Cost of moving between two consecutive path tiles as weighed by the search, or -1 if the move is no longer possible
+    private int edgeCost(int from, int to) {
+        if (config.avoidWilderness(from, to, targetInWilderness)) {
+            return -1;
+        }
+        int cost = -1;
+        for (Node neighbor : map.getNeighbors(new Node(from, null), visited, config, targets)) {
+            if (neighbor.packedPosition == to && (cost < 0 || neighbor.cost < cost)) {
+                cost = neighbor.cost;
+            }
+        }
+        return cost;
+    }
+
+    // Lower bound of the cost of rejoining the intact part of the previous path and following it to its end
+    private int rejoinHeuristic(int packedPosition, int[] runEnds, int runEndCount, int[] costToGo) {
+        int min = Integer.MAX_VALUE;
+        for (int r = 0; r < runEndCount; r++) {
+            final int i = runEnds[r];
+            int distance = WorldPointUtil.distanceBetween(packedPosition, previousPath[i]);
+            // Tiles on other planes can only be reached through a transport of unknown cost
+            min = Math.min(min, distance == Integer.MAX_VALUE ? costToGo[i] : distance + costToGo[i]);
+        }
+        return min;
+    }
+
+    // Continues the repaired path along the intact part of the previous path
+    private Node followPreviousPath(Node node, int index, int[] costToGo) {
+        for (int i = index + 1; i < previousPath.length; i++) {
+            node = new Node(previousPath[i], node, node.cost + costToGo[i - 1] - costToGo[i]);
+        }
+        return node;
+    }
+
+    private static int[] packPath(List<WorldPoint> path) {
+        if (path == null || path.size() < 2) {
+            return null;
+        }
+        int[] packed = new int[path.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = WorldPointUtil.packWorldPoint(path.get(i));
+        }
+        return packed;
+    }
+
+    private void relax(int packedPosition, int parent, int cost, boolean forward, boolean transport) {
+        final NodeStore.IndexMap best = forward ? store.forwardBest : store.backwardBest;
+        final int known = best.get(packedPosition);
+        if (known != NodeStore.NONE && store.cost(known) <= cost) {
+            return;
+        }
+
+        final int index = store.add(packedPosition, parent, cost);
+        best.put(packedPosition, index);
+        (forward ? store.heap : store.pending).add(cost, index);
+        if (transport) {
+            ++stats.transportsChecked;
+        } else {
+            ++stats.nodesChecked;
+        }
+
+        final int other = (forward ? store.backwardBest : store.forwardBest).get(packedPosition);
+        if (other != NodeStore.NONE && (long) cost + store.cost(other) < meetingCost) {
+            meetingCost = cost + store.cost(other);
+            meetingForward = forward ? index : other;
+            meetingBackward = forward ? other : index;
+        }
+    }
+
+    // Extends the forward path with the tiles of the backward path, which is linked towards the target
+    private Node joinPaths(int forward, int backward) {
+        Node node = store.toNode(forward);
+        for (int i = backward; store.parent(i) != NodeStore.NONE; i = store.parent(i)) {
+            final int next = store.parent(i);
+            node = new Node(store.position(next), node, node.cost + store.cost(i) - store.cost(next));
+        }
+        return node;
+    }
+
+    // Links every usable transport from its destination back to its origin, in the reusable lists of the store
+    private void buildReverseTransports() {
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+            for (Transport transport : entry.getValue()) {
+                if (transport.getDestination() == null) {
+                    continue;
+                }
+                int cost = transportCost(transport);
+                if (cost < 0) {
+                    continue;
+                }
+                final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+                store.reverseTransports.put(destination, store.edges.add(origin, cost, store.reverseTransports.get(destination)));
+            }
+        }
+    }
+
+    /** Cost of a transport edge as weighed by {@link CollisionMap#getNeighbors}, or -1 if it is never used */
+    private int transportCost(Transport transport) {
+        if (TransportType.isTeleport(transport.getType())) {
+            if (config.isIgnoreTeleportAndItems()) {
+                return -1;
+            }
+            return config.getDistanceBeforeUsingTeleport() + transport.getDuration();
+        }
+        return transport.getDuration();
+    }
+
+    /**
+     * Any path that uses a transport costs at least as much as its last transport plus the walk from that
+     * transport's destination to a target. Transports on the start tile are left out since paths through the
+     * start tile are never revisited, and player-held teleports are only included if they can still be
+     * attached to a later tile when leaving the wilderness.
+     */
+    private int computeTransportBound() {
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        int bound = Integer.MAX_VALUE;
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            if (WorldPointUtil.packWorldPoint(entry.getKey()) == startPacked) {
+                continue;
+            }
+            for (Transport transport : entry.getValue()) {
+                bound = Math.min(bound, transportBound(transport));
+            }
+        }
+        if (wildernessLevel > 0) {
+            for (Transport transport : config.getUsableTeleports()) {
+                bound = Math.min(bound, transportBound(transport));
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Any path that uses a teleport from the player's position costs at least as much as its last such teleport plus
+     * the cost from the teleport's destination to a target, which is bounded as in {@link #heuristic} without the
+     * landmarks. The teleports are those attached to tiles other than the start, and the player-held teleports if
+     * they can still be attached to a later tile when leaving the wilderness.
+     */
+    private int computeTeleportBound() {
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        int bound = Integer.MAX_VALUE;
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            if (WorldPointUtil.packWorldPoint(entry.getKey()) == startPacked) {
+                continue;
+            }
+            for (Transport transport : entry.getValue()) {
+                if (transport.getOrigin() == null) {
+                    bound = Math.min(bound, teleportBound(transport));
+                }
+            }
+        }
+        if (wildernessLevel > 0) {
+            for (Transport transport : config.getUsableTeleports()) {
+                bound = Math.min(bound, teleportBound(transport));
+            }
+        }
+        return bound;
+    }
+
+    private int transportBound(Transport transport) {
+        int cost = transportCost(transport);
+        if (cost < 0 || transport.getDestination() == null) {
+            return Integer.MAX_VALUE;
+        }
+        long distance = distanceToTargets(WorldPointUtil.packWorldPoint(transport.getDestination()));
+        return (int) Math.min(Integer.MAX_VALUE, cost + distance);
+    }
+
+    private int teleportBound(Transport transport) {
+        int cost = transportCost(transport);
+        if (cost < 0 || transport.getDestination() == null) {
+            return Integer.MAX_VALUE;
+        }
+        long remaining = Math.min(distanceToTargets(WorldPointUtil.packWorldPoint(transport.getDestination())), transportBound);
+        return (int) Math.min(Integer.MAX_VALUE, cost + remaining);
+    }
+
+    /**
+     * Paths without a teleport from the player's position cost at least the landmark bound, and paths with one at
+     * least the teleport bound, so the lower of the two can be added to the bound that holds for every path.
+     */
+    private int heuristic(int packedPosition) {
+        final int h = Math.min(distanceToTargets(packedPosition), transportBound);
+        if (landmarks == null) {
+            return h;
+        }
+        return Math.max(h, Math.min(landmarks.lowerBound(packedPosition), teleportBound));
+    }
+
+    // Walking distance lower bound; walking never changes plane so targets on other planes are unreachable without transports
+    private int distanceToTargets(int packedPosition) {
+        int min = Integer.MAX_VALUE;
+        for (int target : targetsPacked) {
+            min = Math.min(min, WorldPointUtil.distanceBetween(packedPosition, target));
+        }
+        return min;
+    }
+
+    // The puzzle room tiles change while walking, see CollisionMap.getNeighbors
+    private boolean isCacheable() {
+        return start != null && !targets.isEmpty() && start.getRegionID() != CollisionMap.TOA_PUZZLE_REGION;
+    }
+
+    private boolean isTarget(int packedPosition) {
+        return targetSet.contains(packedPosition);
+    }
+
+    // Pruning is only safe if both tiles are open, since the pruned neighbours are then reachable through the parent
+    private boolean canPrune(int index) {
+        final int parent = store.parent(index);
+        if (parent == NodeStore.NONE || config.isInToaPuzzleRoom()) {
+            return false;
+        }
+        final int position = store.position(index);
+        final int parentPosition = store.position(parent);
+        int dx = WorldPointUtil.unpackWorldX(position) - WorldPointUtil.unpackWorldX(parentPosition);
+        int dy = WorldPointUtil.unpackWorldY(position) - WorldPointUtil.unpackWorldY(parentPosition);
+        if (Math.abs(dx) > 1 || Math.abs(dy) > 1
+                || WorldPointUtil.unpackWorldPlane(position) != WorldPointUtil.unpackWorldPlane(parentPosition)) {
+            return false;
+        }
+        // Open tiles have no transports, so the node cannot have been reached through one
+        return isOpenTile(parentPosition) && isOpenTile(position);
+    }
+
+    /**
+     * Whether every neighbour of the tile can be walked to and none of them is skipped by the neighbour expansion.
+     * The pruned neighbours are reached around the node through the tiles next to it, so a restricted tile or a
+     * wilderness border there would leave them unreachable.
+     */
+    private boolean isOpenTile(int packedPosition) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
+        if (config.getTransportsPacked().get(packedPosition) != null || !map.isOpen(x, y, z)) {
+            return false;
+        }
+
+        final PrimitiveIntSet restricted = config.getRestrictedPointsPacked();
+        final boolean checkWilderness = config.isAvoidWilderness() && !targetInWilderness;
+        final boolean inWilderness = checkWilderness && PathfinderConfig.isInWilderness(packedPosition);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                final int neighbor = WorldPointUtil.packWorldPoint(x + dx, y + dy, z);
+                if (restricted.contains(neighbor)
+                        || (checkWilderness && PathfinderConfig.isInWilderness(neighbor) != inWilderness)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Straight moves only continue straight; diagonal moves continue diagonally or along either axis
+    private boolean isNaturalNeighbor(int index, int neighbor) {
+        final int position = store.position(index);
+        final int parentPosition = store.position(store.parent(index));
+        int px = WorldPointUtil.unpackWorldX(parentPosition);
+        int py = WorldPointUtil.unpackWorldY(parentPosition);
+        int x = WorldPointUtil.unpackWorldX(position);
+        int y = WorldPointUtil.unpackWorldY(position);
+        int dx = x - px;
+        int dy = y - py;
+        int nx = WorldPointUtil.unpackWorldX(neighbor) - x;
+        int ny = WorldPointUtil.unpackWorldY(neighbor) - y;
+
+        if (dx == 0 || dy == 0) {
+            return nx == dx && ny == dy;
+        }
+        return (nx == dx && ny == dy) || (nx == dx && ny == 0) || (nx == 0 && ny == dy);
+    }
+
+    private void updateWildernessLevel(int packedPosition) {
+        if (wildernessLevel > 0) {
+            // We don't need to remove teleports when going from 20 to 21 or higher,
+            // because the teleport is either used at the very start of the
+            // path or when going from 31 or higher to 30, or from 21 or higher to 20.
+
+            boolean update = false;
+
+            // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
+            // likewise, if the node isn't in level 20, it's in 0-19
+            if (wildernessLevel > 29 && !config.isInLevel29Wilderness(packedPosition)) {
+                wildernessLevel = 29;
+                update = true;
+            }
+            if (wildernessLevel > 19 && !config.isInLevel19Wilderness(packedPosition)) {
+                wildernessLevel = 19;
+                update = true;
+            }
+            if (wildernessLevel > 0 && !config.isInWilderness(packedPosition)) {
+                wildernessLevel = 0;
+                update = true;
+            }
+            if (update) {
+                config.refreshTeleports(packedPosition, wildernessLevel);
+            }
+        }
+    }
+
+    private void updateBestIndex(int index) {
+        if (improvesBest(store.position(index))) {
+            bestIndex = index;
+            // Materializing the path allocates, so the partial path of a running search is only refreshed periodically
+            if (System.currentTimeMillis() - publishTimeMillis >= PUBLISH_INTERVAL_MILLIS) {
+                publishBestNode();
+            }
+        }
+    }
+
+    private void publishBestNode() {
+        if (bestIndex != NodeStore.NONE) {
+            bestLastNode = store.toNode(bestIndex);
+            pathNeedsUpdate = true;
+            publishTimeMillis = System.currentTimeMillis();
+        }
+    }
+
+    // Keeps track of the tile closest to the targets, which is used as the path end if no target can be reached
+    private boolean improvesBest(int packedPosition) {
+        boolean improved = false;
+        for (int target : targetsPacked) {
+            int distance = WorldPointUtil.distanceBetween(packedPosition, target);
+            long heuristic = distance + (long) WorldPointUtil.distanceBetween(packedPosition, target, 2);
+
+            if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
+                bestDistance = distance;
+                bestHeuristic = heuristic;
+                cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+                improved = true;
+            }
+        }
+        return improved;
+    }
+
+    private static class ScoredNode implements Comparable<ScoredNode> {
+        private final Node node;
+        private final int f;
+        private final int h;
+
+        ScoredNode(Node node, int f, int h) {
+            this.node = node;
+            this.f = f;
+            this.h = h;
+        }
+
+        @Override
+        public int compareTo(ScoredNode other) {
+            int c = Integer.compare(f, other.f);
+            // Prefer nodes closer to the target on ties, which finishes straight paths without widening
+            return c != 0 ? c : Integer.compare(h, other.h);
+        }
     }
 
     public static class PathfinderStats {
         @Getter
-        private int nodesChecked = 0, transportsChecked = 0;
+        private int nodesChecked = 0, transportsChecked = 0, nodesExpanded = 0;
+        @Getter
+        private PathfinderAlgorithm algorithm;
+        @Getter
+        private boolean cacheHit, repaired;
         private long startNanos, endNanos;
         private volatile boolean started = false, ended = false;
 
@@ -206,10 +929,14 @@ public class Pathfinder implements Runnable {
             return endNanos - startNanos;
         }
 
-        private void start() {
+        private void start(PathfinderAlgorithm algorithm) {
             started = true;
+            this.algorithm = algorithm;
             nodesChecked = 0;
             transportsChecked = 0;
+            nodesExpanded = 0;
+            cacheHit = false;
+            repaired = false;
             startNanos = System.nanoTime();
         }
 
@@ -20,6 +20,7 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,9 +46,11 @@ public class PathfinderConfig {
 
     private final SplitFlagMap mapData;
     private final ThreadLocal<CollisionMap> map;
+    private final ThreadLocal<NodeStore> nodeStore = ThreadLocal.withInitial(NodeStore::new);
     /** All transports by origin {@link WorldPoint}. The null key is used for transports centered on the player. */
 	@Getter
     private final Map<WorldPoint, Set<Transport>> allTransports;
+    @Getter
     @Setter
     private Set<Transport> usableTeleports;
     private final List<WorldPoint> filteredTargets = new ArrayList<>(4);
@@ -66,6 +69,8 @@ public class PathfinderConfig {
     private long calculationCutoffMillis;
     @Getter
     private boolean avoidWilderness;
+    @Getter
+    private PathfinderAlgorithm pathfinderAlgorithm = PathfinderAlgorithm.BREADTH_FIRST;
     private boolean useAgilityShortcuts,
             useGrappleShortcuts,
             useBoats,
@@ -91,7 +96,10 @@ public class PathfinderConfig {
     @Getter
     private List<Restriction> customRestrictions;
     @Getter
-    private Set<Integer> restrictedPointsPacked;
+    private PrimitiveIntSet restrictedPointsPacked;
+    // Resolved once per refresh rather than per neighbour, see CollisionMap.forEachNeighbor
+    @Getter
+    private boolean inToaPuzzleRoom;
     private boolean useNpcs;
     //END microbot variables
     private TeleportationItem useTeleportationItems;
@@ -110,6 +118,14 @@ public class PathfinderConfig {
     // Used to include bank items when searching for item requirements
     private boolean useBankItems = false;
 
+    @Getter
+    private final PathCache pathCache = new PathCache();
+    // Hash of the refreshed state that affects routing, see getRoutingFingerprint
+    private long routingFingerprint;
+    // Game tick of the last refresh while logged in, or -1, and whether bank items were used, see refreshIfStale
+    private volatile int refreshedTick = -1;
+    private volatile boolean refreshedUseBankItems;
+
     public PathfinderConfig(SplitFlagMap mapData, Map<WorldPoint, Set<Transport>> transports,
                             List<Restriction> restrictions,
                             Client client, ShortestPathConfig config) {
@@ -124,7 +140,7 @@ public class PathfinderConfig {
         //START microbot variables
         this.resourceRestrictions = restrictions;
         this.customRestrictions = new ArrayList<>();
-        this.restrictedPointsPacked = new HashSet<>();
+        this.restrictedPointsPacked = new PrimitiveIntSet(restrictions.size());
         //END microbot variables
     }
 
@@ -132,9 +148,14 @@ public class PathfinderConfig {
         return map.get();
     }
 
+    NodeStore getNodeStore() {
+        return nodeStore.get();
+    }
+
     public void refresh() {
         calculationCutoffMillis = config.calculationCutoff() * Constants.GAME_TICK_LENGTH;
         avoidWilderness = config.avoidWilderness();
+        pathfinderAlgorithm = config.pathfinderAlgorithm();
         useAgilityShortcuts = config.useAgilityShortcuts();
         useGrappleShortcuts = config.useGrappleShortcuts();
         useBoats = config.useBoats();
@@ -168,14 +189,86 @@ public class PathfinderConfig {
             //START microbot variables
             refreshRestrictionData();
             
+            final int regionId = Rs2Player.getWorldLocation().getRegionID();
+            inToaPuzzleRoom = regionId == CollisionMap.TOA_PUZZLE_REGION;
+
             // Do not switch back to inventory tab if we are inside of the telekinetic room in Mage Training Arena
-            if (Rs2Player.getWorldLocation().getRegionID() != 13463) {
+            if (regionId != 13463) {
                 Rs2Tab.switchToInventoryTab();
             }
             //END microbot variables
+            refreshedTick = client.getTickCount();
+        } else {
+            inToaPuzzleRoom = false;
+            refreshedTick = -1;
+        }
+
+        routingFingerprint = computeRoutingFingerprint();
+        refreshedUseBankItems = useBankItems;
+    }
+
+    /**
+     * Refreshes unless the last refresh was made on the current game tick with the same bank item setting. The
+     * player's items, levels, varbits and quests only change between ticks, and config changes mark the refresh
+     * as stale, so a refresh on the same tick would resolve the same transports and fingerprint again.
+     */
+    public void refreshIfStale() {
+        if (refreshedTick < 0 || refreshedTick != client.getTickCount() || refreshedUseBankItems != useBankItems
+                || !GameState.LOGGED_IN.equals(client.getGameState())) {
+            refresh();
         }
     }
 
+    /**
+     * Makes the next {@link #refreshIfStale} refresh, e.g. after the plugin config changed
+     */
+    public void markStale() {
+        refreshedTick = -1;
+    }
+
+    /**
+     * Fingerprint of every input that affects which path is found: the usable transports and teleports,
+     * restricted tiles, the quest, varbit and varplayer values they were resolved from and the routing settings.
+     * Two searches with the same start, targets and fingerprint find the same path.
+     */
+    public long getRoutingFingerprint() {
+        return mix(routingFingerprint + (ignoreTeleportAndItems ? 1 : 2));
+    }
+
+    private long computeRoutingFingerprint() {
+        // Sums of mixed element hashes, so the result doesn't depend on iteration order
+        long hash = 0;
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : transports.entrySet()) {
+            long origin = entry.getKey().hashCode();
+            for (Transport transport : entry.getValue()) {
+                hash += mix(origin * 31 + System.identityHashCode(transport));
+            }
+        }
+        for (Transport teleport : usableTeleports) {
+            hash += mix(~(long) System.identityHashCode(teleport));
+        }
+        for (int point : restrictedPointsPacked.toArray()) {
+            hash += mix(((long) point << 32) | 0x5EED);
+        }
+        hash = mix(hash ^ questStates.hashCode());
+        hash = mix(hash ^ varbitValues.hashCode());
+        hash = mix(hash ^ varplayerValues.hashCode());
+        hash = mix(hash ^ (avoidWilderness ? 1 : 2));
+        hash = mix(hash ^ distanceBeforeUsingTeleport);
+        hash = mix(hash ^ pathfinderAlgorithm.ordinal());
+        return hash;
+    }
+
+    // Finalizer of the 64-bit MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
     /** Specialized method for only updating player-held item and spell transports */
     public void refreshTeleports(int packedLocation, int wildernessLevel) {
         Set<Transport> usableWildyTeleports = new HashSet<>(usableTeleports.size());
@@ -235,9 +328,6 @@ public class PathfinderConfig {
         useSpiritTrees &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TREE_GNOME_VILLAGE));
         useQuetzals &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TWILIGHTS_PROMISE));
 
-        transports.clear();
-        transportsPacked.clear();
-        usableTeleports.clear();
          Microbot.getClientThread().runOnClientThreadOptional(() -> {
             for (Map.Entry<WorldPoint, Set<Transport>> entry : allTransports.entrySet()) {
                 for (Transport transport : entry.getValue()) {
@@ -266,14 +356,26 @@ public class PathfinderConfig {
             return true;
         });
 
+        refreshTransports(this::useTransport);
+    }
+
+    /**
+     * Rebuilds the usable transports and teleports from all transports that pass the filter.
+     * Split from the requirement checks so the tables can be built without a logged in client.
+     */
+    void refreshTransports(Predicate<Transport> usable) {
+        transports.clear();
+        transportsPacked.clear();
+        usableTeleports.clear();
+
         for (Map.Entry<WorldPoint, Set<Transport>> entry : allTransports.entrySet()) {
             WorldPoint point = entry.getKey();
             Set<Transport> usableTransports = new HashSet<>(entry.getValue().size());
             for (Transport transport : entry.getValue()) {
 
-                if (point == null && useTransport(transport)) {
+                if (point == null && usable.test(transport)) {
                     usableTeleports.add(transport);
-                } else if (useTransport(transport)) {
+                } else if (usable.test(transport)) {
                     usableTransports.add(transport);
                 }
             }
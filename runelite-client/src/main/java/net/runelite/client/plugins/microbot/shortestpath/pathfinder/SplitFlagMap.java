@@ -7,6 +7,7 @@ import net.runelite.client.plugins.microbot.shortestpath.Util;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.zip.ZipEntry;
@@ -20,11 +21,22 @@ public class SplitFlagMap {
 
     @Getter
     private final byte[] regionMapPlaneCounts;
+    // Whether the flags are those of the bundled collision map, which the landmark table was built from
+    @Getter
+    private boolean bundled;
     // Size is automatically chosen based on the max extents of the collision data
     private final FlagMap[] regionMaps;
     private final int widthInclusive;
 
     public SplitFlagMap(Map<Integer, byte[]> compressedRegions) {
+        this(regionExtents, compressedRegions);
+    }
+
+    /**
+     * Creates a split flag map over the regions, which replace the region extents of the bundled map
+     */
+    SplitFlagMap(RegionExtent extents, Map<Integer, byte[]> compressedRegions) {
+        regionExtents = extents;
         widthInclusive = regionExtents.getWidth() + 1;
         final int heightInclusive = regionExtents.getHeight() + 1;
         regionMaps = new FlagMap[widthInclusive * heightInclusive];
@@ -41,6 +53,29 @@ public class SplitFlagMap {
         }
     }
 
+    /**
+     * Creates a split flag map over a collision map file, see {@link CollisionMapFile}
+     */
+    SplitFlagMap(ByteBuffer mapped) {
+        regionExtents = CollisionMapFile.readExtents(mapped);
+        widthInclusive = regionExtents.getWidth() + 1;
+        final int heightInclusive = regionExtents.getHeight() + 1;
+        regionMaps = new FlagMap[widthInclusive * heightInclusive];
+        regionMapPlaneCounts = new byte[regionMaps.length];
+
+        for (int index = 0; index < regionMaps.length; index++) {
+            final int offset = CollisionMapFile.readRegionOffset(mapped, index);
+            if (offset == 0) {
+                continue;
+            }
+            final int x = regionExtents.getMinX() + index % widthInclusive;
+            final int y = regionExtents.getMinY() + index / widthInclusive;
+            final byte planeCount = CollisionMapFile.readPlaneCount(mapped, regionMaps.length, index);
+            regionMaps[index] = new FlagMap(x * REGION_SIZE, y * REGION_SIZE, planeCount, mapped, offset);
+            regionMapPlaneCounts[index] = planeCount;
+        }
+    }
+
     public boolean get(int x, int y, int z, int flag) {
         final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
         if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
@@ -85,7 +120,23 @@ public class SplitFlagMap {
         return (x & 0xFFFF) | ((y & 0xFFFF) << 16);
     }
 
+    /**
+     * Loads the collision map from the memory-mapped copy in the cache directory, falling back to inflating the
+     * bundled zip into the heap if the copy cannot be created
+     */
     public static SplitFlagMap fromResources() {
+        SplitFlagMap map = CollisionMapFile.load();
+        if (map == null) {
+            map = new SplitFlagMap(readCompressedRegions());
+        }
+        map.bundled = true;
+        return map;
+    }
+
+    /**
+     * Inflates every region of the bundled collision map and updates the region extents
+     */
+    static Map<Integer, byte[]> readCompressedRegions() {
         Map<Integer, byte[]> compressedRegions = new HashMap<>();
         try (ZipInputStream in = new ZipInputStream(ShortestPathPlugin.class.getResourceAsStream("collision-map.zip"))) {
             int minX = Integer.MAX_VALUE;
@@ -111,7 +162,7 @@ public class SplitFlagMap {
             throw new UncheckedIOException(e);
         }
 
-        return new SplitFlagMap(compressedRegions);
+        return compressedRegions;
     }
 
     @RequiredArgsConstructor
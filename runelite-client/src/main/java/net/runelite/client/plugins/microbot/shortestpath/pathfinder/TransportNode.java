@@ -8,6 +8,10 @@ public class TransportNode extends Node implements Comparable<TransportNode> {
         super(point, previous, cost(previous, travelTime));
     }
 
+    public TransportNode(int packedPoint, Node previous, int travelTime) {
+        super(packedPoint, previous, cost(previous, travelTime));
+    }
+
     private static int cost(Node previous, int travelTime) {
         return (previous != null ? previous.cost : 0) + travelTime;
     }
@@ -3,13 +3,15 @@ package net.runelite.client.plugins.microbot.util;
 import com.google.common.util.concurrent.Uninterruptibles;
 import lombok.SneakyThrows;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
+import net.runelite.client.plugins.microbot.util.gamestate.GameStateSignal;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
 
 public class Global {
-    static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    static ScheduledExecutorService scheduledExecutorService = ScriptRuntime.newExecutor("Global");
     static ScheduledFuture<?> scheduledFuture;
 
     public static ScheduledFuture<?> awaitExecutionUntil(Runnable callback, BooleanSupplier awaitedCondition, int time) {
@@ -45,15 +47,17 @@ public class Global {
     @SneakyThrows
     public static <T> T sleepUntilNotNull(Callable<T> method, int time) {
         if (Microbot.getClient().isClientThread()) return null;
-        boolean done;
         T methodResponse;
         long startTime = System.currentTimeMillis();
-        do {
+        while (true) {
+            long observed = GameStateSignal.getGeneration();
             methodResponse = method.call();
-            done = methodResponse != null;
-            sleep(100);
-        } while (!done && System.currentTimeMillis() - startTime < time);
-        return methodResponse;
+            long remaining = time - (System.currentTimeMillis() - startTime);
+            if (methodResponse != null || remaining <= 0) {
+                return methodResponse;
+            }
+            GameStateSignal.awaitSignal(observed, TimeUnit.MILLISECONDS.toNanos(Math.min(remaining, GameStateSignal.FALLBACK_MILLIS)));
+        }
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition) {
@@ -62,17 +66,12 @@ public class Global {
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time) {
         if (Microbot.getClient().isClientThread()) return false;
-        boolean done = false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                done = awaitedCondition.getAsBoolean();
-                sleep(100);
-            } while (!done && System.currentTimeMillis() - startTime < time);
+            return GameStateSignal.awaitCondition(awaitedCondition, time);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
-        return done;
+        return false;
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, Runnable action, long timeoutMillis, int sleepMillis) {
@@ -95,14 +94,8 @@ public class Global {
 
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                if (awaitedCondition.getAsBoolean()) {
-                    return true;
-                }
-                sleep(100);
-            } while (System.currentTimeMillis() - startTime < 5000);
+            return GameStateSignal.awaitCondition(awaitedCondition, 5000);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
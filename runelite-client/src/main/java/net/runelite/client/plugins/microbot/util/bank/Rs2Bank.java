@@ -24,6 +24,7 @@ import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.grandexchange.Rs2GrandExchange;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerModel;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.inventory.RunePouchType;
@@ -52,7 +53,6 @@ import java.util.stream.Stream;
 import static net.runelite.api.Varbits.*;
 import static net.runelite.api.widgets.ComponentID.BANK_INVENTORY_ITEM_CONTAINER;
 import static net.runelite.api.widgets.ComponentID.BANK_ITEM_CONTAINER;
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.*;
 import static net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject.hoverOverObject;
 import static net.runelite.client.plugins.microbot.util.npc.Rs2Npc.hoverOverActor;
@@ -303,11 +303,11 @@ public class Rs2Bank {
      * @return True if the bank contains at least one of the specified items with the required quantity, false otherwise.
      */
     public static boolean hasItem(int[] ids, int amount) {
-        return Arrays.stream(ids)
-                .anyMatch(id -> {
-                    Rs2ItemModel item = findBankItem(id);
-                    return item != null && item.getQuantity() >= amount;
-                });
+        final ItemContainerModel model = rs2BankData.getModel();
+        for (int id : ids) {
+            if (model.largest(id, amount) != null) return true;
+        }
+        return false;
     }
 
     /**
@@ -318,11 +318,11 @@ public class Rs2Bank {
      * @return True if the bank contains all the specified items with the required quantity, false otherwise.
      */
     public static boolean hasAllItems(int[] ids, int amount) {
-        return Arrays.stream(ids)
-                .allMatch(id -> {
-                    Rs2ItemModel item = findBankItem(id);
-                    return item != null && item.getQuantity() >= amount;
-                });
+        final ItemContainerModel model = rs2BankData.getModel();
+        for (int id : ids) {
+            if (model.largest(id, amount) == null) return false;
+        }
+        return true;
     }
 
     /**
@@ -1424,15 +1424,8 @@ public class Rs2Bank {
      *
      * @return bankItem
      */
-    @SuppressWarnings("UnnecessaryLocalVariable")
     private static Rs2ItemModel findBankItem(int id) {
-        List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-        if (bankItems == null) return null;
-        if (bankItems.stream().findAny().isEmpty()) return null;
-
-        Rs2ItemModel bankItem = bankItems.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
-
-        return bankItem;
+        return rs2BankData.getModel().first(id);
     }
 
     /**
@@ -1457,19 +1450,9 @@ public class Rs2Bank {
      *
      * @return The item widget, or null if the item isn't found.
      */
-    @SuppressWarnings("UnnecessaryLocalVariable")
     private static Rs2ItemModel findBankItem(String name, boolean exact, int amount) {
-    List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-    if (bankItems == null || bankItems.isEmpty()) {
-        return null;
+        return rs2BankData.getModel().largest(name, exact, amount);
     }
-    final String lowerCaseName = name.toLowerCase();
-    return bankItems.stream()
-            .filter(x -> exact ? x.getName().equalsIgnoreCase(lowerCaseName) : x.getName().toLowerCase().contains(lowerCaseName))
-            .filter(x -> x.getQuantity() >= amount)
-            .findAny()
-            .orElse(null);
-}
 
     /**
      * Finds an item in the bank based on a list of names.
@@ -1480,16 +1463,12 @@ public class Rs2Bank {
      * @return The first matching item widget, or null if no matching item is found.
      */
     private static Rs2ItemModel findBankItem(List<String> names, boolean exact, int amount) {
-        List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-        if (bankItems == null || bankItems.isEmpty()) return null;
-
-        return bankItems.stream()
-                .filter(item -> names.stream().anyMatch(name -> exact
-                        ? item.getName().equalsIgnoreCase(name)
-                        : item.getName().toLowerCase().contains(name.toLowerCase())))
-                .filter(item -> item.getQuantity() >= amount)
-                .findFirst()
-                .orElse(null);
+        final ItemContainerModel model = rs2BankData.getModel();
+        for (String name : names) {
+            final Rs2ItemModel item = model.largest(name, exact, amount);
+            if (item != null) return item;
+        }
+        return null;
     }
 
     /**
@@ -1784,11 +1763,9 @@ public class Rs2Bank {
      * @param e The event containing the latest bank items.
      */
     public static void updateLocalBank(ItemContainerChanged e) {
-        List<Rs2ItemModel> list = updateItemContainer(InventoryID.BANK.getId(), e);
-        if (list != null) {
-            // Update the centralized bank data
-            rs2BankData.set(list);
-        }
+        if (e.getContainerId() != InventoryID.BANK.getId()) return;
+        // Only the slots that changed since the last update are read again
+        rs2BankData.set(ItemContainerModel.update(rs2BankData.getModel(), e.getItemContainer().getItems(), Integer.MAX_VALUE, true));
     }
 
      
@@ -1,6 +1,9 @@
 package net.runelite.client.plugins.microbot.util.bank;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerModel;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 
 import java.util.ArrayList;
@@ -24,6 +27,12 @@ public class Rs2BankData {
      * This prevents unnecessary rebuilding on every access.
      */
     private List<Rs2ItemModel> bankItems;
+
+    /**
+     * Lookup snapshot of the bank items, rebuilt together with the bankItems list.
+     */
+    @Setter(AccessLevel.NONE)
+    private ItemContainerModel model = ItemContainerModel.EMPTY;
     
     /**
      * Flag to track if the cached bankItems list needs to be rebuilt.
@@ -46,7 +55,21 @@ public class Rs2BankData {
             setEmpty();
             return;
         }
-        
+        set(ItemContainerModel.of(items));
+    }
+
+    /**
+     * Sets bank data from a snapshot of the bank container.
+     * 
+     * @param model Snapshot of the bank items
+     */
+    void set(ItemContainerModel model) {
+        if (model.isEmpty()) {
+            setEmpty();
+            return;
+        }
+
+        List<Rs2ItemModel> items = model.getItems();
         int[] newIdQuantityAndSlot = new int[items.size() * 3];
         for (int i = 0; i < items.size(); i++) {
             Rs2ItemModel item = items.get(i);
@@ -60,6 +83,7 @@ public class Rs2BankData {
         // Update the live bankItems list directly to avoid rebuilding
         bankItems.clear();
         bankItems.addAll(items);
+        this.model = model;
         needsRebuild = false;
     }
 
@@ -82,6 +106,7 @@ public class Rs2BankData {
     void setEmpty() {
         idQuantityAndSlot = new int[0];
         bankItems.clear();
+        model = ItemContainerModel.EMPTY;
         needsRebuild = false;
     }
 
@@ -117,6 +142,18 @@ public class Rs2BankData {
         return bankItems;
     }
 
+    /**
+     * Gets the lookup snapshot of the bank items, for checks by id or name without a pass over the items.
+     * 
+     * @return Snapshot of the cached bank items
+     */
+    public ItemContainerModel getModel() {
+        if (needsRebuild) {
+            rebuildBankItemsList();
+        }
+        return model;
+    }
+
     /**
      * Rebuilds the bankItems list from the cached array data.
      * Called only when needsRebuild is true to minimize performance impact.
@@ -125,6 +162,7 @@ public class Rs2BankData {
         bankItems.clear();
 
         if (idQuantityAndSlot == null || idQuantityAndSlot.length < 3) {
+            model = ItemContainerModel.EMPTY;
             needsRebuild = false;
             return;
         }
@@ -144,6 +182,7 @@ public class Rs2BankData {
                 continue;
             }
         }
+        model = ItemContainerModel.of(bankItems);
         needsRebuild = false;
     }
 
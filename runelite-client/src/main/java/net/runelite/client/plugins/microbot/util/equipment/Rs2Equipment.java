@@ -1,22 +1,19 @@
 package net.runelite.client.plugins.microbot.util.equipment;
 
 import net.runelite.api.EquipmentInventorySlot;
-import net.runelite.api.Item;
-import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.MenuAction;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerModel;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.tabs.Rs2Tab;
 import org.slf4j.event.Level;
 
 import java.awt.Rectangle;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -24,14 +21,14 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 public class Rs2Equipment {
-    private static List<Rs2ItemModel> equipmentItems = Collections.emptyList();
+    private static volatile ItemContainerModel equipmentModel = ItemContainerModel.EMPTY;
 
     public static ItemContainer equipment() {
         return Microbot.getClient().getItemContainer(InventoryID.WORN);
     }
 
     public static List<Rs2ItemModel> items() {
-        return equipmentItems;
+        return equipmentModel.getItems();
     }
 
     public static void storeEquipmentItemsInMemory(ItemContainerChanged e) {
@@ -41,14 +38,7 @@ public class Rs2Equipment {
         final ItemContainer itemContainer = e.getItemContainer();
         if (itemContainer == null) return;
 
-        List<Rs2ItemModel> _equipmentItems = new ArrayList<>();
-        for (int i = 0; i < Math.min(itemContainer.getItems().length, EquipmentInventorySlot.values().length); i++) {
-            Item item = itemContainer.getItems()[i];
-            if (item.getId() == -1) continue;
-            ItemComposition itemComposition = Microbot.getClient().getItemDefinition(item.getId());
-            _equipmentItems.add(new Rs2ItemModel(item, itemComposition, i));
-        }
-        equipmentItems = Collections.unmodifiableList(_equipmentItems);
+        equipmentModel = ItemContainerModel.update(equipmentModel, itemContainer.getItems(), EquipmentInventorySlot.values().length, false);
     }
 
     @Deprecated(since = "Use interact", forRemoval = true)
@@ -134,15 +124,28 @@ public class Rs2Equipment {
     }
 
     public static Rs2ItemModel get(int... ids) {
-        return all(ids).findFirst().orElse(null);
+        final ItemContainerModel model = equipmentModel;
+        Rs2ItemModel first = null;
+        for (int id : ids) {
+            final Rs2ItemModel item = model.first(id);
+            if (item != null && (first == null || item.getSlot() < first.getSlot())) first = item;
+        }
+        return first;
     }
 
     public static Rs2ItemModel get(String[] names, boolean exact) {
-        return all(names, exact).findFirst().orElse(null);
+        final ItemContainerModel model = equipmentModel;
+        Rs2ItemModel first = null;
+        for (String name : names) {
+            if (name == null) continue;
+            final Rs2ItemModel item = model.first(name, exact);
+            if (item != null && (first == null || item.getSlot() < first.getSlot())) first = item;
+        }
+        return first;
     }
 
     public static Rs2ItemModel get(String name, boolean exact) {
-        return all(name, exact).findFirst().orElse(null);
+        return equipmentModel.first(name, exact);
     }
 
     public static Rs2ItemModel get(String... names) {
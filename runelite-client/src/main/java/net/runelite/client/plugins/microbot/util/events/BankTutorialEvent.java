@@ -1,6 +1,7 @@
 package net.runelite.client.plugins.microbot.util.events;
 
 import net.runelite.api.annotations.Component;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.microbot.BlockingEvent;
 import net.runelite.client.plugins.microbot.BlockingEventPriority;
@@ -8,6 +9,7 @@ import net.runelite.client.plugins.microbot.util.Global;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
 import java.util.List;
+import java.util.Set;
 
 public class BankTutorialEvent implements BlockingEvent {
     @Component
@@ -31,6 +33,11 @@ public class BankTutorialEvent implements BlockingEvent {
         return true;
     }
 
+    @Override
+    public Set<Class<?>> triggers() {
+        return Set.of(WidgetLoaded.class);
+    }
+
     @Override
     public BlockingEventPriority priority() {
         return BlockingEventPriority.HIGH;
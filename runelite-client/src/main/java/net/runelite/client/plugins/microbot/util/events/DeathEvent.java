@@ -2,6 +2,8 @@ package net.runelite.client.plugins.microbot.util.events;
 
 import net.runelite.api.ObjectID;
 import net.runelite.api.annotations.Varp;
+import net.runelite.api.events.ActorDeath;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.microbot.BlockingEvent;
 import net.runelite.client.plugins.microbot.BlockingEventPriority;
@@ -13,6 +15,7 @@ import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class DeathEvent implements BlockingEvent {
@@ -61,6 +64,11 @@ public class DeathEvent implements BlockingEvent {
         return false;
     }
 
+    @Override
+    public Set<Class<?>> triggers() {
+        return Set.of(ActorDeath.class, GameStateChanged.class);
+    }
+
     @Override
     public BlockingEventPriority priority() {
         return BlockingEventPriority.HIGH;
@@ -1,10 +1,13 @@
 package net.runelite.client.plugins.microbot.util.events;
 
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.client.plugins.microbot.BlockingEvent;
 import net.runelite.client.plugins.microbot.BlockingEventPriority;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.settings.Rs2Settings;
 
+import java.util.Set;
+
 public class DisableLevelUpInterfaceEvent implements BlockingEvent {
 
     @Override
@@ -17,6 +20,11 @@ public class DisableLevelUpInterfaceEvent implements BlockingEvent {
         return Rs2Settings.disableLevelUpNotifications();
     }
 
+    @Override
+    public Set<Class<?>> triggers() {
+        return Set.of(GameStateChanged.class);
+    }
+
     @Override
     public BlockingEventPriority priority() {
         return BlockingEventPriority.HIGH;
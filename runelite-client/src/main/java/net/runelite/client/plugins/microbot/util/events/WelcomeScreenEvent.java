@@ -1,12 +1,16 @@
 package net.runelite.client.plugins.microbot.util.events;
 
 import net.runelite.api.annotations.Component;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.microbot.BlockingEvent;
 import net.runelite.client.plugins.microbot.BlockingEventPriority;
 import net.runelite.client.plugins.microbot.util.Global;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
+import java.util.Set;
+
 public class WelcomeScreenEvent implements BlockingEvent {
     @Component
     private static final int WELCOME_SCREEN_COMPONENT_ID = 24772680;
@@ -26,6 +30,11 @@ public class WelcomeScreenEvent implements BlockingEvent {
         return true;
     }
 
+    @Override
+    public Set<Class<?>> triggers() {
+        return Set.of(WidgetLoaded.class, GameStateChanged.class);
+    }
+
     @Override
     public BlockingEventPriority priority() {
         return BlockingEventPriority.HIGHEST;
@@ -23,7 +23,9 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -34,62 +36,45 @@ import static net.runelite.client.plugins.microbot.util.Global.sleepUntil;
  * TODO: This class should be cleaned up, less methods by passing filters instead of multiple parameters
  */
 public class Rs2GameObject {
+	// Bank booths and chests, as a set for the id lookups of the index
+	private static final Set<Integer> BANK_IDS = new HashSet<>(Arrays.asList(Rs2BankID.bankIds));
+
+	// Ids that match an object name in the ObjectID classes, scanning them with reflection is slow
+	private static final Map<String, List<Integer>> objectIdsByName = new ConcurrentHashMap<>();
+
 	/**
-	 * Extracts all {@link GameObject}s located on a given {@link Tile}.
-	 *
-	 * @see Tile#getGameObjects()
-	 * @param tile the tile from which to extract game objects
-	 * @return a {@link List} of {@link GameObject} instances on the tile (never null)
+	 * Selects the {@link GameObject}s of the scene.
 	 */
-	private static final Function<Tile, Collection<? extends GameObject>> GAMEOBJECT_EXTRACTOR =
-		tile -> Arrays.asList(tile.getGameObjects());
+	private static final Predicate<TileObject> GAMEOBJECT_TYPE = o -> o instanceof GameObject;
 
 	/**
-	 * Extracts the {@link GroundObject} located on a given {@link Tile}.
-	 *
-	 * @see Tile#getGroundObject()
-	 * @param tile the tile from which to extract the ground object
-	 * @return a singleton {@link List} containing the {@link GroundObject},
-	 *         or a list with a single null element if none is present
+	 * Selects the {@link GroundObject}s of the scene.
 	 */
-	private static final Function<Tile, Collection<? extends GroundObject>> GROUNDOBJECT_EXTRACTOR =
-		tile -> Collections.singletonList(tile.getGroundObject());
+	private static final Predicate<TileObject> GROUNDOBJECT_TYPE = o -> o instanceof GroundObject;
 
 	/**
-	 * Extracts the {@link DecorativeObject} located on a given {@link Tile}.
-	 *
-	 * @see Tile#getDecorativeObject()
-	 * @param tile the tile from which to extract the decorative object
-	 * @return a singleton {@link List} containing the {@link DecorativeObject},
-	 *         or a list with a single null element if none is present
+	 * Selects the {@link DecorativeObject}s of the scene.
 	 */
-	private static final Function<Tile, Collection<? extends DecorativeObject>> DECORATIVEOBJECT_EXTRACTOR =
-		tile -> Collections.singletonList(tile.getDecorativeObject());
+	private static final Predicate<TileObject> DECORATIVEOBJECT_TYPE = o -> o instanceof DecorativeObject;
 
 	/**
-	 * Extracts the {@link WallObject} located on a given {@link Tile}.
-	 *
-	 * @see Tile#getWallObject()
-	 * @param tile the tile from which to extract the wall object
-	 * @return a singleton {@link List} containing the {@link WallObject},
-	 *         or a list with a single null element if none is present
+	 * Selects the {@link WallObject}s of the scene.
 	 */
-	private static final Function<Tile, Collection<? extends WallObject>> WALLOBJECT_EXTRACTOR =
-		tile -> Collections.singletonList(tile.getWallObject());
+	private static final Predicate<TileObject> WALLOBJECT_TYPE = o -> o instanceof WallObject;
 
 	/**
-	 * Extracts all types of {@link TileObject} (decorative, ground, wall) from a given {@link Tile}.
-	 *
-	 * @param tile the tile from which to extract all tile objects
-	 * @return a {@link List} containing the {@link DecorativeObject}, {@link GroundObject},
-	 *         and {@link WallObject} (some entries may be null if that object is not present)
+	 * Selects the decorative, ground and wall objects of the scene, every {@link TileObject} that is not a
+	 * {@link GameObject}.
 	 */
-	private static final Function<Tile, Collection<? extends TileObject>> TILEOBJECT_EXTRACTOR =
-		tile -> Arrays.asList(
-			tile.getDecorativeObject(),
-			tile.getGroundObject(),
-			tile.getWallObject()
-		);
+	private static final Predicate<TileObject> TILEOBJECT_TYPE = o -> !(o instanceof GameObject);
+
+	/**
+	 * A predicate that can list the objects it may match, so they are looked up in the {@link SceneObjectIndex}
+	 * instead of testing every object in range.
+	 */
+	private interface IndexedPredicate<T extends TileObject> extends Predicate<T> {
+		Collection<TileObject> candidates();
+	}
 
 
     public static boolean interact(WorldPoint worldPoint) {
@@ -213,7 +198,7 @@ public class Rs2GameObject {
 
 	@Deprecated
     public static TileObject findObjectById(int id) {
-        return getAll(o -> o.getId() == id).stream().findFirst().orElse(null);
+        return getAll(idMatches(id)).stream().findFirst().orElse(null);
     }
 
     @Deprecated
@@ -242,7 +227,7 @@ public class Rs2GameObject {
         Player player = Microbot.getClient().getLocalPlayer();
         if (player == null) return null;
         LocalPoint anchor = player.getLocalLocation();
-        return getAll(o -> o.getId() == id).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
+        return getAll(idMatches(id)).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
     }
 
     @Deprecated
@@ -288,24 +273,24 @@ public class Rs2GameObject {
      */
     @Deprecated
     public static GameObject findReachableObject(String objectName, boolean exact, int distance, WorldPoint anchorPoint, boolean checkAction, String action) {
-        Predicate<TileObject> namePred = nameMatches(objectName, exact);
+        Predicate<GameObject> namePred = nameMatches(objectName, exact);
 
+        // Reachability is the expensive check, so it only runs for the objects that match otherwise
         Predicate<GameObject> filter = o -> {
-            if (!Rs2GameObject.isReachable(o)) {
-                return false;
-            }
-
             if (!namePred.test(o)) {
                 return false;
             }
 
             if (checkAction) {
                 ObjectComposition comp = convertToObjectComposition(o);
-                return hasAction(comp, action);
+                if (!hasAction(comp, action)) {
+                    return false;
+                }
             }
 
-            return true;
+            return Rs2GameObject.isReachable(o);
         };
+        filter = indexed(filter, ((IndexedPredicate<GameObject>) namePred)::candidates);
 
         return getGameObjects(filter, anchorPoint, distance)
                 .stream()
@@ -352,7 +337,7 @@ public class Rs2GameObject {
 
     @Deprecated
     public static GameObject findObjectByImposter(int id, String optionName, boolean exact) {
-        return getGameObjects(o -> o.getId() == id)
+        return getGameObjects(idMatches(id))
                 .stream()
                 .filter(o -> {
                     ObjectComposition comp = convertToObjectComposition(o);
@@ -394,7 +379,7 @@ public class Rs2GameObject {
             return hasAction(comp, "Bank", false) || hasAction(comp, "Collect", false);
         };
 
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(idMatches(BANK_IDS), maxSearchRadius).stream()
                 .filter(bankableFilter)
                 .findFirst()
                 .orElse(null);
@@ -419,7 +404,7 @@ public class Rs2GameObject {
             if (comp == null) return false;
             return hasAction(comp, "Deposit", false);
         };
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(idMatches(BANK_IDS), maxSearchRadius).stream()
                 .filter(depositableFilter)
                 .findFirst()
                 .orElse(null);
@@ -522,7 +507,7 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id) {
-        return getTileObject(o -> o.getId() == id);
+        return getTileObject(idMatches(id));
     }
 
     public static TileObject getTileObject(int id, int distance) {
@@ -538,17 +523,17 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id, WorldPoint anchor, int distance) {
-        return getTileObject(o -> o.getId() == id, anchor, distance);
+        return getTileObject(idMatches(id), anchor, distance);
     }
 
     public static TileObject getTileObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()));
+        return getTileObject(idMatches(idSet));
     }
 
     public static TileObject getTileObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()), distance);
+        return getTileObject(idMatches(idSet), distance);
     }
 
     public static TileObject getTileObject(String objectName, boolean exact) {
@@ -652,7 +637,7 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(Predicate<TileObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(TILEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(TILEOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static List<TileObject> getTileObjects() {
@@ -708,7 +693,7 @@ public class Rs2GameObject {
     }
 
     public static List<TileObject> getTileObjects(Predicate<TileObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(TILEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(TILEOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static GameObject getGameObject(int id) {
@@ -728,23 +713,23 @@ public class Rs2GameObject {
     }
 
     public static GameObject getGameObject(int id, WorldPoint anchor, int distance) {
-        return getGameObject(o -> o.getId() == id, anchor, distance);
+        return getGameObject(idMatches(id), anchor, distance);
     }
 
     public static GameObject getGameObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(idMatches(idSet));
     }
 
     @Deprecated
     public static GameObject findObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(idMatches(idSet));
     }
 
     public static GameObject getGameObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()), distance);
+        return getGameObject(idMatches(idSet), distance);
     }
 
     public static GameObject getGameObject(String objectName, boolean exact, int distance) {
@@ -848,7 +833,7 @@ public class Rs2GameObject {
     }
 
     public static GameObject getGameObject(Predicate<GameObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(GAMEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(GAMEOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static List<GameObject> getGameObjects() {
@@ -904,7 +889,7 @@ public class Rs2GameObject {
     }
 
     public static List<GameObject> getGameObjects(Predicate<GameObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(GAMEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(GAMEOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static GroundObject getGroundObject(int id) {
@@ -924,17 +909,17 @@ public class Rs2GameObject {
     }
 
     public static GroundObject getGroundObject(int id, WorldPoint anchor, int distance) {
-        return getGroundObject(o -> o.getId() == id, anchor, distance);
+        return getGroundObject(idMatches(id), anchor, distance);
     }
 
     public static GroundObject getGroundObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()));
+        return getGroundObject(idMatches(idSet));
     }
 
     public static GroundObject getGroundObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()), distance);
+        return getGroundObject(idMatches(idSet), distance);
     }
 
     public static GroundObject getGroundObject(String objectName, boolean exact, int distance) {
@@ -1038,7 +1023,7 @@ public class Rs2GameObject {
     }
 
     public static GroundObject getGroundObject(Predicate<GroundObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(GROUNDOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(GROUNDOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static List<GroundObject> getGroundObjects() {
@@ -1094,7 +1079,7 @@ public class Rs2GameObject {
     }
 
     public static List<GroundObject> getGroundObjects(Predicate<GroundObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(GROUNDOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(GROUNDOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static WallObject getWallObject(int id) {
@@ -1114,17 +1099,17 @@ public class Rs2GameObject {
     }
 
     public static WallObject getWallObject(int id, WorldPoint anchor, int distance) {
-        return getWallObject(o -> o.getId() == id, anchor, distance);
+        return getWallObject(idMatches(id), anchor, distance);
     }
 
     public static WallObject getWallObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()));
+        return getWallObject(idMatches(idSet));
     }
 
     public static WallObject getWallObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()), distance);
+        return getWallObject(idMatches(idSet), distance);
     }
 
     public static WallObject getWallObject(String objectName, boolean exact, int distance) {
@@ -1228,7 +1213,7 @@ public class Rs2GameObject {
     }
 
     public static WallObject getWallObject(Predicate<WallObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(WALLOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(WALLOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static List<WallObject> getWallObjects() {
@@ -1284,7 +1269,7 @@ public class Rs2GameObject {
     }
 
     public static List<WallObject> getWallObjects(Predicate<WallObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(WALLOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(WALLOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static DecorativeObject getDecorativeObject(int id) {
@@ -1304,17 +1289,17 @@ public class Rs2GameObject {
     }
 
     public static DecorativeObject getDecorativeObject(int id, WorldPoint anchor, int distance) {
-        return getDecorativeObject(o -> o.getId() == id, anchor, distance);
+        return getDecorativeObject(idMatches(id), anchor, distance);
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()));
+        return getDecorativeObject(idMatches(idSet));
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()), distance);
+        return getDecorativeObject(idMatches(idSet), distance);
     }
 
     public static DecorativeObject getDecorativeObject(String objectName, boolean exact, int distance) {
@@ -1418,7 +1403,7 @@ public class Rs2GameObject {
     }
 
     public static DecorativeObject getDecorativeObject(Predicate<DecorativeObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObject(DECORATIVEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObject(DECORATIVEOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     public static List<DecorativeObject> getDecorativeObjects() {
@@ -1474,7 +1459,7 @@ public class Rs2GameObject {
     }
 
     public static List<DecorativeObject> getDecorativeObjects(Predicate<DecorativeObject> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(DECORATIVEOBJECT_EXTRACTOR, predicate, anchorLocal, distance);
+        return getSceneObjects(DECORATIVEOBJECT_TYPE, predicate, anchorLocal, distance);
     }
 
     @Nullable
@@ -1504,59 +1489,38 @@ public class Rs2GameObject {
     }
 
     // private methods
-    private static <T extends TileObject> Stream<T> getSceneObjects(Function<Tile, Collection<? extends T>> extractor) {
+    @SuppressWarnings("unchecked")
+    private static <T extends TileObject> List<T> getSceneObjects(Predicate<TileObject> type, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
         Player player = Microbot.getClient().getLocalPlayer();
-        if (player == null) return Stream.empty();
-
-        Scene scene = player.getWorldView().getScene();
-        Tile[][][] tiles = scene.getTiles();
-        if (tiles == null) return Stream.empty();
-
-        List<T> result = new ArrayList<>();
-        int z = player.getWorldView().getPlane();
-
-        for (int x = 0; x < Constants.SCENE_SIZE; x++) {
-            for (int y = 0; y < Constants.SCENE_SIZE; y++) {
-                Tile tile = tiles[z][x][y];
-                if (tile == null) continue;
-
-                Collection<? extends T> objs = extractor.apply(tile);
-                if (objs != null) {
-                    for (T obj : objs) {
-                        if (obj == null) continue;
-
-                        if (obj instanceof GameObject) {
-                            GameObject gameObject = (GameObject) obj;
-                            if (gameObject.getSceneMinLocation().equals(tile.getSceneLocation())) {
-                                result.add(obj);
-                            }
-                        } else {
-                            if (obj.getLocalLocation().equals(tile.getLocalLocation())) {
-                                result.add(obj);
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        if (player == null || anchorLocal == null) return Collections.emptyList();
 
-        return result.stream();
-    }
-
-    private static <T extends TileObject> List<T> getSceneObjects(Function<Tile, Collection<? extends T>> extractor, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
         if (distance > Rs2LocalPoint.worldToLocalDistance(Constants.SCENE_SIZE)) {
             distance = Rs2LocalPoint.worldToLocalDistance(Constants.SCENE_SIZE);
         }
 
-        return getSceneObjects(extractor)
-                .filter(withinTilesPredicate(distance, anchorLocal))
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(o -> o.getLocalLocation().distanceTo(anchorLocal)))
-                .collect(Collectors.toList());
+        int plane = player.getWorldView().getPlane();
+        Collection<TileObject> candidates = predicate instanceof IndexedPredicate
+                ? ((IndexedPredicate<T>) predicate).candidates()
+                : SceneObjectIndex.getNear(anchorLocal, plane, distance);
+
+        Predicate<T> withinTiles = withinTilesPredicate(distance, anchorLocal);
+        List<T> result = new ArrayList<>();
+        for (TileObject candidate : candidates) {
+            if (!type.test(candidate) || candidate.getPlane() != plane
+                    || candidate.getLocalLocation().getWorldView() != anchorLocal.getWorldView()) {
+                continue;
+            }
+            T object = (T) candidate;
+            if (withinTiles.test(object) && predicate.test(object)) {
+                result.add(object);
+            }
+        }
+        result.sort(Comparator.comparingInt(o -> o.getLocalLocation().distanceTo(anchorLocal)));
+        return result;
     }
 
-    private static <T extends TileObject> T getSceneObject(Function<Tile, Collection<? extends T>> extractor, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
-        return getSceneObjects(extractor, predicate, anchorLocal, distance)
+    private static <T extends TileObject> T getSceneObject(Predicate<TileObject> type, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
+        return getSceneObjects(type, predicate, anchorLocal, distance)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -1607,7 +1571,7 @@ public class Rs2GameObject {
 
         String lower = objectName.toLowerCase();
 
-        return obj -> {
+        return indexed(obj -> {
             if (!ids.isEmpty() && !ids.contains(obj.getId())) {
                 return false;
             }
@@ -1615,9 +1579,51 @@ public class Rs2GameObject {
             return getCompositionName(obj)
                     .map(compName -> exact ? compName.equalsIgnoreCase(objectName) : compName.toLowerCase().contains(lower))
                     .orElse(false);
-        };
+        }, () -> SceneObjectIndex.getByName(objectName, exact));
     }
 
+	/**
+	 * Creates a predicate that matches TileObjects with any of the given ids.
+	 *
+	 * @param ids The ids of the objects to match.
+	 * @param <T> A type that extends TileObject.
+	 * @return A predicate that returns true if the object's id is one of the given ids.
+	 */
+	public static <T extends TileObject> Predicate<T> idMatches(Collection<Integer> ids)
+	{
+		return indexed(obj -> ids.contains(obj.getId()), () -> SceneObjectIndex.getById(ids));
+	}
+
+	/**
+	 * Creates a predicate that matches TileObjects with the given id.
+	 *
+	 * @param id  The id of the objects to match.
+	 * @param <T> A type that extends TileObject.
+	 * @return A predicate that returns true if the object has the given id.
+	 */
+	public static <T extends TileObject> Predicate<T> idMatches(int id)
+	{
+		return indexed(obj -> obj.getId() == id, () -> SceneObjectIndex.getById(Collections.singleton(id)));
+	}
+
+	private static <T extends TileObject> Predicate<T> indexed(Predicate<T> predicate, Supplier<Collection<TileObject>> candidates)
+	{
+		return new IndexedPredicate<T>()
+		{
+			@Override
+			public boolean test(T obj)
+			{
+				return predicate.test(obj);
+			}
+
+			@Override
+			public Collection<TileObject> candidates()
+			{
+				return candidates.get();
+			}
+		};
+	}
+
 	/**
 	 * Creates a predicate that matches TileObjects whose name contains the given name (case-insensitive).
 	 *
@@ -1649,7 +1655,13 @@ public class Rs2GameObject {
 			return hasAction(comp, actionName, exact);
 		};
 
-		return namePredicate.and(actionPredicate);
+		return indexed(namePredicate.and(actionPredicate), () -> {
+			Set<TileObject> withAction = Collections.newSetFromMap(new IdentityHashMap<>());
+			withAction.addAll(SceneObjectIndex.getByAction(actionName, exact));
+			List<TileObject> candidates = SceneObjectIndex.getByName(objectName, exact);
+			candidates.removeIf(o -> !withAction.contains(o));
+			return candidates;
+		});
 	}
 
 	/**
@@ -1715,11 +1727,7 @@ public class Rs2GameObject {
 
     @Nullable
     private static ObjectComposition convertToObjectCompositionInternal(int objectId, boolean ignoreImpostor) {
-        return Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            ObjectComposition comp = Microbot.getClient().getObjectDefinition(objectId);
-            if (comp == null) return null;
-            return (ignoreImpostor || comp.getImpostorIds() == null) ? comp : comp.getImpostor();
-        }).orElse(null);
+        return SceneObjectIndex.getComposition(objectId, ignoreImpostor);
     }
 
     private static boolean clickObject(TileObject object) {
@@ -1851,10 +1859,13 @@ public class Rs2GameObject {
         }
     }
 
-    @SneakyThrows
     public static List<Integer> getObjectIdsByName(String name) {
+        return objectIdsByName.computeIfAbsent(name.toLowerCase(), Rs2GameObject::scanObjectIdsByName);
+    }
+
+    @SneakyThrows
+    private static List<Integer> scanObjectIdsByName(String lowerName) {
         List<Integer> ids = new ArrayList<>();
-        String lowerName = name.toLowerCase();
 
         Class<?>[] classesToScan = {
                 net.runelite.api.ObjectID.class,
@@ -1872,16 +1883,13 @@ public class Rs2GameObject {
                 }
             }
         }
-        return ids;
+        return Collections.unmodifiableList(ids);
     }
 
     @Nullable
     @Deprecated
     public static ObjectComposition getObjectComposition(int id) {
-        ObjectComposition objectComposition = Microbot.getClientThread().runOnClientThreadOptional(() -> Microbot.getClient().getObjectDefinition(id))
-                .orElse(null);
-        if (objectComposition == null) return null;
-        return objectComposition.getImpostorIds() == null ? objectComposition : objectComposition.getImpostor();
+        return SceneObjectIndex.getComposition(id, false);
     }
 
     public static boolean canWalkTo(TileObject tileObject, int distance) {
@@ -0,0 +1,304 @@
+package net.runelite.client.plugins.microbot.util.gameobject;
+
+import net.runelite.api.DecorativeObject;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.GroundObject;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Perspective;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WallObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the objects in the loaded scenes, kept up to date from the object spawn and despawn events on the
+ * client thread. The scene is rebuilt on every region load, and every object in it spawns again.
+ * <p>
+ * Objects are indexed by id, by the lower case name and menu actions of their definition, and by plane and
+ * 8x8 tile cell of the scene, so lookups from script threads touch only the objects that can match instead of
+ * sweeping every tile. Objects with impostors take their name and actions from a varbit, so they are kept apart
+ * and returned by every name and action lookup for the caller to check against the current impostor.
+ */
+public final class SceneObjectIndex {
+    private static final int CELL_SHIFT = 3;
+    private static final Set<TileObject> NONE = Collections.emptySet();
+
+    private static final Map<Integer, Set<TileObject>> byCell = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<TileObject>> byId = new ConcurrentHashMap<>();
+    private static final Map<String, Set<TileObject>> byName = new ConcurrentHashMap<>();
+    private static final Map<String, Set<TileObject>> byAction = new ConcurrentHashMap<>();
+    private static final Set<TileObject> impostors = ConcurrentHashMap.newKeySet();
+    // Definitions never change while the client runs, so each one is loaded once
+    private static final Map<Integer, ObjectComposition> definitions = new ConcurrentHashMap<>();
+
+    private SceneObjectIndex() {
+    }
+
+    public static void onGameObjectSpawned(GameObjectSpawned event) {
+        add(event.getGameObject());
+    }
+
+    public static void onGameObjectDespawned(GameObjectDespawned event) {
+        remove(event.getGameObject());
+    }
+
+    public static void onWallObjectSpawned(WallObjectSpawned event) {
+        add(event.getWallObject());
+    }
+
+    public static void onWallObjectDespawned(WallObjectDespawned event) {
+        remove(event.getWallObject());
+    }
+
+    public static void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        add(event.getDecorativeObject());
+    }
+
+    public static void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        remove(event.getDecorativeObject());
+    }
+
+    public static void onGroundObjectSpawned(GroundObjectSpawned event) {
+        add(event.getGroundObject());
+    }
+
+    public static void onGroundObjectDespawned(GroundObjectDespawned event) {
+        remove(event.getGroundObject());
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOADING || event.getGameState() == GameState.LOGIN_SCREEN
+                || event.getGameState() == GameState.HOPPING) {
+            clear();
+        }
+    }
+
+    /**
+     * Indexes every object of the top level scene from scratch, must be called on the client thread.
+     * Only needed when the events of the current scene were missed.
+     */
+    public static void rebuild() {
+        clear();
+        final WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+        if (worldView == null) {
+            return;
+        }
+        for (Tile[][] plane : worldView.getScene().getTiles()) {
+            for (Tile[] column : plane) {
+                for (Tile tile : column) {
+                    if (tile == null) {
+                        continue;
+                    }
+                    for (GameObject gameObject : tile.getGameObjects()) {
+                        // Objects larger than a tile are on every tile they cover
+                        if (gameObject != null && gameObject.getSceneMinLocation().equals(tile.getSceneLocation())) {
+                            add(gameObject);
+                        }
+                    }
+                    add(tile.getWallObject());
+                    add(tile.getDecorativeObject());
+                    add(tile.getGroundObject());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the objects on the plane of the world view whose cell is within the distance of the anchor,
+     * in local units. The caller still checks the exact distance.
+     */
+    public static List<TileObject> getNear(LocalPoint anchor, int plane, int distance) {
+        final int range = distance / Perspective.LOCAL_TILE_SIZE + 1;
+        final int minX = (anchor.getSceneX() - range) >> CELL_SHIFT;
+        final int minY = (anchor.getSceneY() - range) >> CELL_SHIFT;
+        final int maxX = (anchor.getSceneX() + range) >> CELL_SHIFT;
+        final int maxY = (anchor.getSceneY() + range) >> CELL_SHIFT;
+        final List<TileObject> result = new ArrayList<>();
+        for (int cellX = Math.max(minX, 0); cellX <= maxX; cellX++) {
+            for (int cellY = Math.max(minY, 0); cellY <= maxY; cellY++) {
+                result.addAll(byCell.getOrDefault(cellKey(anchor.getWorldView(), plane, cellX, cellY), NONE));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the objects with any of the ids
+     */
+    public static List<TileObject> getById(Collection<Integer> ids) {
+        final List<TileObject> result = new ArrayList<>();
+        for (Integer id : ids) {
+            result.addAll(byId.getOrDefault(id, NONE));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the objects whose name equals the name, or contains it if not exact, ignoring case,
+     * and every object with impostors
+     */
+    public static List<TileObject> getByName(String name, boolean exact) {
+        final List<TileObject> result = new ArrayList<>(impostors);
+        addMatching(byName, name.toLowerCase(), exact, result);
+        return result;
+    }
+
+    /**
+     * Returns the objects with an action that equals the action, or contains it if not exact, ignoring case,
+     * and every object with impostors
+     */
+    public static List<TileObject> getByAction(String action, boolean exact) {
+        final List<TileObject> result = new ArrayList<>(impostors);
+        addMatching(byAction, action.toLowerCase(), exact, result);
+        return result;
+    }
+
+    /**
+     * Returns the definition of the object, or the definition of its current impostor unless ignoreImpostor
+     * is set. Only the impostor needs the client thread, every other definition is loaded once and then cached.
+     */
+    @Nullable
+    public static ObjectComposition getComposition(int id, boolean ignoreImpostor) {
+        ObjectComposition definition = definitions.get(id);
+        if (definition == null) {
+            definition = Microbot.getClientThread().runOnClientThreadOptional(() -> Microbot.getClient().getObjectDefinition(id))
+                    .orElse(null);
+            if (definition == null) {
+                return null;
+            }
+            definitions.put(id, definition);
+        }
+        if (ignoreImpostor || definition.getImpostorIds() == null) {
+            return definition;
+        }
+        final ObjectComposition base = definition;
+        return Microbot.getClientThread().runOnClientThreadOptional(base::getImpostor).orElse(null);
+    }
+
+    /**
+     * Returns the number of indexed objects
+     */
+    public static int size() {
+        int size = 0;
+        for (Set<TileObject> objects : byCell.values()) {
+            size += objects.size();
+        }
+        return size;
+    }
+
+    private static void add(TileObject object) {
+        if (object == null) {
+            return;
+        }
+        addTo(byCell, cellKey(object), object);
+        addTo(byId, object.getId(), object);
+
+        // Runs on the client thread, where the definition is free to load
+        final ObjectComposition definition = definitions.computeIfAbsent(object.getId(),
+                id -> Microbot.getClient().getObjectDefinition(id));
+        if (definition == null) {
+            return;
+        }
+        if (definition.getImpostorIds() != null) {
+            impostors.add(object);
+            return;
+        }
+        final String name = definition.getName();
+        if (name != null && !name.equals("null")) {
+            addTo(byName, Rs2UiHelper.stripColTags(name).toLowerCase(), object);
+        }
+        for (String action : definition.getActions()) {
+            if (action != null) {
+                addTo(byAction, action.toLowerCase(), object);
+            }
+        }
+    }
+
+    private static void remove(TileObject object) {
+        if (object == null) {
+            return;
+        }
+        removeFrom(byCell, cellKey(object), object);
+        removeFrom(byId, object.getId(), object);
+        if (impostors.remove(object)) {
+            return;
+        }
+        final ObjectComposition definition = definitions.get(object.getId());
+        if (definition == null) {
+            return;
+        }
+        final String name = definition.getName();
+        if (name != null && !name.equals("null")) {
+            removeFrom(byName, Rs2UiHelper.stripColTags(name).toLowerCase(), object);
+        }
+        for (String action : definition.getActions()) {
+            if (action != null) {
+                removeFrom(byAction, action.toLowerCase(), object);
+            }
+        }
+    }
+
+    private static void clear() {
+        byCell.clear();
+        byId.clear();
+        byName.clear();
+        byAction.clear();
+        impostors.clear();
+    }
+
+    private static void addMatching(Map<String, Set<TileObject>> index, String key, boolean exact, List<TileObject> result) {
+        if (exact) {
+            result.addAll(index.getOrDefault(key, NONE));
+            return;
+        }
+        for (Map.Entry<String, Set<TileObject>> entry : index.entrySet()) {
+            if (entry.getKey().contains(key)) {
+                result.addAll(entry.getValue());
+            }
+        }
+    }
+
+    private static <K> void addTo(Map<K, Set<TileObject>> index, K key, TileObject object) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(object);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<TileObject>> index, K key, TileObject object) {
+        index.computeIfPresent(key, (k, objects) -> {
+            objects.remove(object);
+            return objects.isEmpty() ? null : objects;
+        });
+    }
+
+    private static int cellKey(TileObject object) {
+        final LocalPoint location = object.getLocalLocation();
+        return cellKey(location.getWorldView(), object.getPlane(),
+                location.getSceneX() >> CELL_SHIFT, location.getSceneY() >> CELL_SHIFT);
+    }
+
+    // The top level world view has id -1, the scenes of other world views are indexed next to it
+    private static int cellKey(int worldView, int plane, int cellX, int cellY) {
+        return ((worldView + 1) << 18) | (plane << 16) | (cellX << 8) | cellY;
+    }
+}
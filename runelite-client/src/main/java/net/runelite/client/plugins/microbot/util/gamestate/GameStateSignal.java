@@ -0,0 +1,87 @@
+package net.runelite.client.plugins.microbot.util.gamestate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wakes the script threads that wait for a condition whenever the game state may have changed.
+ * <p>
+ * The client thread calls {@link #signal()} for the events that change what the conditions of scripts read:
+ * game ticks, item containers, varbits, widgets, animations and so on. A waiting thread parks until the next
+ * signal and checks its condition again, instead of checking it every 100 ms whether anything changed or not.
+ * State that no event announces, like the camera or the mouse, is still checked at {@link #FALLBACK_MILLIS}.
+ */
+public final class GameStateSignal {
+    /**
+     * Longest time a waiting thread parks without a signal, half a game tick
+     */
+    public static final long FALLBACK_MILLIS = 300;
+
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final Condition changed = lock.newCondition();
+    private static volatile long generation;
+
+    private GameStateSignal() {
+    }
+
+    /**
+     * Wakes every waiting thread, called on the client thread after an event that may change the game state
+     */
+    public static void signal() {
+        lock.lock();
+        try {
+            generation++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the condition is true or the timeout passes, checking it again after every signal.
+     * Must not be called on the client thread, which would never get to send the signal.
+     *
+     * @return whether the condition became true
+     */
+    public static boolean awaitCondition(BooleanSupplier condition, long timeoutMillis) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            // Read before checking, so a signal sent while the condition runs is not missed
+            final long observed = generation;
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            awaitSignal(observed, Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(FALLBACK_MILLIS)));
+        }
+    }
+
+    /**
+     * Parks the calling thread until a signal arrives after the observed generation, or the timeout passes
+     */
+    public static void awaitSignal(long observedGeneration, long timeoutNanos) {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (generation == observedGeneration && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ignored) {
+            // ignore interrupted, like Global.sleep
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of signals sent so far, pass it to {@link #awaitSignal} to wait for the next one
+     */
+    public static long getGeneration() {
+        return generation;
+    }
+}
@@ -0,0 +1,64 @@
+package net.runelite.client.plugins.microbot.util.gamestate;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.Skill;
+
+/**
+ * Immutable copy of the game state that scripts read most, captured once per game tick on the client thread.
+ * Reading it from a script thread costs no client thread round trip, see {@link Rs2GameState}.
+ * <p>
+ * Only values with a reader are captured, since the capture runs on the client thread at every tick: the varps
+ * that varbits are decoded from, the boosted skill levels and whether the local player is moving. Inventory,
+ * equipment and NPCs are not copied, {@link net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory}
+ * and {@link net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment} keep item models updated from
+ * container events and {@link net.runelite.client.plugins.microbot.util.npc.Rs2NpcRegistry} indexes the NPCs at
+ * every tick, so script threads already read them without a client thread round trip. Players and tile objects
+ * are read from the scene by their helpers, which do not wait for the client thread either.
+ */
+@Getter
+public final class GameStateSnapshot {
+    private final int tick;
+    private final long createdMillis;
+    private final boolean playerMoving;
+    @Getter(AccessLevel.NONE)
+    private final int[] varps;
+    @Getter(AccessLevel.NONE)
+    private final int[] boostedLevels;
+
+    private GameStateSnapshot(Client client) {
+        tick = client.getTickCount();
+        createdMillis = System.currentTimeMillis();
+        varps = client.getVarps().clone();
+        boostedLevels = client.getBoostedSkillLevels().clone();
+
+        final Player localPlayer = client.getLocalPlayer();
+        playerMoving = localPlayer != null && localPlayer.getPoseAnimation() != localPlayer.getIdlePoseAnimation();
+    }
+
+    /**
+     * Captures the current game state, must be called on the client thread
+     */
+    static GameStateSnapshot capture(Client client) {
+        return new GameStateSnapshot(client);
+    }
+
+    public int getVarp(int varp) {
+        return varp >= 0 && varp < varps.length ? varps[varp] : 0;
+    }
+
+    /**
+     * Decodes a varbit from the captured varps
+     */
+    int getVarbit(int index, int leastSignificantBit, int mostSignificantBit) {
+        final int bits = mostSignificantBit - leastSignificantBit + 1;
+        final int mask = bits >= Integer.SIZE ? -1 : (1 << bits) - 1;
+        return (getVarp(index) >>> leastSignificantBit) & mask;
+    }
+
+    public int getBoostedSkillLevel(Skill skill) {
+        return boostedLevels[skill.ordinal()];
+    }
+}
@@ -0,0 +1,128 @@
+package net.runelite.client.plugins.microbot.util.gamestate;
+
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.VarbitComposition;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the {@link GameStateSnapshot} of the last game tick.
+ * <p>
+ * The Rs2 helpers read the snapshot instead of queueing a task on the client thread and waiting for the next
+ * frame to run it. The snapshot is up to a tick old, which matches how often the server changes the values in it.
+ * Callers that need the value as it is right now can read it live with {@link #live(Supplier)}. No snapshot is
+ * used on the client thread itself, where the live value is free to read.
+ */
+public final class Rs2GameState {
+    // A snapshot older than this means ticks stopped arriving, e.g. while the client is frozen or loading
+    private static final long MAX_AGE_MILLIS = 2L * Constants.GAME_TICK_LENGTH;
+
+    private static volatile GameStateSnapshot snapshot;
+    private static final ThreadLocal<Boolean> liveMode = ThreadLocal.withInitial(() -> false);
+    // Varp index and bit range of every varbit read so far, these never change while the client runs
+    private static final Map<Integer, int[]> varbitBits = new ConcurrentHashMap<>();
+
+    private Rs2GameState() {
+    }
+
+    /**
+     * Captures a new snapshot, called on the client thread at every game tick
+     */
+    public static void update(Client client) {
+        snapshot = GameStateSnapshot.capture(client);
+    }
+
+    /**
+     * Drops the snapshot, so helpers read live values until the next tick
+     */
+    public static void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Returns the snapshot of the last tick, or null if the caller should read live values instead
+     */
+    public static GameStateSnapshot getSnapshot() {
+        final GameStateSnapshot current = snapshot;
+        if (current == null || liveMode.get()) {
+            return null;
+        }
+        if (System.currentTimeMillis() - current.getCreatedMillis() > MAX_AGE_MILLIS) {
+            return null;
+        }
+        final Client client = Microbot.getClient();
+        if (client == null || client.isClientThread()) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Runs the supplier with the snapshot disabled on the calling thread, so every helper it calls reads live values
+     */
+    public static <T> T live(Supplier<T> supplier) {
+        if (liveMode.get()) {
+            return supplier.get();
+        }
+        liveMode.set(true);
+        try {
+            return supplier.get();
+        } finally {
+            liveMode.set(false);
+        }
+    }
+
+    /**
+     * Runs the runnable with the snapshot disabled on the calling thread, see {@link #live(Supplier)}
+     */
+    public static void live(Runnable runnable) {
+        live(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Reads a varbit from the snapshot, or returns null if it has to be read live
+     */
+    public static Integer getVarbitValue(int varbit) {
+        final GameStateSnapshot current = getSnapshot();
+        if (current == null) {
+            return null;
+        }
+        int[] bits = varbitBits.get(varbit);
+        if (bits == null) {
+            // Loaded outside the map, a client thread round trip must not block other readers of it
+            bits = loadVarbitBits(varbit);
+            if (bits == null) {
+                return null;
+            }
+            varbitBits.putIfAbsent(varbit, bits);
+        }
+        return current.getVarbit(bits[0], bits[1], bits[2]);
+    }
+
+    /**
+     * Reads a varp from the snapshot, or returns null if it has to be read live
+     */
+    public static Integer getVarpValue(int varp) {
+        final GameStateSnapshot current = getSnapshot();
+        return current != null ? current.getVarp(varp) : null;
+    }
+
+    // The definition is loaded once per varbit, after that reading the varbit costs no round trip. Returns null
+    // if it could not be loaded, which is not cached so the next read tries again
+    private static int[] loadVarbitBits(int varbit) {
+        return Microbot.getClientThread().runOnClientThreadOptional(() -> {
+            VarbitComposition composition = Microbot.getClient().getVarbit(varbit);
+            if (composition == null) {
+                return null;
+            }
+            return new int[]{composition.getIndex(), composition.getLeastSignificantBit(), composition.getMostSignificantBit()};
+        }).orElse(null);
+    }
+}
@@ -0,0 +1,168 @@
+package net.runelite.client.plugins.microbot.util.grandexchange;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grand Exchange prices from GE Tracker, shared by every script.
+ * <p>
+ * All requests go through one HTTP client, and each answer is kept for {@link #TTL_MILLIS}, so the offer price,
+ * sell price and volumes of an item cost one request between them. Threads asking for an item that is already
+ * being fetched wait on the same request, and {@link #getPrices} sends the requests for many items at once
+ * instead of one after the other. While GE Tracker cannot be reached, the prices come from the
+ * {@link net.runelite.client.game.ItemManager} instead, and the volumes are unknown.
+ */
+@Slf4j
+public final class GrandExchangePriceService {
+    private static final String GE_TRACKER_API_URL = "https://www.ge-tracker.com/api/items/";
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    // How long to stay offline after a failed request before trying GE Tracker again
+    private static final long RETRY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    private static final Map<Integer, Cached> cache = new ConcurrentHashMap<>();
+    private static final Map<Integer, CompletableFuture<Price>> inFlight = new ConcurrentHashMap<>();
+    private static volatile long offlineUntil;
+
+    private GrandExchangePriceService() {
+    }
+
+    /**
+     * Prices and volumes of an item on the Grand Exchange, -1 where unknown
+     */
+    @Value
+    public static class Price {
+        int buying;
+        int selling;
+        int overall;
+        int buyingQuantity;
+        int sellingQuantity;
+    }
+
+    /**
+     * Returns the price of the item, from the cache when it is recent enough
+     */
+    public static Price getPrice(int itemId) {
+        final Price cached = getCached(itemId);
+        return cached != null ? cached : await(itemId, fetch(itemId));
+    }
+
+    /**
+     * Returns the prices of the items, fetching every item missing from the cache at the same time
+     */
+    public static Map<Integer, Price> getPrices(Collection<Integer> itemIds) {
+        final Map<Integer, CompletableFuture<Price>> pending = new HashMap<>();
+        final Map<Integer, Price> result = new HashMap<>();
+        for (Integer itemId : new LinkedHashSet<>(itemIds)) {
+            final Price cached = getCached(itemId);
+            if (cached != null) {
+                result.put(itemId, cached);
+            } else {
+                pending.put(itemId, fetch(itemId));
+            }
+        }
+        pending.forEach((itemId, future) -> result.put(itemId, await(itemId, future)));
+        return result;
+    }
+
+    /**
+     * Forgets every cached price
+     */
+    public static void invalidate() {
+        cache.clear();
+        offlineUntil = 0;
+    }
+
+    private static Price getCached(int itemId) {
+        final Cached cached = cache.get(itemId);
+        if (cached == null || System.currentTimeMillis() - cached.loadedAt > TTL_MILLIS) {
+            return null;
+        }
+        return cached.price;
+    }
+
+    private static CompletableFuture<Price> fetch(int itemId) {
+        if (System.currentTimeMillis() < offlineUntil) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<Price> future = new CompletableFuture<>();
+        final CompletableFuture<Price> existing = inFlight.putIfAbsent(itemId, future);
+        if (existing != null) {
+            return existing;
+        }
+        final HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(GE_TRACKER_API_URL + itemId))
+                .timeout(TIMEOUT)
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> parse(response.body()))
+                .whenComplete((price, error) -> {
+                    if (error != null) {
+                        log.warn("Unable to fetch the price of item {} from GE Tracker: {}", itemId, error.getMessage());
+                        // A bad answer for one item says nothing about the others, only a failed connection does
+                        if (error instanceof IOException || error.getCause() instanceof IOException) {
+                            offlineUntil = System.currentTimeMillis() + RETRY_MILLIS;
+                        }
+                    } else {
+                        cache.put(itemId, new Cached(price, System.currentTimeMillis()));
+                    }
+                    inFlight.remove(itemId);
+                    future.complete(price);
+                });
+        return future;
+    }
+
+    private static Price await(int itemId, CompletableFuture<Price> future) {
+        final Price price = future.join();
+        return price != null ? price : fallback(itemId);
+    }
+
+    private static Price parse(String body) {
+        final JsonObject data = new JsonParser().parse(body).getAsJsonObject().getAsJsonObject("data");
+        return new Price(
+                data.get("buying").getAsInt(),
+                data.get("selling").getAsInt(),
+                data.get("overall").getAsInt(),
+                data.get("buyingQuantity").getAsInt(),
+                data.get("sellingQuantity").getAsInt());
+    }
+
+    // The prices RuneLite loads in bulk, there is no buy and sell price nor volume in them
+    private static Price fallback(int itemId) {
+        final int price = Microbot.getClientThread()
+                .runOnClientThreadOptional(() -> Microbot.getItemManager().getItemPrice(itemId))
+                .orElse(-1);
+        final int known = price > 0 ? price : -1;
+        return new Price(known, known, known, -1, -1);
+    }
+
+    private static final class Cached {
+        private final Price price;
+        private final long loadedAt;
+
+        private Cached(Price price, long loadedAt) {
+            this.price = price;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
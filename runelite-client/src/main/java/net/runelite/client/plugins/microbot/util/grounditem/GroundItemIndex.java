@@ -0,0 +1,233 @@
+package net.runelite.client.plugins.microbot.util.grounditem;
+
+import net.runelite.api.GameState;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.Tile;
+import net.runelite.api.TileItem;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemQuantityChanged;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Index of the ground items in the loaded scene, kept up to date from the item events on the client thread.
+ * <p>
+ * Items are bucketed by plane and region, and every bucket is an immutable list that is replaced when it
+ * changes. Queries from script threads read the buckets without locking and never wait for the client thread.
+ * Every {@link TileItem} is its own entry, stacks of the same item on a tile are not merged.
+ */
+public final class GroundItemIndex {
+    private static final int REGION_SHIFT = 6;
+
+    private static final Map<Integer, List<IndexedGroundItem>> regions = new ConcurrentHashMap<>();
+
+    private GroundItemIndex() {
+    }
+
+    public static void onItemSpawned(ItemSpawned event) {
+        add(index(event.getTile(), event.getItem()));
+    }
+
+    public static void onItemDespawned(ItemDespawned event) {
+        final TileItem tileItem = event.getItem();
+        regions.computeIfPresent(regionKey(event.getTile().getWorldLocation()), (key, items) -> {
+            final List<IndexedGroundItem> updated = new ArrayList<>(items);
+            updated.removeIf(item -> item.getTileItem() == tileItem);
+            return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+        });
+    }
+
+    public static void onItemQuantityChanged(ItemQuantityChanged event) {
+        final TileItem tileItem = event.getItem();
+        regions.computeIfPresent(regionKey(event.getTile().getWorldLocation()), (key, items) -> {
+            final List<IndexedGroundItem> updated = new ArrayList<>(items);
+            updated.replaceAll(item -> item.getTileItem() == tileItem ? item.withQuantity(event.getNewQuantity()) : item);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        // The scene is rebuilt after loading, and every item in it spawns again
+        if (event.getGameState() == GameState.LOADING || event.getGameState() == GameState.LOGIN_SCREEN
+                || event.getGameState() == GameState.HOPPING) {
+            regions.clear();
+        }
+    }
+
+    /**
+     * Indexes every item in the loaded scene from scratch, must be called on the client thread.
+     * Only needed when the events of the current scene were missed.
+     */
+    public static void rebuild() {
+        regions.clear();
+        final WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+        if (worldView == null) {
+            return;
+        }
+        for (Tile[][] plane : worldView.getScene().getTiles()) {
+            for (Tile[] column : plane) {
+                for (Tile tile : column) {
+                    if (tile == null || tile.getGroundItems() == null) {
+                        continue;
+                    }
+                    for (TileItem tileItem : tile.getGroundItems()) {
+                        add(index(tile, tileItem));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the items on a tile
+     */
+    public static List<IndexedGroundItem> getAt(WorldPoint location) {
+        final List<IndexedGroundItem> result = new ArrayList<>();
+        forEachIn(location.getPlane(), location.getX(), location.getY(), location.getX(), location.getY(), result::add);
+        return result;
+    }
+
+    /**
+     * Returns the items within the range of the location, closest first
+     */
+    public static List<IndexedGroundItem> getAll(WorldPoint center, int range) {
+        return getAll(center, range, item -> true);
+    }
+
+    /**
+     * Returns the items within the range of the location that match the filter, closest first
+     */
+    public static List<IndexedGroundItem> getAll(WorldPoint center, int range, Predicate<IndexedGroundItem> filter) {
+        return getAll(center.getPlane(), center.getX() - range, center.getY() - range,
+                center.getX() + range, center.getY() + range, center, filter);
+    }
+
+    /**
+     * Returns the items in the area between the corners, including the corners, that match the filter,
+     * closest to the origin first
+     */
+    public static List<IndexedGroundItem> getAll(int plane, int minX, int minY, int maxX, int maxY,
+                                                 WorldPoint origin, Predicate<IndexedGroundItem> filter) {
+        final List<IndexedGroundItem> result = new ArrayList<>();
+        forEachIn(plane, minX, minY, maxX, maxY, item -> {
+            if (filter.test(item)) {
+                result.add(item);
+            }
+        });
+        result.sort(Comparator.comparingInt(item -> distanceSquared(item.getLocation(), origin)));
+        return result;
+    }
+
+    /**
+     * Returns the stacks within the range of the location whose Grand Exchange value is at least the value,
+     * closest first
+     */
+    public static List<IndexedGroundItem> getWorthAtLeast(WorldPoint center, int range, long value) {
+        return getAll(center, range, item -> item.getTotalGePrice() >= value);
+    }
+
+    /**
+     * Returns up to count items on the plane of the location that match the filter, closest first
+     */
+    public static List<IndexedGroundItem> getNearest(WorldPoint center, int count, Predicate<IndexedGroundItem> filter) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        // Max-heap of the closest items so far, so the furthest one is dropped first
+        final Comparator<IndexedGroundItem> byDistance = Comparator.comparingInt(item -> distanceSquared(item.getLocation(), center));
+        final PriorityQueue<IndexedGroundItem> closest = new PriorityQueue<>(count + 1, byDistance.reversed());
+        final int plane = center.getPlane();
+        for (List<IndexedGroundItem> items : regions.values()) {
+            for (IndexedGroundItem item : items) {
+                if (item.getLocation().getPlane() != plane || !filter.test(item)) {
+                    continue;
+                }
+                closest.add(item);
+                if (closest.size() > count) {
+                    closest.poll();
+                }
+            }
+        }
+        final List<IndexedGroundItem> result = new ArrayList<>(closest);
+        result.sort(byDistance);
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed items
+     */
+    public static int size() {
+        int size = 0;
+        for (List<IndexedGroundItem> items : regions.values()) {
+            size += items.size();
+        }
+        return size;
+    }
+
+    private static void add(IndexedGroundItem item) {
+        if (item == null) {
+            return;
+        }
+        regions.compute(regionKey(item.getLocation()), (key, items) -> {
+            final List<IndexedGroundItem> updated = items == null ? new ArrayList<>(1) : new ArrayList<>(items);
+            updated.add(item);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    private static void forEachIn(int plane, int minX, int minY, int maxX, int maxY, Consumer<IndexedGroundItem> consumer) {
+        for (int regionX = minX >> REGION_SHIFT; regionX <= maxX >> REGION_SHIFT; regionX++) {
+            for (int regionY = minY >> REGION_SHIFT; regionY <= maxY >> REGION_SHIFT; regionY++) {
+                final List<IndexedGroundItem> items = regions.get(regionKey(regionX, regionY, plane));
+                if (items == null) {
+                    continue;
+                }
+                for (IndexedGroundItem item : items) {
+                    final WorldPoint location = item.getLocation();
+                    if (location.getX() >= minX && location.getX() <= maxX
+                            && location.getY() >= minY && location.getY() <= maxY) {
+                        consumer.accept(item);
+                    }
+                }
+            }
+        }
+    }
+
+    // Runs on the client thread, where the composition and price are free to look up
+    private static IndexedGroundItem index(Tile tile, TileItem tileItem) {
+        final ItemComposition composition = Microbot.getItemManager().getItemComposition(tileItem.getId());
+        if (composition == null) {
+            return null;
+        }
+        final int unnotedId = composition.getNote() != -1 ? composition.getLinkedNoteId() : tileItem.getId();
+        final int gePrice = Microbot.getItemManager().getItemPrice(unnotedId);
+        return new IndexedGroundItem(tileItem, tile, composition, gePrice, Microbot.getClient().getTickCount());
+    }
+
+    private static int regionKey(WorldPoint location) {
+        return regionKey(location.getX() >> REGION_SHIFT, location.getY() >> REGION_SHIFT, location.getPlane());
+    }
+
+    private static int regionKey(int regionX, int regionY, int plane) {
+        return (plane << 16) | (regionX << 8) | regionY;
+    }
+
+    private static int distanceSquared(WorldPoint a, WorldPoint b) {
+        final int dx = a.getX() - b.getX();
+        final int dy = a.getY() - b.getY();
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,100 @@
+package net.runelite.client.plugins.microbot.util.grounditem;
+
+import lombok.Getter;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.Tile;
+import net.runelite.api.TileItem;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.util.models.RS2Item;
+
+import static net.runelite.api.ItemID.COINS_995;
+import static net.runelite.api.TileItem.OWNERSHIP_SELF;
+
+/**
+ * A ground item as it was when it spawned or last changed quantity, with everything a loot filter needs
+ * resolved up front on the client thread. See {@link GroundItemIndex}.
+ */
+@Getter
+public final class IndexedGroundItem {
+    private final TileItem tileItem;
+    private final Tile tile;
+    private final ItemComposition composition;
+    private final WorldPoint location;
+    private final int id;
+    /** Id of the unnoted item, which the prices are looked up with */
+    private final int unnotedId;
+    private final String name;
+    private final int quantity;
+    /** Grand Exchange price of a single item */
+    private final int gePrice;
+    /** High alchemy price of a single item */
+    private final int haPrice;
+    private final int ownership;
+    private final boolean isPrivate;
+    private final boolean tradeable;
+    private final boolean stackable;
+    private final int spawnTick;
+
+    IndexedGroundItem(TileItem tileItem, Tile tile, ItemComposition composition, int gePrice, int spawnTick) {
+        this.tileItem = tileItem;
+        this.tile = tile;
+        this.composition = composition;
+        this.location = tile.getWorldLocation();
+        this.id = tileItem.getId();
+        this.unnotedId = composition.getNote() != -1 ? composition.getLinkedNoteId() : id;
+        this.name = composition.getName();
+        this.quantity = tileItem.getQuantity();
+        // Coins are worth their amount, like in the ground items plugin
+        this.gePrice = unnotedId == COINS_995 ? 1 : gePrice;
+        this.haPrice = unnotedId == COINS_995 ? 1 : composition.getHaPrice();
+        this.ownership = tileItem.getOwnership();
+        this.isPrivate = tileItem.isPrivate();
+        this.tradeable = composition.isTradeable();
+        this.stackable = composition.isStackable();
+        this.spawnTick = spawnTick;
+    }
+
+    private IndexedGroundItem(IndexedGroundItem item, int quantity) {
+        this.tileItem = item.tileItem;
+        this.tile = item.tile;
+        this.composition = item.composition;
+        this.location = item.location;
+        this.id = item.id;
+        this.unnotedId = item.unnotedId;
+        this.name = item.name;
+        this.quantity = quantity;
+        this.gePrice = item.gePrice;
+        this.haPrice = item.haPrice;
+        this.ownership = item.ownership;
+        this.isPrivate = item.isPrivate;
+        this.tradeable = item.tradeable;
+        this.stackable = item.stackable;
+        this.spawnTick = item.spawnTick;
+    }
+
+    IndexedGroundItem withQuantity(int quantity) {
+        return new IndexedGroundItem(this, quantity);
+    }
+
+    /**
+     * Grand Exchange value of the whole stack
+     */
+    public long getTotalGePrice() {
+        return (long) gePrice * quantity;
+    }
+
+    /**
+     * High alchemy value of the whole stack
+     */
+    public long getTotalHaPrice() {
+        return (long) haPrice * quantity;
+    }
+
+    public boolean isOwnedBySelf() {
+        return ownership == OWNERSHIP_SELF;
+    }
+
+    public RS2Item toRs2Item() {
+        return new RS2Item(composition, tile, tileItem);
+    }
+}
@@ -144,56 +144,16 @@ public class Rs2GroundItem {
      * @return An array of the ground items on the specified tile.
      */
     public static RS2Item[] getAllAt(int x, int y) {
-        return Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            if (!Microbot.isLoggedIn()) {
-                return null;
-            }
-            List<RS2Item> list = new ArrayList<>();
-
-            Tile tile = Rs2Tile.getTile(x, y);
-            if (tile == null) {
-                return null;
-            }
-
-            List<TileItem> groundItems = tile.getGroundItems();
-
-            if (groundItems != null && !groundItems.isEmpty()) {
-                for (TileItem groundItem : groundItems) {
-                    RS2Item rs2Item = new RS2Item(Microbot.getItemManager().getItemComposition(groundItem.getId()), tile, groundItem);
-                    list.add(rs2Item);
-                }
-            }
-            return list.toArray(new RS2Item[list.size()]);
-        }).orElse(new RS2Item[] {});
+        if (!Microbot.isLoggedIn()) {
+            return new RS2Item[] {};
+        }
+        final int plane = Microbot.getClient().getTopLevelWorldView().getPlane();
+        return toRs2Items(GroundItemIndex.getAt(new WorldPoint(x, y, plane)));
     }
 
     public static RS2Item[] getAll(int range) {
-        List<RS2Item> temp = new ArrayList<>();
-        int pX = Microbot.getClient().getLocalPlayer().getWorldLocation().getX();
-        int pY = Microbot.getClient().getLocalPlayer().getWorldLocation().getY();
-        int minX = pX - range, minY = pY - range;
-        int maxX = pX + range, maxY = pY + range;
-        for (int x = minX; x < maxX; x++) {
-            for (int y = minY; y < maxY; y++) {
-                RS2Item[] items = getAllAt(x, y);
-                if (items != null)
-                    for (RS2Item item : items) {
-                        if (item == null) {
-                            continue;
-                        }
-                        temp.add(item);
-                    }
-            }
-        }
-        //sort on closest item first
-        temp = temp.stream().sorted(Comparator
-                        .comparingInt(value -> value.getTile().getLocalLocation()
-                                .distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList());
-        //filter out items based on value
-
-
-        return temp.toArray(new RS2Item[temp.size()]);
+        final WorldPoint playerLocation = Microbot.getClient().getLocalPlayer().getWorldLocation();
+        return getAllFromWorldPoint(range, playerLocation);
     }
 
     /**
@@ -205,34 +165,36 @@ public class Rs2GroundItem {
      *         to the center point (closest first). Returns an empty array if no items are found.
      */
     public static RS2Item[] getAllFromWorldPoint(int range, WorldPoint worldPoint) {
-        List<RS2Item> temp = new ArrayList<>();
-        int safespotX = worldPoint.getX();
-        int safespotY = worldPoint.getY();
-
-        int minX = safespotX - range, minY = safespotY - range;
-        int maxX = safespotX + range, maxY = safespotY + range;
-
-        for (int x = minX; x < maxX; x++) {
-            for (int y = minY; y < maxY; y++) {
-                RS2Item[] items = getAllAt(x, y);
-                if (items != null) {
-                    for (RS2Item item : items) {
-                        if (item == null) {
-                            continue;
-                        }
-                        temp.add(item);
-                    }
-                }
-            }
-        }
+        return toRs2Items(getAllFromWorldPoint(range, worldPoint, item -> true));
+    }
 
-        // Sort items based on distance from the safespot
-        temp = temp.stream()
-                .sorted(Comparator.comparingInt(value ->
-                        value.getTile().getLocalLocation().distanceTo(new LocalPoint(safespotX, safespotY))))
-                .collect(Collectors.toList());
+    private static List<IndexedGroundItem> getAllFromWorldPoint(int range, WorldPoint worldPoint, Predicate<IndexedGroundItem> filter) {
+        // The upper bounds are exclusive, like the tile scan this replaced
+        return GroundItemIndex.getAll(worldPoint.getPlane(),
+                worldPoint.getX() - range, worldPoint.getY() - range,
+                worldPoint.getX() + range - 1, worldPoint.getY() + range - 1,
+                worldPoint, filter);
+    }
 
-        return temp.toArray(new RS2Item[temp.size()]);
+    private static RS2Item[] toRs2Items(List<IndexedGroundItem> items) {
+        final RS2Item[] result = new RS2Item[items.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = items.get(i).toRs2Item();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the items within the range of the player whose stack is worth at least the value at the
+     * Grand Exchange, closest first. Answered from the {@link GroundItemIndex} without the client thread.
+     *
+     * @param value the minimum value of the stack
+     * @param range the range in tiles around the player
+     * @return the matching items
+     */
+    public static List<IndexedGroundItem> getAllWorthAtLeast(int value, int range) {
+        final WorldPoint playerLocation = Microbot.getClient().getLocalPlayer().getWorldLocation();
+        return getAllFromWorldPoint(range, playerLocation, item -> item.getTotalGePrice() >= value);
     }
 
 
@@ -250,9 +212,7 @@ public class Rs2GroundItem {
 
     public static boolean loot(String lootItem, int minQuantity, int range) {
         if (Rs2Inventory.isFull(lootItem)) return false;
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(lootItem) && rs2Item.getTileItem().getQuantity() >= minQuantity) {
                 interact(rs2Item);
@@ -263,31 +223,25 @@ public class Rs2GroundItem {
     }
 
     public static boolean lootItemBasedOnValue(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
         final int invSize = Rs2Inventory.count();
-        for (RS2Item rs2Item : groundItems) {
+        for (IndexedGroundItem groundItem : getAllWorthAtLeast(value, range)) {
+            RS2Item rs2Item = groundItem.toRs2Item();
             if (!hasLineOfSight(rs2Item.getTile())) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity()).orElse(0);
-            if (totalPrice >= value) {
-                if (Rs2Inventory.isFull()) {
-                    if (Rs2Player.eatAt(100)) {
-                        Rs2Player.waitForAnimation();
-                        boolean result = interact(rs2Item);
-                        if (result) {
-                            sleepUntil(() -> invSize != Rs2Inventory.count());
-                        }
-                        return result;
+            if (Rs2Inventory.isFull()) {
+                if (Rs2Player.eatAt(100)) {
+                    Rs2Player.waitForAnimation();
+                    boolean result = interact(rs2Item);
+                    if (result) {
+                        sleepUntil(() -> invSize != Rs2Inventory.count());
                     }
+                    return result;
                 }
-                boolean result = interact(rs2Item);
-                if (result) {
-                    sleepUntil(() -> invSize != Rs2Inventory.count());
-                }
-                return result;
             }
+            boolean result = interact(rs2Item);
+            if (result) {
+                sleepUntil(() -> invSize != Rs2Inventory.count());
+            }
+            return result;
         }
         return false;
     }
@@ -491,32 +445,16 @@ public class Rs2GroundItem {
     }
 
     public static boolean isItemBasedOnValueOnGround(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
-        for (RS2Item rs2Item : groundItems) {
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity()).orElse(0);
-            if (totalPrice >= value) {
-                return true;
-            }
-        }
-        return false;
+        return !getAllWorthAtLeast(value, range).isEmpty();
     }
 
     @Deprecated(since = "1.4.6, use lootItemsBasedOnNames(LootingParameters params)", forRemoval = true)
     public static boolean lootAllItemBasedOnValue(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        List<IndexedGroundItem> groundItems = getAllWorthAtLeast(value, range);
         Rs2Inventory.dropEmptyVials();
-        for (RS2Item rs2Item : groundItems) {
-            if (Rs2Inventory.isFull(rs2Item.getItem().getName())) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity()).orElse(0);
-            if (totalPrice >= value) {
-                return interact(rs2Item);
-            }
+        for (IndexedGroundItem groundItem : groundItems) {
+            if (Rs2Inventory.isFull(groundItem.getName())) continue;
+            return interact(groundItem.toRs2Item());
         }
         return false;
     }
@@ -531,9 +469,7 @@ public class Rs2GroundItem {
     }
     public static boolean loot(int itemId, int range) {
         if (Rs2Inventory.isFull(itemId)) return false;
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Rs2GroundItem.getAll(range)
-        ).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == itemId) {
                 interact(rs2Item);
@@ -564,8 +500,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean interact(String itemName, String action, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range))
-                .orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(itemName)) {
                 interact(rs2Item, action);
@@ -576,8 +511,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean interact(int itemId, String action, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range))
-                .orElse(new RS2Item[] {});;
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == itemId) {
                 interact(rs2Item, action);
@@ -588,8 +522,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean exists(int id, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range))
-                .orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == id) {
                 return true;
@@ -599,7 +532,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean exists(String itemName, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThreadOptional(() -> Rs2GroundItem.getAll(range)).orElse(new RS2Item[] {});
+        RS2Item[] groundItems = Rs2GroundItem.getAll(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(itemName)) {
                 return true;
@@ -0,0 +1,290 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import lombok.Getter;
+import net.runelite.api.Item;
+import net.runelite.api.ItemComposition;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Snapshot of an item container, indexed for the lookups scripts make on every loop.
+ * <p>
+ * The slots are kept as arrays of ids and quantities, so an update only creates items for the slots that
+ * changed and keeps the others. Each snapshot knows the slots and total quantity of every item id, and of
+ * every item name in lower case, so checking for an item or counting it is a map lookup instead of a pass
+ * over the items comparing names. The lower case names are shared by the inventory, equipment and bank.
+ * <p>
+ * The items are not copied, so the totals only hold while nobody calls {@link Rs2ItemModel#setQuantity(int)}
+ * on them. An item whose quantity was changed is not carried over into the next snapshot.
+ */
+public final class ItemContainerModel {
+    public static final ItemContainerModel EMPTY = new ItemContainerModel(new int[0], new int[0], Collections.emptyList());
+
+    // Lower case name of every item id seen in a container
+    private static final Map<Integer, String> NORMALIZED_NAMES = new ConcurrentHashMap<>();
+
+    private final int[] ids;
+    private final int[] quantities;
+    private final Rs2ItemModel[] slots;
+    /**
+     * The items of the container in slot order, a new list for every snapshot
+     */
+    @Getter
+    private final List<Rs2ItemModel> items;
+    private final Map<Integer, Totals> byId = new HashMap<>();
+    // Built on the first name lookup, bank items loaded from the config only know their name when asked
+    private volatile Map<String, Totals> byName;
+
+    private ItemContainerModel(int[] ids, int[] quantities, List<Rs2ItemModel> items) {
+        this.ids = ids;
+        this.quantities = quantities;
+        this.slots = new Rs2ItemModel[ids.length];
+        this.items = Collections.unmodifiableList(items);
+        for (Rs2ItemModel item : items) {
+            if (item.getSlot() >= 0 && item.getSlot() < slots.length) {
+                slots[item.getSlot()] = item;
+            }
+            byId.computeIfAbsent(item.getId(), id -> new Totals(item)).add(item);
+        }
+    }
+
+    /**
+     * Returns the snapshot of a container after it changed, creating items only for the slots that changed.
+     * Must be called on the client thread.
+     *
+     * @param previous the snapshot of the container before the change
+     * @param containerItems the items of the container
+     * @param slotLimit the number of slots to read
+     * @param skipPlaceholders whether to leave out bank placeholders
+     */
+    public static ItemContainerModel update(ItemContainerModel previous, Item[] containerItems, int slotLimit, boolean skipPlaceholders) {
+        assert Microbot.getClient().isClientThread();
+
+        final int length = Math.min(containerItems.length, slotLimit);
+        final int[] ids = new int[length];
+        final int[] quantities = new int[length];
+        final List<Rs2ItemModel> items = new ArrayList<>(length);
+        for (int slot = 0; slot < length; slot++) {
+            final Item item = containerItems[slot];
+            final int id = item == null ? -1 : item.getId();
+            final int quantity = item == null ? 0 : item.getQuantity();
+            ids[slot] = id;
+            quantities[slot] = quantity;
+            if (id == -1) continue;
+
+            if (slot < previous.ids.length && previous.ids[slot] == id) {
+                final Rs2ItemModel before = previous.slots[slot];
+                // No item in a slot holding an id is a placeholder that was skipped before
+                if (before != null) {
+                    items.add(before.getQuantity() == quantity ? before : new Rs2ItemModel(before, quantity));
+                }
+                continue;
+            }
+
+            final ItemComposition composition = Microbot.getItemManager().getItemComposition(id);
+            if (skipPlaceholders && composition.getPlaceholderTemplateId() > 0) continue;
+            NORMALIZED_NAMES.put(id, composition.getName().toLowerCase());
+            items.add(new Rs2ItemModel(item, composition, slot));
+        }
+        return new ItemContainerModel(ids, quantities, items);
+    }
+
+    /**
+     * Returns a snapshot of items that were not read from a container, like the bank loaded from the config
+     */
+    public static ItemContainerModel of(List<Rs2ItemModel> items) {
+        int length = 0;
+        for (Rs2ItemModel item : items) {
+            length = Math.max(length, item.getSlot() + 1);
+        }
+        final int[] ids = new int[length];
+        final int[] quantities = new int[length];
+        Arrays.fill(ids, -1);
+        for (Rs2ItemModel item : items) {
+            if (item.getSlot() >= 0) {
+                ids[item.getSlot()] = item.getId();
+                quantities[item.getSlot()] = item.getQuantity();
+            }
+        }
+        return new ItemContainerModel(ids, quantities, new ArrayList<>(items));
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public boolean contains(int id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Returns the item with the id in the lowest slot, or null
+     */
+    public Rs2ItemModel first(int id) {
+        final Totals totals = byId.get(id);
+        return totals == null ? null : totals.first;
+    }
+
+    /**
+     * Returns the largest stack of the item with the id if it holds at least the amount, or null
+     */
+    public Rs2ItemModel largest(int id, int amount) {
+        final Totals totals = byId.get(id);
+        return totals == null || totals.largest.getQuantity() < amount ? null : totals.largest;
+    }
+
+    /**
+     * Returns the number of slots holding the item with the id
+     */
+    public int count(int id) {
+        final Totals totals = byId.get(id);
+        return totals == null ? 0 : totals.slots;
+    }
+
+    /**
+     * Returns the quantity of the item with the id over every slot
+     */
+    public int quantity(int id) {
+        final Totals totals = byId.get(id);
+        return totals == null ? 0 : totals.quantity;
+    }
+
+    /**
+     * Returns the item with the name in the lowest slot, or null
+     *
+     * @param exact whether the name must match in full, otherwise any item with the name in its name matches
+     */
+    public Rs2ItemModel first(String name, boolean exact) {
+        final String query = name.toLowerCase();
+        if (exact) {
+            final Totals totals = byName().get(query);
+            return totals == null ? null : totals.first;
+        }
+        Rs2ItemModel first = null;
+        for (Map.Entry<String, Totals> entry : byName().entrySet()) {
+            final Rs2ItemModel item = entry.getValue().first;
+            if (entry.getKey().contains(query) && (first == null || item.getSlot() < first.getSlot())) {
+                first = item;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Returns the largest stack of an item with the name if it holds at least the amount, or null
+     *
+     * @param exact whether the name must match in full, otherwise the largest stack of every item with the name
+     *              in its name
+     */
+    public Rs2ItemModel largest(String name, boolean exact, int amount) {
+        final String query = name.toLowerCase();
+        if (exact) {
+            final Totals totals = byName().get(query);
+            return totals == null || totals.largest.getQuantity() < amount ? null : totals.largest;
+        }
+        Rs2ItemModel largest = null;
+        for (Map.Entry<String, Totals> entry : byName().entrySet()) {
+            final Rs2ItemModel item = entry.getValue().largest;
+            if (entry.getKey().contains(query) && (largest == null || item.getQuantity() > largest.getQuantity()
+                    || item.getQuantity() == largest.getQuantity() && item.getSlot() < largest.getSlot())) {
+                largest = item;
+            }
+        }
+        return largest == null || largest.getQuantity() < amount ? null : largest;
+    }
+
+    /**
+     * Returns the number of slots holding an item with the name
+     *
+     * @param exact whether the name must match in full, otherwise any item with the name in its name matches
+     */
+    public int count(String name, boolean exact) {
+        final String query = name.toLowerCase();
+        if (exact) {
+            final Totals totals = byName().get(query);
+            return totals == null ? 0 : totals.slots;
+        }
+        int count = 0;
+        for (Map.Entry<String, Totals> entry : byName().entrySet()) {
+            if (entry.getKey().contains(query)) {
+                count += entry.getValue().slots;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the quantity of the items with the name over every slot
+     *
+     * @param exact whether the name must match in full, otherwise any item with the name in its name matches
+     */
+    public int quantity(String name, boolean exact) {
+        final String query = name.toLowerCase();
+        if (exact) {
+            final Totals totals = byName().get(query);
+            return totals == null ? 0 : totals.quantity;
+        }
+        int quantity = 0;
+        for (Map.Entry<String, Totals> entry : byName().entrySet()) {
+            if (entry.getKey().contains(query)) {
+                quantity += entry.getValue().quantity;
+            }
+        }
+        return quantity;
+    }
+
+    private Map<String, Totals> byName() {
+        Map<String, Totals> names = byName;
+        if (names == null) {
+            names = new HashMap<>();
+            for (Rs2ItemModel item : items) {
+                names.computeIfAbsent(normalizedName(item), name -> new Totals(item)).add(item);
+            }
+            byName = names;
+        }
+        return names;
+    }
+
+    private static String normalizedName(Rs2ItemModel item) {
+        String name = NORMALIZED_NAMES.get(item.getId());
+        if (name == null) {
+            name = item.getName().toLowerCase();
+            // Items without a composition have a placeholder name that must not stick to the id
+            if (item.getItemComposition() != null) {
+                NORMALIZED_NAMES.put(item.getId(), name);
+            }
+        }
+        return name;
+    }
+
+    private static final class Totals {
+        private final Rs2ItemModel first;
+        private Rs2ItemModel largest;
+        private int slots;
+        private int quantity;
+
+        private Totals(Rs2ItemModel first) {
+            this.first = first;
+            this.largest = first;
+        }
+
+        private void add(Rs2ItemModel item) {
+            slots++;
+            quantity += item.getQuantity();
+            if (item.getQuantity() > largest.getQuantity()) {
+                largest = item;
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package net.runelite.client.plugins.microbot.util.inventory;
 
-import net.runelite.api.Item;
-import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.MenuAction;
 import net.runelite.api.NPC;
@@ -63,7 +61,7 @@ public class Rs2Inventory {
     private static final int CAPACITY = COLUMNS * ROWS;
     private static final Object[] EMPTY_ARRAY = new Object[0];
 
-    private static List<Rs2ItemModel> inventoryItems = Collections.emptyList();
+    private static volatile ItemContainerModel inventoryModel = ItemContainerModel.EMPTY;
 
     public static ItemContainer inventory() {
         return Microbot.getClient().getItemContainer(InventoryID.INV);
@@ -76,18 +74,11 @@ public class Rs2Inventory {
         final ItemContainer itemContainer = e.getItemContainer();
         if (itemContainer == null) return;
 
-        List<Rs2ItemModel> _inventoryItems = new ArrayList<>();
-        for (int i = 0; i < itemContainer.getItems().length; i++) {
-            final Item item = itemContainer.getItems()[i];
-            if (item.getId() == -1) continue;
-            final ItemComposition itemComposition = Microbot.getClient().getItemDefinition(item.getId());
-            _inventoryItems.add(new Rs2ItemModel(item, itemComposition, i));
-        }
-        inventoryItems = Collections.unmodifiableList(_inventoryItems);
+        inventoryModel = ItemContainerModel.update(inventoryModel, itemContainer.getItems(), Integer.MAX_VALUE, false);
     }
 
     public static Stream<Rs2ItemModel> items() {
-        return inventoryItems.stream();
+        return inventoryModel.getItems().stream();
     }
 
     public static Stream<Rs2ItemModel> items(Predicate<Rs2ItemModel> predicate) {
@@ -284,7 +275,11 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified IDs, false otherwise.
      */
     public static boolean contains(int... ids) {
-        return contains(item -> Arrays.stream(ids).anyMatch(id -> id == item.getId()));
+        final ItemContainerModel model = inventoryModel;
+        for (int id : ids) {
+            if (model.contains(id)) return true;
+        }
+        return false;
     }
 
     /**
@@ -295,7 +290,7 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified names, false otherwise.
      */
     public static boolean contains(String... names) {
-        return contains(item -> Arrays.stream(names).anyMatch(name -> name.equalsIgnoreCase(item.getName())));
+        return get(names, true) != null;
     }
 
     /**
@@ -326,7 +321,7 @@ public class Rs2Inventory {
      * @return The count of items
      */
     public static int count() {
-        return (int) items().count();
+        return inventoryModel.size();
     }
 
     /**
@@ -348,7 +343,7 @@ public class Rs2Inventory {
      * @return The count of items that match the ID.
      */
     public static int count(int id) {
-        return count(item -> item.getId() == id);
+        return inventoryModel.count(id);
     }
 
     /**
@@ -359,8 +354,7 @@ public class Rs2Inventory {
      * @return The count of items that match the name.
      */
     public static int count(String name, boolean exact) {
-        return count(exact ? item -> item.getName().equalsIgnoreCase(name) :
-                item -> item.getName().toLowerCase().contains(name.toLowerCase()));
+        return inventoryModel.count(name, exact);
     }
 
     /**
@@ -371,7 +365,7 @@ public class Rs2Inventory {
      * @return The count of items that match the name.
      */
     public static int count(String name) {
-        return count(item -> item.getName().toLowerCase().contains(name.toLowerCase()));
+        return inventoryModel.count(name, false);
     }
 
     /**
@@ -606,7 +600,7 @@ public class Rs2Inventory {
      * @return The number of full slots.
      */
     public static int fullSlotCount() {
-        return (int) items().count();
+        return inventoryModel.size();
     }
 
     /**
@@ -640,7 +634,13 @@ public class Rs2Inventory {
      * @return The first item that matches one of the IDs, or null if not found.
      */
     public static Rs2ItemModel get(int... ids) {
-        return get(item -> Arrays.stream(ids).anyMatch(id -> id == item.getId()));
+        final ItemContainerModel model = inventoryModel;
+        Rs2ItemModel first = null;
+        for (int id : ids) {
+            final Rs2ItemModel item = model.first(id);
+            if (item != null && (first == null || item.getSlot() < first.getSlot())) first = item;
+        }
+        return first;
     }
 
     /**
@@ -664,8 +664,7 @@ public class Rs2Inventory {
      * @return The item with the specified name, or null if not found.
      */
     public static Rs2ItemModel get(String name, boolean exact) {
-        return get(exact ? x -> x.getName().equalsIgnoreCase(name) :
-                x -> x.getName().toLowerCase().contains(name.toLowerCase()));
+        return inventoryModel.first(name, exact);
     }
 
     /**
@@ -677,6 +676,7 @@ public class Rs2Inventory {
      * @return The item with the specified name, or null if not found.
      */
     public static Rs2ItemModel get(String name, boolean stackable, boolean exact) {
+        if (!stackable) return get(name, exact);
         Predicate<Rs2ItemModel> filter = exact ? item -> item.getName().equalsIgnoreCase(name) :
                 item -> item.getName().toLowerCase().contains(name.toLowerCase());
         if (stackable) filter = filter.and(Rs2ItemModel::isStackable);
@@ -703,8 +703,14 @@ public class Rs2Inventory {
      * @return The item with one of the specified names, or null if not found.
      */
     public static Rs2ItemModel get(String[] names, boolean exact) {
-        return get(exact ? item -> Arrays.stream(names).anyMatch(name -> name.equalsIgnoreCase(item.getName())) :
-                item -> Arrays.stream(names).anyMatch(name -> item.getName().toLowerCase().contains(name.toLowerCase())));
+        final ItemContainerModel model = inventoryModel;
+        Rs2ItemModel first = null;
+        for (String name : names) {
+            if (name == null) continue;
+            final Rs2ItemModel item = model.first(name, exact);
+            if (item != null && (first == null || item.getSlot() < first.getSlot())) first = item;
+        }
+        return first;
     }
 
     /**
@@ -738,7 +744,7 @@ public class Rs2Inventory {
      * @return The quantity of the item if found, otherwise 0.
      */
     public static int itemQuantity(int id) {
-        return itemQuantity(item -> item.getId() == id);
+        return inventoryModel.quantity(id);
     }
 
     /**
@@ -749,8 +755,7 @@ public class Rs2Inventory {
      * @return The quantity of the item if found, otherwise 0.
      */
     public static int itemQuantity(String itemName, boolean exact) {
-        return itemQuantity(exact ? item -> item.getName().equalsIgnoreCase(itemName) :
-                item -> item.getName().toLowerCase().contains(itemName.toLowerCase()));
+        return inventoryModel.quantity(itemName, exact);
     }
 
     /**
@@ -1232,7 +1237,7 @@ public class Rs2Inventory {
      * @return True if the inventory is empty, false otherwise.
      */
     public static boolean isEmpty() {
-        return items().findAny().isEmpty();
+        return inventoryModel.isEmpty();
     }
 
     /**
@@ -1947,7 +1952,7 @@ public class Rs2Inventory {
      * @return True if the inventory changes within the specified timeout, false otherwise.
      */
     public static boolean waitForInventoryChanges(Runnable actionWhileWaiting, int time, int timeout) {
-        final List<Rs2ItemModel> initialInventory = inventoryItems;
+        final List<Rs2ItemModel> initialInventory = inventoryModel.getItems();
 
         return sleepUntilTrue(() -> {
             actionWhileWaiting.run();
@@ -1959,13 +1964,13 @@ public class Rs2Inventory {
      * Checks whether the inventory has changed.
      *
      * @param initialInventory The snapshot of the inventory to compare against
-     *                         initially initialInventory == inventoryItems must be true, otherwise this check won't work
+     *                         initially initialInventory == inventoryModel.getItems() must be true, otherwise this check won't work
      *                         additionally two inventories which are identical can still count as changed i.e.
      *                         adding and removing a log
      * @return True if the inventory is unchanged, false otherwise.
      */
     private static boolean hasInventoryChanged(List<Rs2ItemModel> initialInventory) {
-        return inventoryItems != initialInventory; // TODO: && !inventoryItems.equals(initialInventory);
+        return inventoryModel.getItems() != initialInventory; // TODO: && !inventoryModel.getItems().equals(initialInventory);
     }
 
     /**
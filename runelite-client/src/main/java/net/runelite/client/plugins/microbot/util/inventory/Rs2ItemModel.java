@@ -101,6 +101,23 @@ public class Rs2ItemModel {
         this.equipmentActions = new ArrayList<>();
     }
 
+    /**
+     * Copy of an item with another quantity, for a stack that grew or shrank in the same slot.
+     * Shares the composition data of the original, so no definition lookup is needed.
+     */
+    Rs2ItemModel(Rs2ItemModel other, int quantity) {
+        this.id = other.id;
+        this.quantity = quantity;
+        this.slot = other.slot;
+        this.name = other.name;
+        this.isStackable = other.isStackable;
+        this.isNoted = other.isNoted;
+        this.isTradeable = other.isTradeable;
+        this.inventoryActions = other.inventoryActions;
+        this.itemComposition = other.itemComposition;
+        this.equipmentActions = other.equipmentActions;
+    }
+
     /**
      * Lazy loads the ItemComposition if not already loaded.
      * This ensures we can work with cached items while minimizing performance impact.
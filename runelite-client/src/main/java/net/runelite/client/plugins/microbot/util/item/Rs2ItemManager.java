@@ -26,12 +26,16 @@ public class Rs2ItemManager {
         if (query == null || query.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        String lowerQuery = query.toLowerCase();
-        return Microbot.getClientThread().runOnClientThreadOptional(() -> Microbot.getItemManager().search(query)).orElse(Collections.emptyList());
+        // The name index is immutable, so it is searched from any thread
+        return Microbot.getItemManager().search(query);
     }
 
-    // get item id by name
+    // get item id by name, preferring the item with exactly that name
     public int getItemId(String itemName) {
+        var exact = Microbot.getItemManager().searchExact(itemName);
+        if (!exact.isEmpty()) {
+            return exact.get(0).getId();
+        }
         var items =searchItem(itemName);
         return items.get(0).getId();
     }
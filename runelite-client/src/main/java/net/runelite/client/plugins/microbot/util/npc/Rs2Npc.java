@@ -19,6 +19,7 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -27,6 +28,9 @@ import java.util.stream.Stream;
 import static net.runelite.api.Perspective.LOCAL_TILE_SIZE;
 
 public class Rs2Npc {
+    // Actions of npc definitions by id, see hasAction
+    private static final Map<Integer, String[]> definitionActions = new ConcurrentHashMap<>();
+
     /**
      * Retrieves an NPC by its index, returning an {@link Rs2NpcModel}.
      *
@@ -37,9 +41,7 @@ public class Rs2Npc {
      * @return The {@link Rs2NpcModel} with the specified index, or {@code null} if not found.
      */
     public static Rs2NpcModel getNpcByIndex(int index) {
-        return getNpcs(npc -> npc.getIndex() == index).
-                findFirst()
-                .orElse(null);
+        return Rs2NpcRegistry.getByIndex(index);
     }
 
     /**
@@ -197,16 +199,7 @@ public class Rs2Npc {
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that match the given predicate.
      */
     public static Stream<Rs2NpcModel> getNpcs(Predicate<Rs2NpcModel> predicate) {
-        List<Rs2NpcModel> npcList = Optional.of(Microbot.getClient().getTopLevelWorldView().npcs().stream()
-                .filter(Objects::nonNull)
-                .map(Rs2NpcModel::new)
-                .filter(x -> x.getName() != null)
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList()))
-                .orElse(new ArrayList<>());
-
-        return npcList.stream();
+        return Rs2NpcRegistry.getNpcs(predicate);
     }
 
     /**
@@ -239,11 +232,7 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Stream.empty();
-        return getNpcs(npc -> {
-            String npcName = npc.getName();
-            if (npcName == null || npcName.isEmpty()) return false;
-            return exact ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name.toLowerCase());
-        });
+        return Rs2NpcRegistry.getNpcs(name, exact, npc -> true);
     }
 
     /**
@@ -265,7 +254,7 @@ public class Rs2Npc {
      * @return A {@link Stream} of {@link Rs2NpcModel} objects that match the given NPC ID.
      */
     public static Stream<Rs2NpcModel> getNpcs(int id) {
-        return getNpcs().filter(x -> x.getId() == id);
+        return Rs2NpcRegistry.getNpcs(id, npc -> true);
     }
 
     /**
@@ -407,7 +396,7 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given ID, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(int id) {
-        return getNpcs(x -> x.getId() == id)
+        return getNpcs(id)
                 .findFirst()
                 .orElse(null);
     }
@@ -428,8 +417,8 @@ public class Rs2Npc {
      * @return An {@link Optional} containing the closest matching {@link Rs2NpcModel}, or empty if no match is found.
      */
     public static Optional<Rs2NpcModel> getNpc(int id, List<Integer> excludedIndexes) {
-        return getNpcs(x -> x.getId() == id && !excludedIndexes.contains(x.getIndex()))
-                .min(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())));
+        return Rs2NpcRegistry.getNpcs(id, x -> !excludedIndexes.contains(x.getIndex()))
+                .findFirst();
     }
 
     /**
@@ -499,12 +488,19 @@ public class Rs2Npc {
      * @return {@code true} if the NPC has the specified action, {@code false} otherwise.
      */
     public static boolean hasAction(int id, String action) {
-        NPCComposition npcComposition = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Microbot.getClient().getNpcDefinition(id)).orElse(null);
+        String[] actions = definitionActions.get(id);
+        if (actions == null) {
+            NPCComposition npcComposition = Microbot.getClientThread().runOnClientThreadOptional(() ->
+                    Microbot.getClient().getNpcDefinition(id)).orElse(null);
+
+            if (npcComposition == null) return false;
 
-        if (npcComposition == null) return false;
+            // Definitions never change, so they only cost a client thread round trip once per id
+            actions = npcComposition.getActions().clone();
+            definitionActions.put(id, actions);
+        }
 
-        return Arrays.stream(npcComposition.getActions())
+        return Arrays.stream(actions)
                 .anyMatch(x -> x != null && x.equalsIgnoreCase(action));
     }
 
@@ -1017,11 +1013,8 @@ public class Rs2Npc {
     public static List<Rs2NpcModel> getNpcsInLineOfSight(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Collections.emptyList();
 
-        return getNpcs(npc -> {
-            String npcName = npc.getName();
-            if (npcName == null || npcName.isEmpty()) return false;
-            return hasLineOfSight(npc) && (exact ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name.toLowerCase()));
-        }).collect(Collectors.toList());
+        return Rs2NpcRegistry.getNpcs(name, exact, Rs2Npc::hasLineOfSight)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -302,11 +302,18 @@ public class Rs2NpcManager {
             return null;
         }
         log.info("All locations for " + npcName + ": " + getNpcLocations(npcName).stream().map(MonsterLocation::getLocationName).collect(Collectors.toList()));
-        MonsterLocation closest = getNpcLocations(npcName).stream()
-                .filter(loc -> loc.getCoords().size() > minClustering && (!avoidWilderness || !loc.getLocationName().contains("Wilderness")))
-                .parallel()
-                .min(Comparator.comparingDouble(loc -> Rs2Walker.getTotalTiles(loc.getClosestToCenter())))
-                .orElse(null);
+        Map<WorldPoint, MonsterLocation> candidates = new LinkedHashMap<>();
+        for (MonsterLocation loc : getNpcLocations(npcName))
+        {
+            WorldPoint center = loc.getClosestToCenter();
+            if (center != null && loc.getCoords().size() > minClustering && (!avoidWilderness || !loc.getLocationName().contains("Wilderness")))
+            {
+                candidates.putIfAbsent(center, loc);
+            }
+        }
+        // A single search measures every candidate, if none can be reached the first one is still walked towards
+        WorldPoint nearest = Rs2Walker.getNearestByPathCost(candidates.keySet());
+        MonsterLocation closest = nearest != null ? candidates.get(nearest) : candidates.values().stream().findFirst().orElse(null);
 
         ShortestPathPlugin.getPathfinderConfig().setUseBankItems(false);
 
@@ -0,0 +1,390 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Registry of the NPCs of the top level world view, kept up to date from the NPC events and a pass over the
+ * NPCs at every game tick, both on the client thread.
+ * <p>
+ * Every NPC has a single {@link Rs2NpcModel} for as long as it is spawned, and is indexed by id, lower case
+ * name and an 8x8 tile grid. Queries from script threads look the candidates up in the indexes without waiting
+ * for the client thread, and return them nearest first through a heap that is only drained as far as the caller
+ * consumes the stream.
+ */
+public final class Rs2NpcRegistry {
+    private static final int CELL_SHIFT = 3;
+
+    private static final Map<Integer, Entry> byIndex = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<Entry>> byId = new ConcurrentHashMap<>();
+    private static final Map<String, Set<Entry>> byName = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<Entry>> byCell = new ConcurrentHashMap<>();
+
+    private Rs2NpcRegistry() {
+    }
+
+    public static void onNpcSpawned(NpcSpawned event) {
+        final NPC npc = event.getNpc();
+        if (isTopLevel(npc)) {
+            add(npc);
+        }
+    }
+
+    public static void onNpcDespawned(NpcDespawned event) {
+        final Entry entry = byIndex.get(event.getNpc().getIndex());
+        if (entry != null && entry.npc == event.getNpc()) {
+            remove(entry);
+        }
+    }
+
+    public static void onNpcChanged(NpcChanged event) {
+        final Entry entry = byIndex.get(event.getNpc().getIndex());
+        if (entry != null && entry.npc == event.getNpc()) {
+            update(entry);
+        }
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING) {
+            clear();
+        }
+    }
+
+    /**
+     * Brings the registry in line with the NPCs of the world view, called on the client thread at every game tick.
+     * Picks up the NPCs that moved to another cell and the names that changed without an {@link NpcChanged},
+     * like those of NPCs that transform on a varbit.
+     */
+    public static void onGameTick() {
+        final Client client = Microbot.getClient();
+        final WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) {
+            clear();
+            return;
+        }
+        final int tick = client.getTickCount();
+        for (NPC npc : worldView.npcs()) {
+            if (npc == null) {
+                continue;
+            }
+            Entry entry = byIndex.get(npc.getIndex());
+            if (entry == null || entry.npc != npc) {
+                entry = add(npc);
+            } else {
+                update(entry);
+            }
+            entry.seenTick = tick;
+        }
+        for (Entry entry : byIndex.values()) {
+            if (entry.seenTick != tick) {
+                remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Indexes every NPC of the world view from scratch, must be called on the client thread.
+     * Only needed when the events of the NPCs that are already spawned were missed.
+     */
+    public static void rebuild() {
+        clear();
+        onGameTick();
+    }
+
+    /**
+     * Returns the NPC with the index, or null if there is none
+     */
+    public static Rs2NpcModel getByIndex(int index) {
+        final Entry entry = byIndex.get(index);
+        return entry != null ? entry.model : null;
+    }
+
+    /**
+     * Returns the named NPCs that match the predicate, nearest to the local player first
+     */
+    public static Stream<Rs2NpcModel> getNpcs(Predicate<Rs2NpcModel> predicate) {
+        return nearestFirst(byIndex.values(), predicate);
+    }
+
+    /**
+     * Returns the NPCs with the id that match the predicate, nearest to the local player first
+     */
+    public static Stream<Rs2NpcModel> getNpcs(int id, Predicate<Rs2NpcModel> predicate) {
+        return nearestFirst(byId.getOrDefault(id, Collections.emptySet()), predicate);
+    }
+
+    /**
+     * Returns the NPCs whose name equals the name, or contains it if not exact, ignoring case,
+     * nearest to the local player first
+     */
+    public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact, Predicate<Rs2NpcModel> predicate) {
+        final String lowerCaseName = name.toLowerCase();
+        if (exact) {
+            return nearestFirst(byName.getOrDefault(lowerCaseName, Collections.emptySet()), predicate);
+        }
+        final List<Entry> candidates = new ArrayList<>();
+        for (Map.Entry<String, Set<Entry>> named : byName.entrySet()) {
+            if (named.getKey().contains(lowerCaseName)) {
+                candidates.addAll(named.getValue());
+            }
+        }
+        return nearestFirst(candidates, predicate);
+    }
+
+    /**
+     * Returns the NPCs within the range of the location that match the predicate, nearest to the local player first
+     */
+    public static Stream<Rs2NpcModel> getNpcsWithin(WorldPoint center, int range, Predicate<Rs2NpcModel> predicate) {
+        final List<Entry> candidates = new ArrayList<>();
+        final int plane = center.getPlane();
+        final int minX = center.getX() - range;
+        final int minY = center.getY() - range;
+        final int maxX = center.getX() + range;
+        final int maxY = center.getY() + range;
+        for (int cellX = minX >> CELL_SHIFT; cellX <= maxX >> CELL_SHIFT; cellX++) {
+            for (int cellY = minY >> CELL_SHIFT; cellY <= maxY >> CELL_SHIFT; cellY++) {
+                final Set<Entry> entries = byCell.get(cellKey(cellX, cellY, plane));
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries) {
+                    final WorldPoint location = entry.location;
+                    if (location.getX() >= minX && location.getX() <= maxX
+                            && location.getY() >= minY && location.getY() <= maxY) {
+                        candidates.add(entry);
+                    }
+                }
+            }
+        }
+        return nearestFirst(candidates, predicate);
+    }
+
+    /**
+     * Returns up to count NPCs that match the predicate, nearest to the local player first
+     */
+    public static List<Rs2NpcModel> getNearest(Predicate<Rs2NpcModel> predicate, int count) {
+        final WorldPoint origin = playerLocation();
+        if (count <= 0 || origin == null) {
+            return Collections.emptyList();
+        }
+        // Max-heap of the nearest NPCs so far, so the furthest one is dropped first
+        final PriorityQueue<Candidate> nearest = new PriorityQueue<>(count + 1, Comparator.reverseOrder());
+        for (Entry entry : byIndex.values()) {
+            if (entry.name == null || !predicate.test(entry.model)) {
+                continue;
+            }
+            nearest.add(new Candidate(entry.model, distanceSquared(entry.location, origin)));
+            if (nearest.size() > count) {
+                nearest.poll();
+            }
+        }
+        final List<Candidate> sorted = new ArrayList<>(nearest);
+        Collections.sort(sorted);
+        final List<Rs2NpcModel> result = new ArrayList<>(sorted.size());
+        for (Candidate candidate : sorted) {
+            result.add(candidate.model);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of registered NPCs
+     */
+    public static int size() {
+        return byIndex.size();
+    }
+
+    private static Stream<Rs2NpcModel> nearestFirst(Collection<Entry> entries, Predicate<Rs2NpcModel> predicate) {
+        final WorldPoint origin = playerLocation();
+        if (origin == null || entries.isEmpty()) {
+            return Stream.empty();
+        }
+        final List<Candidate> candidates = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            // NPCs without a name can't be interacted with, the old stream left them out as well
+            if (entry.name != null) {
+                candidates.add(new Candidate(entry.model, distanceSquared(entry.location, origin)));
+            }
+        }
+        // Heapifying is linear, so a caller that only wants the nearest match doesn't pay for sorting the rest
+        final PriorityQueue<Candidate> heap = new PriorityQueue<>(candidates);
+        final Iterator<Rs2NpcModel> iterator = new Iterator<Rs2NpcModel>() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public Rs2NpcModel next() {
+                final Candidate candidate = heap.poll();
+                if (candidate == null) {
+                    throw new NoSuchElementException();
+                }
+                return candidate.model;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, candidates.size(),
+                        Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false)
+                .filter(predicate);
+    }
+
+    private static Entry add(NPC npc) {
+        final Entry previous = byIndex.get(npc.getIndex());
+        if (previous != null) {
+            remove(previous);
+        }
+        final Entry entry = new Entry(npc);
+        entry.id = npc.getId();
+        entry.name = lowerCaseName(npc);
+        entry.location = npc.getWorldLocation();
+        entry.cell = cellKey(entry.location);
+        byIndex.put(npc.getIndex(), entry);
+        addTo(byId, entry.id, entry);
+        if (entry.name != null) {
+            addTo(byName, entry.name, entry);
+        }
+        addTo(byCell, entry.cell, entry);
+        return entry;
+    }
+
+    private static void update(Entry entry) {
+        final NPC npc = entry.npc;
+        final int id = npc.getId();
+        if (id != entry.id) {
+            removeFrom(byId, entry.id, entry);
+            entry.id = id;
+            addTo(byId, id, entry);
+        }
+        final String name = lowerCaseName(npc);
+        if (name == null ? entry.name != null : !name.equals(entry.name)) {
+            if (entry.name != null) {
+                removeFrom(byName, entry.name, entry);
+            }
+            entry.name = name;
+            if (name != null) {
+                addTo(byName, name, entry);
+            }
+        }
+        final WorldPoint location = npc.getWorldLocation();
+        entry.location = location;
+        final int cell = cellKey(location);
+        if (cell != entry.cell) {
+            removeFrom(byCell, entry.cell, entry);
+            entry.cell = cell;
+            addTo(byCell, cell, entry);
+        }
+    }
+
+    private static void remove(Entry entry) {
+        byIndex.remove(entry.npc.getIndex(), entry);
+        removeFrom(byId, entry.id, entry);
+        if (entry.name != null) {
+            removeFrom(byName, entry.name, entry);
+        }
+        removeFrom(byCell, entry.cell, entry);
+    }
+
+    private static void clear() {
+        byIndex.clear();
+        byId.clear();
+        byName.clear();
+        byCell.clear();
+    }
+
+    private static <K> void addTo(Map<K, Set<Entry>> index, K key, Entry entry) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entry);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Entry>> index, K key, Entry entry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static boolean isTopLevel(NPC npc) {
+        final WorldView worldView = npc.getWorldView();
+        return worldView == null || worldView.isTopLevel();
+    }
+
+    private static String lowerCaseName(NPC npc) {
+        final String name = npc.getName();
+        return name != null ? name.toLowerCase() : null;
+    }
+
+    private static WorldPoint playerLocation() {
+        final Player player = Microbot.getClient().getLocalPlayer();
+        return player != null ? player.getWorldLocation() : null;
+    }
+
+    private static int cellKey(WorldPoint location) {
+        return cellKey(location.getX() >> CELL_SHIFT, location.getY() >> CELL_SHIFT, location.getPlane());
+    }
+
+    private static int cellKey(int cellX, int cellY, int plane) {
+        return (plane << 24) | (cellX << 12) | cellY;
+    }
+
+    private static int distanceSquared(WorldPoint a, WorldPoint b) {
+        final int dx = a.getX() - b.getX();
+        final int dy = a.getY() - b.getY();
+        return dx * dx + dy * dy;
+    }
+
+    // Only written on the client thread, the volatile fields let script threads read the latest values
+    private static final class Entry {
+        private final NPC npc;
+        private final Rs2NpcModel model;
+        private volatile int id;
+        private volatile String name;
+        private volatile WorldPoint location;
+        private volatile int cell;
+        private int seenTick;
+
+        private Entry(NPC npc) {
+            this.npc = npc;
+            this.model = new Rs2NpcModel(npc);
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        private final Rs2NpcModel model;
+        private final int distance;
+
+        private Candidate(Rs2NpcModel model, int distance) {
+            this.model = model;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Integer.compare(distance, other.distance);
+        }
+    }
+}
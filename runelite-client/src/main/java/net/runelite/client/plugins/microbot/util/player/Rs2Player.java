@@ -16,6 +16,8 @@ import net.runelite.client.plugins.microbot.globval.enums.InterfaceTab;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
+import net.runelite.client.plugins.microbot.util.gamestate.GameStateSnapshot;
+import net.runelite.client.plugins.microbot.util.gamestate.Rs2GameState;
 import net.runelite.client.plugins.microbot.util.grounditem.Rs2GroundItem;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
@@ -345,6 +347,10 @@ public class Rs2Player {
      * @return {@code true} if the player is moving, {@code false} if they are idle.
      */
     public static boolean isMoving() {
+        final GameStateSnapshot snapshot = Rs2GameState.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.isPlayerMoving();
+        }
         return Microbot.getClientThread().runOnClientThreadOptional(() -> {
             Player localPlayer = Microbot.getClient().getLocalPlayer();
             if (localPlayer == null) {
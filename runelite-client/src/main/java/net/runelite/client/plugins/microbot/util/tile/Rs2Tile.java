@@ -7,7 +7,6 @@ import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.devtools.MovementFlag;
 import net.runelite.client.plugins.microbot.Microbot;
-import net.runelite.client.plugins.microbot.shortestpath.pathfinder.CollisionMap;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
 import net.runelite.client.plugins.microbot.util.coords.Rs2LocalPoint;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldArea;
@@ -31,6 +30,11 @@ public abstract class Rs2Tile implements Tile {
 
     private static ScheduledExecutorService tileExecutor;
 
+    // Every flag a MovementFlag stands for, tested as one mask instead of building the set of flags per tile
+    private static final int MOVEMENT_FLAGS = Arrays.stream(MovementFlag.values())
+            .mapToInt(MovementFlag::getFlag)
+            .reduce(0, (a, b) -> a | b);
+
     /**
      * Initializes the tile executor
      * This will handle the removal of dangerous tiles after a certain amount of time
@@ -111,9 +115,7 @@ public abstract class Rs2Tile implements Tile {
             int[][] flags = client.getCollisionMaps()[client.getPlane()].getFlags();
             int data = flags[tile.getSceneLocation().getX()][tile.getSceneLocation().getY()];
 
-            Set<MovementFlag> movementFlags = MovementFlag.getSetFlags(data);
-
-            return movementFlags.isEmpty();
+            return (data & MOVEMENT_FLAGS) == 0;
         }
         return true;
     }
@@ -137,10 +139,7 @@ public abstract class Rs2Tile implements Tile {
             int[][] flags = client.getCollisionMaps()[client.getPlane()].getFlags();
             int data = flags[localPoint.getSceneX()][localPoint.getSceneY()];
 
-            Set<MovementFlag> movementFlags = MovementFlag.getSetFlags(data);
-
-            return !movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_FULL)
-                    && !movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_FLOOR);
+            return (data & SceneReachability.BLOCKS_WALKING) == 0;
         }
         return true;
     }
@@ -203,10 +202,9 @@ public abstract class Rs2Tile implements Tile {
      * movement in specific directions (east, west, north, south) and removes
      * unreachable tiles based on collision data.
      *
-     * The method iterates over a range of distances, progressively updating
-     * reachable tiles and adding them to the tileDistances map. It checks if a
-     * tile can be reached by verifying its collision flags and whether it’s blocked
-     * for movement in any direction.
+     * The distances come from a {@link SceneReachability} field of the starting
+     * tile, which is searched once per game tick and shared by every call from
+     * the same tile. Only tiles of the loaded scene are reached.
      *
      * @param tile The starting tile for the distance calculation.
      * @param distance The maximum distance to calculate to neighboring tiles.
@@ -214,53 +212,7 @@ public abstract class Rs2Tile implements Tile {
      * @return A HashMap containing WorldPoints and their corresponding distances from the start tile.
      */
     public static HashMap<WorldPoint, Integer> getReachableTilesFromTile(WorldPoint tile, int distance, boolean ignoreCollision) {
-        var tileDistances = new HashMap<WorldPoint, Integer>();
-        tileDistances.put(tile, 0);
-
-        for (int i = 0; i < distance + 1; i++) {
-            int dist = i;
-            for (var kvp : tileDistances.entrySet().stream().filter(x -> x.getValue() == dist).collect(Collectors.toList())) {
-                var point = kvp.getKey();
-                LocalPoint localPoint;
-                if (Microbot.getClient().getTopLevelWorldView().isInstance()) {
-                    var worldPoint = WorldPoint.toLocalInstance(Microbot.getClient().getTopLevelWorldView(), point).stream().findFirst().orElse(null);
-                    if (worldPoint == null) break;
-                    localPoint = LocalPoint.fromWorld(Microbot.getClient().getTopLevelWorldView(), worldPoint);
-                } else
-                    localPoint = LocalPoint.fromWorld(Microbot.getClient().getTopLevelWorldView(), point);
-
-                CollisionData[] collisionMap = Microbot.getClient().getTopLevelWorldView().getCollisionMaps();
-                if (collisionMap != null && localPoint != null) {
-                    CollisionData collisionData = collisionMap[Microbot.getClient().getTopLevelWorldView().getPlane()];
-                    int[][] flags = collisionData.getFlags();
-                    int data = flags[localPoint.getSceneX()][localPoint.getSceneY()];
-
-                    Set<MovementFlag> movementFlags = MovementFlag.getSetFlags(data);
-
-                    if (!ignoreCollision && !tile.equals(point)) {
-                        if (movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_FULL)
-                                || movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_FLOOR)) {
-                            tileDistances.remove(point);
-                            continue;
-                        }
-                    }
-
-                    if (kvp.getValue() >= distance)
-                        continue;
-
-                    if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_EAST))
-                        tileDistances.putIfAbsent(point.dx(1), dist + 1);
-                    if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_WEST))
-                        tileDistances.putIfAbsent(point.dx(-1), dist + 1);
-                    if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_NORTH))
-                        tileDistances.putIfAbsent(point.dy(1), dist + 1);
-                    if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH))
-                        tileDistances.putIfAbsent(point.dy(-1), dist + 1);
-                }
-            }
-        }
-
-        return tileDistances;
+        return SceneReachability.getReachableTiles(tile, distance, ignoreCollision);
     }
 
     /**
@@ -291,11 +243,9 @@ public abstract class Rs2Tile implements Tile {
      * directions (north, south, east, west). It ensures the target tile is within
      * the same plane as the player and that movement between tiles is not blocked.
      *
-     * The method initializes a queue to explore the world grid, marking visited
-     * tiles to avoid revisiting. It checks the flags for collision data to determine
-     * whether movement is allowed in each direction, and only adds neighboring tiles
-     * to the queue if they are not blocked. Finally, it verifies if the target point
-     * has been visited during the traversal and returns true if reachable, false otherwise.
+     * The search runs once per game tick in a {@link SceneReachability} field of
+     * the player, so checking a tile is a lookup. In instances every copy of the
+     * template tile is checked.
      *
      * @param targetPoint The WorldPoint representing the target tile to check for
      *                    reachability.
@@ -305,42 +255,7 @@ public abstract class Rs2Tile implements Tile {
     public static boolean isTileReachable(WorldPoint targetPoint) {
         if (targetPoint == null) return false;
         if (targetPoint.getPlane() != Rs2Player.getWorldLocation().getPlane()) return false;
-        if (CollisionMap.ignoreCollision.contains(targetPoint)) return true;
-        boolean[][] visited = new boolean[104][104];
-        int[][] flags = Microbot.getClient().getCollisionMaps()[Microbot.getClient().getPlane()].getFlags();
-        WorldPoint playerLoc = Rs2Player.getWorldLocation();
-        int startX = 0;
-        int startY = 0;
-        int startPoint = 0;
-        if (Microbot.getClient().getTopLevelWorldView().getScene().isInstance()) {
-            LocalPoint localPoint = Rs2Player.getLocalLocation();
-            startX = localPoint.getSceneX();
-            startY = localPoint.getSceneY();
-            startPoint = (startX << 16) | startY;
-        } else {
-            startX = playerLoc.getX() - Microbot.getClient().getBaseX();
-            startY = playerLoc.getY() - Microbot.getClient().getBaseY();
-            startPoint = (startX << 16) | startY;
-        }
-
-        ArrayDeque<Integer> queue = new ArrayDeque<>();
-        queue.add(startPoint);
-        visited[startX][startY] = true;
-
-        while (!queue.isEmpty()) {
-            int point = queue.poll();
-            int x = point >> 16;
-            int y = point & 0xFFFF;
-
-            if (isWithinBounds(x, y)) {
-                checkAndAddNeighbour(queue, visited, flags, x, y, -1, 0, CollisionDataFlag.BLOCK_MOVEMENT_WEST);
-                checkAndAddNeighbour(queue, visited, flags, x, y, 1, 0, CollisionDataFlag.BLOCK_MOVEMENT_EAST);
-                checkAndAddNeighbour(queue, visited, flags, x, y, 0, -1, CollisionDataFlag.BLOCK_MOVEMENT_SOUTH);
-                checkAndAddNeighbour(queue, visited, flags, x, y, 0, 1, CollisionDataFlag.BLOCK_MOVEMENT_NORTH);
-            }
-        }
-
-        return isVisited(targetPoint, visited);
+        return SceneReachability.isReachable(targetPoint);
     }
 
     /**
@@ -379,90 +294,6 @@ public abstract class Rs2Tile implements Tile {
         return false;
     }
 
-    /**
-     * This method checks if the given coordinates (x, y) are within the valid bounds
-     * of the game world grid. It ensures that the coordinates are non-negative and
-     * within the range of the grid dimensions (0 to 103 for both x and y).
-     *
-     * The method is used to prevent out-of-bounds errors when accessing world tiles
-     * by ensuring that the coordinates provided for the tile are within the valid
-     * range before performing further operations.
-     *
-     * @param x The x-coordinate of the tile to check.
-     * @param y The y-coordinate of the tile to check.
-     * @return True if the coordinates are within bounds (0 <= x, y < 104), otherwise false.
-     */
-    private static boolean isWithinBounds(int x, int y) {
-        return x >= 0 && y >= 0 && x < 104 && y < 104;
-    }
-
-    /**
-     * This method checks a neighboring tile and adds it to the queue if it is valid
-     * and not blocked for movement. It considers both the current tile's collision
-     * data and the neighboring tile’s collision flags to determine whether movement
-     * in the specified direction (dx, dy) is possible. The method ensures the neighboring
-     * tile is within bounds, hasn't been visited, and doesn't have movement restrictions
-     * (such as full-block movement or movement in the specified direction).
-     *
-     * The method performs a bitwise check on the tile’s flags to determine if movement
-     * in the given direction is allowed and ensures that the neighboring tile is not
-     * already visited before adding it to the queue.
-     *
-     * @param queue The queue that stores the coordinates of tiles to be visited.
-     * @param visited A 2D boolean array tracking which tiles have already been visited.
-     * @param flags A 2D array containing the collision flags for each tile.
-     * @param x The current tile’s x-coordinate.
-     * @param y The current tile’s y-coordinate.
-     * @param dx The change in x-coordinate for the neighboring tile.
-     * @param dy The change in y-coordinate for the neighboring tile.
-     * @param blockMovementFlag The collision flag that blocks movement in a given direction.
-     */
-    private static void checkAndAddNeighbour(ArrayDeque<Integer> queue, boolean[][] visited, int[][] flags, int x, int y, int dx, int dy, int blockMovementFlag) {
-        int nx = x + dx;
-        int ny = y + dy;
-
-        if (isWithinBounds(nx, ny) && !visited[nx][ny] && (flags[x][y] & blockMovementFlag) == 0 && (flags[nx][ny] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0) {
-            queue.add((nx << 16) | ny);
-            visited[nx][ny] = true;
-        }
-    }
-
-    /**
-     * This method checks whether a given WorldPoint has been visited during the
-     * traversal of the game world. It calculates the tile’s local coordinates relative
-     * to the base coordinates, considering whether the client is in an instanced region
-     * or not. The method then checks if the calculated coordinates are within bounds
-     * and if the tile has been marked as visited in the provided visited array.
-     *
-     * The method ensures that the given WorldPoint corresponds to a valid tile on
-     * the game map by verifying if its coordinates fall within the bounds of the
-     * world grid, and if so, it checks whether that tile has already been visited
-     * during the search or traversal process.
-     *
-     * @param worldPoint The WorldPoint representing the tile to check for visit status.
-     * @param visited A 2D boolean array tracking visited tiles during world traversal.
-     * @return True if the tile has been visited and is within bounds, otherwise false.
-     */
-    private static boolean isVisited(WorldPoint worldPoint, boolean[][] visited) {
-        int baseX = 0;
-        int baseY = 0;
-        int x = 0;
-        int y = 0;
-        if (Microbot.getClient().getTopLevelWorldView().getScene().isInstance()) {
-            LocalPoint localPoint = Rs2Player.getLocalLocation();
-            x = localPoint.getSceneX();
-            y = localPoint.getSceneY();
-        } else {
-            baseX = Microbot.getClient().getTopLevelWorldView().getBaseX();
-            baseY = Microbot.getClient().getTopLevelWorldView().getBaseY();
-            x = worldPoint.getX() - baseX;
-            y = worldPoint.getY() - baseY;
-        }
-
-
-        return isWithinBounds(x, y) && visited[x][y];
-    }
-
     /**
      * Gets the neighboring tile in the specified direction from the source tile.
      * <p>
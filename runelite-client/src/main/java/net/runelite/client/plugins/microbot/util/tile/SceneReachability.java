@@ -0,0 +1,228 @@
+package net.runelite.client.plugins.microbot.util.tile;
+
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.Constants;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.CollisionMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Reachability of the tiles of the loaded scene, from distance fields over its collision flags.
+ * <p>
+ * A field holds the walking distance from one tile to every tile of the scene, found with a single breadth first
+ * search over primitive arrays. Fields are kept until the next game tick, so every query of a tick from the same
+ * tile shares one search, and answering it is an array lookup. Instances are searched in scene coordinates, and
+ * their tiles are converted from and to the template world points that the rest of the utilities use.
+ */
+public final class SceneReachability {
+    private static final int SIZE = Constants.SCENE_SIZE;
+    private static final int UNREACHABLE = -1;
+    // Fields kept for the current tick, queries come from the player and a few other tiles
+    private static final int CACHE_SIZE = 8;
+
+    /**
+     * Tiles the player cannot stand on, what {@link Rs2Tile#isTileReachable} checks
+     */
+    static final int BLOCKS_PLAYER = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+    /**
+     * Tiles that are no walking destination, what {@link Rs2Tile#getReachableTilesFromTile} checks
+     */
+    static final int BLOCKS_WALKING = CollisionDataFlag.BLOCK_MOVEMENT_FULL | CollisionDataFlag.BLOCK_MOVEMENT_FLOOR;
+
+    private static final Field[] cache = new Field[CACHE_SIZE];
+    private static int cacheNext;
+    private static int cacheTick = -1;
+    private static long cacheScene;
+
+    private SceneReachability() {
+    }
+
+    /**
+     * Returns the walking distance from the player to the tile, or -1 if the player cannot reach it
+     */
+    public static int distanceTo(WorldPoint target) {
+        if (target == null) return UNREACHABLE;
+        final WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+        final Field field = fromPlayer(worldView);
+        if (field == null || target.getPlane() != worldView.getPlane()) return UNREACHABLE;
+        if (CollisionMap.ignoreCollision.contains(target)) return 0;
+
+        int distance = UNREACHABLE;
+        if (worldView.isInstance()) {
+            // A template tile can be copied in more than one place of the instance
+            for (WorldPoint copy : WorldPoint.toLocalInstance(worldView, target)) {
+                final int copyDistance = field.distance(toScene(worldView, copy));
+                if (copyDistance != UNREACHABLE && (distance == UNREACHABLE || copyDistance < distance)) {
+                    distance = copyDistance;
+                }
+            }
+            if (distance != UNREACHABLE) return distance;
+        }
+        return field.distance(toScene(worldView, target));
+    }
+
+    /**
+     * Returns whether the player can walk to the tile
+     */
+    public static boolean isReachable(WorldPoint target) {
+        return distanceTo(target) != UNREACHABLE;
+    }
+
+    /**
+     * Returns the tiles that can be walked to from the source tile within the distance, with their distance
+     *
+     * @param ignoreCollision whether tiles blocked for standing on are included, walls between tiles still count
+     */
+    public static HashMap<WorldPoint, Integer> getReachableTiles(WorldPoint source, int distance, boolean ignoreCollision) {
+        final HashMap<WorldPoint, Integer> tiles = new HashMap<>();
+        final WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+        final int start = source.getPlane() == worldView.getPlane() ? sceneIndexOf(worldView, source) : UNREACHABLE;
+        if (start == UNREACHABLE) {
+            tiles.put(source, 0);
+            return tiles;
+        }
+        final Field field = field(worldView, start, ignoreCollision ? 0 : BLOCKS_WALKING);
+        if (field == null) {
+            tiles.put(source, 0);
+            return tiles;
+        }
+        // The search order is sorted by distance, the tiles within reach are its start
+        for (int i = 0; i < field.count; i++) {
+            final int index = field.order[i];
+            final int tileDistance = field.distances[index];
+            if (tileDistance > distance) break;
+            tiles.put(i == 0 ? source : toWorld(worldView, index), tileDistance);
+        }
+        return tiles;
+    }
+
+    /**
+     * Returns the tile within the radius of the target that the player can walk to, closest to the target first
+     * and to the player second, or null if there is none
+     */
+    public static WorldPoint getNearestReachableTile(WorldPoint target, int radius) {
+        WorldPoint nearest = null;
+        int nearestTargetDistance = Integer.MAX_VALUE;
+        int nearestWalkDistance = Integer.MAX_VALUE;
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                final WorldPoint tile = target.dx(dx).dy(dy);
+                final int walkDistance = distanceTo(tile);
+                if (walkDistance == UNREACHABLE) continue;
+                final int targetDistance = Math.max(Math.abs(dx), Math.abs(dy));
+                if (targetDistance < nearestTargetDistance
+                        || targetDistance == nearestTargetDistance && walkDistance < nearestWalkDistance) {
+                    nearest = tile;
+                    nearestTargetDistance = targetDistance;
+                    nearestWalkDistance = walkDistance;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private static Field fromPlayer(WorldView worldView) {
+        final LocalPoint player = Microbot.getClient().getLocalPlayer().getLocalLocation();
+        if (player == null || !player.isInScene()) return null;
+        return field(worldView, player.getSceneX() * SIZE + player.getSceneY(), BLOCKS_PLAYER);
+    }
+
+    private static synchronized Field field(WorldView worldView, int start, int blockedMask) {
+        final Client client = Microbot.getClient();
+        final CollisionData[] collisionMaps = worldView.getCollisionMaps();
+        if (collisionMaps == null) return null;
+
+        // Collision changes show up on the next tick at the latest, and a new scene or plane needs new fields
+        final int tick = client.getTickCount();
+        final long scene = ((long) worldView.getBaseX() << 32) ^ ((long) worldView.getBaseY() << 8) ^ worldView.getPlane();
+        if (tick != cacheTick || scene != cacheScene) {
+            Arrays.fill(cache, null);
+            cacheTick = tick;
+            cacheScene = scene;
+        }
+        for (Field field : cache) {
+            if (field != null && field.start == start && field.blockedMask == blockedMask) {
+                return field;
+            }
+        }
+        final Field field = new Field(collisionMaps[worldView.getPlane()].getFlags(), start, blockedMask);
+        cache[cacheNext] = field;
+        cacheNext = (cacheNext + 1) % CACHE_SIZE;
+        return field;
+    }
+
+    // The scene tile of a world point, the point itself in instances when it is not a template tile
+    private static int sceneIndexOf(WorldView worldView, WorldPoint point) {
+        if (worldView.isInstance()) {
+            for (WorldPoint copy : WorldPoint.toLocalInstance(worldView, point)) {
+                final int index = toScene(worldView, copy);
+                if (index != UNREACHABLE) return index;
+            }
+        }
+        return toScene(worldView, point);
+    }
+
+    private static int toScene(WorldView worldView, WorldPoint point) {
+        final LocalPoint local = LocalPoint.fromWorld(worldView, point);
+        if (local == null || !local.isInScene()) return UNREACHABLE;
+        return local.getSceneX() * SIZE + local.getSceneY();
+    }
+
+    private static WorldPoint toWorld(WorldView worldView, int index) {
+        final int x = index / SIZE;
+        final int y = index % SIZE;
+        if (worldView.isInstance()) {
+            return WorldPoint.fromLocalInstance(Microbot.getClient(), LocalPoint.fromScene(x, y, worldView), worldView.getPlane());
+        }
+        return new WorldPoint(worldView.getBaseX() + x, worldView.getBaseY() + y, worldView.getPlane());
+    }
+
+    private static final class Field {
+        private final int start;
+        private final int blockedMask;
+        private final int[] distances = new int[SIZE * SIZE];
+        // Scene tiles in the order the search reached them, so sorted by distance
+        private final int[] order = new int[SIZE * SIZE];
+        private int count;
+
+        private Field(int[][] flags, int start, int blockedMask) {
+            this.start = start;
+            this.blockedMask = blockedMask;
+            Arrays.fill(distances, UNREACHABLE);
+            distances[start] = 0;
+            order[count++] = start;
+
+            // The start is always reached, even when the tile itself is blocked
+            for (int head = 0; head < count; head++) {
+                final int index = order[head];
+                final int x = index / SIZE;
+                final int y = index % SIZE;
+                final int tileFlags = flags[x][y];
+                final int next = distances[index] + 1;
+                if ((tileFlags & CollisionDataFlag.BLOCK_MOVEMENT_WEST) == 0) visit(flags, x - 1, y, next);
+                if ((tileFlags & CollisionDataFlag.BLOCK_MOVEMENT_EAST) == 0) visit(flags, x + 1, y, next);
+                if ((tileFlags & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) == 0) visit(flags, x, y - 1, next);
+                if ((tileFlags & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) == 0) visit(flags, x, y + 1, next);
+            }
+        }
+
+        private void visit(int[][] flags, int x, int y, int distance) {
+            if (x < 0 || y < 0 || x >= SIZE || y >= SIZE) return;
+            final int index = x * SIZE + y;
+            if (distances[index] != UNREACHABLE || (flags[x][y] & blockedMask) != 0) return;
+            distances[index] = distance;
+            order[count++] = index;
+        }
+
+        private int distance(int index) {
+            return index == UNREACHABLE ? UNREACHABLE : distances[index];
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package net.runelite.client.plugins.microbot.util.walker;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Look ahead stage of the walker.
+ * <p>
+ * While the player walks towards a minimap click, a background task resolves the next {@link #WINDOW} tiles of
+ * the path: whether a door blocks the step from a tile, and the tile to click on the minimap for it. When the
+ * walker gets to those tiles, it skips the scene search for doors that are not there and clicks without working
+ * out the point again. The tiles where a transport can be taken only depend on the path, they are found once.
+ * <p>
+ * Only the absence of a door is taken from here, a door found ahead is searched again before it is opened.
+ * A tile resolved more than {@link #MAX_AGE_MILLIS} ago, or on another plane or scene, is resolved again.
+ */
+@Slf4j
+class PathLookahead {
+    // Number of tiles resolved ahead of the tile the walker is at
+    static final int WINDOW = 24;
+    // Longest time a resolved tile is trusted, a door on it may have been closed since
+    private static final long MAX_AGE_MILLIS = 1800;
+
+    private static final ExecutorService executor = ScriptRuntime.newExecutor("WalkerLookahead");
+
+    private final List<WorldPoint> path;
+    private final BitSet transportIndexes = new BitSet();
+    private final AtomicReferenceArray<Step> steps;
+    private final AtomicBoolean resolving = new AtomicBoolean();
+
+    PathLookahead(List<WorldPoint> path) {
+        this.path = path;
+        this.steps = new AtomicReferenceArray<>(path.size());
+
+        final Set<WorldPoint> pathPoints = new HashSet<>(path);
+        final Map<WorldPoint, Set<Transport>> transports = ShortestPathPlugin.getTransports();
+        for (int i = 0; i < path.size(); i++) {
+            for (Transport transport : transports.getOrDefault(path.get(i), Collections.emptySet())) {
+                // The walker only takes transports that end somewhere on the path
+                if (pathPoints.contains(transport.getDestination())) {
+                    transportIndexes.set(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts resolving the tiles after the index in the background, unless that is already going on
+     */
+    void resolveAhead(int index) {
+        if (!resolving.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    final int end = Math.min(index + WINDOW, path.size());
+                    for (int i = index; i < end; i++) {
+                        if (!isFresh(steps.get(i))) {
+                            steps.set(i, resolve(i));
+                        }
+                    }
+                } catch (Exception e) {
+                    log.debug("Unable to resolve the path ahead of tile {}: {}", index, e.getMessage());
+                } finally {
+                    resolving.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resolving.set(false);
+        }
+    }
+
+    /**
+     * Whether a transport the walker takes starts at the tile at the index
+     */
+    boolean hasTransport(int index) {
+        return transportIndexes.get(index);
+    }
+
+    /**
+     * Whether a door may block the step from the tile at the index, false only when it was resolved recently
+     */
+    boolean mayHaveDoor(int index) {
+        final Step step = steps.get(index);
+        return !isFresh(step) || step.door;
+    }
+
+    /**
+     * The tile to click on the minimap to walk to the tile at the index
+     */
+    WorldPoint getClickPoint(int index) {
+        final Step step = steps.get(index);
+        return isFresh(step) ? step.clickPoint : Rs2Walker.getPointWithWallDistance(path.get(index));
+    }
+
+    private Step resolve(int index) {
+        return new Step(System.currentTimeMillis(), sceneKey(),
+                Rs2Walker.hasDoor(path, index),
+                Rs2Walker.getPointWithWallDistance(path.get(index)));
+    }
+
+    private static boolean isFresh(Step step) {
+        return step != null
+                && System.currentTimeMillis() - step.resolvedAt <= MAX_AGE_MILLIS
+                && step.sceneKey == sceneKey();
+    }
+
+    // Doors are searched in the loaded scene on the plane of the player, a result is only valid for both
+    private static long sceneKey() {
+        final var worldView = Microbot.getClient().getTopLevelWorldView();
+        return ((long) worldView.getBaseX() << 32) | ((long) worldView.getBaseY() << 4) | Rs2Player.getWorldLocation().getPlane();
+    }
+
+    private static final class Step {
+        private final long resolvedAt;
+        private final long sceneKey;
+        private final boolean door;
+        private final WorldPoint clickPoint;
+
+        private Step(long resolvedAt, long sceneKey, boolean door, WorldPoint clickPoint) {
+            this.resolvedAt = resolvedAt;
+            this.sceneKey = sceneKey;
+            this.door = door;
+            this.clickPoint = clickPoint;
+        }
+    }
+}
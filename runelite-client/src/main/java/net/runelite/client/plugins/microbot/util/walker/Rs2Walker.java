@@ -21,6 +21,7 @@ import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathCostSearch;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
@@ -46,6 +47,7 @@ import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.player.Rs2Pvp;
 import net.runelite.client.plugins.microbot.util.tabs.Rs2Tab;
 import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
+import net.runelite.client.plugins.microbot.util.tile.SceneReachability;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 import net.runelite.client.plugins.skillcalculator.skills.MagicAction;
 import net.runelite.client.ui.overlay.worldmap.WorldMapPoint;
@@ -56,6 +58,8 @@ import java.util.List;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -79,6 +83,8 @@ public class Rs2Walker {
     static int nextWalkingDistance = 10;
 
     static final int OFFSET = 10; // max offset of the exact area we teleport to
+    // Independent path cost queries fan out on this pool, its worker threads are daemons started on demand
+    private static final ForkJoinPool pathQueryPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
 
     // Set this to true, if you want to calculate the path but do not want to walk to it
     static boolean debug = false;
@@ -273,6 +279,9 @@ public class Rs2Walker {
             }
 
             boolean doorOrTransportResult = false;
+            // Resolves the tiles ahead while the player walks, so the loop below mostly acts on what it found
+            final PathLookahead lookahead = new PathLookahead(path);
+            lookahead.resolveAhead(indexOfStartPoint);
             for (int i = indexOfStartPoint; i < path.size(); i++) {
                 WorldPoint currentWorldPoint = path.get(i);
 
@@ -296,7 +305,7 @@ public class Rs2Walker {
                     break;
                 }
 
-                doorOrTransportResult = handleDoors(path, i);
+                doorOrTransportResult = lookahead.mayHaveDoor(i) && handleDoors(path, i);
                 if (doorOrTransportResult) {
                     System.out.println("break out of door");
                     break;
@@ -308,7 +317,7 @@ public class Rs2Walker {
                     break;
                 }
 
-                if (!Microbot.getClient().getTopLevelWorldView().isInstance()) {
+                if (!Microbot.getClient().getTopLevelWorldView().isInstance() && lookahead.hasTransport(i)) {
                     doorOrTransportResult = handleTransports(path, i);
                 }
 
@@ -322,18 +331,13 @@ public class Rs2Walker {
                 }
                 nextWalkingDistance = Rs2Random.between(7, 11);
                 if (currentWorldPoint.distanceTo2D(Rs2Player.getWorldLocation()) > nextWalkingDistance) {
-                    if (Microbot.getClient().getTopLevelWorldView().isInstance()) {
-                        if (Rs2Walker.walkMiniMap(currentWorldPoint)) {
-                            final WorldPoint b = currentWorldPoint;
-                            sleepUntil(() -> b.distanceTo2D(Rs2Player.getWorldLocation()) < nextWalkingDistance, 2000);
-                        }
-                    } else {
-                        if (currentWorldPoint.distanceTo2D(Rs2Player.getWorldLocation()) > nextWalkingDistance) {
-                            if (Rs2Walker.walkMiniMap(getPointWithWallDistance(currentWorldPoint))) {
-                                final WorldPoint b = currentWorldPoint;
-                                sleepUntil(() -> b.distanceTo2D(Rs2Player.getWorldLocation()) < nextWalkingDistance, 2000);
-                            }
-                        }
+                    final WorldPoint clickPoint = Microbot.getClient().getTopLevelWorldView().isInstance()
+                            ? currentWorldPoint
+                            : lookahead.getClickPoint(i);
+                    if (Rs2Walker.walkMiniMap(clickPoint)) {
+                        // The tiles after this one are resolved while the player walks to it
+                        lookahead.resolveAhead(i + 1);
+                        awaitApproach(currentWorldPoint, nextWalkingDistance);
                     }
                 }
             }
@@ -368,6 +372,20 @@ public class Rs2Walker {
         return WalkerState.EXIT;
     }
 
+    /**
+     * Waits until the player is within the distance of the point, or until the game tick the player should get
+     * there at walking or running speed, so the next click goes out while the player is still moving
+     */
+    private static void awaitApproach(WorldPoint point, int distance) {
+        final int tiles = Math.max(point.distanceTo2D(Rs2Player.getWorldLocation()) - distance, 0);
+        final int tilesPerTick = Rs2Player.isRunEnabled() ? 2 : 1;
+        // One more tick for the click to reach the server before the player moves
+        final int ticks = 1 + (tiles + tilesPerTick - 1) / tilesPerTick;
+        final int arrivalTick = Microbot.getClient().getTickCount() + ticks;
+        sleepUntil(() -> point.distanceTo2D(Rs2Player.getWorldLocation()) < distance
+                || Microbot.getClient().getTickCount() >= arrivalTick, ticks * 600 + 1200);
+    }
+
     public static boolean walkNextTo(GameObject target) {
         Rs2WorldArea gameObjectArea = new Rs2WorldArea(Objects.requireNonNull(Rs2GameObject.getWorldArea(target)));
         List<WorldPoint> interactablePoints = gameObjectArea.getInteractable();
@@ -610,15 +628,18 @@ public class Rs2Walker {
     // takes an avg 200-300 ms
     // Used mainly for agility, might have to tweak this for other stuff
     public static boolean canReach(WorldPoint worldPoint, int sizeX, int sizeY, int pathSizeX, int pathSizeY,boolean useBankedItems) {
+        // Walking to a tile of the object area within the loaded scene needs no path search
+        for (int dx = 0; dx < sizeX + 2; dx++) {
+            for (int dy = 0; dy < sizeY + 2; dy++) {
+                if (SceneReachability.isReachable(worldPoint.dx(dx).dy(dy))) return true;
+            }
+        }
 		boolean originalUseBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
         WorldArea pathArea = null;
         WorldArea objectArea = new WorldArea(worldPoint, sizeX + 2, sizeY + 2);
         try {                            
             ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankedItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-            if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-                ShortestPathPlugin.getPathfinderConfig().refresh();
-            }
+            ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
             Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), worldPoint);
             pathfinder.run();
             pathArea = new WorldArea(pathfinder.getPath().get(pathfinder.getPath().size() - 1), pathSizeX, pathSizeY);                       
@@ -626,8 +647,9 @@ public class Rs2Walker {
             Microbot.logStackTrace("Rs2Walker", e);
             return false;
         } finally {
+            // Only refreshes again if the search used another bank item setting
             ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
+            ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
         }
         return pathArea != null ? pathArea
                 .intersectsWith2D(objectArea): false;
@@ -671,10 +693,7 @@ public class Rs2Walker {
     public static List<WorldPoint> getWalkPath(WorldPoint start, WorldPoint target) {
         long startTime = System.nanoTime();
         
-        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-        }
-        ShortestPathPlugin.getPathfinderConfig().refresh();
+        ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
         
         long pathfinderStartTime = System.nanoTime();
         Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, target);
@@ -958,7 +977,25 @@ public class Rs2Walker {
     }
 
     private static boolean handleDoors(List<WorldPoint> path, int index) {
-        if (ShortestPathPlugin.getPathfinder() == null || index >= path.size() - 1) return false;
+        final Door door = findDoor(path, index);
+        if (door == null) return false;
+
+        if (!handleDoorException(door.object, door.action)) {
+            Rs2GameObject.interact(door.object, door.action);
+            Rs2Player.waitForWalking();
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a door blocks the step from the tile at the index to the next one, without opening it
+     */
+    static boolean hasDoor(List<WorldPoint> path, int index) {
+        return findDoor(path, index) != null;
+    }
+
+    private static Door findDoor(List<WorldPoint> path, int index) {
+        if (ShortestPathPlugin.getPathfinder() == null || index >= path.size() - 1) return null;
 
         List<String> doorActions = List.of("pay-toll", "pick-lock", "walk-through", "go-through", "open");
         boolean isInstance = Microbot.getClient()
@@ -1033,16 +1070,22 @@ public class Rs2Walker {
                 }
 
                 if (found) {
-                    if (!handleDoorException(object, action)) {
-                        Rs2GameObject.interact(object, action);
-                        Rs2Player.waitForWalking();
-                    }
-                    return true;
+                    return new Door(object, action);
                 }
             }
         }
 
-        return false;
+        return null;
+    }
+
+    private static final class Door {
+        private final TileObject object;
+        private final String action;
+
+        private Door(TileObject object, String action) {
+            this.object = object;
+            this.action = action;
+        }
     }
 
     private static boolean handleDoorException(TileObject object, String action) {
@@ -1194,17 +1237,27 @@ public class Rs2Walker {
 
     /**
      * Force the walker to recalculate path
+     * The completed path is repaired from the player's location when possible, which is much cheaper than a new search
      */
     public static void recalculatePath() {
-        Rs2Walker.setTarget(null);
+        Pathfinder previous = ShortestPathPlugin.getPathfinder();
         WorldPoint _currentTarget = currentTarget;
-        Rs2Walker.setTarget(_currentTarget);
+        Rs2Walker.setTarget(null);
+        Rs2Walker.setTarget(_currentTarget, previous);
     }
 
     /**
      * @param target
      */
     public static void setTarget(WorldPoint target) {
+        setTarget(target, null);
+    }
+
+    /**
+     * @param target
+     * @param previous completed pathfinder whose path is repaired from the new start when it has the same targets, or null
+     */
+    private static void setTarget(WorldPoint target, Pathfinder previous) {
         if (target != null && !Microbot.isLoggedIn()) return;
         Player localPlayer = Microbot.getClient().getLocalPlayer();
         if (!ShortestPathPlugin.isStartPointSet() && localPlayer == null) {
@@ -1240,9 +1293,9 @@ public class Rs2Walker {
             }
             if (Microbot.getClient().isClientThread()) {
                 final WorldPoint _start = start;
-                Microbot.getClientThread().runOnSeperateThread(() -> restartPathfinding(_start, target));
+                Microbot.getClientThread().runOnSeperateThread(() -> restartPathfinding(_start, Set.of(target), previous));
             } else {
-                restartPathfinding(start, target);
+                restartPathfinding(start, Set.of(target), previous);
             }
         }
     }
@@ -1256,6 +1309,15 @@ public class Rs2Walker {
     }
 
     public static boolean restartPathfinding(WorldPoint start, Set<WorldPoint> ends) {
+        return restartPathfinding(start, ends, null);
+    }
+
+    /**
+     * @param start
+     * @param ends
+     * @param previous completed pathfinder for the same targets whose path is repaired instead of searching from scratch, or null
+     */
+    public static boolean restartPathfinding(WorldPoint start, Set<WorldPoint> ends, Pathfinder previous) {
         if (Microbot.getClient().isClientThread()) return false;
 
         if (ShortestPathPlugin.getPathfinder() != null) {
@@ -1268,7 +1330,7 @@ public class Rs2Walker {
             ShortestPathPlugin.setPathfindingExecutor(Executors.newSingleThreadExecutor(shortestPathNaming));
         }
 
-        ShortestPathPlugin.getPathfinderConfig().refresh();
+        ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
         if (Rs2Player.isInCave()) {
             Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
             pathfinder.run();
@@ -1282,7 +1344,7 @@ public class Rs2Walker {
             }
             ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(false);
         } else {
-            ShortestPathPlugin.setPathfinder(new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends));
+            ShortestPathPlugin.setPathfinder(new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends, previous));
             ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(ShortestPathPlugin.getPathfinder()));
         }
         return true;
@@ -1938,6 +2000,79 @@ public class Rs2Walker {
         return pathfinder.getPath().size();
     }
 
+    /**
+     * Measures the path cost from the start to each of the targets with a single search shared by all targets.
+     * The cost counts tiles walked plus the duration of the transports used, like the pathfinder.
+     * Like {@link #getTotalTiles(WorldPoint, WorldPoint)}, the pathfinder config is only refreshed if it never was.
+     *
+     * @param start the starting location
+     * @param targets the locations to measure
+     * @return the path cost of every target that can be reached; unreachable targets are left out
+     */
+    public static Map<WorldPoint, Integer> getPathCosts(WorldPoint start, Collection<WorldPoint> targets) {
+        return getPathCosts(start, targets, Integer.MAX_VALUE);
+    }
+
+    private static Map<WorldPoint, Integer> getPathCosts(WorldPoint start, Collection<WorldPoint> targets, int limit) {
+        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
+            ShortestPathPlugin.getPathfinderConfig().refresh();
+        }
+        return new PathCostSearch(ShortestPathPlugin.getPathfinderConfig(), start, targets).run(limit);
+    }
+
+    /**
+     * Measures the path cost from each of the starts to each of the targets. The search of every start is
+     * independent, so they run in parallel on a shared pool. The pathfinder config is refreshed once per batch.
+     *
+     * @param starts the starting locations
+     * @param targets the locations to measure
+     * @return the path costs from every start, see {@link #getPathCosts(WorldPoint, Collection)}
+     */
+    public static Map<WorldPoint, Map<WorldPoint, Integer>> getPathCosts(Collection<WorldPoint> starts, Collection<WorldPoint> targets) {
+        Map<WorldPoint, Map<WorldPoint, Integer>> costs = new HashMap<>();
+        if (starts.isEmpty() || targets.isEmpty()) {
+            return costs;
+        }
+
+        // Searches read the refreshed config concurrently, so it is refreshed once before they start
+        ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
+        Map<WorldPoint, ForkJoinTask<Map<WorldPoint, Integer>>> tasks = new LinkedHashMap<>();
+        for (WorldPoint start : starts) {
+            if (!tasks.containsKey(start)) {
+                tasks.put(start, pathQueryPool.submit(() -> new PathCostSearch(ShortestPathPlugin.getPathfinderConfig(), start, targets).run()));
+            }
+        }
+        for (Map.Entry<WorldPoint, ForkJoinTask<Map<WorldPoint, Integer>>> task : tasks.entrySet()) {
+            costs.put(task.getKey(), task.getValue().join());
+        }
+        return costs;
+    }
+
+    /**
+     * Finds the target with the cheapest path from the start, measured with a single search that stops at the
+     * first target it settles.
+     *
+     * @param start the starting location
+     * @param targets the candidate locations
+     * @return the nearest target by path cost, or null if none can be reached
+     */
+    public static WorldPoint getNearestByPathCost(WorldPoint start, Collection<WorldPoint> targets) {
+        return getPathCosts(start, targets, 1).entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    /**
+     * Finds the target with the cheapest path from the player's location.
+     *
+     * @param targets the candidate locations
+     * @return the nearest target by path cost, or null if none can be reached
+     */
+    public static WorldPoint getNearestByPathCost(Collection<WorldPoint> targets) {
+        return getNearestByPathCost(Rs2Player.getWorldLocation(), targets);
+    }
+
     private static boolean handleSpiritTree(Transport transport) {
         // Get Transport Information
         String displayInfo = transport.getDisplayInfo();
@@ -2527,7 +2662,7 @@ public class Rs2Walker {
         try {            
             ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankItems);
             // Configure pathfinder            
-            ShortestPathPlugin.getPathfinderConfig().refresh();                                              
+            ShortestPathPlugin.getPathfinderConfig().refreshIfStale();                                              
             // Run pathfinder
             Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), startPoint, targetSet);
             pf.run();
@@ -2558,7 +2693,7 @@ public class Rs2Walker {
         } finally {
             // Always restore original configuration
             ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
+            ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
         }
     }
     
@@ -2627,7 +2762,7 @@ public class Rs2Walker {
         try {
             // Store and configure pathfinder settings
             ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
+            ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
             List<WorldPoint> path = getWalkPath(destination);
             
             // Get path and extract relevant transports with filtering applied
@@ -2641,7 +2776,7 @@ public class Rs2Walker {
         } finally {
             // Always restore original configuration
             ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
+            ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
         }
     }
     
@@ -2980,7 +3115,7 @@ public class Rs2Walker {
                 boolean originalUseBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
                 try {                            
                     ShortestPathPlugin.getPathfinderConfig().setUseBankItems(true);
-                    ShortestPathPlugin.getPathfinderConfig().refresh();
+                    ShortestPathPlugin.getPathfinderConfig().refreshIfStale();
                     
                     performanceLog.append("\t-Bank items available: ").append(Rs2Bank.bankItems().size()).append("\n");
                     
@@ -2999,7 +3134,7 @@ public class Rs2Walker {
                 } finally {
                     // Always restore original configuration
                     ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-                    ShortestPathPlugin.getPathfinderConfig().refresh();                        
+                    ShortestPathPlugin.getPathfinderConfig().refreshIfStale();                        
                 }
                 if (bankingRouteDistance<directDistance){
                     long bankSearchStartTime = System.nanoTime();
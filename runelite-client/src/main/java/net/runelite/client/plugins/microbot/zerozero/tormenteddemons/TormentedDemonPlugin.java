@@ -11,10 +11,10 @@ import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 
 import java.awt.datatransfer.StringSelection;
 import java.util.StringJoiner;
-import java.util.concurrent.Executors;
 
 import net.runelite.client.plugins.microbot.util.prayer.Rs2Prayer;
 import net.runelite.client.plugins.microbot.util.prayer.Rs2PrayerEnum;
@@ -66,7 +66,7 @@ public class TormentedDemonPlugin extends Plugin {
 
     @Override
     protected void startUp() throws AWTException {
-        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        scheduledExecutorService = ScriptRuntime.newExecutor("TormentedDemonPlugin");
         if (overlayManager != null) {
             overlayManager.add(tormentedDemonOverlay);
         }
@@ -0,0 +1,149 @@
+package net.runelite.client.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigDataTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File configFile;
+
+	@Before
+	public void before()
+	{
+		configFile = new File(folder.getRoot(), "profile.properties");
+	}
+
+	@Test
+	public void testPatchesMerge()
+	{
+		ConfigData first = new ConfigData(configFile);
+		ConfigData second = new ConfigData(configFile);
+
+		first.setProperty("group.a", "1");
+		first.setProperty("group.b", "2");
+		first.patch(first.swapChanges());
+
+		second.setProperty("group.c", "3");
+		second.patch(second.swapChanges());
+
+		first.unset("group.b");
+		first.patch(first.swapChanges());
+
+		assertTrue(ConfigData.journalFile(configFile).exists());
+
+		Map<String, String> expected = new HashMap<>();
+		expected.put("group.a", "1");
+		expected.put("group.c", "3");
+		assertEquals(expected, new ConfigData(configFile).get());
+	}
+
+	@Test
+	public void testCompact() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("group.a", "1");
+		data.patch(data.swapChanges());
+		data.setProperty("group.b", "line\nbreak = é");
+		data.unset("group.a");
+		data.patch(data.swapChanges());
+
+		ConfigData.compact(configFile);
+
+		assertFalse(ConfigData.journalFile(configFile).exists());
+		Properties props = new Properties();
+		try (InputStreamReader reader = new InputStreamReader(new FileInputStream(configFile), StandardCharsets.UTF_8))
+		{
+			props.load(reader);
+		}
+		assertEquals(1, props.size());
+		assertEquals("line\nbreak = é", props.getProperty("group.b"));
+	}
+
+	@Test
+	public void testTornRecord() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("group.a", "1");
+		data.patch(data.swapChanges());
+		data.setProperty("group.b", "2");
+		data.patch(data.swapChanges());
+
+		// a client died halfway through appending a record
+		try (FileOutputStream out = new FileOutputStream(ConfigData.journalFile(configFile), true))
+		{
+			out.write(new byte[]{0, 0, 0, 1, 0, 0});
+		}
+
+		ConfigData reloaded = new ConfigData(configFile);
+		assertEquals("1", reloaded.getProperty("group.a"));
+		assertEquals("2", reloaded.getProperty("group.b"));
+
+		// the next save must not land behind the torn record
+		reloaded.unset("group.a");
+		reloaded.patch(reloaded.swapChanges());
+
+		ConfigData after = new ConfigData(configFile);
+		assertNull(after.getProperty("group.a"));
+		assertEquals("2", after.getProperty("group.b"));
+	}
+
+	@Test
+	public void testLoadDuringCompaction() throws InterruptedException
+	{
+		ConfigData writer = new ConfigData(configFile);
+		writer.setProperty("group.0", "0");
+		writer.patch(writer.swapChanges());
+
+		// another client keeps saving and compacting, so the journal moves into the snapshot while loads run
+		AtomicInteger saved = new AtomicInteger(1);
+		Thread compactor = new Thread(() ->
+		{
+			for (int i = 1; i < 200; i++)
+			{
+				writer.setProperty("group." + i, Integer.toString(i));
+				writer.patch(writer.swapChanges());
+				saved.set(i + 1);
+				ConfigData.compact(configFile);
+			}
+		});
+		compactor.start();
+
+		try
+		{
+			while (compactor.isAlive())
+			{
+				int count = saved.get();
+				ConfigData loaded = new ConfigData(configFile);
+				for (int i = 0; i < count; i++)
+				{
+					assertNotNull("group." + i + " of " + count, loaded.getProperty("group." + i));
+				}
+			}
+		}
+		finally
+		{
+			compactor.join();
+		}
+		assertEquals(200, new ConfigData(configFile).get().size());
+	}
+}
@@ -145,6 +145,25 @@ public class ConfigManagerTest
 		Assert.assertEquals("new value", conf.key());
 	}
 
+	@Test
+	public void testConfigChangeInvalidatesKey()
+	{
+		TestConfig conf = manager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+		Assert.assertNull(conf.nullDefaultKey());
+
+		manager.setConfiguration("test", "nullDefaultKey", "other");
+		Assert.assertEquals("default", conf.key());
+		Assert.assertEquals("other", conf.nullDefaultKey());
+
+		manager.setConfiguration("test", "key", "moo");
+		Assert.assertEquals("moo", conf.key());
+
+		manager.unsetConfiguration("test", "key");
+		Assert.assertEquals("default", conf.key());
+		Assert.assertEquals("other", conf.nullDefaultKey());
+	}
+
 	@Test
 	public void testGetConfigDescriptor() throws IOException
 	{
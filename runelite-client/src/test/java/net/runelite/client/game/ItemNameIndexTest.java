@@ -0,0 +1,74 @@
+package net.runelite.client.game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import net.runelite.http.api.item.ItemPrice;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ItemNameIndexTest
+{
+	private final ItemNameIndex index = new ItemNameIndex(Arrays.asList(
+		item(1, "Rune platebody"),
+		item(2, "Rune scimitar"),
+		item(3, "Dragon scimitar"),
+		item(4, "Runite ore"),
+		item(5, "Rune")
+	));
+
+	@Test
+	public void testContains()
+	{
+		assertEquals(Arrays.asList(2, 3), ids(index.contains("SCIMITAR")));
+		assertEquals(Arrays.asList(1, 2, 4, 5), ids(index.contains("run")));
+		assertEquals(Arrays.asList(1, 2, 4, 5), ids(index.contains("e")));
+		assertTrue(index.contains("whip").isEmpty());
+	}
+
+	@Test
+	public void testContainsMatchesLinearScan()
+	{
+		for (String query : new String[]{"rune ", "e sc", "ore", "une p", "runite ore", "rune scimitars", ""})
+		{
+			assertEquals(query, Arrays.stream(new int[]{1, 2, 3, 4, 5})
+				.filter(id -> name(id).toLowerCase().contains(query))
+				.boxed()
+				.collect(Collectors.toList()), ids(index.contains(query)));
+		}
+	}
+
+	@Test
+	public void testExact()
+	{
+		assertEquals(Arrays.asList(5), ids(index.exact("rune")));
+		assertTrue(index.exact("rune scim").isEmpty());
+	}
+
+	@Test
+	public void testPrefix()
+	{
+		assertEquals(Arrays.asList(5, 1, 2), ids(index.prefix("Rune")));
+		assertEquals(Arrays.asList(5, 1, 2, 4), ids(index.prefix("run")));
+		assertTrue(index.prefix("whip").isEmpty());
+	}
+
+	private static String name(int id)
+	{
+		return new String[]{null, "Rune platebody", "Rune scimitar", "Dragon scimitar", "Runite ore", "Rune"}[id];
+	}
+
+	private static ItemPrice item(int id, String name)
+	{
+		ItemPrice price = new ItemPrice();
+		price.setId(id);
+		price.setName(name);
+		return price;
+	}
+
+	private static List<Integer> ids(List<ItemPrice> prices)
+	{
+		return prices.stream().map(ItemPrice::getId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class PluginIndexTest
+{
+	private static final List<String> CLASSES = Arrays.asList(
+		"net.runelite.client.plugins.a.APlugin",
+		"net.runelite.client.plugins.b.BPlugin"
+	);
+
+	@Test
+	public void testRead() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dout = new DataOutputStream(out);
+		writeHeader(dout, CLASSES);
+		dout.writeInt(2);
+		writeEntry(dout, "net.runelite.client.plugins.a.APlugin", "A", "", false, new int[0]);
+		writeEntry(dout, "net.runelite.client.plugins.b.BPlugin", "B", "bconfig", true, new int[]{0});
+
+		List<PluginIndex.Entry> entries = PluginIndex.read(new ByteArrayInputStream(out.toByteArray()), CLASSES);
+		assertEquals(2, entries.size());
+
+		PluginIndex.Entry a = entries.get(0);
+		assertEquals("APlugin", a.getSimpleName());
+		assertEquals("A", a.getName());
+		assertEquals(Arrays.asList("tag"), a.getTags());
+		assertFalse(a.isLoadInSafeMode());
+		assertTrue(a.getDependencies().isEmpty());
+
+		PluginIndex.Entry b = entries.get(1);
+		assertEquals("bconfig", b.getConfigName());
+		assertTrue(b.isLoadInSafeMode());
+		assertEquals(Collections.singletonList(a.getClassName()), b.getDependencies());
+	}
+
+	@Test(expected = IOException.class)
+	public void testDependencyAfterPlugin() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dout = new DataOutputStream(out);
+		writeHeader(dout, CLASSES);
+		dout.writeInt(2);
+		writeEntry(dout, "net.runelite.client.plugins.a.APlugin", "A", "", true, new int[]{1});
+		writeEntry(dout, "net.runelite.client.plugins.b.BPlugin", "B", "", true, new int[0]);
+
+		PluginIndex.read(new ByteArrayInputStream(out.toByteArray()), CLASSES);
+	}
+
+	@Test
+	public void testStaleIndex() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dout = new DataOutputStream(out);
+		writeHeader(dout, CLASSES.subList(0, 1));
+		dout.writeInt(1);
+		writeEntry(dout, "net.runelite.client.plugins.a.APlugin", "A", "", true, new int[0]);
+
+		byte[] index = out.toByteArray();
+		assertNull(PluginIndex.read(new ByteArrayInputStream(index), CLASSES));
+		assertEquals(1, PluginIndex.read(new ByteArrayInputStream(index), null).size());
+	}
+
+	@Test(expected = IOException.class)
+	public void testUnsupportedVersion() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new DataOutputStream(out).writeInt(-1);
+
+		PluginIndex.read(new ByteArrayInputStream(out.toByteArray()), CLASSES);
+	}
+
+	private static void writeHeader(DataOutputStream dout, List<String> classNames) throws IOException
+	{
+		dout.writeInt(2);
+		dout.writeInt(classNames.size());
+		dout.writeInt(classNames.hashCode());
+	}
+
+	private static void writeEntry(DataOutputStream dout, String className, String name, String configName, boolean loadInSafeMode, int[] dependencies) throws IOException
+	{
+		dout.writeUTF(className);
+		dout.writeUTF(name);
+		dout.writeUTF(configName);
+		dout.writeUTF("");
+		dout.writeShort(1);
+		dout.writeUTF("tag");
+		dout.writeShort(0);
+		dout.writeBoolean(true);
+		dout.writeBoolean(false);
+		dout.writeBoolean(false);
+		dout.writeBoolean(false);
+		dout.writeBoolean(loadInSafeMode);
+		dout.writeBoolean(false);
+		dout.writeShort(dependencies.length);
+		for (int dependency : dependencies)
+		{
+			dout.writeShort(dependency);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PathfinderTest
+{
+	// A single region of open ground, away from the wilderness
+	private static final int REGION_X = 50;
+	private static final int REGION_Y = 50;
+
+	@Mock
+	private Client client;
+
+	@Mock
+	private ShortestPathConfig shortestPathConfig;
+
+	private PathfinderConfig config;
+
+	@Before
+	public void before()
+	{
+		byte[] open = new byte[FlagMap.PLANE_BYTES];
+		Arrays.fill(open, (byte) 0xFF);
+		Map<Integer, byte[]> regions = Collections.singletonMap(SplitFlagMap.packPosition(REGION_X, REGION_Y), open);
+		SplitFlagMap map = new SplitFlagMap(new SplitFlagMap.RegionExtent(REGION_X, REGION_Y, REGION_X, REGION_Y), regions);
+
+		config = new PathfinderConfig(map, Collections.emptyMap(), Collections.emptyList(), client, shortestPathConfig);
+		when(shortestPathConfig.calculationCutoff()).thenReturn(100);
+	}
+
+	@Test
+	public void testRestrictedTileInOpenGround()
+	{
+		WorldPoint start = new WorldPoint(3210, 3230, 0);
+		WorldPoint target = new WorldPoint(3250, 3230, 0);
+		// On the straight line between start and target, which the pruned search walks along
+		config.getRestrictedPointsPacked().add(WorldPointUtil.packWorldPoint(3230, 3230, 0));
+
+		List<WorldPoint> breadthFirst = findPath(PathfinderAlgorithm.BREADTH_FIRST, start, target);
+		assertEquals(target, breadthFirst.get(breadthFirst.size() - 1));
+
+		for (PathfinderAlgorithm algorithm : Arrays.asList(PathfinderAlgorithm.A_STAR, PathfinderAlgorithm.BIDIRECTIONAL))
+		{
+			List<WorldPoint> path = findPath(algorithm, start, target);
+			assertEquals(algorithm.toString(), target, path.get(path.size() - 1));
+			assertEquals(algorithm.toString(), breadthFirst.size(), path.size());
+			assertFalse(algorithm.toString(), path.contains(new WorldPoint(3230, 3230, 0)));
+		}
+	}
+
+	private List<WorldPoint> findPath(PathfinderAlgorithm algorithm, WorldPoint start, WorldPoint target)
+	{
+		when(shortestPathConfig.pathfinderAlgorithm()).thenReturn(algorithm);
+		config.refresh();
+
+		Pathfinder pathfinder = new Pathfinder(config, start, target);
+		pathfinder.run();
+		assertTrue(pathfinder.isDone());
+		return pathfinder.getPath();
+	}
+}
@@ -0,0 +1,838 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Builds the landmark table of the shortest path plugin from its bundled collision map and transports.
+ * <p>
+ * The graph searched here has every edge the pathfinder can follow: walking by the rules of
+ * {@code CollisionMap.forEachNeighbor} and every transport with a fixed origin at its listed duration, with the
+ * origin and destination permutations of each file joined regardless of their radius threshold. Transports that
+ * start at the player, such as teleport items and spells, are left out and bounded by the pathfinder instead.
+ * The client only uses a table whose collision map, transport edges and collision exceptions cover its own,
+ * so the distances in the table never exceed the cost of a path the pathfinder can find.
+ * <p>
+ * The table holds, for every chunk of the collision map and every landmark, the minimum and maximum distance
+ * from the landmark to the tiles of the chunk and from the tiles of the chunk to the landmark. The format is read
+ * by {@code net.runelite.client.plugins.microbot.shortestpath.pathfinder.LandmarkTable} and has to be kept in
+ * sync with it.
+ */
+class LandmarkTableBuilder
+{
+	static final int MAGIC = 0x414C5432; // "ALT2"
+	static final int HEADER_SIZE = 48;
+	/** No tile of the chunk has a known distance */
+	static final int UNREACHABLE = 0x7FFF;
+	/** Set on a maximum when some walkable tile of the chunk has no known distance */
+	static final int PARTIAL = 0x8000;
+	static final int VALUE_COUNT = 4;
+
+	private static final String COLLISION_MAP = "collision-map.zip";
+	private static final String[] TRANSPORT_FILES = {
+		"transports.tsv", "agility_shortcuts.tsv", "boats.tsv", "canoes.tsv", "charter_ships.tsv", "ships.tsv",
+		"fairy_rings.tsv", "gnome_gliders.tsv", "minecarts.tsv", "spirit_trees.tsv", "quetzals.tsv",
+		"teleportation_items.tsv", "teleportation_minigames.tsv", "teleportation_levers.tsv",
+		"teleportation_portals.tsv", "teleportation_spells.tsv", "wilderness_obelisks.tsv", "magic_carpets.tsv",
+		"npcs.tsv"
+	};
+
+	// Copy of CollisionMap.ignoreCollision, the client checks that the table was built with the same tiles
+	private static final int[][] IGNORE_COLLISION = {
+		{3142, 3457, 0}, {3141, 3457, 0}, {3141, 3458, 0}, {3141, 3456, 0}, {3142, 3456, 0},
+		{2744, 3153, 0}, {2745, 3153, 0},
+		{3674, 3882, 0}, {3673, 3884, 0}, {3673, 3885, 0}, {3673, 3886, 0}, {3672, 3888, 0},
+		{3675, 3893, 0}, {3678, 3893, 0}, {3684, 3845, 0}, {3670, 3836, 0}, {3672, 3862, 0}
+	};
+
+	// Lumbridge, landmarks are picked among the tiles that can reach it and be reached from it
+	private static final int[] SEED = {3222, 3218, 0};
+
+	private static final int REGION_SIZE = 64;
+	private static final int PLANES = 4;
+	private static final int REGION_TILES = REGION_SIZE * REGION_SIZE;
+	private static final int SLOT_TILES = PLANES * REGION_TILES;
+	private static final int INFINITY = Integer.MAX_VALUE;
+	private static final int MAX_DISTANCE = UNREACHABLE - 1;
+
+	// Same order as OrdinalDirection
+	private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+	private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+	private final File resourceDirectory;
+	private final int landmarkCount;
+	private final int chunkShift;
+
+	private long collisionStamp;
+	// Regions of the collision map come first, followed by the regions only needed for transports and borders
+	private int realSlotCount;
+	private int slotCount;
+	private int[] slotRegionX;
+	private int[] slotRegionY;
+	private byte[] slotPlanes;
+	private int gridMinX, gridMinY, gridWidth, gridHeight;
+	private int[] grid;
+	private int tableMinX, tableMinY, tableWidth, tableHeight;
+
+	// Per tile: north and east collision flags, and the directions that can be walked in
+	private byte[] flags;
+	private byte[] walkable;
+
+	// Transport edges by packed origin and destination, with the lowest duration of each pair
+	private final TreeMap<Long, Integer> edges = new TreeMap<>();
+	private int[] forwardStart, forwardTarget, forwardCost;
+	private int[] backwardStart, backwardTarget, backwardCost;
+	private final Set<Integer> origins = new HashSet<>();
+	private final Set<Integer> ignoreCollision = new HashSet<>();
+	private int maxCost = 1;
+
+	// Bucket queue of the searches, indexed by distance modulo the bucket count
+	private int[][] buckets;
+	private int[] bucketSizes;
+
+	LandmarkTableBuilder(File resourceDirectory, int landmarkCount, int chunkShift)
+	{
+		this.resourceDirectory = resourceDirectory;
+		this.landmarkCount = landmarkCount;
+		this.chunkShift = chunkShift;
+	}
+
+	/**
+	 * Builds the table and returns its contents, see the class comment
+	 */
+	byte[] build(Log log) throws IOException
+	{
+		Map<Integer, byte[]> regions = readCollisionMap();
+		readTransports();
+		createSlots(regions);
+		readFlags(regions);
+		buildTransportIndex();
+		buildWalkable();
+		log.info("Searching " + slotCount * SLOT_TILES + " tiles and " + edges.size() + " transport edges");
+
+		final int tileCount = slotCount * SLOT_TILES;
+		int[] distances = new int[tileCount];
+		int[] connected = new int[tileCount];
+		int[] nearest = new int[tileCount];
+		buckets = new int[maxCost + 1][16];
+		bucketSizes = new int[maxCost + 1];
+
+		// Landmarks must be able to reach the seed and be reached from it, or most chunks would have no distances
+		final int seed = tile(SEED[0], SEED[1], SEED[2]);
+		search(seed, true, connected);
+		search(seed, false, distances);
+		for (int i = 0; i < tileCount; i++)
+		{
+			if (distances[i] == INFINITY)
+			{
+				connected[i] = INFINITY;
+			}
+		}
+		System.arraycopy(connected, 0, nearest, 0, tileCount);
+
+		ByteBuffer out = allocate();
+		int[] landmarks = new int[landmarkCount];
+		for (int l = 0; l < landmarkCount; l++)
+		{
+			landmarks[l] = farthest(connected, nearest);
+			search(landmarks[l], true, distances);
+			writeChunks(out, l, distances, 0);
+			for (int i = 0; i < tileCount; i++)
+			{
+				nearest[i] = Math.min(nearest[i], distances[i]);
+			}
+			search(landmarks[l], false, distances);
+			writeChunks(out, l, distances, 2);
+			log.info("Landmark " + (l + 1) + " of " + landmarkCount + " at " + describe(landmarks[l]));
+		}
+
+		writeHeader(out, landmarks);
+		return out.array();
+	}
+
+	private Map<Integer, byte[]> readCollisionMap() throws IOException
+	{
+		byte[] zip = Files.readAllBytes(new File(resourceDirectory, COLLISION_MAP).toPath());
+		CRC32 crc = new CRC32();
+		crc.update(zip);
+		// Same stamp as the client computes for its copy of the collision map
+		collisionStamp = ((long) zip.length << 32) | crc.getValue();
+
+		Map<Integer, byte[]> regions = new TreeMap<>();
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip)))
+		{
+			ZipEntry entry;
+			while ((entry = in.getNextEntry()) != null)
+			{
+				String[] name = entry.getName().split("_");
+				regions.put(regionId(Integer.parseInt(name[0]), Integer.parseInt(name[1])), in.readAllBytes());
+			}
+		}
+		return regions;
+	}
+
+	/**
+	 * Reads the transports the way {@code Transport.addTransports} does, keeping only their positions and durations
+	 */
+	private void readTransports() throws IOException
+	{
+		for (String file : TRANSPORT_FILES)
+		{
+			List<String> lines = Files.readAllLines(new File(resourceDirectory, file).toPath(), StandardCharsets.UTF_8);
+			String header = lines.get(0);
+			header = header.startsWith("# ") ? header.replace("# ", "#") : header;
+			header = header.startsWith("#") ? header.replace("#", "") : header;
+			List<String> columns = Arrays.asList(header.split("\t"));
+			final int originColumn = columns.indexOf("Origin");
+			final int destinationColumn = columns.indexOf("Destination");
+			final int durationColumn = columns.indexOf("Duration");
+
+			List<int[]> permutationOrigins = new ArrayList<>();
+			List<int[]> permutationDestinations = new ArrayList<>();
+			for (String line : lines.subList(1, lines.size()))
+			{
+				if (line.startsWith("#") || line.isBlank())
+				{
+					continue;
+				}
+
+				String[] fields = line.split("\t");
+				int[] origin = point(fields, originColumn);
+				int[] destination = point(fields, destinationColumn);
+				int duration = duration(fields, durationColumn);
+				if (origin == null || destination == null)
+				{
+					// Teleports from the player's position, or transports that are never added
+					continue;
+				}
+				if (origin.length == 0 && destination.length > 0)
+				{
+					permutationDestinations.add(new int[]{destination[0], destination[1], destination[2], duration});
+				}
+				else if (origin.length > 0 && destination.length == 0)
+				{
+					permutationOrigins.add(new int[]{origin[0], origin[1], origin[2], duration});
+				}
+				else if (origin.length > 0)
+				{
+					addEdge(origin[0], origin[1], origin[2], destination[0], destination[1], destination[2], duration);
+				}
+			}
+
+			for (int[] origin : permutationOrigins)
+			{
+				for (int[] destination : permutationDestinations)
+				{
+					addEdge(origin[0], origin[1], origin[2], destination[0], destination[1], destination[2],
+						Math.max(origin[3], destination[3]));
+				}
+			}
+		}
+
+		for (int[] point : IGNORE_COLLISION)
+		{
+			ignoreCollision.add(pack(point[0], point[1], point[2]));
+		}
+	}
+
+	// Returns null for a missing column, an empty array for a permutation and the coordinates otherwise
+	private static int[] point(String[] fields, int column)
+	{
+		if (column < 0 || column >= fields.length)
+		{
+			return null;
+		}
+		String[] parts = fields[column].split(" ");
+		if (parts.length != 3)
+		{
+			return new int[0];
+		}
+		return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+	}
+
+	// A lower duration than the client parses only makes the distances smaller, which keeps them a lower bound
+	private static int duration(String[] fields, int column)
+	{
+		if (column < 0 || column >= fields.length)
+		{
+			return 0;
+		}
+		try
+		{
+			return Math.max(0, Integer.parseInt(fields[column].trim()));
+		}
+		catch (NumberFormatException e)
+		{
+			return 0;
+		}
+	}
+
+	private void addEdge(int originX, int originY, int originZ, int destinationX, int destinationY, int destinationZ, int duration)
+	{
+		final int origin = pack(originX, originY, originZ);
+		final int destination = pack(destinationX, destinationY, destinationZ);
+		if (origin == destination)
+		{
+			return;
+		}
+		edges.merge(((long) origin << 32) | (destination & 0xFFFFFFFFL), duration, Math::min);
+		origins.add(origin);
+		maxCost = Math.max(maxCost, duration);
+	}
+
+	private void createSlots(Map<Integer, byte[]> regions)
+	{
+		Set<Integer> extra = new HashSet<>();
+		for (long edge : edges.keySet())
+		{
+			extra.add(regionOf((int) (edge >>> 32)));
+			extra.add(regionOf((int) edge));
+		}
+		extra.removeAll(regions.keySet());
+
+		// Tiles just outside the map are blocked but can still be walked onto from the edge of a region
+		Set<Integer> border = new HashSet<>();
+		for (Set<Integer> ids : Arrays.asList(regions.keySet(), extra))
+		{
+			for (int id : ids)
+			{
+				for (int dx = -1; dx <= 1; dx++)
+				{
+					for (int dy = -1; dy <= 1; dy++)
+					{
+						border.add(regionId(regionX(id) + dx, regionY(id) + dy));
+					}
+				}
+			}
+		}
+		border.removeAll(regions.keySet());
+		border.removeAll(extra);
+
+		List<Integer> slots = new ArrayList<>(regions.keySet());
+		slots.addAll(extra);
+		slots.addAll(border);
+		realSlotCount = regions.size();
+		slotCount = slots.size();
+		slotRegionX = new int[slotCount];
+		slotRegionY = new int[slotCount];
+		slotPlanes = new byte[slotCount];
+
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = 0, maxY = 0;
+		for (int slot = 0; slot < slotCount; slot++)
+		{
+			slotRegionX[slot] = regionX(slots.get(slot));
+			slotRegionY[slot] = regionY(slots.get(slot));
+			minX = Math.min(minX, slotRegionX[slot]);
+			minY = Math.min(minY, slotRegionY[slot]);
+			maxX = Math.max(maxX, slotRegionX[slot]);
+			maxY = Math.max(maxY, slotRegionY[slot]);
+			if (slot == realSlotCount - 1)
+			{
+				tableMinX = minX;
+				tableMinY = minY;
+				tableWidth = maxX - minX + 1;
+				tableHeight = maxY - minY + 1;
+			}
+		}
+
+		gridMinX = minX;
+		gridMinY = minY;
+		gridWidth = maxX - minX + 1;
+		gridHeight = maxY - minY + 1;
+		grid = new int[gridWidth * gridHeight];
+		Arrays.fill(grid, -1);
+		for (int slot = 0; slot < slotCount; slot++)
+		{
+			grid[(slotRegionX[slot] - gridMinX) + (slotRegionY[slot] - gridMinY) * gridWidth] = slot;
+		}
+	}
+
+	private void readFlags(Map<Integer, byte[]> regions)
+	{
+		flags = new byte[slotCount * SLOT_TILES];
+		for (int slot = 0; slot < realSlotCount; slot++)
+		{
+			byte[] bytes = regions.get(regionId(slotRegionX[slot], slotRegionY[slot]));
+			// The plane count of a flag map is derived from the size of a BitSet over the bytes
+			int length = bytes.length;
+			while (length > 0 && bytes[length - 1] == 0)
+			{
+				length--;
+			}
+			final int bits = (length + Long.BYTES - 1) / Long.BYTES * Long.SIZE;
+			slotPlanes[slot] = (byte) Math.min(PLANES, (bits + 2 * REGION_TILES - 1) / (2 * REGION_TILES));
+
+			final int base = slot * SLOT_TILES;
+			for (int i = 0; i < SLOT_TILES && i < slotPlanes[slot] * REGION_TILES; i++)
+			{
+				final int bit = i * 2;
+				if (bit / 8 < length)
+				{
+					flags[base + i] = (byte) ((bytes[bit / 8] >> (bit % 8)) & 3);
+				}
+			}
+		}
+	}
+
+	private void buildTransportIndex()
+	{
+		final int tileCount = slotCount * SLOT_TILES;
+		Map<Integer, List<int[]>> forward = new HashMap<>();
+		Map<Integer, List<int[]>> backward = new HashMap<>();
+		for (Map.Entry<Long, Integer> edge : edges.entrySet())
+		{
+			int origin = tile((int) (edge.getKey() >>> 32));
+			int destination = tile((int) (long) edge.getKey());
+			forward.computeIfAbsent(origin, k -> new ArrayList<>()).add(new int[]{destination, edge.getValue()});
+			backward.computeIfAbsent(destination, k -> new ArrayList<>()).add(new int[]{origin, edge.getValue()});
+		}
+
+		forwardStart = new int[tileCount + 1];
+		forwardTarget = new int[edges.size()];
+		forwardCost = new int[edges.size()];
+		index(forward, forwardStart, forwardTarget, forwardCost);
+		backwardStart = new int[tileCount + 1];
+		backwardTarget = new int[edges.size()];
+		backwardCost = new int[edges.size()];
+		index(backward, backwardStart, backwardTarget, backwardCost);
+	}
+
+	// Compressed sparse rows of the transports by tile
+	private static void index(Map<Integer, List<int[]>> lists, int[] start, int[] target, int[] cost)
+	{
+		for (Map.Entry<Integer, List<int[]>> entry : lists.entrySet())
+		{
+			start[entry.getKey() + 1] = entry.getValue().size();
+		}
+		for (int i = 1; i < start.length; i++)
+		{
+			start[i] += start[i - 1];
+		}
+		for (Map.Entry<Integer, List<int[]>> entry : lists.entrySet())
+		{
+			int position = start[entry.getKey()];
+			for (int[] edge : entry.getValue())
+			{
+				target[position] = edge[0];
+				cost[position++] = edge[1];
+			}
+		}
+	}
+
+	/**
+	 * Resolves the directions that can be walked in from every tile, as {@code CollisionMap.forEachNeighbor} does
+	 */
+	private void buildWalkable()
+	{
+		walkable = new byte[slotCount * SLOT_TILES];
+		boolean[] traversable = new boolean[8];
+		for (int tile = 0; tile < walkable.length; tile++)
+		{
+			final int x = tileX(tile);
+			final int y = tileY(tile);
+			final int z = tileZ(tile);
+			if (ignoreCollision.contains(pack(x, y, z)))
+			{
+				walkable[tile] = (byte) 0xFF;
+				continue;
+			}
+
+			if (blocked(x, y, z))
+			{
+				boolean westBlocked = blocked(x - 1, y, z);
+				boolean eastBlocked = blocked(x + 1, y, z);
+				boolean southBlocked = blocked(x, y - 1, z);
+				boolean northBlocked = blocked(x, y + 1, z);
+				traversable[0] = !westBlocked;
+				traversable[1] = !eastBlocked;
+				traversable[2] = !southBlocked;
+				traversable[3] = !northBlocked;
+				traversable[4] = !blocked(x - 1, y - 1, z) && !westBlocked && !southBlocked;
+				traversable[5] = !blocked(x + 1, y - 1, z) && !eastBlocked && !southBlocked;
+				traversable[6] = !blocked(x - 1, y + 1, z) && !westBlocked && !northBlocked;
+				traversable[7] = !blocked(x + 1, y + 1, z) && !eastBlocked && !northBlocked;
+			}
+			else
+			{
+				traversable[0] = w(x, y, z);
+				traversable[1] = e(x, y, z);
+				traversable[2] = s(x, y, z);
+				traversable[3] = n(x, y, z);
+				traversable[4] = s(x, y, z) && w(x, y - 1, z) && w(x, y, z) && s(x - 1, y, z);
+				traversable[5] = s(x, y, z) && e(x, y - 1, z) && e(x, y, z) && s(x + 1, y, z);
+				traversable[6] = n(x, y, z) && w(x, y + 1, z) && w(x, y, z) && n(x - 1, y, z);
+				traversable[7] = n(x, y, z) && e(x, y + 1, z) && e(x, y, z) && n(x + 1, y, z);
+			}
+
+			int mask = 0;
+			for (int i = 0; i < 8; i++)
+			{
+				final int nx = x + DX[i];
+				final int ny = y + DY[i];
+				// A blocked tile next to this one can be walked onto if a transport starts there, e.g. a fairy ring
+				if (traversable[i] || (i < 4 && blocked(nx, ny, z) && origins.contains(pack(nx, ny, z))))
+				{
+					mask |= 1 << i;
+				}
+			}
+			walkable[tile] = (byte) mask;
+		}
+	}
+
+	/**
+	 * Finds the distances from the source, or to the source when searching backwards, with a bucket queue
+	 */
+	private void search(int source, boolean forward, int[] distances)
+	{
+		Arrays.fill(distances, INFINITY);
+		Arrays.fill(bucketSizes, 0);
+		distances[source] = 0;
+		push(0, source);
+		int queued = 1;
+
+		for (int distance = 0; queued > 0; distance++)
+		{
+			final int bucket = distance % buckets.length;
+			// Transports without a duration add to the bucket being read
+			for (int i = 0; i < bucketSizes[bucket]; i++)
+			{
+				final int tile = buckets[bucket][i];
+				queued--;
+				if (distances[tile] != distance)
+				{
+					continue;
+				}
+
+				final int x = tileX(tile);
+				final int y = tileY(tile);
+				final int z = tileZ(tile);
+				for (int d = 0; d < 8; d++)
+				{
+					final int neighbor;
+					if (forward)
+					{
+						neighbor = (walkable[tile] & (1 << d)) != 0 ? tile(x + DX[d], y + DY[d], z) : -1;
+					}
+					else
+					{
+						final int previous = tile(x - DX[d], y - DY[d], z);
+						neighbor = previous >= 0 && (walkable[previous] & (1 << d)) != 0 ? previous : -1;
+					}
+					if (neighbor >= 0 && distance + 1 < distances[neighbor])
+					{
+						distances[neighbor] = distance + 1;
+						push(distance + 1, neighbor);
+						queued++;
+					}
+				}
+
+				final int[] start = forward ? forwardStart : backwardStart;
+				final int[] target = forward ? forwardTarget : backwardTarget;
+				final int[] cost = forward ? forwardCost : backwardCost;
+				for (int edge = start[tile]; edge < start[tile + 1]; edge++)
+				{
+					final int next = distance + cost[edge];
+					if (next < distances[target[edge]])
+					{
+						distances[target[edge]] = next;
+						push(next, target[edge]);
+						queued++;
+					}
+				}
+			}
+			bucketSizes[bucket] = 0;
+		}
+	}
+
+	private void push(int distance, int tile)
+	{
+		final int bucket = distance % buckets.length;
+		if (bucketSizes[bucket] == buckets[bucket].length)
+		{
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], buckets[bucket].length * 2);
+		}
+		buckets[bucket][bucketSizes[bucket]++] = tile;
+	}
+
+	// The walkable tile with the largest distance to its nearest landmark, among the tiles connected to the seed
+	private int farthest(int[] connected, int[] nearest)
+	{
+		int best = -1;
+		for (int tile = 0; tile < realSlotCount * SLOT_TILES; tile++)
+		{
+			if (connected[tile] != INFINITY && (best < 0 || nearest[tile] > nearest[best])
+				&& !blocked(tileX(tile), tileY(tile), tileZ(tile)))
+			{
+				best = tile;
+			}
+		}
+		return best;
+	}
+
+	private ByteBuffer allocate()
+	{
+		final int chunksPerPlane = chunksPerPlane();
+		int size = HEADER_SIZE + tableWidth * tableHeight * Integer.BYTES
+			+ edges.size() * 3 * Integer.BYTES + (ignoreCollision.size() + landmarkCount) * Integer.BYTES;
+		for (int slot = 0; slot < realSlotCount; slot++)
+		{
+			size += Integer.BYTES + slotPlanes[slot] * chunksPerPlane * landmarkCount * VALUE_COUNT * Character.BYTES;
+		}
+		return ByteBuffer.allocate(size);
+	}
+
+	/**
+	 * Writes the minimum and maximum distance of every chunk to the values of the landmark starting at the index
+	 */
+	private void writeChunks(ByteBuffer out, int landmark, int[] distances, int value)
+	{
+		final int chunkSize = 1 << chunkShift;
+		final int chunksPerSide = REGION_SIZE >> chunkShift;
+		int offset = regionsOffset();
+		for (int slot = 0; slot < realSlotCount; slot++)
+		{
+			final int planes = slotPlanes[slot];
+			for (int z = 0; z < planes; z++)
+			{
+				for (int chunk = 0; chunk < chunksPerSide * chunksPerSide; chunk++)
+				{
+					final int chunkX = chunk % chunksPerSide * chunkSize;
+					final int chunkY = chunk / chunksPerSide * chunkSize;
+					int min = INFINITY;
+					int max = -1;
+					boolean partial = false;
+					for (int dy = 0; dy < chunkSize; dy++)
+					{
+						for (int dx = 0; dx < chunkSize; dx++)
+						{
+							final int tile = slot * SLOT_TILES + z * REGION_TILES + (chunkY + dy) * REGION_SIZE + chunkX + dx;
+							final int distance = distances[tile];
+							if (distance == INFINITY)
+							{
+								partial |= !blocked(tileX(tile), tileY(tile), z);
+								continue;
+							}
+							min = Math.min(min, distance);
+							max = Math.max(max, distance);
+						}
+					}
+
+					final int minimum = min == INFINITY ? UNREACHABLE : Math.min(min, MAX_DISTANCE);
+					final int maximum = max < 0 ? UNREACHABLE | PARTIAL
+						: Math.min(max, MAX_DISTANCE) | (partial || max > MAX_DISTANCE ? PARTIAL : 0);
+					final int position = offset + Integer.BYTES
+						+ ((z * chunksPerSide * chunksPerSide + chunk) * landmarkCount + landmark) * VALUE_COUNT * Character.BYTES
+						+ value * Character.BYTES;
+					out.putChar(position, (char) minimum);
+					out.putChar(position + Character.BYTES, (char) maximum);
+				}
+			}
+			offset += Integer.BYTES + planes * chunksPerPlane() * landmarkCount * VALUE_COUNT * Character.BYTES;
+		}
+	}
+
+	private void writeHeader(ByteBuffer out, int[] landmarks)
+	{
+		int position = HEADER_SIZE;
+		int[] regionOffsets = new int[tableWidth * tableHeight];
+		Arrays.fill(regionOffsets, -1);
+		int offset = regionsOffset();
+		for (int slot = 0; slot < realSlotCount; slot++)
+		{
+			regionOffsets[(slotRegionX[slot] - tableMinX) + (slotRegionY[slot] - tableMinY) * tableWidth] = offset;
+			out.putInt(offset, slotPlanes[slot]);
+			offset += Integer.BYTES + slotPlanes[slot] * chunksPerPlane() * landmarkCount * VALUE_COUNT * Character.BYTES;
+		}
+		for (int regionOffset : regionOffsets)
+		{
+			out.putInt(position, regionOffset);
+			position += Integer.BYTES;
+		}
+		for (Map.Entry<Long, Integer> edge : edges.entrySet())
+		{
+			out.putInt(position, (int) (edge.getKey() >>> 32));
+			out.putInt(position + 4, (int) (long) edge.getKey());
+			out.putInt(position + 8, edge.getValue());
+			position += 3 * Integer.BYTES;
+		}
+		for (int point : new TreeSet<>(ignoreCollision))
+		{
+			out.putInt(position, point);
+			position += Integer.BYTES;
+		}
+		for (int landmark : landmarks)
+		{
+			out.putInt(position, pack(tileX(landmark), tileY(landmark), tileZ(landmark)));
+			position += Integer.BYTES;
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(out.array(), HEADER_SIZE, out.capacity() - HEADER_SIZE);
+		out.putInt(0, MAGIC);
+		out.putInt(4, landmarkCount);
+		out.putInt(8, chunkShift);
+		out.putInt(12, (int) crc.getValue());
+		out.putLong(16, collisionStamp);
+		out.putInt(24, tableMinX);
+		out.putInt(28, tableMinY);
+		out.putInt(32, tableWidth);
+		out.putInt(36, tableHeight);
+		out.putInt(40, edges.size());
+		out.putInt(44, ignoreCollision.size());
+	}
+
+	private int regionsOffset()
+	{
+		return HEADER_SIZE + tableWidth * tableHeight * Integer.BYTES
+			+ edges.size() * 3 * Integer.BYTES + (ignoreCollision.size() + landmarkCount) * Integer.BYTES;
+	}
+
+	private int chunksPerPlane()
+	{
+		final int chunksPerSide = REGION_SIZE >> chunkShift;
+		return chunksPerSide * chunksPerSide;
+	}
+
+	private String describe(int tile)
+	{
+		return tileX(tile) + " " + tileY(tile) + " " + tileZ(tile);
+	}
+
+	private boolean flag(int x, int y, int z, int flag)
+	{
+		final int tile = tile(x, y, z);
+		return tile >= 0 && (flags[tile] & (1 << flag)) != 0;
+	}
+
+	private boolean n(int x, int y, int z)
+	{
+		return flag(x, y, z, 0);
+	}
+
+	private boolean e(int x, int y, int z)
+	{
+		return flag(x, y, z, 1);
+	}
+
+	private boolean s(int x, int y, int z)
+	{
+		return n(x, y - 1, z);
+	}
+
+	private boolean w(int x, int y, int z)
+	{
+		return e(x - 1, y, z);
+	}
+
+	private boolean blocked(int x, int y, int z)
+	{
+		return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
+	}
+
+	private int tile(int packed)
+	{
+		return tile(packed & 0x7FFF, (packed >> 15) & 0x7FFF, (packed >>> 30) & 3);
+	}
+
+	// Index of the tile, or -1 if it is not in any region of the graph
+	private int tile(int x, int y, int z)
+	{
+		final int regionX = (x >> 6) - gridMinX;
+		final int regionY = (y >> 6) - gridMinY;
+		if (regionX < 0 || regionY < 0 || regionX >= gridWidth || regionY >= gridHeight || z < 0 || z >= PLANES)
+		{
+			return -1;
+		}
+		final int slot = grid[regionX + regionY * gridWidth];
+		return slot < 0 ? -1 : slot * SLOT_TILES + z * REGION_TILES + (y & 63) * REGION_SIZE + (x & 63);
+	}
+
+	private int tileX(int tile)
+	{
+		return slotRegionX[tile / SLOT_TILES] * REGION_SIZE + tile % REGION_SIZE;
+	}
+
+	private int tileY(int tile)
+	{
+		return slotRegionY[tile / SLOT_TILES] * REGION_SIZE + tile / REGION_SIZE % REGION_SIZE;
+	}
+
+	private static int tileZ(int tile)
+	{
+		return tile / REGION_TILES % PLANES;
+	}
+
+	// Same layout as WorldPointUtil.packWorldPoint
+	private static int pack(int x, int y, int z)
+	{
+		return (x & 0x7FFF) | ((y & 0x7FFF) << 15) | ((z & 0x3) << 30);
+	}
+
+	private static int regionOf(int packed)
+	{
+		return regionId((packed & 0x7FFF) >> 6, ((packed >> 15) & 0x7FFF) >> 6);
+	}
+
+	private static int regionId(int regionX, int regionY)
+	{
+		return (regionX << 10) | regionY;
+	}
+
+	private static int regionX(int id)
+	{
+		return id >> 10;
+	}
+
+	private static int regionY(int id)
+	{
+		return id & 0x3FF;
+	}
+
+	/**
+	 * Progress output of the build, the Maven log when run by {@link LandmarkTableMojo}
+	 */
+	interface Log
+	{
+		void info(String message);
+	}
+}
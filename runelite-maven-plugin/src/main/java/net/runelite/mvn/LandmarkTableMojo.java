@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Writes the landmark table of the shortest path plugin, see {@link LandmarkTableBuilder}.
+ * <p>
+ * The table is committed with the collision map and transports it was built from, and has to be rebuilt when
+ * either changes, or the client will not use it. Building it takes a few minutes and several gigabytes of heap,
+ * so it is not bound to a phase and is run by hand:
+ * {@code mvn net.runelite:runelite-maven-plugin:build-landmark-table -pl runelite-client}
+ */
+@Mojo(
+	name = "build-landmark-table",
+	requiresProject = true
+)
+public class LandmarkTableMojo extends AbstractMojo
+{
+	@Parameter(defaultValue = "${project.basedir}/src/main/resources/net/runelite/client/plugins/microbot/shortestpath")
+	private File resourceDirectory;
+
+	@Parameter(defaultValue = "${project.basedir}/src/main/resources/net/runelite/client/plugins/microbot/shortestpath/landmarks.bin")
+	private File outputFile;
+
+	@Parameter(defaultValue = "8")
+	private int landmarkCount;
+
+	/**
+	 * Chunks are {@code 1 << chunkShift} tiles wide
+	 */
+	@Parameter(defaultValue = "4")
+	private int chunkShift;
+
+	@Override
+	public void execute() throws MojoExecutionException
+	{
+		if (landmarkCount < 1 || chunkShift < 0 || chunkShift > 6)
+		{
+			throw new MojoExecutionException("Invalid landmark count or chunk shift");
+		}
+
+		try
+		{
+			byte[] table = new LandmarkTableBuilder(resourceDirectory, landmarkCount, chunkShift).build(getLog()::info);
+			Files.write(outputFile.toPath(), table);
+			getLog().info("Wrote " + table.length + " bytes to " + outputFile);
+		}
+		catch (IOException e)
+		{
+			throw new MojoExecutionException("Unable to build the landmark table", e);
+		}
+	}
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Writes an index of the core plugins, so the client can load them without scanning its class path.
+ * <p>
+ * The index lists every plugin with its descriptor and dependencies, in an order where each plugin comes
+ * after the plugins it depends on. It is read by {@code net.runelite.client.plugins.PluginIndex}, the format
+ * version there must be kept in sync with {@link #VERSION}.
+ * <p>
+ * The index starts with the number and the hash of the sorted names of the top level classes in the plugin
+ * package, so the client can tell when classes were compiled after the index was written and scan instead.
+ */
+@Mojo(
+	name = "build-plugin-index",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+	requiresDependencyResolution = ResolutionScope.COMPILE
+)
+public class PluginIndexMojo extends AbstractMojo
+{
+	static final int VERSION = 2;
+
+	private static final String PLUGIN_CLASS = "net.runelite.client.plugins.Plugin";
+	private static final String PLUGIN_DESCRIPTOR_CLASS = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN_DEPENDENCY_CLASS = "net.runelite.client.plugins.PluginDependency";
+
+	@Parameter(defaultValue = "${project}")
+	private MavenProject project;
+
+	@Parameter(defaultValue = "${project.build.outputDirectory}")
+	private File classesDirectory;
+
+	@Parameter(defaultValue = "net.runelite.client.plugins")
+	private String pluginPackage;
+
+	@Parameter(required = true)
+	private File indexFile;
+
+	private final Log log = getLog();
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		try (URLClassLoader classLoader = new URLClassLoader(classPath(), null))
+		{
+			List<String> classNames = findClasses();
+			Map<String, Annotation> descriptors = findPlugins(classLoader, classNames);
+			Map<String, List<String>> dependencies = findDependencies(classLoader, descriptors);
+			List<String> order = sort(dependencies);
+
+			indexFile.getParentFile().mkdirs();
+			try (DataOutputStream fout = new DataOutputStream(new FileOutputStream(indexFile)))
+			{
+				fout.writeInt(VERSION);
+				fout.writeInt(classNames.size());
+				fout.writeInt(classNames.hashCode());
+				fout.writeInt(order.size());
+				for (String className : order)
+				{
+					writePlugin(fout, className, descriptors.get(className), dependencies.get(className), order);
+				}
+			}
+
+			log.info("Indexed " + order.size() + " plugins");
+		}
+		catch (IOException | ReflectiveOperationException ex)
+		{
+			throw new MojoExecutionException("error building plugin index", ex);
+		}
+	}
+
+	private URL[] classPath() throws MojoExecutionException
+	{
+		try
+		{
+			List<URL> urls = new ArrayList<>();
+			urls.add(classesDirectory.toURI().toURL());
+			for (String element : project.getCompileClasspathElements())
+			{
+				urls.add(new File(element).toURI().toURL());
+			}
+			return urls.toArray(new URL[0]);
+		}
+		catch (DependencyResolutionRequiredException | MalformedURLException ex)
+		{
+			throw new MojoExecutionException("unable to resolve the compile class path", ex);
+		}
+	}
+
+	/**
+	 * Lists the top level classes of the plugin package in name order, the same way the client does when it
+	 * checks the index against its classes.
+	 */
+	private List<String> findClasses() throws IOException
+	{
+		Path root = classesDirectory.toPath();
+		Path packageDirectory = root.resolve(pluginPackage.replace('.', File.separatorChar));
+		try (Stream<Path> files = Files.walk(packageDirectory))
+		{
+			return files
+				.map(path -> root.relativize(path).toString())
+				.filter(name -> name.endsWith(".class") && name.indexOf('$') == -1)
+				.map(name -> name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.'))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Finds the classes that extend Plugin and have a descriptor, the same classes the plugin manager accepts
+	 * when it scans the class path.
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Annotation> findPlugins(ClassLoader classLoader, List<String> classNames) throws ClassNotFoundException
+	{
+		Class<?> pluginClass = classLoader.loadClass(PLUGIN_CLASS);
+		Class<? extends Annotation> descriptorClass = (Class<? extends Annotation>) classLoader.loadClass(PLUGIN_DESCRIPTOR_CLASS);
+
+		// Sorted, so the index is the same on every build
+		Map<String, Annotation> descriptors = new TreeMap<>();
+		for (String className : classNames)
+		{
+			try
+			{
+				Class<?> clazz = Class.forName(className, false, classLoader);
+				Annotation descriptor = clazz.getAnnotation(descriptorClass);
+				if (descriptor != null && clazz.getSuperclass() == pluginClass)
+				{
+					descriptors.put(className, descriptor);
+				}
+			}
+			catch (LinkageError ex)
+			{
+				// The scan at runtime would fail on the class as well, it cannot be a working plugin
+				log.warn("Skipping " + className + ": " + ex);
+			}
+		}
+		return descriptors;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, List<String>> findDependencies(ClassLoader classLoader, Map<String, Annotation> descriptors)
+		throws ReflectiveOperationException
+	{
+		Class<? extends Annotation> dependencyClass = (Class<? extends Annotation>) classLoader.loadClass(PLUGIN_DEPENDENCY_CLASS);
+		Method value = dependencyClass.getMethod("value");
+
+		Map<String, List<String>> dependencies = new TreeMap<>();
+		for (String className : descriptors.keySet())
+		{
+			List<String> classDependencies = new ArrayList<>();
+			for (Annotation dependency : Class.forName(className, false, classLoader).getAnnotationsByType(dependencyClass))
+			{
+				String dependencyName = ((Class<?>) value.invoke(dependency)).getName();
+				// Like the plugin manager, dependencies on classes that are no plugins are left to fail at runtime
+				if (descriptors.containsKey(dependencyName))
+				{
+					classDependencies.add(dependencyName);
+				}
+			}
+			dependencies.put(className, classDependencies);
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Orders the plugins so every plugin comes after its dependencies, alphabetically where there is a choice
+	 */
+	private static List<String> sort(Map<String, List<String>> dependencies) throws MojoExecutionException
+	{
+		Map<String, Integer> inDegree = new HashMap<>();
+		Map<String, List<String>> dependents = new HashMap<>();
+		for (Map.Entry<String, List<String>> entry : dependencies.entrySet())
+		{
+			inDegree.put(entry.getKey(), entry.getValue().size());
+			for (String dependency : entry.getValue())
+			{
+				dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+			}
+		}
+
+		TreeSet<String> ready = new TreeSet<>();
+		inDegree.forEach((className, degree) ->
+		{
+			if (degree == 0)
+			{
+				ready.add(className);
+			}
+		});
+
+		Set<String> order = new LinkedHashSet<>();
+		while (!ready.isEmpty())
+		{
+			String className = ready.pollFirst();
+			order.add(className);
+			for (String dependent : dependents.getOrDefault(className, List.of()))
+			{
+				if (inDegree.merge(dependent, -1, Integer::sum) == 0)
+				{
+					ready.add(dependent);
+				}
+			}
+		}
+
+		if (order.size() != dependencies.size())
+		{
+			throw new MojoExecutionException("Plugin dependency graph contains a cycle!");
+		}
+		return new ArrayList<>(order);
+	}
+
+	private static void writePlugin(DataOutputStream fout, String className, Annotation descriptor, List<String> dependencies, List<String> order)
+		throws IOException, ReflectiveOperationException
+	{
+		fout.writeUTF(className);
+		fout.writeUTF((String) attribute(descriptor, "name"));
+		fout.writeUTF((String) attribute(descriptor, "configName"));
+		fout.writeUTF((String) attribute(descriptor, "description"));
+		writeStrings(fout, (String[]) attribute(descriptor, "tags"));
+		writeStrings(fout, (String[]) attribute(descriptor, "conflicts"));
+		fout.writeBoolean((Boolean) attribute(descriptor, "enabledByDefault"));
+		fout.writeBoolean((Boolean) attribute(descriptor, "alwaysOn"));
+		fout.writeBoolean((Boolean) attribute(descriptor, "hidden"));
+		fout.writeBoolean((Boolean) attribute(descriptor, "developerPlugin"));
+		fout.writeBoolean((Boolean) attribute(descriptor, "loadInSafeMode"));
+		fout.writeBoolean((Boolean) attribute(descriptor, "priority"));
+
+		// Dependencies are written as positions in the index, which always come before this plugin
+		fout.writeShort(dependencies.size());
+		for (String dependency : dependencies)
+		{
+			fout.writeShort(order.indexOf(dependency));
+		}
+	}
+
+	private static Object attribute(Annotation annotation, String name) throws ReflectiveOperationException
+	{
+		return annotation.annotationType().getMethod(name).invoke(annotation);
+	}
+
+	private static void writeStrings(DataOutputStream fout, String[] values) throws IOException
+	{
+		fout.writeShort(values.length);
+		for (String value : values)
+		{
+			fout.writeUTF(value);
+		}
+	}
+}